@@ -0,0 +1,24 @@
+package org.corfudb.runtime.object;
+
+import org.corfudb.annotations.DontInstrument;
+
+import java.util.List;
+
+/**
+ * This interface lets an object load the updates of a checkpoint at once,
+ * rather than applying them one at a time through its upcalls.
+ */
+public interface ICorfuBulkLoadable {
+
+    /**
+     * Load the updates of a checkpoint into the object. The object builds its
+     * state from all the updates, and then installs it at once.
+     *
+     * @param smrMethod the name of the SMR method of the updates
+     * @param arguments the arguments of every update, in order
+     * @return true if the updates were loaded, or false if the object can not
+     *     load them at once, in which case they are applied one at a time
+     */
+    @DontInstrument
+    boolean bulkLoad(String smrMethod, List<Object[]> arguments);
+}
@@ -0,0 +1,79 @@
+package org.corfudb.common.compression;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An input stream which decompresses the blocks written by a {@link CodecOutputStream},
+ * one block at a time.
+ */
+public class CodecInputStream extends InputStream {
+
+    private final DataInputStream in;
+
+    private final Codec codec;
+
+    // The decompressed data of the current block
+    private ByteBuffer block = ByteBuffer.allocate(0);
+
+    public CodecInputStream(InputStream in, Codec.Type codecType) {
+        this.in = new DataInputStream(in);
+        this.codec = codecType.getInstance();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!readBlock()) {
+            return -1;
+        }
+        return block.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!readBlock()) {
+            return -1;
+        }
+
+        int count = Math.min(len, block.remaining());
+        block.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return block.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads and decompresses the next block if the current one was fully read.
+     *
+     * @return false if the end of the stream was reached, true otherwise
+     */
+    private boolean readBlock() throws IOException {
+        while (!block.hasRemaining()) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+
+            byte[] compressed = new byte[length];
+            in.readFully(compressed);
+            block = codec.decompress(ByteBuffer.wrap(compressed));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package org.corfudb.common.compression;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An output stream which compresses the data written to it with a {@link Codec}.
+ *
+ * The data is buffered and compressed in independent blocks, each of them written as
+ * |     4 bytes         |   compressed block   |
+ *    compressed length     output of {@link Codec#compress}
+ * so that it can be decompressed incrementally by a {@link CodecInputStream}.
+ */
+public class CodecOutputStream extends FilterOutputStream {
+
+    /**
+     * The default size of the blocks the data is compressed in.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final Codec codec;
+
+    private final byte[] block;
+
+    private int blockLength = 0;
+
+    public CodecOutputStream(OutputStream out, Codec.Type codecType) {
+        this(out, codecType, DEFAULT_BLOCK_SIZE);
+    }
+
+    public CodecOutputStream(OutputStream out, Codec.Type codecType, int blockSize) {
+        super(new DataOutputStream(out));
+        this.codec = codecType.getInstance();
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (blockLength == block.length) {
+            writeBlock();
+        }
+        block[blockLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (blockLength == block.length) {
+                writeBlock();
+            }
+            int count = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Compresses the buffered data into a block, and flushes the underlying stream.
+     * Note that every flush ends the current block, so frequent flushes degrade the
+     * compression ratio.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    private void writeBlock() throws IOException {
+        if (blockLength == 0) {
+            return;
+        }
+
+        ByteBuffer compressed = codec.compress(ByteBuffer.wrap(block, 0, blockLength));
+        ((DataOutputStream) out).writeInt(compressed.remaining());
+        out.write(compressed.array(), compressed.arrayOffset() + compressed.position(),
+                compressed.remaining());
+        blockLength = 0;
+    }
+}
@@ -0,0 +1,31 @@
+package org.corfudb.common.metrics.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Optional;
+
+/**
+ * A pre-bound handle on a {@link Counter}. Counters are never sampled.
+ */
+public class CounterHandle extends MeterHandle<Counter> {
+
+    CounterHandle(String name, String... tags) {
+        super(name, 1, tags);
+    }
+
+    @Override
+    protected Optional<Counter> register() {
+        return MicroMeterUtils.counter(name, tags);
+    }
+
+    public void increment() {
+        increment(1.0);
+    }
+
+    public void increment(double value) {
+        Counter counter = resolve();
+        if (counter != null) {
+            counter.increment(value);
+        }
+    }
+}
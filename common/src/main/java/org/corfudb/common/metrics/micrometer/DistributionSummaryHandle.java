@@ -0,0 +1,29 @@
+package org.corfudb.common.metrics.micrometer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+import java.util.Optional;
+
+/**
+ * A pre-bound handle on a {@link DistributionSummary}.
+ */
+public class DistributionSummaryHandle extends MeterHandle<DistributionSummary> {
+
+    DistributionSummaryHandle(String name, int samplingRate, String... tags) {
+        super(name, samplingRate, tags);
+    }
+
+    @Override
+    protected Optional<DistributionSummary> register() {
+        return MicroMeterUtils.createOrGetDistSummary(name, tags);
+    }
+
+    public void record(double value) {
+        if (shouldSample()) {
+            DistributionSummary summary = resolve();
+            if (summary != null) {
+                summary.record(value);
+            }
+        }
+    }
+}
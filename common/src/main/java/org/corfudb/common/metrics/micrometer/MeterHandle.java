@@ -0,0 +1,90 @@
+package org.corfudb.common.metrics.micrometer;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A pre-bound handle on a meter, meant to be created once per call site and kept in a field.
+ * <p>
+ * The meter is looked up (block list check and registration against the registry) only the first
+ * time the handle is used, and again only if the meter registry is re-initialized. Recording through
+ * a handle therefore boils down to a volatile read and the meter update itself.
+ * <p>
+ * A handle can optionally be sampled, in which case only one out of every samplingRate (on average)
+ * recordings is taken into account.
+ *
+ * @param <M> type of the underlying meter
+ */
+public abstract class MeterHandle<M extends Meter> {
+
+    protected final String name;
+
+    protected final String[] tags;
+
+    private final int samplingRate;
+
+    // The registry the meter was resolved against
+    private volatile MeterRegistry boundRegistry;
+
+    // The resolved meter, null if metrics are disabled or the meter is blocked
+    private volatile M meter;
+
+    MeterHandle(String name, int samplingRate, String... tags) {
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate should be positive: " + samplingRate);
+        }
+        this.name = name;
+        this.samplingRate = samplingRate;
+        this.tags = tags;
+    }
+
+    /**
+     * Register (or retrieve) the underlying meter on the current registry.
+     *
+     * @return the meter, or empty if it should not be recorded
+     */
+    protected abstract Optional<M> register();
+
+    /**
+     * Get the underlying meter, resolving it if the registry has changed since the last call.
+     *
+     * @return the meter, or null if it should not be recorded
+     */
+    protected final M resolve() {
+        MeterRegistry registry = MeterRegistryProvider.getMeterRegistry();
+        if (registry != boundRegistry) {
+            bind(registry);
+        }
+        return meter;
+    }
+
+    private synchronized void bind(MeterRegistry registry) {
+        if (registry == boundRegistry) {
+            return;
+        }
+        meter = registry == null ? null : register().orElse(null);
+        boundRegistry = registry;
+    }
+
+    /**
+     * @return true if recordings made through this handle are published
+     */
+    public boolean isEnabled() {
+        return resolve() != null;
+    }
+
+    /**
+     * Decide whether the current recording should be taken into account.
+     *
+     * @return true if this recording is sampled and the meter is enabled
+     */
+    protected final boolean shouldSample() {
+        if (samplingRate > 1 && ThreadLocalRandom.current().nextInt(samplingRate) != 0) {
+            return false;
+        }
+        return resolve() != null;
+    }
+}
@@ -23,8 +23,9 @@ import java.util.function.Supplier;
  */
 @Slf4j
 public class MeterRegistryProvider {
+    // Read without locking by meter handles, to detect a (re-)initialization of the registry
     @Getter
-    private static CompositeMeterRegistry meterRegistry;
+    private static volatile CompositeMeterRegistry meterRegistry;
     @Getter
     private static Optional<String> id = Optional.empty();
     @Getter
@@ -51,9 +52,10 @@ public class MeterRegistryProvider {
                 return;
             }
 
-            meterRegistry = new CompositeMeterRegistry();
             metricType = Optional.of(type);
             id = Optional.of(identifier);
+            // Published last, so that meter handles observing the new registry also see its type
+            meterRegistry = new CompositeMeterRegistry();
 
             initLoggingRegistry(logger, loggingInterval, identifier);
             registerProvidedRegistries();
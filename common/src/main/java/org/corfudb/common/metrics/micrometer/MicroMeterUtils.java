@@ -93,7 +93,7 @@ public class MicroMeterUtils {
                         .register(registry));
     }
 
-    private static Optional<DistributionSummary> createOrGetDistSummary(String name, String... tags) {
+    static Optional<DistributionSummary> createOrGetDistSummary(String name, String... tags) {
         return filterGetInstance(name).map(registry ->
                 DistributionSummary.builder(name)
                         .tags(tags)
@@ -102,6 +102,65 @@ public class MicroMeterUtils {
                         .register(registry));
     }
 
+    /**
+     * Create a handle on a timer, to be kept by the caller and reused for every recording.
+     *
+     * @param name timer name
+     * @param tags timer tags
+     * @return a timer handle
+     */
+    public static TimerHandle timerHandle(String name, String... tags) {
+        return new TimerHandle(name, 1, tags);
+    }
+
+    /**
+     * Create a handle on a timer that only records one out of every samplingRate calls (on average).
+     *
+     * @param name         timer name
+     * @param samplingRate average number of calls per recorded call
+     * @param tags         timer tags
+     * @return a timer handle
+     */
+    public static TimerHandle sampledTimerHandle(String name, int samplingRate, String... tags) {
+        return new TimerHandle(name, samplingRate, tags);
+    }
+
+    /**
+     * Create a handle on a distribution summary, to be kept by the caller and reused for every recording.
+     *
+     * @param name summary name
+     * @param tags summary tags
+     * @return a distribution summary handle
+     */
+    public static DistributionSummaryHandle distSummaryHandle(String name, String... tags) {
+        return new DistributionSummaryHandle(name, 1, tags);
+    }
+
+    /**
+     * Create a handle on a distribution summary that only records one out of every
+     * samplingRate values (on average).
+     *
+     * @param name         summary name
+     * @param samplingRate average number of values per recorded value
+     * @param tags         summary tags
+     * @return a distribution summary handle
+     */
+    public static DistributionSummaryHandle sampledDistSummaryHandle(String name, int samplingRate,
+                                                                     String... tags) {
+        return new DistributionSummaryHandle(name, samplingRate, tags);
+    }
+
+    /**
+     * Create a handle on a counter, to be kept by the caller and reused for every increment.
+     *
+     * @param name counter name
+     * @param tags counter tags
+     * @return a counter handle
+     */
+    public static CounterHandle counterHandle(String name, String... tags) {
+        return new CounterHandle(name, tags);
+    }
+
     public static void time(Duration duration, String name, String... tags) {
         Optional<Timer> timer = createOrGetTimer(name, tags);
         timer.ifPresent(value -> value.record(duration));
@@ -0,0 +1,95 @@
+package org.corfudb.common.metrics.micrometer;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A pre-bound handle on a {@link Timer}.
+ * <p>
+ * Besides the wrapping methods, a recording can be delimited with {@link #start()} and
+ * {@link #stop(long)}, which do not allocate any sample object. The stop goes in a finally block,
+ * so the operations which fail are recorded too:
+ * <pre>
+ *     long start = handle.start();
+ *     try {
+ *         ...
+ *     } finally {
+ *         handle.stop(start);
+ *     }
+ * </pre>
+ */
+public class TimerHandle extends MeterHandle<Timer> {
+
+    /**
+     * Returned by {@link #start()} when the recording is not sampled.
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    TimerHandle(String name, int samplingRate, String... tags) {
+        super(name, samplingRate, tags);
+    }
+
+    @Override
+    protected Optional<Timer> register() {
+        return MicroMeterUtils.createOrGetTimer(name, tags);
+    }
+
+    /**
+     * Start a recording.
+     *
+     * @return start time to pass to {@link #stop(long)}, or {@link #NOT_SAMPLED}
+     */
+    public long start() {
+        return shouldSample() ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Stop a recording started with {@link #start()}.
+     *
+     * @param start start time returned by {@link #start()}
+     */
+    public void stop(long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        Timer timer = resolve();
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void record(long amount, TimeUnit unit) {
+        if (shouldSample()) {
+            Timer timer = resolve();
+            if (timer != null) {
+                timer.record(amount, unit);
+            }
+        }
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void record(Runnable runnable) {
+        long start = start();
+        try {
+            runnable.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    public <T> T record(Supplier<T> supplier) {
+        long start = start();
+        try {
+            return supplier.get();
+        } finally {
+            stop(start);
+        }
+    }
+}
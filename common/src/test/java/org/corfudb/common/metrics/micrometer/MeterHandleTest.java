@@ -0,0 +1,85 @@
+package org.corfudb.common.metrics.micrometer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.corfudb.common.metrics.micrometer.MeterRegistryProvider.MeterRegistryInitializer;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MeterHandleTest {
+
+    private static final Duration LOGGING_INTERVAL = Duration.ofMinutes(1);
+
+    // Non-step registry, to observe recordings immediately
+    private SimpleMeterRegistry registry;
+
+    private void initMetrics() {
+        MeterRegistryInitializer.initServerMetrics(LoggerFactory.getLogger(MeterHandleTest.class),
+                LOGGING_INTERVAL, "test");
+        registry = new SimpleMeterRegistry();
+        MeterRegistryProvider.getMeterRegistry().add(registry);
+    }
+
+    @After
+    public void cleanUp() {
+        if (registry != null) {
+            MeterRegistryProvider.getMeterRegistry().remove(registry);
+            MeterRegistryProvider.close();
+        }
+    }
+
+    @Test
+    public void testHandleBindsOnceRegistryIsInitialized() {
+        TimerHandle timer = MicroMeterUtils.timerHandle("handle.test.timer", "type", "single");
+        CounterHandle counter = MicroMeterUtils.counterHandle("handle.test.counter");
+        DistributionSummaryHandle summary = MicroMeterUtils.distSummaryHandle("handle.test.summary");
+
+        // Recording before the registry is initialized is a no-op
+        timer.stop(timer.start());
+        counter.increment();
+        summary.record(1);
+
+        initMetrics();
+        assertTrue(timer.isEnabled());
+
+        timer.record(1, TimeUnit.MILLISECONDS);
+        timer.stop(timer.start());
+        counter.increment();
+        counter.increment(2);
+        summary.record(1);
+
+        assertEquals(2, registry.get("handle.test.timer").tag("type", "single").timer().count());
+        assertEquals(3.0, registry.get("handle.test.counter").counter().count(), 0.0);
+        assertEquals(1, registry.get("handle.test.summary").summary().count());
+    }
+
+    @Test
+    public void testBlockedMeterIsNotRecorded() {
+        initMetrics();
+        TimerHandle timer = MicroMeterUtils.timerHandle("address_space.read.latency", "type", "single");
+        assertFalse(timer.isEnabled());
+        assertEquals(TimerHandle.NOT_SAMPLED, timer.start());
+    }
+
+    @Test
+    public void testSampledHandle() {
+        final int samplingRate = 10;
+        final int numRecords = 10_000;
+        initMetrics();
+        TimerHandle timer = MicroMeterUtils.sampledTimerHandle("handle.test.sampled", samplingRate);
+        for (int i = 0; i < numRecords; i++) {
+            timer.stop(timer.start());
+        }
+
+        long count = registry.get("handle.test.sampled").timer().count();
+        assertTrue(count > 0);
+        assertTrue(count < numRecords / 2);
+    }
+}
@@ -5,6 +5,7 @@ import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
 import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters.CorfuRuntimeParametersBuilder;
 import org.corfudb.runtime.exceptions.UnreachableClusterException;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.util.GitRepositoryState;
 import org.corfudb.util.NodeLocator;
 import org.docopt.Docopt;
@@ -54,7 +55,9 @@ public class CorfuStoreCompactorConfig {
         freezeCompaction = getOpt("--freezeCompaction").isPresent();
         unfreezeCompaction = getOpt("--unfreezeCompaction").isPresent();
 
-        CorfuRuntimeParametersBuilder builder = CorfuRuntimeParameters.builder();
+        // Compaction is background traffic, which must not delay the application traffic
+        CorfuRuntimeParametersBuilder builder = CorfuRuntimeParameters.builder()
+                .trafficClass(TrafficClass.BULK);
 
         getOpt("--tlsEnabled").ifPresent(tlsEnabledStr -> {
             boolean tlsEnabled = Boolean.parseBoolean(tlsEnabledStr);
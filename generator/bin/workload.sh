@@ -0,0 +1,3 @@
+#!/bin/sh
+
+java -cp ./*.jar org.corfudb.generator.workload.WorkloadRun "$@"
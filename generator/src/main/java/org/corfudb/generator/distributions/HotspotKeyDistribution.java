@@ -0,0 +1,58 @@
+package org.corfudb.generator.distributions;
+
+import lombok.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hotspot distribution of the keys: a fraction of the operations accesses a small fraction of
+ * the keys (the lowest ids), and the other operations access the other keys uniformly.
+ */
+public class HotspotKeyDistribution implements KeyDistribution {
+
+    public static final double DEFAULT_HOT_KEYS = 0.2;
+
+    public static final double DEFAULT_HOT_OPERATIONS = 0.8;
+
+    private final AtomicLong records;
+
+    private final double hotKeys;
+
+    private final double hotOperations;
+
+    public HotspotKeyDistribution(@NonNull AtomicLong records) {
+        this(records, DEFAULT_HOT_KEYS, DEFAULT_HOT_OPERATIONS);
+    }
+
+    /**
+     * @param records       the number of records
+     * @param hotKeys       the fraction of the keys which are hot
+     * @param hotOperations the fraction of the operations which access the hot keys
+     */
+    public HotspotKeyDistribution(@NonNull AtomicLong records, double hotKeys, double hotOperations) {
+        if (hotKeys <= 0 || hotKeys > 1 || hotOperations < 0 || hotOperations > 1) {
+            throw new IllegalArgumentException("Invalid hotspot: " + hotKeys + ", " + hotOperations);
+        }
+
+        this.records = records;
+        this.hotKeys = hotKeys;
+        this.hotOperations = hotOperations;
+    }
+
+    @Override
+    public long nextKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long items = records.get();
+        if (items < 1) {
+            throw new IllegalStateException("No records to access");
+        }
+
+        long hot = Math.max(1, (long) (items * hotKeys));
+
+        if (hot == items || random.nextDouble() < hotOperations) {
+            return random.nextLong(hot);
+        }
+        return hot + random.nextLong(items - hot);
+    }
+}
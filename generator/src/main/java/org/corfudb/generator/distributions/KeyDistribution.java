@@ -0,0 +1,48 @@
+package org.corfudb.generator.distributions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The distribution of the keys the operations of a workload access. The keys are the ids of
+ * the records of a table, in [0, number of records). The number of records grows as the
+ * workload inserts records.
+ * <p>
+ * The distributions are thread safe.
+ */
+public interface KeyDistribution {
+
+    /**
+     * @return the id of the next key to access
+     * @throws IllegalStateException if the table has no records
+     */
+    long nextKey();
+
+    /**
+     * Returns a distribution by name: uniform, zipfian, hotspot or latest.
+     *
+     * @param name    the name of the distribution
+     * @param records the number of records in the table
+     * @return the distribution
+     */
+    static KeyDistribution of(String name, AtomicLong records) {
+        switch (name) {
+            case "uniform":
+                return () -> {
+                    long items = records.get();
+                    if (items < 1) {
+                        throw new IllegalStateException("No records to access");
+                    }
+                    return ThreadLocalRandom.current().nextLong(items);
+                };
+            case "zipfian":
+                return new ZipfianKeyDistribution(records);
+            case "hotspot":
+                return new HotspotKeyDistribution(records);
+            case "latest":
+                return new LatestKeyDistribution(records);
+            default:
+                throw new IllegalArgumentException("Unknown key distribution: " + name);
+        }
+    }
+}
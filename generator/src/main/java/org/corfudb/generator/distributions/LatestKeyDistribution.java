@@ -0,0 +1,27 @@
+package org.corfudb.generator.distributions;
+
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latest distribution of the keys: the most recently inserted keys are the most popular ones,
+ * following a zipfian distribution of the recency of the keys.
+ */
+public class LatestKeyDistribution implements KeyDistribution {
+
+    private final AtomicLong records;
+
+    private final ZipfianKeyDistribution recency;
+
+    public LatestKeyDistribution(@NonNull AtomicLong records) {
+        this.records = records;
+        this.recency = new ZipfianKeyDistribution(records);
+    }
+
+    @Override
+    public long nextKey() {
+        long items = records.get();
+        return items - 1 - recency.nextRank(items);
+    }
+}
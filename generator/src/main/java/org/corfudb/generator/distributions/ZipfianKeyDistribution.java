@@ -0,0 +1,116 @@
+package org.corfudb.generator.distributions;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zipfian distribution of the keys: the key of rank i is accessed with a probability
+ * proportional to 1 / i^theta, so the lowest ids are the most popular ones. This is the
+ * algorithm of "Quickly generating billion-record synthetic databases" (Gray et al.), which
+ * YCSB uses as well.
+ * <p>
+ * The zeta constant of the distribution takes O(records) to compute, so it is only extended
+ * with the inserted records when the number of records grows.
+ */
+public class ZipfianKeyDistribution implements KeyDistribution {
+
+    public static final double DEFAULT_THETA = 0.99;
+
+    private final AtomicLong records;
+
+    private final double theta;
+
+    private final double alpha;
+
+    private final double zeta2;
+
+    private volatile Zeta zeta;
+
+    public ZipfianKeyDistribution(@NonNull AtomicLong records) {
+        this(records, DEFAULT_THETA);
+    }
+
+    public ZipfianKeyDistribution(@NonNull AtomicLong records, double theta) {
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Invalid zipfian constant: " + theta);
+        }
+
+        this.records = records;
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zeta2 = zeta(0, 2, 0);
+        // The eta of an empty key space is undefined, keys are only drawn once there are records
+        this.zeta = newZeta(0, 0, Math.max(1, records.get()));
+    }
+
+    @Override
+    public long nextKey() {
+        return nextRank(records.get());
+    }
+
+    /**
+     * Get the rank of the next key among the given number of keys.
+     *
+     * @param items the number of keys
+     * @return the rank of the key, 0 being the most popular one
+     */
+    long nextRank(long items) {
+        if (items < 1) {
+            throw new IllegalStateException("No records to access");
+        }
+
+        Zeta current = zeta;
+        if (current.items != items) {
+            current = extend(items);
+        }
+
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * current.zetan;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(1, items - 1);
+        }
+
+        long rank = (long) (items * Math.pow(current.eta * u - current.eta + 1, alpha));
+        return Math.min(rank, items - 1);
+    }
+
+    private synchronized Zeta extend(long items) {
+        Zeta current = zeta;
+        if (current.items == items) {
+            return current;
+        }
+
+        // The zeta of the new keys is added to the zeta of the known ones, if they only grew
+        zeta = items > current.items
+                ? newZeta(current.items, current.zetan, items)
+                : newZeta(0, 0, items);
+        return zeta;
+    }
+
+    private Zeta newZeta(long fromItems, double fromZeta, long items) {
+        double zetan = zeta(fromItems, items, fromZeta);
+        double eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetan);
+        return new Zeta(items, zetan, eta);
+    }
+
+    private double zeta(long fromItems, long items, double fromZeta) {
+        double sum = fromZeta;
+        for (long i = fromItems; i < items; i++) {
+            sum += 1 / Math.pow(i + 1, theta);
+        }
+        return sum;
+    }
+
+    @AllArgsConstructor
+    private static class Zeta {
+        private final long items;
+        private final double zetan;
+        private final double eta;
+    }
+}
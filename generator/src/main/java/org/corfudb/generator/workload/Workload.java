@@ -0,0 +1,140 @@
+package org.corfudb.generator.workload;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.generator.distributions.KeyDistribution;
+import org.corfudb.generator.workload.WorkloadSchemas.RecordKey;
+import org.corfudb.generator.workload.WorkloadSchemas.RecordValue;
+import org.corfudb.runtime.collections.CorfuStore;
+import org.corfudb.runtime.collections.Table;
+import org.corfudb.runtime.collections.TableOptions;
+import org.corfudb.runtime.collections.TxnContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the operations of a workload over the records of {@link CorfuStore} tables.
+ * The records of every table are keyed by their id, in [0, number of records). Every
+ * operation runs in its own transaction.
+ */
+@Slf4j
+public class Workload {
+
+    public static final String NAMESPACE = "workload";
+
+    private static final String TABLE_PREFIX = "table_";
+
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    private final CorfuStore store;
+
+    private final WorkloadConfig config;
+
+    private final List<Table<RecordKey, RecordValue, Message>> tables = new ArrayList<>();
+
+    /**
+     * Number of records in every table, which grows with the inserts.
+     */
+    @Getter
+    private final AtomicLong records = new AtomicLong();
+
+    // Id of the next inserted record
+    private final AtomicLong nextInsert = new AtomicLong();
+
+    private final KeyDistribution keys;
+
+    public Workload(@NonNull CorfuStore store, @NonNull WorkloadConfig config) throws Exception {
+        this.store = store;
+        this.config = config;
+        this.keys = KeyDistribution.of(config.getDistribution(), records);
+
+        for (int i = 0; i < config.getTables(); i++) {
+            tables.add(store.openTable(NAMESPACE, TABLE_PREFIX + i, RecordKey.class, RecordValue.class,
+                    null, TableOptions.fromProtoSchema(RecordValue.class)));
+        }
+    }
+
+    /**
+     * Load the records in the tables, unless they were loaded by a previous run.
+     */
+    public void load() {
+        if (config.isLoad()) {
+            log.info("Loading {} records in {} tables", config.getRecords(), tables.size());
+            for (Table<RecordKey, RecordValue, Message> table : tables) {
+                for (long id = 0; id < config.getRecords(); id += LOAD_BATCH_SIZE) {
+                    long end = Math.min(id + LOAD_BATCH_SIZE, config.getRecords());
+                    try (TxnContext txn = store.txn(NAMESPACE)) {
+                        for (long key = id; key < end; key++) {
+                            txn.putRecord(table, key(key), value(), null);
+                        }
+                        txn.commit();
+                    }
+                }
+            }
+        }
+
+        records.set(config.getRecords());
+        nextInsert.set(config.getRecords());
+    }
+
+    /**
+     * Execute an operation.
+     *
+     * @param operation the operation to execute
+     */
+    public void execute(WorkloadOperation operation) {
+        Table<RecordKey, RecordValue, Message> table = tables.get(
+                ThreadLocalRandom.current().nextInt(tables.size()));
+
+        try (TxnContext txn = store.txn(NAMESPACE)) {
+            switch (operation) {
+                case READ:
+                    txn.getRecord(table, key(keys.nextKey()));
+                    break;
+                case UPDATE:
+                    txn.putRecord(table, key(keys.nextKey()), value(), null);
+                    break;
+                case INSERT:
+                    // The record is only accessed by the other operations once committed
+                    txn.putRecord(table, key(nextInsert.getAndIncrement()), value(), null);
+                    break;
+                case SCAN:
+                    long start = keys.nextKey();
+                    for (long i = 0; i < config.getScanLength(); i++) {
+                        txn.getRecord(table, key((start + i) % records.get()));
+                    }
+                    break;
+                case TRANSACTION:
+                    for (int i = 0; i < config.getTransactionSize(); i++) {
+                        RecordKey key = key(keys.nextKey());
+                        txn.getRecord(table, key);
+                        txn.putRecord(table, key, value(), null);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown operation: " + operation);
+            }
+            txn.commit();
+        }
+
+        if (operation == WorkloadOperation.INSERT) {
+            records.incrementAndGet();
+        }
+    }
+
+    private RecordKey key(long id) {
+        return RecordKey.newBuilder().setId(id).build();
+    }
+
+    private RecordValue value() {
+        byte[] payload = new byte[config.getValueSize()];
+        ThreadLocalRandom.current().nextBytes(payload);
+        return RecordValue.newBuilder().setPayload(ByteString.copyFrom(payload)).build();
+    }
+}
@@ -0,0 +1,119 @@
+package org.corfudb.generator.workload;
+
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The parameters of a workload run.
+ */
+@Builder
+@Getter
+@ToString
+public class WorkloadConfig {
+
+    /**
+     * Corfu servers to connect to.
+     */
+    @Default
+    @NonNull
+    private final String endpoint = "localhost:9000";
+
+    /**
+     * Number of tables the records are spread over.
+     */
+    @Default
+    private final int tables = 1;
+
+    /**
+     * Number of records loaded in every table before the run.
+     */
+    @Default
+    private final long records = 10_000;
+
+    /**
+     * Whether the records are loaded, or were loaded by a previous run.
+     */
+    @Default
+    private final boolean load = true;
+
+    /**
+     * Size of the value of the records, in bytes.
+     */
+    @Default
+    private final int valueSize = 256;
+
+    /**
+     * Distribution of the keys the operations access: uniform, zipfian, hotspot or latest.
+     */
+    @Default
+    @NonNull
+    private final String distribution = "zipfian";
+
+    /**
+     * Weight of every operation.
+     */
+    @NonNull
+    private final Map<WorkloadOperation, Integer> mix;
+
+    /**
+     * Number of records read by a scan.
+     */
+    @Default
+    private final int scanLength = 10;
+
+    /**
+     * Number of records read and updated by a transaction.
+     */
+    @Default
+    private final int transactionSize = 4;
+
+    /**
+     * Number of threads issuing the operations.
+     */
+    @Default
+    private final int threads = 8;
+
+    /**
+     * Target number of operations per second, over all the threads. The operations are
+     * issued on schedule regardless of the latency of the previous ones (open loop).
+     * 0 issues every operation as soon as the previous one completes (closed loop).
+     */
+    @Default
+    private final long rate = 1000;
+
+    /**
+     * Time the operations are issued for before they are measured.
+     */
+    @Default
+    @NonNull
+    private final Duration warmup = Duration.ofSeconds(30);
+
+    /**
+     * Time the operations are measured for.
+     */
+    @Default
+    @NonNull
+    private final Duration duration = Duration.ofMinutes(2);
+
+    /**
+     * Interval the measurements are reported at.
+     */
+    @Default
+    @NonNull
+    private final Duration reportInterval = Duration.ofSeconds(10);
+
+    /**
+     * Prefix of the histogram files of every operation, if any.
+     */
+    @Default
+    @NonNull
+    private final Optional<Path> output = Optional.empty();
+}
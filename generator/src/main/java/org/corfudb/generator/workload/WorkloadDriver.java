@@ -0,0 +1,267 @@
+package org.corfudb.generator.workload;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Workload} at a target rate, and measures the latency of every operation.
+ * <p>
+ * The operations are issued on a fixed schedule (open loop): every thread issues its share of
+ * the rate, and an operation which is issued late because the previous ones were slow is
+ * measured from the time it was scheduled at, not from the time it was issued at. The latency
+ * thus includes the time the operation waited for the system, as its client would have, which
+ * avoids the coordinated omission of closed-loop benchmarks. The service time, from the time
+ * the operation was issued at, is measured as well.
+ * <p>
+ * The run has a warmup phase, whose measurements are discarded, followed by a steady-state
+ * phase. The latencies are recorded in HdrHistograms, in microseconds, and reported on the
+ * standard output at every report interval.
+ */
+@Slf4j
+public class WorkloadDriver {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final WorkloadConfig config;
+
+    private final Workload workload;
+
+    private final Map<WorkloadOperation, Measurement> measurements = new EnumMap<>(WorkloadOperation.class);
+
+    // Cumulative weights of the operations of the mix
+    private final WorkloadOperation[] operations;
+    private final int[] weights;
+
+    public WorkloadDriver(@NonNull WorkloadConfig config, @NonNull Workload workload) {
+        this.config = config;
+        this.workload = workload;
+
+        operations = config.getMix().entrySet().stream()
+                .filter(weight -> weight.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(WorkloadOperation[]::new);
+        weights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getMix().get(operations[i]);
+            weights[i] = total;
+            measurements.put(operations[i], new Measurement(operations[i]));
+        }
+    }
+
+    /**
+     * Run the warmup and steady-state phases, then report the steady-state measurements.
+     */
+    public void run() {
+        log.info("Running workload: {}", config);
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.getThreads(),
+                new ThreadFactoryBuilder().setNameFormat("workload-%d").setDaemon(true).build());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("workload-reporter").setDaemon(true).build());
+
+        long start = System.nanoTime();
+        long end = start + config.getWarmup().plus(config.getDuration()).toNanos();
+        for (int thread = 0; thread < config.getThreads(); thread++) {
+            final int threadId = thread;
+            workers.execute(() -> work(threadId, start, end));
+        }
+
+        long warmup = config.getWarmup().toMillis();
+        long interval = config.getReportInterval().toMillis();
+        reporter.schedule(() -> report(false), warmup, TimeUnit.MILLISECONDS);
+        reporter.scheduleAtFixedRate(() -> report(true), warmup + interval, interval, TimeUnit.MILLISECONDS);
+
+        try {
+            workers.shutdown();
+            workers.awaitTermination(end - System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+            reporter.shutdownNow();
+            reporter.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw new UnrecoverableCorfuInterruptedError(e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        report(true);
+        measurements.values().forEach(Measurement::summarize);
+    }
+
+    private void work(int thread, long start, long end) {
+        // The operations of all the threads are interleaved on a single schedule
+        double period = config.getRate() > 0 ? NANOS_PER_SECOND / config.getRate() : 0;
+
+        for (long operation = thread; !Thread.currentThread().isInterrupted(); operation += config.getThreads()) {
+            long scheduled = System.nanoTime();
+            if (period > 0) {
+                scheduled = start + (long) (operation * period);
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+
+            if (scheduled >= end) {
+                return;
+            }
+
+            WorkloadOperation next = nextOperation();
+            long issued = System.nanoTime();
+            boolean failed = false;
+            try {
+                workload.execute(next);
+            } catch (RuntimeException e) {
+                log.debug("{} failed", next, e);
+                failed = true;
+            }
+            measurements.get(next).record(scheduled, issued, System.nanoTime(), failed);
+        }
+    }
+
+    private WorkloadOperation nextOperation() {
+        int weight = ThreadLocalRandom.current().nextInt(weights[weights.length - 1]);
+        for (int i = 0; i < weights.length; i++) {
+            if (weight < weights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Invalid operation weight: " + weight);
+    }
+
+    private void report(boolean steady) {
+        measurements.values().forEach(measurement -> measurement.interval(steady));
+    }
+
+    /**
+     * The measurements of an operation.
+     */
+    private class Measurement {
+
+        private final WorkloadOperation operation;
+
+        // Latency from the time the operations were scheduled at
+        private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+
+        // Latency from the time the operations were issued at
+        private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Histogram totalLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+        private final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+
+        private long totalErrors;
+
+        private final HistogramLogWriter intervalLog;
+
+        Measurement(WorkloadOperation operation) {
+            this.operation = operation;
+            this.intervalLog = config.getOutput()
+                    .map(prefix -> {
+                        HistogramLogWriter writer = new HistogramLogWriter(
+                                open(prefix, operation.getOption() + ".hlog"));
+                        writer.outputLogFormatVersion();
+                        writer.outputLegend();
+                        return writer;
+                    })
+                    .orElse(null);
+        }
+
+        void record(long scheduled, long issued, long completed, boolean failed) {
+            latency.recordValue((completed - scheduled) / NANOS_PER_MICRO);
+            serviceTime.recordValue((completed - issued) / NANOS_PER_MICRO);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Report the measurements since the previous interval, and add them to the totals if
+         * the run is in its steady state.
+         */
+        synchronized void interval(boolean steady) {
+            Histogram intervalLatency = latency.getIntervalHistogram();
+            Histogram intervalServiceTime = serviceTime.getIntervalHistogram();
+            long intervalErrors = errors.sumThenReset();
+
+            log(steady ? "steady" : "warmup", intervalLatency, intervalServiceTime, intervalErrors,
+                    intervalLatency.getEndTimeStamp() - intervalLatency.getStartTimeStamp());
+            if (!steady) {
+                return;
+            }
+
+            totalLatency.add(intervalLatency);
+            totalServiceTime.add(intervalServiceTime);
+            totalErrors += intervalErrors;
+            if (intervalLog != null) {
+                intervalLog.outputIntervalHistogram(intervalLatency);
+            }
+        }
+
+        /**
+         * Report the steady-state measurements, and write their percentile distribution.
+         */
+        synchronized void summarize() {
+            log("total", totalLatency, totalServiceTime, totalErrors, config.getDuration().toMillis());
+
+            config.getOutput().ifPresent(prefix -> {
+                try (PrintStream out = open(prefix, operation.getOption() + ".hgrm")) {
+                    totalLatency.outputPercentileDistribution(out, 1.0);
+                }
+            });
+            if (intervalLog != null) {
+                intervalLog.close();
+            }
+        }
+
+        private void log(String phase, Histogram latencies, Histogram serviceTimes, long errorCount,
+                         long elapsedMs) {
+            final double percentile50 = 50.0;
+            final double percentile99 = 99.0;
+            final double percentile999 = 99.9;
+
+            double throughput = elapsedMs > 0 ? latencies.getTotalCount() * 1000.0 / elapsedMs : 0;
+            log.info(String.format("%s %s: ops=%d (%.1f ops/s), errors=%d, "
+                            + "latency(us) p50=%d p99=%d p99.9=%d max=%d, service time(us) p50=%d p99=%d max=%d",
+                    phase, operation, latencies.getTotalCount(), throughput, errorCount,
+                    latencies.getValueAtPercentile(percentile50), latencies.getValueAtPercentile(percentile99),
+                    latencies.getValueAtPercentile(percentile999), latencies.getMaxValue(),
+                    serviceTimes.getValueAtPercentile(percentile50), serviceTimes.getValueAtPercentile(percentile99),
+                    serviceTimes.getMaxValue()));
+        }
+    }
+
+    private static PrintStream open(Path prefix, String suffix) {
+        try {
+            return new PrintStream(prefix.toString() + "." + suffix);
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Can't write the histograms to " + prefix, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.corfudb.generator.workload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The operations of a workload, over the records of the workload tables.
+ */
+@AllArgsConstructor
+public enum WorkloadOperation {
+    /**
+     * Read a record.
+     */
+    READ("read"),
+    /**
+     * Overwrite a record.
+     */
+    UPDATE("update"),
+    /**
+     * Insert a new record.
+     */
+    INSERT("insert"),
+    /**
+     * Read consecutive records in a transaction.
+     */
+    SCAN("scan"),
+    /**
+     * Read and update several records in a transaction.
+     */
+    TRANSACTION("txn");
+
+    @Getter
+    private final String option;
+
+    /**
+     * Parse a mix of operations, e.g. "read=50,update=45,txn=5".
+     *
+     * @param mix the weight of every operation, the operations not listed have a weight of 0
+     * @return the weight of every operation
+     */
+    public static Map<WorkloadOperation, Integer> parseMix(String mix) {
+        Map<WorkloadOperation, Integer> weights = new EnumMap<>(WorkloadOperation.class);
+        for (String weight : mix.split(",")) {
+            String[] parts = weight.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid operation weight: " + weight);
+            }
+
+            WorkloadOperation operation = Arrays.stream(values())
+                    .filter(op -> op.option.equals(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + parts[0]));
+            int value = Integer.parseInt(parts[1].trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid operation weight: " + weight);
+            }
+            weights.put(operation, value);
+        }
+
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Empty operation mix: " + mix);
+        }
+        return weights;
+    }
+}
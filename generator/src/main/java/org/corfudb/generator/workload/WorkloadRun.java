@@ -0,0 +1,167 @@
+package org.corfudb.generator.workload;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.runtime.collections.CorfuStore;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Launches a YCSB-style benchmark of {@link CorfuStore} tables: loads the records, then runs a
+ * mix of operations at a target rate and reports their latency histograms, see
+ * {@link WorkloadDriver}.
+ */
+@Slf4j
+public class WorkloadRun {
+    private static final String CORFU_ENDPOINT = "corfu_endpoint";
+    private static final String TABLES = "tables";
+    private static final String RECORDS = "records";
+    private static final String SKIP_LOAD = "skip_load";
+    private static final String VALUE_SIZE = "value_size";
+    private static final String DISTRIBUTION = "distribution";
+    private static final String MIX = "mix";
+    private static final String SCAN_LENGTH = "scan_length";
+    private static final String TRANSACTION_SIZE = "txn_size";
+    private static final String THREADS = "threads";
+    private static final String RATE = "rate";
+    private static final String WARMUP = "warmup";
+    private static final String DURATION = "duration";
+    private static final String REPORT_INTERVAL = "report_interval";
+    private static final String OUTPUT = "output";
+
+    private static final String DEFAULT_MIX = "read=50,update=50";
+
+    /**
+     * Log the reports of the workload to the console, without the logs of the runtime.
+     */
+    private static void logToConsole() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} %msg%n");
+        encoder.start();
+
+        ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.start();
+
+        Logger logger = context.getLogger(WorkloadRun.class.getPackage().getName());
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(console);
+    }
+
+    public static void main(String[] args) throws Exception {
+        logToConsole();
+
+        Options options = new Options();
+        options.addOption("c", CORFU_ENDPOINT, true, "corfu servers to connect to (default localhost:9000)");
+        options.addOption("n", TABLES, true, "number of tables (default 1)");
+        options.addOption("k", RECORDS, true, "number of records per table (default 10000)");
+        options.addOption("sl", SKIP_LOAD, false, "skip loading the records, loaded by a previous run");
+        options.addOption("v", VALUE_SIZE, true, "size of the values in bytes (default 256)");
+        options.addOption("d", DISTRIBUTION, true,
+                "key distribution: uniform, zipfian, hotspot or latest (default zipfian)");
+        options.addOption("m", MIX, true,
+                "weights of the read, update, insert, scan and txn operations (default " + DEFAULT_MIX + ")");
+        options.addOption("s", SCAN_LENGTH, true, "records read per scan (default 10)");
+        options.addOption("x", TRANSACTION_SIZE, true, "records read and updated per txn (default 4)");
+        options.addOption("p", THREADS, true, "number of threads (default 8)");
+        options.addOption("r", RATE, true, "target operations per second, 0 for a closed loop (default 1000)");
+        options.addOption("w", WARMUP, true, "warmup time in seconds (default 30)");
+        options.addOption("t", DURATION, true, "measured time in seconds (default 120)");
+        options.addOption("i", REPORT_INTERVAL, true, "report interval in seconds (default 10)");
+        options.addOption("o", OUTPUT, true, "prefix of the histogram files of every operation");
+
+        CommandLineParser parser = new DefaultParser();
+        WorkloadConfig config;
+        try {
+            CommandLine cmd = parser.parse(options, args);
+
+            WorkloadConfig.WorkloadConfigBuilder builder = WorkloadConfig.builder()
+                    .mix(WorkloadOperation.parseMix(cmd.getOptionValue(MIX, DEFAULT_MIX)))
+                    .load(!cmd.hasOption(SKIP_LOAD));
+
+            if (cmd.hasOption(CORFU_ENDPOINT)) {
+                builder.endpoint(cmd.getOptionValue(CORFU_ENDPOINT));
+            }
+            if (cmd.hasOption(TABLES)) {
+                builder.tables(Integer.parseInt(cmd.getOptionValue(TABLES)));
+            }
+            if (cmd.hasOption(RECORDS)) {
+                builder.records(Long.parseLong(cmd.getOptionValue(RECORDS)));
+            }
+            if (cmd.hasOption(VALUE_SIZE)) {
+                builder.valueSize(Integer.parseInt(cmd.getOptionValue(VALUE_SIZE)));
+            }
+            if (cmd.hasOption(DISTRIBUTION)) {
+                builder.distribution(cmd.getOptionValue(DISTRIBUTION));
+            }
+            if (cmd.hasOption(SCAN_LENGTH)) {
+                builder.scanLength(Integer.parseInt(cmd.getOptionValue(SCAN_LENGTH)));
+            }
+            if (cmd.hasOption(TRANSACTION_SIZE)) {
+                builder.transactionSize(Integer.parseInt(cmd.getOptionValue(TRANSACTION_SIZE)));
+            }
+            if (cmd.hasOption(THREADS)) {
+                builder.threads(Integer.parseInt(cmd.getOptionValue(THREADS)));
+            }
+            if (cmd.hasOption(RATE)) {
+                builder.rate(Long.parseLong(cmd.getOptionValue(RATE)));
+            }
+            if (cmd.hasOption(WARMUP)) {
+                builder.warmup(Duration.ofSeconds(Long.parseLong(cmd.getOptionValue(WARMUP))));
+            }
+            if (cmd.hasOption(DURATION)) {
+                builder.duration(Duration.ofSeconds(Long.parseLong(cmd.getOptionValue(DURATION))));
+            }
+            if (cmd.hasOption(REPORT_INTERVAL)) {
+                builder.reportInterval(Duration.ofSeconds(Long.parseLong(cmd.getOptionValue(REPORT_INTERVAL))));
+            }
+            if (cmd.hasOption(OUTPUT)) {
+                builder.output(Optional.of(Paths.get(cmd.getOptionValue(OUTPUT))));
+            }
+            config = builder.build();
+
+            if (config.getTables() < 1 || config.getRecords() < 1 || config.getThreads() < 1
+                    || config.getRate() < 0) {
+                throw new ParseException("The tables, records and threads must be positive, the rate can not be negative");
+            }
+        } catch (ParseException | IllegalArgumentException e) {
+            log.info(e.getMessage());
+            new HelpFormatter().printHelp("workload", options);
+
+            System.exit(1);
+            return;
+        }
+
+        CorfuRuntime runtime = CorfuRuntime.fromParameters(CorfuRuntimeParameters.builder().build())
+                .parseConfigurationString(config.getEndpoint())
+                .connect();
+        try {
+            Workload workload = new Workload(new CorfuStore(runtime), config);
+            workload.load();
+            new WorkloadDriver(config, workload).run();
+        } finally {
+            runtime.shutdown();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.corfudb.generator.distributions;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the range and the skew of the keys of the {@link KeyDistribution}s.
+ */
+public class KeyDistributionTest {
+
+    private static final long RECORDS = 100;
+
+    private static final int SAMPLES = 100_000;
+
+    private static final String[] DISTRIBUTIONS = {"uniform", "zipfian", "hotspot", "latest"};
+
+    /**
+     * Draw keys from a distribution, and count how many times every key was drawn.
+     */
+    private long[] histogram(KeyDistribution distribution, long records) {
+        long[] counts = new long[(int) records];
+        for (int i = 0; i < SAMPLES; i++) {
+            long key = distribution.nextKey();
+            assertThat(key).isBetween(0L, records - 1);
+            counts[(int) key]++;
+        }
+        return counts;
+    }
+
+    private double fraction(long[] counts, int from, int to) {
+        long sum = 0;
+        for (int key = from; key < to; key++) {
+            sum += counts[key];
+        }
+        return (double) sum / SAMPLES;
+    }
+
+    /**
+     * Every distribution only draws the ids of the existing records, and covers all of them.
+     */
+    @Test
+    public void keysAreRecordIds() {
+        for (String name : DISTRIBUTIONS) {
+            long[] counts = histogram(KeyDistribution.of(name, new AtomicLong(RECORDS)), RECORDS);
+            assertThat(counts).as(name).doesNotContain(0L);
+        }
+    }
+
+    /**
+     * A distribution can't draw a key while the table has no records, and draws the only key
+     * of a table with a single record.
+     */
+    @Test
+    public void emptyKeySpace() {
+        for (String name : DISTRIBUTIONS) {
+            AtomicLong records = new AtomicLong();
+            KeyDistribution distribution = KeyDistribution.of(name, records);
+            assertThatThrownBy(distribution::nextKey).as(name).isInstanceOf(IllegalStateException.class);
+
+            records.set(1);
+            assertThat(histogram(distribution, 1)[0]).as(name).isEqualTo(SAMPLES);
+        }
+    }
+
+    /**
+     * The zipfian distribution favors the lowest ids, the probability of a key being inversely
+     * proportional to its rank.
+     */
+    @Test
+    public void zipfianSkew() {
+        final int hotKeys = 10;
+        final double minHotFraction = 0.5;
+        final double tolerance = 0.02;
+
+        long[] counts = histogram(new ZipfianKeyDistribution(new AtomicLong(RECORDS)), RECORDS);
+
+        double zeta = 0;
+        for (int rank = 1; rank <= RECORDS; rank++) {
+            zeta += 1 / Math.pow(rank, ZipfianKeyDistribution.DEFAULT_THETA);
+        }
+        assertThat(fraction(counts, 0, 1)).isCloseTo(1 / zeta, within(tolerance));
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[hotKeys]);
+        assertThat(fraction(counts, 0, hotKeys)).isGreaterThan(minHotFraction);
+    }
+
+    /**
+     * The zipfian distribution covers the inserted records as the table grows.
+     */
+    @Test
+    public void zipfianGrows() {
+        final long initialRecords = 10;
+        AtomicLong records = new AtomicLong(initialRecords);
+        ZipfianKeyDistribution distribution = new ZipfianKeyDistribution(records);
+        assertThat(histogram(distribution, initialRecords)).doesNotContain(0L);
+
+        records.set(RECORDS);
+        assertThat(histogram(distribution, RECORDS)).doesNotContain(0L);
+    }
+
+    /**
+     * The hotspot distribution sends its fraction of the operations to its fraction of the keys.
+     */
+    @Test
+    public void hotspotSkew() {
+        final double tolerance = 0.01;
+        long[] counts = histogram(new HotspotKeyDistribution(new AtomicLong(RECORDS)), RECORDS);
+
+        int hotKeys = (int) (RECORDS * HotspotKeyDistribution.DEFAULT_HOT_KEYS);
+        assertThat(fraction(counts, 0, hotKeys))
+                .isCloseTo(HotspotKeyDistribution.DEFAULT_HOT_OPERATIONS, within(tolerance));
+    }
+
+    /**
+     * The latest distribution favors the most recently inserted records.
+     */
+    @Test
+    public void latestSkew() {
+        AtomicLong records = new AtomicLong(RECORDS);
+        long[] counts = histogram(new LatestKeyDistribution(records), RECORDS);
+        int last = (int) RECORDS - 1;
+        assertThat(counts[last]).isGreaterThan(counts[last - 1]);
+        assertThat(counts[last - 1]).isGreaterThan(counts[0]);
+
+        // The newest record becomes the most popular one
+        records.incrementAndGet();
+        counts = histogram(new LatestKeyDistribution(records), RECORDS + 1);
+        assertThat(counts[(int) RECORDS]).isGreaterThan(counts[last]);
+    }
+}
@@ -0,0 +1,82 @@
+package org.corfudb.generator.workload;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the rate the {@link WorkloadDriver} issues the operations at.
+ */
+public class WorkloadDriverTest {
+
+    private static final long RATE = 500;
+
+    private static final int THREADS = 2;
+
+    private static final Duration DURATION = Duration.ofSeconds(2);
+
+    private static final double TOLERANCE = 0.1;
+
+    private WorkloadConfig config() {
+        return WorkloadConfig.builder()
+                .mix(ImmutableMap.of(WorkloadOperation.READ, 1, WorkloadOperation.UPDATE, 1))
+                .threads(THREADS)
+                .rate(RATE)
+                .warmup(Duration.ZERO)
+                .duration(DURATION)
+                .reportInterval(Duration.ofSeconds(1))
+                .build();
+    }
+
+    private long expectedOperations() {
+        return RATE * DURATION.getSeconds();
+    }
+
+    /**
+     * The operations are issued at the target rate for the duration of the run.
+     */
+    @Test
+    public void achievesTargetRate() {
+        AtomicLong operations = new AtomicLong();
+        Workload workload = mock(Workload.class);
+        doAnswer(invocation -> operations.incrementAndGet()).when(workload).execute(any());
+
+        new WorkloadDriver(config(), workload).run();
+
+        assertThat((double) operations.get()).isCloseTo(expectedOperations(),
+                within(expectedOperations() * TOLERANCE));
+    }
+
+    /**
+     * The operations delayed by a stall are issued once it is over, rather than skipped, so the
+     * run still issues the operations of the target rate.
+     */
+    @Test
+    public void catchesUpAfterStall() {
+        final long stallMs = DURATION.toMillis() / 4;
+        AtomicLong operations = new AtomicLong();
+        AtomicBoolean stalled = new AtomicBoolean();
+        Workload workload = mock(Workload.class);
+        doAnswer(invocation -> {
+            if (stalled.compareAndSet(false, true)) {
+                TimeUnit.MILLISECONDS.sleep(stallMs);
+            }
+            return operations.incrementAndGet();
+        }).when(workload).execute(any());
+
+        new WorkloadDriver(config(), workload).run();
+
+        assertThat((double) operations.get()).isCloseTo(expectedOperations(),
+                within(expectedOperations() * TOLERANCE));
+    }
+}
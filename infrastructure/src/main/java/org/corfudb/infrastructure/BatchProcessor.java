@@ -4,11 +4,14 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.TextFormat;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.common.metrics.micrometer.DistributionSummaryHandle;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
 import org.corfudb.infrastructure.BatchWriterOperation.Type;
 import org.corfudb.infrastructure.log.StreamLog;
 import org.corfudb.protocols.CorfuProtocolLogData;
 import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.StreamAddressRange;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.runtime.exceptions.QuotaExceededException;
@@ -16,19 +19,27 @@ import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
+import org.corfudb.runtime.proto.service.LogUnit.ReadStreamRequestMsg;
+import org.corfudb.runtime.view.Address;
+import org.corfudb.runtime.view.stream.StreamAddressSpace;
+import org.corfudb.util.tracing.RequestTracer;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.corfudb.protocols.CorfuProtocolCommon.getUUID;
 import static org.corfudb.protocols.CorfuProtocolLogData.getLogData;
 import static org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
 
@@ -42,9 +53,16 @@ public class BatchProcessor implements AutoCloseable {
     private final int BATCH_SIZE;
     private final boolean sync;
     private final StreamLog streamLog;
-    private final BlockingQueue<BatchWriterOperation> operationsQueue;
+    private final WeightedFairQueue<BatchWriterOperation> operationsQueue;
     private final ExecutorService processorService;
 
+    private final DistributionSummaryHandle queueSizeSummary =
+            MicroMeterUtils.distSummaryHandle("logunit.queue.size");
+    private final TimerHandle singleWriteTimer =
+            MicroMeterUtils.timerHandle("logunit.write.timer", "type", "single");
+    private final TimerHandle rangeWriteTimer =
+            MicroMeterUtils.timerHandle("logunit.write.timer", "type", "range");
+
     /**
      * The sealEpoch is the epoch up to which all operations have been sealed. Any
      * BatchWriterOperation arriving after the sealEpoch with an epoch less than the sealEpoch
@@ -61,12 +79,26 @@ public class BatchProcessor implements AutoCloseable {
      * @param sync      If true, the batch writer will sync writes to secondary storage
      */
     public BatchProcessor(StreamLog streamLog, long sealEpoch, boolean sync) {
+        this(streamLog, sealEpoch, sync, RequestClass.DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Returns a new BatchProcessor for a stream log, which processes the operations of every
+     * request class in proportion to the weight of the class.
+     *
+     * @param streamLog stream log for writes (can be in memory or file)
+     * @param sealEpoch All operations stamped with epoch less than the epochWaterMark are discarded.
+     * @param sync      If true, the batch writer will sync writes to secondary storage
+     * @param weights   the weight of every request class
+     */
+    public BatchProcessor(StreamLog streamLog, long sealEpoch, boolean sync,
+                          Map<RequestClass, Integer> weights) {
         this.sealEpoch = sealEpoch;
         this.sync = sync;
         this.streamLog = streamLog;
 
         BATCH_SIZE = 50;
-        operationsQueue = new LinkedBlockingQueue<>();
+        operationsQueue = new WeightedFairQueue<>("logunit.batch.queue", weights);
         processorService = Executors
                 .newSingleThreadExecutor(new ThreadFactoryBuilder()
                         .setDaemon(false)
@@ -93,7 +125,17 @@ public class BatchProcessor implements AutoCloseable {
      */
     public <T> CompletableFuture<T> addTask(@Nonnull Type type, @Nonnull RequestMsg req) {
         BatchWriterOperation<T> op = new BatchWriterOperation<>(type, req);
-        operationsQueue.add(op);
+        try {
+            if (type == Type.SEAL || type == Type.RESET) {
+                // Every operation queued before a seal or a reset is processed before it,
+                // whatever its class, and none queued after it
+                operationsQueue.putBarrier(op);
+            } else {
+                operationsQueue.put(RequestClass.of(req.getHeader()), op);
+            }
+        } catch (RejectedExecutionException e) {
+            op.getFutureResult().completeExceptionally(e);
+        }
         return op.getFutureResult();
     }
 
@@ -108,14 +150,20 @@ public class BatchProcessor implements AutoCloseable {
 
             while (true) {
                 BatchWriterOperation currentOp;
-                MicroMeterUtils.measure(operationsQueue.size(), "logunit.queue.size");
+                queueSizeSummary.record(operationsQueue.size());
                 if (lastOp == null) {
                     currentOp = operationsQueue.take();
+                    if (currentOp == null) {
+                        // The processor is closed, and every queued operation is processed
+                        currentOp = BatchWriterOperation.SHUTDOWN;
+                    }
                 } else {
                     currentOp = operationsQueue.poll();
 
                     if (currentOp == null || res.size() == BATCH_SIZE || currentOp == BatchWriterOperation.SHUTDOWN) {
+                        long syncStart = System.nanoTime();
                         streamLog.sync(sync);
+                        traceSync(res, syncStart);
                         if (log.isTraceEnabled()) {
                             log.trace("batchWriteProcessor: completed {} operations", res.size());
                         }
@@ -138,7 +186,7 @@ public class BatchProcessor implements AutoCloseable {
                     log.warn("batchWriteProcessor: shutting down the write processor");
                     streamLog.sync(true);
                     break;
-                } else if (streamLog.quotaExceeded() &&
+                } else if (streamLog.quotaExceeded() && !currentOp.getType().isQuotaExempt() &&
                         (currentOp.getRequest().getHeader().getPriority() != PriorityLevel.HIGH)) {
                     currentOp.getFutureResult().completeExceptionally(
                             new QuotaExceededException("Quota of " + streamLog.quotaLimitInBytes() + " bytes"));
@@ -160,6 +208,10 @@ public class BatchProcessor implements AutoCloseable {
                     currentOp.getFutureResult().completeExceptionally(new WrongEpochException(sealEpoch));
                     lastOp = currentOp;
                 } else {
+                    final long traceId = currentOp.getTraceId();
+                    final long executionStart = System.nanoTime();
+                    RequestTracer.server().record(traceId, "logunit.queue",
+                            currentOp.getEnqueueNanos(), executionStart);
                     try {
                         RequestPayloadMsg payload =  currentOp.getRequest().getPayload();
                         switch (currentOp.getType()) {
@@ -169,14 +221,22 @@ public class BatchProcessor implements AutoCloseable {
                                 break;
                             case WRITE:
                                 LogData logData = getLogData(payload.getWriteLogRequest().getLogData());
-                                MicroMeterUtils.time(() -> streamLog.append(logData.getGlobalAddress(), logData),
-                                        "logunit.write.timer", "type", "single");
+                                long singleWriteStart = singleWriteTimer.start();
+                                try {
+                                    streamLog.append(logData.getGlobalAddress(), logData);
+                                } finally {
+                                    singleWriteTimer.stop(singleWriteStart);
+                                }
                                 break;
                             case RANGE_WRITE:
                                 List<LogData> range = payload.getRangeWriteLogRequest().getLogDataList()
                                         .stream().map(CorfuProtocolLogData::getLogData).collect(Collectors.toList());
-                                MicroMeterUtils.time(() -> streamLog.append(range),
-                                        "logunit.write.timer", "type", "range");
+                                long rangeWriteStart = rangeWriteTimer.start();
+                                try {
+                                    streamLog.append(range);
+                                } finally {
+                                    rangeWriteTimer.stop(rangeWriteStart);
+                                }
                                 break;
                             case RESET:
                                 streamLog.reset();
@@ -201,10 +261,15 @@ public class BatchProcessor implements AutoCloseable {
                                 break;
                             case LOG_ADDRESS_SPACE_QUERY:
                                 // Retrieve the address space for every stream in the log.
-                                StreamsAddressResponse resp = streamLog.getStreamsAddressSpace();
+                                StreamsAddressResponse resp = getLogAddressSpace(
+                                        payload.getLogAddressSpaceRequest().getStartAddress());
                                 resp.setEpoch(sealEpoch);
                                 currentOp.setResultValue(resp);
                                 break;
+                            case STREAM_ADDRESS_SPACE_QUERY:
+                                // Retrieve the addresses of a stream within the requested range.
+                                currentOp.setResultValue(getStreamAddresses(payload.getReadStreamRequest()));
+                                break;
                             default:
                                 log.warn("batchWriteProcessor: unknown operation {}", currentOp);
                         }
@@ -215,6 +280,9 @@ public class BatchProcessor implements AutoCloseable {
                         currentOp.getFutureResult().completeExceptionally(e);
                     }
 
+                    if (traceId != RequestTracer.NO_TRACE) {
+                        RequestTracer.server().record(traceId, "logunit." + currentOp.getType(), executionStart);
+                    }
                     res.add(currentOp);
                     lastOp = currentOp;
                 }
@@ -224,9 +292,19 @@ public class BatchProcessor implements AutoCloseable {
         }
     }
 
+    /**
+     * Record the sync of a batch against the traced operations of that batch.
+     */
+    private void traceSync(List<BatchWriterOperation<?>> batch, long syncStart) {
+        long syncEnd = System.nanoTime();
+        for (BatchWriterOperation<?> op : batch) {
+            RequestTracer.server().record(op.getTraceId(), "logunit.fsync", syncStart, syncEnd);
+        }
+    }
+
     @Override
     public void close() {
-        operationsQueue.add(BatchWriterOperation.SHUTDOWN);
+        operationsQueue.close();
         processorService.shutdown();
         try {
             processorService.awaitTermination(ServerContext.SHUTDOWN_TIMER.toMillis(),
@@ -235,4 +313,45 @@ public class BatchProcessor implements AutoCloseable {
             throw new UnrecoverableCorfuInterruptedError("BatchProcessor close interrupted.", e);
         }
     }
+
+    /**
+     * Get the address space of every stream in the log, from the given address onward. Streams
+     * that have not been written since then are left out.
+     *
+     * @param startAddress the first address requested
+     * @return the streams address spaces and the log tail
+     */
+    private StreamsAddressResponse getLogAddressSpace(long startAddress) {
+        StreamsAddressResponse resp = streamLog.getStreamsAddressSpace();
+        if (startAddress <= Address.getMinAddress()) {
+            return resp;
+        }
+
+        Map<UUID, StreamAddressSpace> addressMap = new HashMap<>();
+        resp.getAddressMap().forEach((streamId, addressSpace) -> {
+            if (addressSpace.getTail() >= startAddress) {
+                addressMap.put(streamId, addressSpace.getAddressesInRange(
+                        new StreamAddressRange(streamId, Address.MAX, startAddress - 1)));
+            }
+        });
+        return new StreamsAddressResponse(resp.getLogTail(), addressMap);
+    }
+
+    /**
+     * Get the addresses of a stream in the range (start, end] of a stream read, in ascending
+     * order, and limited to the max number of entries of the request.
+     *
+     * @param request the stream read request
+     * @return addresses of the stream in the requested range
+     */
+    private List<Long> getStreamAddresses(ReadStreamRequestMsg request) {
+        UUID streamId = getUUID(request.getStreamId());
+        StreamAddressSpace addressSpace = streamLog.getStreamsAddressSpace().getAddressMap().get(streamId);
+        if (addressSpace == null || request.getEnd() <= request.getStart()) {
+            return Collections.emptyList();
+        }
+
+        return addressSpace.getAddressesInRange(
+                new StreamAddressRange(streamId, request.getEnd(), request.getStart()), request.getMaxEntries());
+    }
 }
@@ -2,8 +2,10 @@ package org.corfudb.infrastructure;
 
 import java.util.concurrent.CompletableFuture;
 import lombok.Data;
+import lombok.Getter;
 import lombok.ToString;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
+import org.corfudb.util.tracing.RequestTracer;
 
 /**
  * This container is used by the logunit to add work to the batch writer. Its also used
@@ -20,13 +22,35 @@ public class BatchWriterOperation<T> {
         SEAL,
         RESET,
         TAILS_QUERY,
-        LOG_ADDRESS_SPACE_QUERY
+        LOG_ADDRESS_SPACE_QUERY,
+        // Stream scans only read the log, so they are served once the quota is exhausted
+        STREAM_ADDRESS_SPACE_QUERY(true);
+
+        @Getter
+        private final boolean quotaExempt;
+
+        Type() {
+            this(false);
+        }
+
+        Type(boolean quotaExempt) {
+            this.quotaExempt = quotaExempt;
+        }
     }
 
     private final Type type;
     private final RequestMsg request;
     private T resultValue;
     private final CompletableFuture<T> futureResult = new CompletableFuture<>();
+    // Time at which this operation was queued, for tracing
+    private final long enqueueNanos = System.nanoTime();
+
+    /**
+     * @return the trace id of the request, or {@link RequestTracer#NO_TRACE} if it is not traced
+     */
+    public long getTraceId() {
+        return request == null ? RequestTracer.NO_TRACE : request.getHeader().getTraceId();
+    }
 
     public static BatchWriterOperation<Void> SHUTDOWN = new BatchWriterOperation<>(Type.SHUTDOWN, null);
 }
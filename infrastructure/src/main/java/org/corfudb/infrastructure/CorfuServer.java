@@ -52,9 +52,15 @@ public class CorfuServer {
                     + "[--max-replication-data-message-size=<msg-size>] "
                     + "[-c <ratio>] [-d <level>] [-p <seconds>] "
                     + "[--lrCacheSize=<cache-num-entries>]"
+                    + "[--log-entry-prefetch-depth=<num-entries>]"
                     + "[--plugin=<plugin-config-file-path>]"
                     + "[--base-server-threads=<base_server_threads>] "
                     + "[--log-size-quota-percentage=<max_log_size_percentage>]"
+                    + "[--log-metadata-snapshot-interval=<seconds>]"
+                    + "[--sequencer-standby-sync-interval=<millis>]"
+                    + "[--sequencer-token-batch-size=<count>]"
+                    + "[--request-class-weights=<weights>]"
+                    + "[--gossip-failure-detector]"
                     + "[--logunit-threads=<logunit_threads>] [--management-server-threads=<management_server_threads>]"
                     + "[-e [-u <keystore> -f <keystore_password_file>] [-r <truststore> -w <truststore_password_file>] "
                     + "[-b] [-g -o <username_file> -j <password_file>] "
@@ -111,6 +117,22 @@ public class CorfuServer {
                     + "                                                                          "
                     + " -k <seqcache>, --sequencer-cache-size=<seqcache>                         "
                     + "               The size of the sequencer's cache. [default: 250000].\n    "
+                    + " --sequencer-standby-sync-interval=<millis>                               "
+                    + "              Interval at which the primary sequencer ships its state to the\n"
+                    + "              hot-standby sequencers, 0 disables hot-standby sequencers\n     "
+                    + "              [default: 0].\n                                             "
+                    + " --sequencer-token-batch-size=<count>                                     "
+                    + "              Max number of token requests the sequencer serves in a row\n"
+                    + "              before sending their responses [default: 64].\n            "
+                    + " --request-class-weights=<weights>                                        "
+                    + "              Weights of the system, interactive and bulk request classes\n"
+                    + "              the servers dequeue requests with, e.g. 8,4,1. A class is\n   "
+                    + "              dequeued up to its weight times in a row while the other\n   "
+                    + "              classes have queued requests.\n                               "
+                    + " --gossip-failure-detector                                                "
+                    + "              Probe a few nodes per round rather than every node to detect\n"
+                    + "              failures, so that the management traffic stays flat as the\n "
+                    + "              cluster grows.\n                                            "
                     + " -B <size> --batch-size=<size>                                            "
                     + "              The read/write batch size used for data transfer operations [default: 100].\n"
                     + " -R <retention>, --metadata-retention=<retention>                         "
@@ -166,6 +188,9 @@ public class CorfuServer {
                     + "              The max size as percentage of underlying file-store size.\n "
                     + "              If this limit is exceeded "
                     + "              write requests will be rejected [default: 100.0].\n         "
+                    + " --log-metadata-snapshot-interval=<seconds>                               "
+                    + "              Min interval between snapshots of the log unit metadata, which\n"
+                    + "              speed up its recovery, 0 disables snapshots [default: 300].\n "
                     + "                                                                          "
                     + " --compaction-trigger-freq-ms=<compaction_trigger_freq_ms>                "
                     + "               Frequency at which data will be trimmed & checkpointed\n   "
@@ -186,6 +211,9 @@ public class CorfuServer {
                     + "              Snapshot (Full) Sync batch size (number of entries)\n       "
                     + " --lrCacheSize=<cache-num-entries>"
                     + "              LR's cache max number of entries.\n                              "
+                    + " --log-entry-prefetch-depth=<num-entries>"
+                    + "              Number of transaction stream entries LR reads ahead during\n"
+                    + "              log entry sync, 0 disables prefetching.\n                   "
                     + " --max-replication-data-message-size=<msg-size>                                       "
                     + "              The max size of replication data message in bytes.\n   "
                     + " --lock-lease=<lease-duration>                                            "
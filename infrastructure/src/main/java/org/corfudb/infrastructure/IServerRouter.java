@@ -1,10 +1,18 @@
 package org.corfudb.infrastructure;
 
 import com.google.protobuf.TextFormat;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.FileRegion;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Optional;
 
+import org.corfudb.infrastructure.log.RawLogEntries;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.runtime.proto.RpcCommon.UuidMsg;
@@ -21,6 +29,7 @@ import static org.corfudb.protocols.CorfuProtocolServerErrors.getWrongEpochError
 import static org.corfudb.protocols.CorfuProtocolServerErrors.getNotBootstrappedErrorMsg;
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getHeaderMsg;
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getResponseMsg;
+import static org.corfudb.protocols.wireprotocol.NettyCorfuMessageDecoder.inlineRawEntries;
 
 /**
  * Created by mwei on 12/13/15.
@@ -32,6 +41,59 @@ public interface IServerRouter {
 
     void sendResponse(ResponseMsg response, ChannelHandlerContext ctx);
 
+    /**
+     * Send the responses to several requests received on a channel, in order. The channel
+     * may be flushed once for all the responses rather than after each of them.
+     *
+     * @param responses The response messages to send.
+     * @param ctx       The context of the channel handler.
+     */
+    default void sendResponses(List<ResponseMsg> responses, ChannelHandlerContext ctx) {
+        responses.forEach(response -> sendResponse(response, ctx));
+    }
+
+    /**
+     * Whether responses can be followed by regions of files on the channel, i.e., the
+     * regions can be written to the channel as they are.
+     *
+     * @param ctx The context of the channel handler.
+     * @return True if {@link #sendResponse(ResponseMsg, RawLogEntries, ChannelHandlerContext)}
+     * writes the regions to the channel as they are, but false otherwise.
+     */
+    default boolean canSendFileRegions(ChannelHandlerContext ctx) {
+        return false;
+    }
+
+    /**
+     * Send a read response followed by the raw log entries it describes. The regions holding
+     * the raw log entries are released once sent.
+     * <p>
+     * By default, the regions are read and the raw log entries are sent as part of the response.
+     *
+     * @param response   The read response.
+     * @param rawEntries The raw log entries.
+     * @param ctx        The context of the channel handler.
+     */
+    default void sendResponse(ResponseMsg response, RawLogEntries rawEntries, ChannelHandlerContext ctx) {
+        ByteBuf rawBytes = Unpooled.buffer(Math.toIntExact(rawEntries.getLength()));
+        try {
+            WritableByteChannel rawChannel = Channels.newChannel(new ByteBufOutputStream(rawBytes));
+            for (FileRegion region : rawEntries.getRegions()) {
+                while (region.transferred() < region.count()) {
+                    region.transferTo(rawChannel, region.transferred());
+                }
+            }
+
+            sendResponse(inlineRawEntries(response, rawBytes), ctx);
+        } catch (IOException e) {
+            log.error("sendResponse: failed to read the raw log entries of response {}",
+                    TextFormat.shortDebugString(response.getHeader()), e);
+        } finally {
+            rawBytes.release();
+            rawEntries.release();
+        }
+    }
+
     /**
      * Get the current epoch.
      */
@@ -7,10 +7,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.infrastructure.log.InMemoryStreamLog;
+import org.corfudb.infrastructure.log.RawLogEntries;
 import org.corfudb.infrastructure.log.StreamLog;
 import org.corfudb.infrastructure.log.StreamLogCompaction;
 import org.corfudb.infrastructure.log.StreamLogFiles;
 import org.corfudb.protocols.CorfuProtocolLogData;
+import org.corfudb.protocols.logprotocol.StreamEntryFilter;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.ILogData;
@@ -27,21 +29,26 @@ import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg.PayloadCase;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
+import org.corfudb.runtime.proto.service.LogUnit.ReadStreamRequestMsg;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.corfudb.util.Utils;
 
 import javax.annotation.Nonnull;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.corfudb.protocols.CorfuProtocolCommon.getUUID;
 import static org.corfudb.protocols.CorfuProtocolLogData.getLogData;
 import static org.corfudb.protocols.CorfuProtocolServerErrors.getDataCorruptionErrorMsg;
 import static org.corfudb.protocols.CorfuProtocolServerErrors.getOverwriteErrorMsg;
@@ -57,6 +64,7 @@ import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getKnownAddress
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getLogAddressSpaceResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getRangeWriteLogResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadLogResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadStreamResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getResetLogUnitResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTailResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTrimLogResponseMsg;
@@ -115,7 +123,7 @@ public class LogUnitServer extends AbstractServer {
     private final StreamLog streamLog;
     private final StreamLogCompaction logCleaner;
     private final BatchProcessor batchWriter;
-    private final ExecutorService executor;
+    private final RequestScheduler scheduler;
 
     /**
      * Returns a new LogUnitServer.
@@ -136,7 +144,9 @@ public class LogUnitServer extends AbstractServer {
     public LogUnitServer(ServerContext serverContext, LogUnitServerInitializer serverInitializer) {
         this.serverContext = serverContext;
         config = LogUnitServerConfig.parse(serverContext.getServerConfig());
-        executor = serverContext.getExecutorService(serverContext.getLogUnitThreadCount(), "LogUnit-");
+        scheduler = new RequestScheduler("logunit.request.queue",
+                serverContext.getExecutorService(serverContext.getLogUnitThreadCount(), "LogUnit-"),
+                serverContext.getRequestClassWeights());
 
         if (config.isMemoryMode()) {
             log.warn("Log unit opened in-memory mode (Maximum size={}). "
@@ -157,7 +167,7 @@ public class LogUnitServer extends AbstractServer {
 
     @Override
     protected void processRequest(RequestMsg req, ChannelHandlerContext ctx, IServerRouter router) {
-        executor.submit(() -> getHandlerMethods().handle(req, ctx, router));
+        scheduler.execute(req.getHeader(), () -> getHandlerMethods().handle(req, ctx, router));
     }
 
     /**
@@ -302,7 +312,7 @@ public class LogUnitServer extends AbstractServer {
                     dataCache.put(logData.getGlobalAddress(), logData);
                     HeaderMsg responseHeader = getHeaderMsg(batchProcessorReq.getHeader());
                     router.sendResponse(getResponseMsg(responseHeader, getWriteLogResponseMsg()), ctx);
-                }, executor)
+                }, scheduler.executor(batchProcessorReq.getHeader()))
                 .exceptionally(ex -> {
                     handleException(ex, ctx, batchProcessorReq, router);
                     return null;
@@ -364,9 +374,25 @@ public class LogUnitServer extends AbstractServer {
             log.trace("handleRead: {}, cacheable: {}", addressList, cacheable);
         }
 
+        // Entries that are not to be cached are sent straight from the log files if possible
+        if (!cacheable && req.getPayload().getReadLogRequest().getAcceptRawEntries()
+                && router.canSendFileRegions(ctx) && handleRawRead(req, ctx, router)) {
+            return;
+        }
+
+        // Addresses are read in a single batch, if the batch hits a corrupted entry
+        // we single step in order to report the corrupted address
+        Map<Long, ILogData> entries = null;
+        try {
+            entries = dataCache.getAll(addressList, cacheable);
+        } catch (DataCorruptionException dce) {
+            log.warn("handleRead: Data corruption exception while reading addresses {}, single stepping",
+                    addressList);
+        }
+
         for (long address : addressList) {
             try {
-                ILogData logData = dataCache.get(address, cacheable);
+                ILogData logData = entries != null ? entries.get(address) : dataCache.get(address, cacheable);
                 if (logData == null) {
                     readResponse.put(address, LogData.getEmpty(address));
                 } else {
@@ -383,6 +409,100 @@ public class LogUnitServer extends AbstractServer {
                 getReadLogResponseMsg(readResponse.getAddresses())), ctx);
     }
 
+    /**
+     * Service a read request by sending the entries that are not in the cache as they are
+     * persisted in the log files, following the response. This avoids reading the entries
+     * into memory and serializing them again.
+     *
+     * @return true if the response was sent, false if the request must be serviced by reading
+     * the entries instead, i.e., when a corrupted entry is hit
+     */
+    private boolean handleRawRead(RequestMsg req, ChannelHandlerContext ctx, IServerRouter router) {
+        final List<Long> addressList = req.getPayload().getReadLogRequest().getAddressList();
+
+        Map<Long, ILogData> cachedEntries = dataCache.getAllPresent(addressList);
+        List<Long> uncached = addressList.stream()
+                .filter(address -> !cachedEntries.containsKey(address))
+                .collect(Collectors.toList());
+        RawLogEntries rawEntries = uncached.isEmpty() ? RawLogEntries.empty() : streamLog.readFileRegions(uncached);
+
+        // The addresses that are not covered by the log files are read, e.g. those that are
+        // trimmed, not written, or still in the segment being written
+        Set<Long> rawAddresses = rawEntries.getEntries().stream()
+                .map(RawLogEntryMsg::getAddress)
+                .collect(Collectors.toSet());
+        List<Long> missing = uncached.stream()
+                .filter(address -> !rawAddresses.contains(address))
+                .collect(Collectors.toList());
+
+        Map<Long, LogData> entries = new HashMap<>();
+        try {
+            cachedEntries.forEach((address, logData) -> entries.put(address, (LogData) logData));
+            Map<Long, ILogData> missingEntries = missing.isEmpty() ? Collections.emptyMap()
+                    : dataCache.getAll(missing, false);
+            for (long address : missing) {
+                ILogData logData = missingEntries.get(address);
+                entries.put(address, logData == null ? LogData.getEmpty(address) : (LogData) logData);
+            }
+        } catch (DataCorruptionException dce) {
+            log.warn("handleRawRead: Data corruption exception while reading addresses {}", missing);
+            rawEntries.release();
+            return false;
+        }
+
+        router.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                getReadLogResponseMsg(entries, rawEntries.getEntries())), rawEntries, ctx);
+        return true;
+    }
+
+    /**
+     * Service an incoming request for the entries of a stream in a range of addresses. The
+     * stream's addresses are resolved from the log unit's address maps, and entries that span
+     * multiple streams are filtered down to the updates of the requested stream.
+     */
+    @RequestHandler(type = PayloadCase.READ_STREAM_REQUEST)
+    private void handleReadStream(RequestMsg req, ChannelHandlerContext ctx, IServerRouter router) {
+        final ReadStreamRequestMsg request = req.getPayload().getReadStreamRequest();
+        final UUID streamId = getUUID(request.getStreamId());
+
+        if (log.isTraceEnabled()) {
+            log.trace("handleReadStream: stream {} in ({}, {}], max entries: {}", streamId,
+                    request.getStart(), request.getEnd(), request.getMaxEntries());
+        }
+
+        batchWriter.<List<Long>>addTask(BatchWriterOperation.Type.STREAM_ADDRESS_SPACE_QUERY, req)
+                .thenAcceptAsync(addresses -> {
+                    Map<Long, ILogData> entries;
+                    try {
+                        entries = dataCache.getAll(addresses, request.getCacheResults());
+                    } catch (DataCorruptionException dce) {
+                        log.error("handleReadStream: Data corruption exception while reading addresses {}",
+                                addresses, dce);
+                        router.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                                getDataCorruptionErrorMsg(addresses.get(0))), ctx);
+                        return;
+                    }
+
+                    Map<Long, LogData> streamEntries = new LinkedHashMap<>();
+                    for (long address : addresses) {
+                        ILogData logData = entries.get(address);
+                        if (logData != null) {
+                            streamEntries.put(address, StreamEntryFilter.filter((LogData) logData, streamId));
+                        }
+                    }
+
+                    // The response is partial if the number of entries was capped
+                    long lastAddress = request.getMaxEntries() > 0 && addresses.size() == request.getMaxEntries()
+                            ? addresses.get(addresses.size() - 1) : request.getEnd();
+                    router.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                            getReadStreamResponseMsg(streamEntries, lastAddress)), ctx);
+                }, scheduler.executor(req.getHeader()))
+                .exceptionally(ex -> {
+                    handleException(ex, ctx, req, router);
+                    return null;
+                });
+    }
+
     @RequestHandler(type = PayloadCase.INSPECT_ADDRESSES_REQUEST)
     private void handleInspectAddressesRequest(RequestMsg req, ChannelHandlerContext ctx, IServerRouter router) {
         final List<Long> addresses = req.getPayload().getInspectAddressesRequest().getAddressList();
@@ -532,7 +652,7 @@ public class LogUnitServer extends AbstractServer {
     public void shutdown() {
         log.info("Shutdown LogUnit server. Current epoch: {}, ", serverContext.getServerEpoch());
         super.shutdown();
-        executor.shutdown();
+        scheduler.shutdown();
         logCleaner.shutdown();
         batchWriter.close();
         streamLog.close();
@@ -612,7 +732,8 @@ public class LogUnitServer extends AbstractServer {
         BatchProcessor buildBatchProcessor(@Nonnull LogUnitServerConfig config,
                                            @Nonnull StreamLog streamLog,
                                            @Nonnull ServerContext serverContext) {
-            return new BatchProcessor(streamLog, serverContext.getServerEpoch(), !config.isNoSync());
+            return new BatchProcessor(streamLog, serverContext.getServerEpoch(), !config.isNoSync(),
+                    serverContext.getRequestClassWeights());
         }
 
         StreamLogCompaction buildStreamLogCompaction(@Nonnull StreamLog streamLog) {
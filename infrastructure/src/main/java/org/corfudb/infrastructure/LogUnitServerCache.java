@@ -1,19 +1,27 @@
 package org.corfudb.infrastructure;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MeterRegistryProvider;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
 import org.corfudb.common.util.Memory;
 import org.corfudb.infrastructure.LogUnitServer.LogUnitServerConfig;
 import org.corfudb.infrastructure.log.StreamLog;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static java.lang.Math.toIntExact;
 
 /**
@@ -40,6 +48,7 @@ public class LogUnitServerCache {
     private final String loadTimeName = "logunit.cache.load_time";
     private final String hitRatioName = "logunit.cache.hit_ratio";
     private final String weightName = "logunit.cache.weight";
+    private final TimerHandle readTimer = MicroMeterUtils.timerHandle("logunit.read.timer");
 
     public LogUnitServerCache(LogUnitServerConfig config, StreamLog streamLog) {
         this.streamLog = streamLog;
@@ -49,7 +58,17 @@ public class LogUnitServerCache {
                 .recordStats()
                 .executor(Runnable::run)
                 .removalListener(this::handleEviction)
-                .build(this::handleRetrieval);
+                .build(new CacheLoader<Long, ILogData>() {
+                    @Override
+                    public ILogData load(Long address) {
+                        return handleRetrieval(address);
+                    }
+
+                    @Override
+                    public Map<Long, ILogData> loadAll(Iterable<? extends Long> addresses) {
+                        return handleBulkRetrieval(Lists.newArrayList(addresses));
+                    }
+                });
 
         MeterRegistryProvider.getInstance().ifPresent(registry ->
                 CaffeineCacheMetrics.monitor(registry, dataCache, "logunit.read_cache"));
@@ -79,11 +98,36 @@ public class LogUnitServerCache {
      * as un-written (null).
      */
     private ILogData handleRetrieval(long address) {
-        LogData entry = MicroMeterUtils.time(() -> streamLog.read(address), "logunit.read.timer");
+        long start = readTimer.start();
+        LogData entry;
+        try {
+            entry = streamLog.read(address);
+        } finally {
+            readTimer.stop(start);
+        }
         log.trace("handleRetrieval: Retrieved[{} : {}]", address, entry);
         return entry;
     }
 
+    /**
+     * Retrieves the LogUnitEntries of multiple addresses from disk in a single batched read.
+     *
+     * @param addresses the addresses to retrieve the entries from
+     * @return the log unit entries to retrieve into the cache, addresses that
+     * cannot be retrieved are absent
+     */
+    private Map<Long, ILogData> handleBulkRetrieval(List<Long> addresses) {
+        long start = readTimer.start();
+        Map<Long, ILogData> entries;
+        try {
+            entries = new HashMap<>(streamLog.read(addresses));
+        } finally {
+            readTimer.stop(start);
+        }
+        log.trace("handleBulkRetrieval: Retrieved {} out of {} addresses", entries.size(), addresses.size());
+        return entries;
+    }
+
     private void handleEviction(long address, ILogData entry, RemovalCause cause) {
         if (log.isTraceEnabled()) {
             log.trace("handleEviction: Eviction[{}]: {}", address, cause);
@@ -109,6 +153,44 @@ public class LogUnitServerCache {
         return dataCache.get(address);
     }
 
+    /**
+     * Returns the log entries from the cache, the entries missing from the cache are
+     * retrieved from the underlying storage in a single batched read.
+     * <p>
+     * If the log entries are not cacheable, the ones that do not exist in cache will not
+     * be cached when retrieved from the underlying storage.
+     *
+     * @param addresses the addresses of the log entries to retrieve
+     * @param cacheable if the log entries should be cached when retrieved from underlying storage
+     * @return the log entries read from cache or retrieved the underlying storage, addresses
+     * that were not written are absent
+     */
+    public Map<Long, ILogData> getAll(List<Long> addresses, boolean cacheable) {
+        if (!cacheable) {
+            Map<Long, ILogData> entries = new HashMap<>(dataCache.getAllPresent(addresses));
+            List<Long> missing = addresses.stream()
+                    .filter(address -> !entries.containsKey(address))
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                entries.putAll(handleBulkRetrieval(missing));
+            }
+            return entries;
+        }
+
+        return dataCache.getAll(addresses);
+    }
+
+    /**
+     * Returns the log entries that exist in the cache, without retrieving the missing ones
+     * from the underlying storage.
+     *
+     * @param addresses the addresses of the log entries to look up
+     * @return the log entries found in the cache
+     */
+    public Map<Long, ILogData> getAllPresent(List<Long> addresses) {
+        return dataCache.getAllPresent(addresses);
+    }
+
     /**
      * Returns the log entry form the cache or retrieves it from the underlying storage.
      *
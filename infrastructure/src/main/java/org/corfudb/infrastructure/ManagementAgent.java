@@ -5,7 +5,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.infrastructure.management.ClusterStateContext;
-import org.corfudb.infrastructure.management.FailureDetector;
+import org.corfudb.infrastructure.management.IDetector;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
 import org.corfudb.runtime.view.Layout;
@@ -107,7 +107,7 @@ public class ManagementAgent {
     ManagementAgent(@NonNull SingletonResource<CorfuRuntime> runtimeSingletonResource,
                     @NonNull ServerContext serverContext,
                     @NonNull ClusterStateContext clusterContext,
-                    @NonNull FailureDetector failureDetector,
+                    @NonNull IDetector failureDetector,
                     Layout managementLayout) {
         this.runtimeSingletonResource = runtimeSingletonResource;
         this.serverContext = serverContext;
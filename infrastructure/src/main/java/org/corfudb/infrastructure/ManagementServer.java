@@ -18,6 +18,8 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.infrastructure.management.ClusterStateContext;
 import org.corfudb.infrastructure.management.FailureDetector;
+import org.corfudb.infrastructure.management.GossipFailureDetector;
+import org.corfudb.infrastructure.management.IDetector;
 import org.corfudb.infrastructure.management.ReconfigurationEventHandler;
 import org.corfudb.infrastructure.orchestrator.Orchestrator;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
@@ -494,8 +496,12 @@ public class ManagementServer extends AbstractServer {
         ManagementAgent buildManagementAgent(@Nonnull SingletonResource<CorfuRuntime> corfuRuntime,
                                              @Nonnull ServerContext serverContext,
                                              @Nonnull ClusterStateContext clusterContext) {
+            String localEndpoint = serverContext.getLocalEndpoint();
+            IDetector failureDetector = serverContext.isGossipFailureDetector()
+                    ? new GossipFailureDetector(localEndpoint)
+                    : new FailureDetector(localEndpoint);
             return new ManagementAgent(corfuRuntime, serverContext, clusterContext,
-                    new FailureDetector(serverContext.getLocalEndpoint()), serverContext.getManagementLayout());
+                    failureDetector, serverContext.getManagementLayout());
         }
     }
 }
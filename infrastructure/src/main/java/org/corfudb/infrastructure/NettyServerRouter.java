@@ -2,22 +2,30 @@ package org.corfudb.infrastructure;
 
 import com.google.common.collect.ImmutableList;
 import com.google.protobuf.TextFormat;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.infrastructure.log.RawLogEntries;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg.PayloadCase;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
 import org.corfudb.runtime.view.Layout;
+import org.corfudb.util.tracing.RequestTracer;
 
+import java.io.IOException;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.corfudb.protocols.wireprotocol.NettyCorfuMessageEncoder.encodeResponseWithRawEntries;
 
 /**
  * The netty server router routes incoming messages to registered roles using the
@@ -101,12 +109,92 @@ public class NettyServerRouter extends ChannelInboundHandlerAdapter implements I
      */
     public void sendResponse(ResponseMsg response, ChannelHandlerContext ctx) {
         ctx.writeAndFlush(response, ctx.voidPromise());
+        onResponseSent(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The responses are written and the channel is flushed once, after the last response.
+     */
+    @Override
+    public void sendResponses(List<ResponseMsg> responses, ChannelHandlerContext ctx) {
+        for (ResponseMsg response : responses) {
+            ctx.write(response, ctx.voidPromise());
+            onResponseSent(response);
+        }
+        ctx.flush();
+    }
+
+    private void onResponseSent(ResponseMsg response) {
+        final long traceId = response.getHeader().getTraceId();
+        if (traceId != RequestTracer.NO_TRACE) {
+            final long now = System.nanoTime();
+            RequestTracer.server().record(traceId, "server.respond." + response.getPayload().getPayloadCase(), now, now);
+            RequestTracer.server().complete(traceId);
+        }
 
         if(log.isTraceEnabled()) {
             log.trace("Sent response: {}", TextFormat.shortDebugString(response));
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * File regions are sent as they are, so they can not be sent over TLS.
+     */
+    @Override
+    public boolean canSendFileRegions(ChannelHandlerContext ctx) {
+        return ctx.pipeline().get(SslHandler.class) == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The response and the regions are written from the head of the pipeline as a single frame,
+     * so the regions can be transferred without being copied (e.g. with sendfile).
+     */
+    @Override
+    public void sendResponse(ResponseMsg response, RawLogEntries rawEntries, ChannelHandlerContext ctx) {
+        final ByteBuf header;
+        try {
+            header = encodeResponseWithRawEntries(ctx.alloc(), response, rawEntries.getLength());
+        } catch (IOException | RuntimeException e) {
+            log.error("sendResponse: failed to encode response {}",
+                    TextFormat.shortDebugString(response.getHeader()), e);
+            rawEntries.release();
+            return;
+        }
+
+        // The frame must not be interleaved with other responses
+        try {
+            ctx.channel().eventLoop().execute(() -> {
+                ChannelHandlerContext head = ctx.pipeline().firstContext();
+                head.write(header, head.voidPromise());
+                rawEntries.getRegions().forEach(region -> head.write(region, head.voidPromise()));
+                head.flush();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("sendResponse: channel {} is closed", ctx.channel(), e);
+            header.release();
+            rawEntries.release();
+            return;
+        }
+
+        final long traceId = response.getHeader().getTraceId();
+        if (traceId != RequestTracer.NO_TRACE) {
+            final long now = System.nanoTime();
+            RequestTracer.server().record(traceId, "server.respond." + response.getPayload().getPayloadCase(), now, now);
+            RequestTracer.server().complete(traceId);
+        }
+
+        if(log.isTraceEnabled()) {
+            log.trace("Sent response: {} with {} raw entries", TextFormat.shortDebugString(response),
+                    rawEntries.getEntries().size());
+        }
+    }
+
     @Override
     public Optional<Layout> getCurrentLayout() {
         return Optional.ofNullable(serverContext.getCurrentLayout());
@@ -123,6 +211,12 @@ public class NettyServerRouter extends ChannelInboundHandlerAdapter implements I
         RequestMsg request = ((RequestMsg) msg);
         RequestPayloadMsg payload = request.getPayload();
 
+        final long traceId = request.getHeader().getTraceId();
+        if (traceId != RequestTracer.NO_TRACE) {
+            final long now = System.nanoTime();
+            RequestTracer.server().record(traceId, "server.receive." + payload.getPayloadCase(), now, now);
+        }
+
         AbstractServer handler = requestTypeHandlerMap.get(payload.getPayloadCase());
         if (handler == null) {
             log.warn("channelRead: Received unregistered request {}, dropping", payload.getPayloadCase());
@@ -13,8 +13,8 @@ import org.corfudb.infrastructure.management.ClusterAdvisor;
 import org.corfudb.infrastructure.management.ClusterAdvisorFactory;
 import org.corfudb.infrastructure.management.ClusterStateContext;
 import org.corfudb.infrastructure.management.ClusterType;
-import org.corfudb.infrastructure.management.FailureDetector;
 import org.corfudb.infrastructure.management.FileSystemAdvisor;
+import org.corfudb.infrastructure.management.IDetector;
 import org.corfudb.infrastructure.management.PollReport;
 import org.corfudb.infrastructure.management.failuredetector.EpochHandler;
 import org.corfudb.infrastructure.management.failuredetector.FailureDetectorDataStore;
@@ -63,7 +63,7 @@ public class RemoteMonitoringService implements ManagementService {
      * Detectors to be used to detect failures and healing.
      */
     @Getter
-    private final FailureDetector failureDetector;
+    private final IDetector failureDetector;
 
     /**
      * Detection Task Scheduler Service
@@ -132,7 +132,7 @@ public class RemoteMonitoringService implements ManagementService {
     RemoteMonitoringService(@NonNull ServerContext serverContext,
                             @NonNull SingletonResource<CorfuRuntime> runtimeSingletonResource,
                             @NonNull ClusterStateContext clusterContext,
-                            @NonNull FailureDetector failureDetector,
+                            @NonNull IDetector failureDetector,
                             @NonNull LocalMonitoringService localMonitoringService) {
         this.serverContext = serverContext;
         this.runtimeSingletonResource = runtimeSingletonResource;
@@ -0,0 +1,53 @@
+package org.corfudb.infrastructure;
+
+import com.google.common.collect.ImmutableMap;
+import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
+import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
+
+import java.util.Map;
+
+/**
+ * The classes of requests a server queues separately, see {@link WeightedFairQueue}.
+ */
+public enum RequestClass {
+    /**
+     * High priority requests, sent by the cluster itself to manage the cluster
+     * (e.g. seals, layout changes and failure handling).
+     */
+    SYSTEM,
+
+    /**
+     * Latency-sensitive requests of the applications.
+     */
+    INTERACTIVE,
+
+    /**
+     * Background requests, e.g. state transfer, checkpoints and backups.
+     */
+    BULK;
+
+    /**
+     * The default weights of the classes: system requests are dequeued twice as often as
+     * interactive ones when both are queued, and interactive ones four times as often as
+     * bulk ones.
+     */
+    public static final Map<RequestClass, Integer> DEFAULT_WEIGHTS = ImmutableMap.of(
+            SYSTEM, 8,
+            INTERACTIVE, 4,
+            BULK, 1);
+
+    /**
+     * Get the class of a request. Bulk requests are background traffic, even when they have
+     * a high priority to be exempt from the quota.
+     *
+     * @param header the header of the request
+     * @return the class of the request
+     */
+    public static RequestClass of(HeaderMsg header) {
+        if (header.getTrafficClass() == TrafficClass.BULK) {
+            return BULK;
+        }
+        return header.getPriority() == PriorityLevel.HIGH ? SYSTEM : INTERACTIVE;
+    }
+}
@@ -0,0 +1,85 @@
+package org.corfudb.infrastructure;
+
+import lombok.NonNull;
+import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Schedules the requests of a server on its executor. Rather than in arrival order, the
+ * requests are run in the order of a {@link WeightedFairQueue}, so that background traffic
+ * (e.g. state transfer or compaction) does not delay the latency-sensitive requests of the
+ * applications: every request queued submits a task to the executor, which runs the next
+ * request of the queue rather than the queued one.
+ */
+public class RequestScheduler {
+
+    private final WeightedFairQueue<Runnable> queue;
+
+    private final ExecutorService executor;
+
+    /**
+     * Returns a new scheduler.
+     *
+     * @param name     the name of the scheduler metrics
+     * @param executor the executor to run the requests on
+     * @param weights  the weight of every request class
+     */
+    public RequestScheduler(@NonNull String name, @NonNull ExecutorService executor,
+                            @NonNull Map<RequestClass, Integer> weights) {
+        this.queue = new WeightedFairQueue<>(name, weights);
+        this.executor = executor;
+    }
+
+    /**
+     * Run a request.
+     *
+     * @param requestClass the class of the request
+     * @param task         the request
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler is shut down
+     */
+    public void execute(@NonNull RequestClass requestClass, @NonNull Runnable task) {
+        queue.put(requestClass, task);
+        executor.submit(this::runNext);
+    }
+
+    /**
+     * Run a request.
+     *
+     * @param header the header of the request, which determines its class
+     * @param task   the request
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler is shut down
+     */
+    public void execute(@NonNull HeaderMsg header, @NonNull Runnable task) {
+        execute(RequestClass.of(header), task);
+    }
+
+    /**
+     * Get an executor running the continuations of a request in the class of the request.
+     *
+     * @param header the header of the request
+     * @return the executor of the class of the request
+     */
+    public Executor executor(@NonNull HeaderMsg header) {
+        RequestClass requestClass = RequestClass.of(header);
+        return task -> execute(requestClass, task);
+    }
+
+    /**
+     * Stop accepting requests. The queued requests are still run.
+     */
+    public void shutdown() {
+        queue.close();
+        executor.shutdown();
+    }
+
+    private void runNext() {
+        // Every task submitted to the executor matches a queued request
+        Runnable task = queue.poll();
+        if (task != null) {
+            task.run();
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package org.corfudb.infrastructure;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.TextFormat;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Tags;
 import io.netty.channel.ChannelHandlerContext;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Builder.Default;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MeterRegistryProvider;
+import org.corfudb.common.metrics.micrometer.DistributionSummaryHandle;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
 import org.corfudb.infrastructure.SequencerServerCache.ConflictTxStream;
-import org.corfudb.protocols.CorfuProtocolCommon;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
@@ -24,28 +26,41 @@ import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TokenType;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
 import org.corfudb.runtime.proto.RpcCommon.StreamAddressRangeMsg;
-import org.corfudb.runtime.proto.RpcCommon.UuidMsg;
 import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg.PayloadCase;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
+import org.corfudb.runtime.proto.service.Sequencer.ConflictKeyMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerBootstrapChunkRequestMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.StreamsAddressRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.TokenRequestMsg;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
+import org.corfudb.util.LambdaUtils;
 import org.corfudb.util.Utils;
+import org.corfudb.util.tracing.RequestTracer;
 
 import javax.annotation.Nonnull;
 import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -57,8 +72,14 @@ import static org.corfudb.protocols.CorfuProtocolTxResolution.getTxResolutionInf
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getHeaderMsg;
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getBootstrapSequencerResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getConflictKeyMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerBootstrapChunkResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerMetricsResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbyStatusResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbySyncResponseMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerTrimResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamsAddressMap;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamsAddressMapMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getTokenResponseMsg;
 
 /**
@@ -147,7 +168,69 @@ public class SequencerServer extends AbstractServer {
     @Getter
     private long epochRangeLowerBound = Layout.INVALID_EPOCH;
 
-    private final ExecutorService executor;
+    private final RequestScheduler scheduler;
+
+    /**
+     * The token requests received and not served yet, by request class, which are served in
+     * batches of the same class so the token requests keep the share of their class.
+     */
+    private final Map<RequestClass, Queue<PendingTokenRequest>> pendingTokenRequests =
+            new EnumMap<>(RequestClass.class);
+
+    // The task serving a batch of the pending token requests of every class
+    private final Map<RequestClass, Runnable> tokenBatchTasks = new EnumMap<>(RequestClass.class);
+
+    // The batch being served and its responses, only accessed by the sequencer thread
+    private final List<PendingTokenRequest> tokenBatch = new ArrayList<>();
+    private final List<ResponseMsg> tokenBatchResponses = new ArrayList<>();
+
+    // Whether a batch is being served, i.e. the token request handler adds the responses to the batch
+    private boolean servingTokenBatch = false;
+
+    // The responses of the batch sent on the same channel, and which responses of the batch were sent
+    private final List<ResponseMsg> channelResponses = new ArrayList<>();
+    private final BitSet sentTokenBatchResponses = new BitSet();
+
+    private final int maxTokenBatchSize;
+
+    private final DistributionSummaryHandle tokenBatchSizeSummary =
+            MicroMeterUtils.distSummaryHandle("sequencer.token.batch.size");
+    private final TimerHandle tokenBatchServeTimer = MicroMeterUtils.timerHandle("sequencer.token.batch.serve");
+    private final TimerHandle tokenBatchRespondTimer = MicroMeterUtils.timerHandle("sequencer.token.batch.respond");
+
+    /**
+     * The global tail up to which the primary sequencer shipped its state to this sequencer as
+     * a hot-standby, or {@link Address#NON_ADDRESS} if this sequencer is not a synced standby.
+     */
+    @Getter
+    private long standbyTail = Address.NON_ADDRESS;
+
+    // The epoch and epoch range lower bound of the primary sequencer that shipped the standby state
+    private long standbyEpoch = Layout.INVALID_EPOCH;
+    private long standbyEpochRangeLowerBound = Layout.INVALID_EPOCH;
+
+    /**
+     * The tails of the streams written between the last standby sync and the promotion of this
+     * sequencer. The conflict keys of these updates are unknown, so transactions on these streams
+     * with an earlier snapshot abort with a NEW_SEQUENCER cause.
+     */
+    private Map<UUID, Long> catchUpStreamTails = Collections.emptyMap();
+
+    /**
+     * Ships the state of this sequencer to the hot-standby sequencers while it is the primary,
+     * null if hot-standby sequencers are disabled.
+     */
+    private final SequencerStandbyShipper standbyShipper;
+
+    private final ScheduledExecutorService standbySyncScheduler;
+
+    /**
+     * The stream address maps received for a chunked bootstrap at {@link #bootstrapChunksEpoch},
+     * which are only applied once the bootstrap is committed.
+     */
+    private Map<UUID, StreamAddressSpace> bootstrapChunks = new HashMap<>();
+    private long bootstrapChunksEpoch = Layout.INVALID_EPOCH;
+    private int bootstrapChunksReceived = 0;
 
     /**
      * - {@link SequencerServer::globalLogTail}:
@@ -186,9 +269,17 @@ public class SequencerServer extends AbstractServer {
         this.serverContext = serverContext;
         this.sequencerFactoryHelper = sequencerFactoryHelper;
         Config config = Config.parse(serverContext.getServerConfig());
+        maxTokenBatchSize = config.getTokenBatchSize();
+        for (RequestClass requestClass : RequestClass.values()) {
+            Queue<PendingTokenRequest> pending = new ConcurrentLinkedQueue<>();
+            pendingTokenRequests.put(requestClass, pending);
+            tokenBatchTasks.put(requestClass, () -> serveTokenBatch(pending));
+        }
 
         // Sequencer server is single threaded by current design
-        executor = serverContext.getExecutorService(1, "sequencer-");
+        scheduler = new RequestScheduler("sequencer.request.queue",
+                serverContext.getExecutorService(1, "sequencer-"),
+                serverContext.getRequestClassWeights());
 
         globalLogTail = sequencerFactoryHelper.getGlobalLogTail();
         cache = sequencerFactoryHelper.getSequencerServerCache(
@@ -197,17 +288,48 @@ public class SequencerServer extends AbstractServer {
         );
         streamsAddressMap = sequencerFactoryHelper.getStreamAddressSpaceMap();
         streamTailToGlobalTailMap = sequencerFactoryHelper.getStreamTailToGlobalTailMap();
+
+        if (config.getStandbySyncInterval().isZero()) {
+            standbyShipper = null;
+            standbySyncScheduler = null;
+        } else {
+            standbyShipper = new SequencerStandbyShipper(serverContext);
+            standbySyncScheduler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat(serverContext.getThreadPrefix() + "SequencerStandbySync")
+                            .build());
+            standbySyncScheduler.scheduleWithFixedDelay(
+                    () -> scheduler.execute(RequestClass.SYSTEM,
+                            () -> LambdaUtils.runSansThrow(this::syncStandbySequencers)),
+                    config.getStandbySyncInterval().toMillis(),
+                    config.getStandbySyncInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void processRequest(RequestMsg req, ChannelHandlerContext ctx, IServerRouter r) {
-        executor.submit(() -> getHandlerMethods().handle(req, ctx, r));
+        if (req.getPayload().getPayloadCase() == PayloadCase.TOKEN_REQUEST) {
+            // Every token request still schedules a task, which serves a batch of the token
+            // requests of its class received so far, so the task of a request served in an
+            // earlier batch finds nothing (or only later requests) to serve.
+            final RequestClass requestClass = RequestClass.of(req.getHeader());
+            pendingTokenRequests.get(requestClass).add(new PendingTokenRequest(req, ctx, r));
+            scheduler.execute(requestClass, tokenBatchTasks.get(requestClass));
+            return;
+        }
+        scheduler.execute(req.getHeader(), () -> getHandlerMethods().handle(req, ctx, r));
     }
 
     @Override
     public void shutdown() {
         super.shutdown();
-        executor.shutdown();
+        if (standbyShipper != null) {
+            standbySyncScheduler.shutdownNow();
+            standbyShipper.close();
+        }
+        scheduler.shutdown();
     }
 
     @Override
@@ -216,9 +338,13 @@ public class SequencerServer extends AbstractServer {
             return false;
         }
 
+        // A standby sequencer serves the standby requests, and is promoted with a bootstrap request.
+        final PayloadCase payloadCase = request.getPayload().getPayloadCase();
         if ((sequencerEpoch != serverContext.getServerEpoch()) &&
-                (!request.getPayload().getPayloadCase()
-                        .equals(PayloadCase.BOOTSTRAP_SEQUENCER_REQUEST))) {
+                !payloadCase.equals(PayloadCase.BOOTSTRAP_SEQUENCER_REQUEST) &&
+                !payloadCase.equals(PayloadCase.SEQUENCER_BOOTSTRAP_CHUNK_REQUEST) &&
+                !payloadCase.equals(PayloadCase.SEQUENCER_STANDBY_SYNC_REQUEST) &&
+                !payloadCase.equals(PayloadCase.SEQUENCER_STANDBY_STATUS_REQUEST)) {
 
             log.warn("isServerReadyToHandleMsg: sequencer epoch:{} != serverEpoch:{}, "
                     + "{}", sequencerEpoch, serverContext.getServerEpoch(),
@@ -337,6 +463,16 @@ public class SequencerServer extends AbstractServer {
                     return new TxResolutionResponse(TokenType.TX_ABORT_SEQ_OVERFLOW);
                 }
             }
+
+            // The conflict keys of the updates this sequencer caught up with on its promotion
+            // from a standby are unknown, so we can only detect conflicts at the stream level.
+            Long catchUpTail = catchUpStreamTails.get(conflictStream.getKey());
+            if (catchUpTail != null && catchUpTail > txSnapshotTimestamp.getSequence()) {
+                log.debug("ABORT[{}] ts[{}] stream[{}] New Sequencer catch up ts=[{}]",
+                        txInfo, txSnapshotTimestamp, Utils.toReadableId(conflictStream.getKey()),
+                        catchUpTail);
+                return new TxResolutionResponse(TokenType.TX_ABORT_NEWSEQ);
+            }
         }
 
         return new TxResolutionResponse(TokenType.NORMAL);
@@ -349,29 +485,24 @@ public class SequencerServer extends AbstractServer {
      * log and/or streams without changing/allocating anything.
      *
      * @param req corfu message containing token query
-     * @param ctx netty ChannelHandlerContext
-     * @param r   server router
+     * @return the response to the query
      */
-    private void handleTokenQuery(RequestMsg req, ChannelHandlerContext ctx, IServerRouter r) {
+    private ResponseMsg handleTokenQuery(RequestMsg req) {
         final TokenRequestMsg tokenRequest = req.getPayload().getTokenRequest();
-        final List<UUID> streams = tokenRequest.getStreamsList()
-                .stream()
-                .map(CorfuProtocolCommon::getUUID)
-                .collect(Collectors.toList());
+        final int numStreams = tokenRequest.getStreamsCount();
 
         Map<UUID, Long> streamTails;
-        Token token;
+        Token token = new Token(sequencerEpoch, globalLogTail - 1);
 
-        if (streams.isEmpty()) {
+        if (numStreams == 0) {
             // Global tail query
-            token = new Token(sequencerEpoch, globalLogTail - 1);
             streamTails = Collections.emptyMap();
         } else {
             // multiple or single stream query, the token is populated with the global tail
             // and the tail queries are stored in streamTails
-            token = new Token(sequencerEpoch, globalLogTail - 1);
-            streamTails = new HashMap<>(streams.size());
-            for (UUID stream : streams) {
+            streamTails = new HashMap<>(numStreams);
+            for (int i = 0; i < numStreams; i++) {
+                UUID stream = getUUID(tokenRequest.getStreams(i));
                 streamTails.put(stream,
                         streamTailToGlobalTailMap.getOrDefault(stream, Address.NON_EXIST));
             }
@@ -379,7 +510,7 @@ public class SequencerServer extends AbstractServer {
 
         // Note: we reuse the request header as the ignore_cluster_id and
         // ignore_epoch fields are the same in both cases.
-        ResponseMsg response = getResponseMsg(
+        return getResponseMsg(
                 getHeaderMsg(req.getHeader()),
                 getTokenResponseMsg(TokenType.NORMAL,
                         TokenResponse.NO_CONFLICT_KEY,
@@ -388,8 +519,6 @@ public class SequencerServer extends AbstractServer {
                         Collections.emptyMap(),
                         streamTails)
         );
-
-        r.sendResponse(response, ctx);
     }
 
     @RequestHandler(type = PayloadCase.SEQUENCER_TRIM_REQUEST)
@@ -427,7 +556,7 @@ public class SequencerServer extends AbstractServer {
 
         // Converting from addressSpaceMap object from Protobuf to Java as
         // this.streamsAddressMap needs java objects as arguments putAll()
-        final Map<UUID, StreamAddressSpace> addressSpaceMap = req.getPayload()
+        Map<UUID, StreamAddressSpace> addressSpaceMap = req.getPayload()
                 .getBootstrapSequencerRequest()
                 .getStreamsAddressMapList()
                 .stream()
@@ -445,6 +574,16 @@ public class SequencerServer extends AbstractServer {
         final boolean bootstrapWithoutTailsUpdate = req.getPayload()
                 .getBootstrapSequencerRequest().getBootstrapWithoutTailsUpdate();
 
+        // Boolean flag to denote whether this bootstrap message promotes a hot-standby sequencer,
+        // in which case the address map only holds the addresses written since its last sync.
+        final boolean bootstrapFromStandby = req.getPayload()
+                .getBootstrapSequencerRequest().getBootstrapFromStandby();
+        final long bootstrapStandbyTail = req.getPayload()
+                .getBootstrapSequencerRequest().getStandbyTail();
+
+        // The number of chunks holding the address maps of a chunked bootstrap.
+        final int bootstrapNumChunks = req.getPayload().getBootstrapSequencerRequest().getNumChunks();
+
         // If sequencerEpoch is -1 (startup) OR bootstrapMsgEpoch is not the consecutive epoch of
         // the sequencerEpoch then the sequencer should not accept bootstrapWithoutTailsUpdate
         // bootstrap messages.
@@ -477,6 +616,42 @@ public class SequencerServer extends AbstractServer {
             return;
         }
 
+        // A standby can only be promoted if it is synced up to the start of the addresses
+        // it is caught up with.
+        if (bootstrapFromStandby && (standbyTail == Address.NON_ADDRESS
+                || standbyTail < bootstrapStandbyTail)) {
+            log.warn("Cannot promote standby sequencer. Require full bootstrap." +
+                    " StandbyTail : {}, MsgStandbyTail : {}", standbyTail, bootstrapStandbyTail);
+
+            // Note: we reuse the request header as the ignore_cluster_id and
+            // ignore_epoch fields are the same in both cases.
+            r.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                    getBootstrapSequencerResponseMsg(false)), ctx);
+            return;
+        }
+
+        // A chunked bootstrap can only be committed if all its chunks were received.
+        if (bootstrapNumChunks > 0) {
+            if (bootstrapChunksEpoch != bootstrapMsgEpoch
+                    || bootstrapChunksReceived != bootstrapNumChunks) {
+                log.warn("Cannot commit chunked bootstrap. Require full bootstrap." +
+                                " ChunksEpoch : {}, ChunksReceived : {}, MsgEpoch : {}, MsgNumChunks : {}",
+                        bootstrapChunksEpoch, bootstrapChunksReceived, bootstrapMsgEpoch,
+                        bootstrapNumChunks);
+                clearBootstrapChunks();
+
+                // Note: we reuse the request header as the ignore_cluster_id and
+                // ignore_epoch fields are the same in both cases.
+                r.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                        getBootstrapSequencerResponseMsg(false)), ctx);
+                return;
+            }
+
+            bootstrapChunks.putAll(addressSpaceMap);
+            addressSpaceMap = bootstrapChunks;
+        }
+        clearBootstrapChunks();
+
         // If the sequencer is reset, then we can't know when was
         // the latest update to any stream or conflict parameter.
         // hence, we will accept any bootstrap message with a higher epoch and forget any existing
@@ -484,7 +659,11 @@ public class SequencerServer extends AbstractServer {
         //
         // Note, this is correct, but conservative (may lead to false abort).
         // It is necessary because we reset the sequencer.
-        if (!bootstrapWithoutTailsUpdate) {
+        if (bootstrapFromStandby) {
+            promoteStandby(addressSpaceMap,
+                    req.getPayload().getBootstrapSequencerRequest().getGlobalTail());
+        } else if (!bootstrapWithoutTailsUpdate) {
+            catchUpStreamTails = Collections.emptyMap();
             globalLogTail = req.getPayload().getBootstrapSequencerRequest().getGlobalTail();
             cache = sequencerFactoryHelper.getSequencerServerCache(
                     cache.getCacheSize(),
@@ -522,12 +701,23 @@ public class SequencerServer extends AbstractServer {
             }
         }
 
-        // Update epochRangeLowerBound if the bootstrap epoch is not consecutive.
-        if (epochRangeLowerBound == Layout.INVALID_EPOCH
+        // Update epochRangeLowerBound if the bootstrap epoch is not consecutive. A promoted
+        // standby holds the state of the previous primary, so it extends its epoch range.
+        if (bootstrapFromStandby) {
+            epochRangeLowerBound = bootstrapMsgEpoch == standbyEpoch + 1
+                    ? standbyEpochRangeLowerBound : bootstrapMsgEpoch;
+        } else if (epochRangeLowerBound == Layout.INVALID_EPOCH
                 || bootstrapMsgEpoch != sequencerEpoch + 1) {
             epochRangeLowerBound = bootstrapMsgEpoch;
         }
 
+        // This sequencer is no longer a standby, and has to ship its whole state to the standbys
+        // if its state was reset.
+        standbyTail = Address.NON_ADDRESS;
+        if (standbyShipper != null && !bootstrapWithoutTailsUpdate) {
+            standbyShipper.reset();
+        }
+
         // Mark the sequencer as ready after the tails have been populated.
         sequencerEpoch = bootstrapMsgEpoch;
         serverContext.setSequencerEpoch(bootstrapMsgEpoch);
@@ -542,6 +732,196 @@ public class SequencerServer extends AbstractServer {
                 getBootstrapSequencerResponseMsg(true)), ctx);
     }
 
+    /**
+     * Service an incoming chunk of a chunked bootstrap. The chunks of a bootstrap must be
+     * received in order, and are staged until the bootstrap is committed. The first chunk
+     * of a bootstrap discards the chunks staged for any previous bootstrap.
+     */
+    @RequestHandler(type = PayloadCase.SEQUENCER_BOOTSTRAP_CHUNK_REQUEST)
+    public void handleBootstrapChunk(@Nonnull RequestMsg req,
+                                     @Nonnull ChannelHandlerContext ctx,
+                                     @Nonnull IServerRouter r) {
+        final SequencerBootstrapChunkRequestMsg chunk =
+                req.getPayload().getSequencerBootstrapChunkRequest();
+
+        if (chunk.getChunkIndex() == 0) {
+            clearBootstrapChunks();
+            bootstrapChunksEpoch = chunk.getSequencerEpoch();
+        }
+
+        // Stale and out of order chunks are discarded, and fail the bootstrap they belong to.
+        final boolean isAccepted = serverContext.getSequencerEpoch() < chunk.getSequencerEpoch()
+                && bootstrapChunksEpoch == chunk.getSequencerEpoch()
+                && bootstrapChunksReceived == chunk.getChunkIndex();
+
+        if (isAccepted) {
+            bootstrapChunks.putAll(getStreamsAddressMap(chunk));
+            bootstrapChunksReceived++;
+        } else {
+            log.warn("handleBootstrapChunk: discarding chunk {} of bootstrap with epoch {}. " +
+                            "SequencerEpoch : {}, ChunksEpoch : {}, ChunksReceived : {}",
+                    chunk.getChunkIndex(), chunk.getSequencerEpoch(),
+                    serverContext.getSequencerEpoch(), bootstrapChunksEpoch, bootstrapChunksReceived);
+            clearBootstrapChunks();
+        }
+
+        // Note: we reuse the request header as the ignore_cluster_id and
+        // ignore_epoch fields are the same in both cases.
+        r.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                getSequencerBootstrapChunkResponseMsg(isAccepted)), ctx);
+    }
+
+    private void clearBootstrapChunks() {
+        bootstrapChunks = new HashMap<>();
+        bootstrapChunksEpoch = Layout.INVALID_EPOCH;
+        bootstrapChunksReceived = 0;
+    }
+
+    /**
+     * Apply the catch up state of a standby sequencer that is promoted, i.e., the stream
+     * addresses written since its last sync, on top of the state shipped by the previous primary.
+     *
+     * @param addressSpaceMap the stream addresses written since the last sync
+     * @param newGlobalTail   the global tail of the log
+     */
+    private void promoteStandby(Map<UUID, StreamAddressSpace> addressSpaceMap, long newGlobalTail) {
+        globalLogTail = Math.max(globalLogTail, newGlobalTail);
+        catchUpStreamTails = new HashMap<>();
+
+        for (Map.Entry<UUID, StreamAddressSpace> streamAddressSpace : addressSpaceMap.entrySet()) {
+            UUID streamId = streamAddressSpace.getKey();
+            long streamTail = streamAddressSpace.getValue().getTail();
+            streamsAddressMap.merge(streamId, streamAddressSpace.getValue(), StreamAddressSpace::merge);
+            streamTailToGlobalTailMap.merge(streamId, streamTail, Math::max);
+            if (streamTail >= standbyTail) {
+                catchUpStreamTails.put(streamId, streamTail);
+            }
+        }
+
+        // Only the conflict keys evicted from the cache before the promotion are unknown.
+        cache.promote();
+
+        log.info("Standby sequencer promoted with token = {}, standby tail = {}, " +
+                "caught up streams = {}", globalLogTail, standbyTail, catchUpStreamTails.size());
+    }
+
+    /**
+     * Ship the state of this sequencer to the hot-standby sequencers, if it is the primary sequencer.
+     */
+    private void syncStandbySequencers() {
+        Layout layout = serverContext.getCurrentLayout();
+        if (layout == null || sequencerEpoch != serverContext.getServerEpoch()
+                || !layout.getPrimarySequencer().equals(serverContext.getLocalEndpoint())) {
+            standbyShipper.reset();
+            return;
+        }
+
+        SequencerStandbySyncRequestMsg.Builder state = SequencerStandbySyncRequestMsg.newBuilder()
+                .setSequencerEpoch(sequencerEpoch)
+                .setEpochRangeLowerBound(epochRangeLowerBound)
+                .setGlobalTail(globalLogTail)
+                .setTrimMark(trimMark)
+                .setMaxConflictWildcard(cache.getMaxConflictWildcard());
+        standbyShipper.sync(layout, state, fullSync -> fullSync
+                .addAllStreamsAddressMap(getStreamsAddressMapMsg(streamsAddressMap))
+                .addAllConflictKeys(cache.getConflictKeys().entrySet().stream()
+                        .map(key -> getConflictKeyMsg(key.getKey().getStreamId(),
+                                key.getKey().getConflictParam(), key.getValue()))
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Service an incoming sync of the state of the primary sequencer, which this sequencer
+     * keeps as a hot-standby.
+     */
+    @RequestHandler(type = PayloadCase.SEQUENCER_STANDBY_SYNC_REQUEST)
+    public void handleStandbySync(@Nonnull RequestMsg req,
+                                  @Nonnull ChannelHandlerContext ctx,
+                                  @Nonnull IServerRouter r) {
+        final SequencerStandbySyncRequestMsg sync = req.getPayload().getSequencerStandbySyncRequest();
+
+        // The primary sequencer must be more recent than this sequencer, and a partial sync
+        // can only be applied on top of the previous sync.
+        final boolean isSynced = sync.getSequencerEpoch() > sequencerEpoch
+                && (sync.getFullSync() || (standbyTail != Address.NON_ADDRESS
+                && standbyTail == sync.getBaseTail()));
+
+        if (isSynced) {
+            applyStandbySync(sync);
+        } else {
+            log.debug("handleStandbySync: require full sync. SequencerEpoch : {}, " +
+                            "StandbyTail : {}, MsgEpoch : {}, MsgBaseTail : {}", sequencerEpoch,
+                    standbyTail, sync.getSequencerEpoch(), sync.getBaseTail());
+            standbyTail = Address.NON_ADDRESS;
+        }
+
+        // Note: we reuse the request header as the ignore_cluster_id and
+        // ignore_epoch fields are the same in both cases.
+        r.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                getSequencerStandbySyncResponseMsg(isSynced)), ctx);
+    }
+
+    private void applyStandbySync(SequencerStandbySyncRequestMsg sync) {
+        if (sync.getFullSync()) {
+            streamsAddressMap = new HashMap<>();
+            streamTailToGlobalTailMap = new HashMap<>();
+            cache = sequencerFactoryHelper.getSequencerServerCache(
+                    cache.getCacheSize(),
+                    sync.getMaxConflictWildcard()
+            );
+        }
+
+        for (UuidToStreamAddressSpacePairMsg entry : sync.getStreamsAddressMapList()) {
+            UUID streamId = getUUID(entry.getStreamUuid());
+            StreamAddressSpace addressSpace = getStreamAddressSpace(entry.getAddressSpace());
+            streamTailToGlobalTailMap.merge(streamId, addressSpace.getTail(), Math::max);
+            streamsAddressMap.merge(streamId, addressSpace, StreamAddressSpace::merge);
+        }
+
+        // The conflict keys of a full sync are not in address order.
+        List<ConflictKeyMsg> conflictKeys = sync.getConflictKeysList();
+        if (sync.getFullSync()) {
+            conflictKeys = new ArrayList<>(conflictKeys);
+            conflictKeys.sort(Comparator.comparingLong(ConflictKeyMsg::getAddress));
+        }
+        for (ConflictKeyMsg conflictKey : conflictKeys) {
+            cache.put(new ConflictTxStream(getUUID(conflictKey.getStreamId()),
+                    conflictKey.getConflictParam().toByteArray(), conflictKey.getAddress()));
+        }
+
+        if (trimMark < sync.getTrimMark()) {
+            trimMark = sync.getTrimMark();
+            cache.invalidateUpTo(trimMark);
+            for (StreamAddressSpace streamAddressSpace : streamsAddressMap.values()) {
+                streamAddressSpace.trim(trimMark);
+            }
+        }
+
+        globalLogTail = sync.getGlobalTail();
+        standbyTail = sync.getGlobalTail();
+        standbyEpoch = sync.getSequencerEpoch();
+        standbyEpochRangeLowerBound = sync.getEpochRangeLowerBound();
+
+        if (log.isTraceEnabled()) {
+            log.trace("applyStandbySync: full sync {}, standby tail {}, streams {}, conflict keys {}",
+                    sync.getFullSync(), standbyTail, sync.getStreamsAddressMapCount(),
+                    sync.getConflictKeysCount());
+        }
+    }
+
+    /**
+     * Service an incoming query of the global tail this sequencer is synced up to as a hot-standby.
+     */
+    @RequestHandler(type = PayloadCase.SEQUENCER_STANDBY_STATUS_REQUEST)
+    public void handleStandbyStatus(@Nonnull RequestMsg req,
+                                    @Nonnull ChannelHandlerContext ctx,
+                                    @Nonnull IServerRouter r) {
+        // Note: we reuse the request header as the ignore_cluster_id and
+        // ignore_epoch fields are the same in both cases.
+        r.sendResponse(getResponseMsg(getHeaderMsg(req.getHeader()),
+                getSequencerStandbyStatusResponseMsg(standbyTail)), ctx);
+    }
+
     /**
      * Service an incoming metrics request with the metrics response.
      */
@@ -560,34 +940,130 @@ public class SequencerServer extends AbstractServer {
     }
 
     /**
-     * Service an incoming token request.
+     * Service an incoming token request. The response of a request served in a batch is sent
+     * with the responses of the batch.
      */
     @RequestHandler(type = PayloadCase.TOKEN_REQUEST)
     public void tokenRequest(@Nonnull RequestMsg req,
                              @Nonnull ChannelHandlerContext ctx,
                              @Nonnull IServerRouter r) {
+        final ResponseMsg response = serveTokenRequest(req);
+        if (servingTokenBatch) {
+            tokenBatchResponses.add(response);
+        } else {
+            r.sendResponse(response, ctx);
+        }
+    }
+
+    /**
+     * Serve up to {@link Config#getTokenBatchSize()} pending token requests of a class in a row,
+     * and then send their responses, so the responses to the requests received on the same
+     * channel are flushed at once.
+     *
+     * @param pendingRequests the pending token requests of the class
+     */
+    private void serveTokenBatch(Queue<PendingTokenRequest> pendingRequests) {
+        PendingTokenRequest pending = pendingRequests.poll();
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            long start = tokenBatchServeTimer.start();
+            servingTokenBatch = true;
+            while (pending != null) {
+                // A request the handler failed to serve was already answered with an error
+                getHandlerMethods().handle(pending.req, pending.ctx, pending.router);
+                if (tokenBatchResponses.size() > tokenBatch.size()) {
+                    tokenBatch.add(pending);
+                }
+                pending = tokenBatch.size() < maxTokenBatchSize ? pendingRequests.poll() : null;
+            }
+            servingTokenBatch = false;
+            tokenBatchServeTimer.stop(start);
+            tokenBatchSizeSummary.record(tokenBatch.size());
+
+            start = tokenBatchRespondTimer.start();
+            try {
+                sendTokenBatchResponses();
+            } finally {
+                tokenBatchRespondTimer.stop(start);
+            }
+        } finally {
+            servingTokenBatch = false;
+            tokenBatch.clear();
+            tokenBatchResponses.clear();
+        }
+    }
+
+    /**
+     * Send the responses of the batch, grouped by channel and in the order of the requests.
+     */
+    private void sendTokenBatchResponses() {
+        if (tokenBatch.size() == 1) {
+            tokenBatch.get(0).router.sendResponse(tokenBatchResponses.get(0), tokenBatch.get(0).ctx);
+            return;
+        }
+
+        // A batch is small, so the responses of every channel are collected by scanning the
+        // rest of the batch rather than grouping them in maps allocated for every batch.
+        try {
+            for (int i = sentTokenBatchResponses.nextClearBit(0); i < tokenBatch.size();
+                 i = sentTokenBatchResponses.nextClearBit(i + 1)) {
+                final PendingTokenRequest request = tokenBatch.get(i);
+                for (int j = i; j < tokenBatch.size(); j = sentTokenBatchResponses.nextClearBit(j + 1)) {
+                    if (tokenBatch.get(j).ctx == request.ctx) {
+                        channelResponses.add(tokenBatchResponses.get(j));
+                        sentTokenBatchResponses.set(j);
+                    }
+                }
+
+                if (channelResponses.size() == 1) {
+                    request.router.sendResponse(channelResponses.get(0), request.ctx);
+                } else {
+                    request.router.sendResponses(channelResponses, request.ctx);
+                }
+                channelResponses.clear();
+            }
+        } finally {
+            channelResponses.clear();
+            sentTokenBatchResponses.clear();
+        }
+    }
+
+    /**
+     * Serve a token request.
+     *
+     * @param req corfu message containing the token request
+     * @return the response to the request
+     */
+    private ResponseMsg serveTokenRequest(RequestMsg req) {
         if (log.isTraceEnabled()) {
             log.trace("tokenRequest: Token request msg: {}", TextFormat.shortDebugString(req));
         }
         final TokenRequestMsg tokenRequest = req.getPayload().getTokenRequest();
 
-        // dispatch request handler according to request type while collecting the timer metrics
+        // Mark the start of the token processing: the time since the request was received is spent
+        // waiting for the sequencer thread, and the time until the response is sent is spent on the token.
+        final long traceId = req.getHeader().getTraceId();
+        if (traceId != RequestTracer.NO_TRACE) {
+            final long now = System.nanoTime();
+            RequestTracer.server().record(traceId, "sequencer.token." + tokenRequest.getRequestType(), now, now);
+        }
+
+        // dispatch request handler according to request type
         switch (tokenRequest.getRequestType()) {
             case TK_QUERY:
-                handleTokenQuery(req, ctx, r);
-                break;
+                return handleTokenQuery(req);
 
             case TK_RAW:
-                handleRawToken(req, ctx, r);
-                break;
+                return handleRawToken(req);
 
             case TK_TX:
-                handleTxToken(req, ctx, r);
-                break;
+                return handleTxToken(req);
 
             default:
-                handleAllocation(req, ctx, r);
-                break;
+                return handleAllocation(req);
         }
     }
 
@@ -596,10 +1072,9 @@ public class SequencerServer extends AbstractServer {
      * it simply extends the global log tail and returns the global-log token
      *
      * @param req corfu message containing raw token
-     * @param ctx netty ChannelHandlerContext
-     * @param r   server router
+     * @return the response to the request
      */
-    private void handleRawToken(RequestMsg req, ChannelHandlerContext ctx, IServerRouter r) {
+    private ResponseMsg handleRawToken(RequestMsg req) {
         final TokenRequestMsg tokenRequest = req.getPayload().getTokenRequest();
 
         // The global tail points to an open slot, not the last written slot,
@@ -609,9 +1084,8 @@ public class SequencerServer extends AbstractServer {
 
         // Note: we reuse the request header as the ignore_cluster_id and
         // ignore_epoch fields are the same in both cases.
-        ResponseMsg response = getResponseMsg(getHeaderMsg(req.getHeader()),
+        return getResponseMsg(getHeaderMsg(req.getHeader()),
                 getTokenResponseMsg(token, Collections.emptyMap()));
-        r.sendResponse(response, ctx);
     }
 
     /**
@@ -624,10 +1098,9 @@ public class SequencerServer extends AbstractServer {
      * then a normal allocation of log position(s) is pursued.
      *
      * @param req corfu message containing transaction token
-     * @param ctx netty ChannelHandlerContext
-     * @param r   server router
+     * @return the response to the request
      */
-    private void handleTxToken(RequestMsg req, ChannelHandlerContext ctx, IServerRouter r) {
+    private ResponseMsg handleTxToken(RequestMsg req) {
         final TokenRequestMsg tokenRequest = req.getPayload().getTokenRequest();
 
         // in the TK_TX request type, the sequencer is utilized for transaction conflict-resolution.
@@ -644,20 +1117,17 @@ public class SequencerServer extends AbstractServer {
 
             // Note: we reuse the request header as the ignore_cluster_id and
             // ignore_epoch fields are the same in both cases.
-            ResponseMsg response = getResponseMsg(getHeaderMsg(req.getHeader()), getTokenResponseMsg(
+            return getResponseMsg(getHeaderMsg(req.getHeader()), getTokenResponseMsg(
                     txResolutionResponse.getTokenType(),
                     txResolutionResponse.getConflictingKey(),
                     txResolutionResponse.getConflictingStream(),
                     newToken, Collections.emptyMap(), Collections.emptyMap()));
-
-            r.sendResponse(response, ctx);
-            return;
         }
 
         // if we get here, this means the transaction can commit.
         // handleAllocation() does the actual allocation of log position(s)
         // and returns the response
-        handleAllocation(req, ctx, r);
+        return handleAllocation(req);
     }
 
     /**
@@ -666,10 +1136,9 @@ public class SequencerServer extends AbstractServer {
      * and maintains a conflict-parameters map.
      *
      * @param req corfu message containing allocation
-     * @param ctx netty ChannelHandlerContext
-     * @param r   server router
+     * @return the response to the request
      */
-    private void handleAllocation(RequestMsg req, ChannelHandlerContext ctx, IServerRouter r) {
+    private ResponseMsg handleAllocation(RequestMsg req) {
         final TokenRequestMsg tokenRequest = req.getPayload().getTokenRequest();
 
         // extend the tail of the global log by the requested # of tokens
@@ -680,32 +1149,29 @@ public class SequencerServer extends AbstractServer {
         //   1. obtain the last back-pointer for this stream, if exists; -1L otherwise.
         //   2. record the new global tail as back-pointer for this stream.
         //   3. Add the allocated addresses to each stream's address map.
-        ImmutableMap.Builder<UUID, Long> backPointerMap = ImmutableMap.builder();
-        for (UuidMsg id : tokenRequest.getStreamsList()) {
-            UUID uuid = getUUID(id);
+        final int numStreams = tokenRequest.getStreamsCount();
+        final Map<UUID, Long> backPointerMap = new HashMap<>(numStreams * 2);
+        for (int streamIdx = 0; streamIdx < numStreams; streamIdx++) {
+            UUID uuid = getUUID(tokenRequest.getStreams(streamIdx));
 
             // step 1. and 2. (comment above)
-            streamTailToGlobalTailMap.compute(uuid, (k, v) -> {
-                if (v == null) {
-                    backPointerMap.put(k, Address.NON_EXIST);
-                } else {
-                    backPointerMap.put(k, v);
-                }
-                return newTail - 1;
-            });
+            Long backPointer = streamTailToGlobalTailMap.put(uuid, newTail - 1);
+            backPointerMap.put(uuid, backPointer == null ? Address.NON_EXIST : backPointer);
 
             // step 3. add allocated addresses to each stream's address map
             // (to keep track of all updates to this stream)
-            streamsAddressMap.compute(uuid, (streamId, addressMap) -> {
-                if (addressMap == null) {
-                    addressMap = new StreamAddressSpace();
-                }
+            StreamAddressSpace addressMap = streamsAddressMap.get(uuid);
+            if (addressMap == null) {
+                addressMap = new StreamAddressSpace();
+                streamsAddressMap.put(uuid, addressMap);
+            }
+            for (long i = globalLogTail; i < newTail; i++) {
+                addressMap.addAddress(i);
+            }
 
-                for (long i = globalLogTail; i < newTail; i++) {
-                    addressMap.addAddress(i);
-                }
-                return addressMap;
-            });
+            if (standbyShipper != null) {
+                standbyShipper.recordAllocation(uuid, globalLogTail, newTail);
+            }
         }
 
         // update the cache of conflict parameters
@@ -714,14 +1180,19 @@ public class SequencerServer extends AbstractServer {
                     .forEach((item) -> {
                         // insert an entry with the new timestamp using the
                         // hash code based on the param and the stream id.
-                        item.getValueList().forEach(conflictParam ->
-                                cache.put(new ConflictTxStream(getUUID(item.getKey()),
-                                        conflictParam.toByteArray(), newTail - 1)));
+                        item.getValueList().forEach(conflictParam -> {
+                            UUID streamId = getUUID(item.getKey());
+                            byte[] param = conflictParam.toByteArray();
+                            cache.put(new ConflictTxStream(streamId, param, newTail - 1));
+                            if (standbyShipper != null) {
+                                standbyShipper.recordConflictKey(streamId, param, newTail - 1);
+                            }
+                        });
                     });
         }
         if (log.isTraceEnabled()) {
             log.trace("handleAllocation: token={} backpointers={}",
-                    globalLogTail, backPointerMap.build());
+                    globalLogTail, backPointerMap);
         }
         // return the token response with the global tail and the streams backpointers
         Token newToken = new Token(sequencerEpoch, globalLogTail);
@@ -729,9 +1200,8 @@ public class SequencerServer extends AbstractServer {
 
         // Note: we reuse the request header as the ignore_cluster_id and
         // ignore_epoch fields are the same in both cases.
-        ResponseMsg response = getResponseMsg(
-                getHeaderMsg(req.getHeader()), getTokenResponseMsg(newToken, backPointerMap.build()));
-        r.sendResponse(response, ctx);
+        return getResponseMsg(
+                getHeaderMsg(req.getHeader()), getTokenResponseMsg(newToken, backPointerMap));
     }
 
     /**
@@ -808,6 +1278,16 @@ public class SequencerServer extends AbstractServer {
         return requestedAddressSpaces;
     }
 
+    /**
+     * A token request waiting to be served in a batch.
+     */
+    @AllArgsConstructor
+    private static class PendingTokenRequest {
+        private final RequestMsg req;
+        private final ChannelHandlerContext ctx;
+        private final IServerRouter router;
+    }
+
     /**
      * Sequencer server configuration
      */
@@ -815,16 +1295,36 @@ public class SequencerServer extends AbstractServer {
     @Getter
     public static class Config {
         private static final int DEFAULT_CACHE_SIZE = 250_000;
+        private static final int DEFAULT_TOKEN_BATCH_SIZE = 64;
 
         @Default
         private final int cacheSize = DEFAULT_CACHE_SIZE;
 
+        // Interval between syncs of the hot-standby sequencers, zero if they are disabled
+        @Default
+        private final Duration standbySyncInterval = Duration.ZERO;
+
+        // Max number of token requests served in a row before their responses are sent
+        @Default
+        private final int tokenBatchSize = DEFAULT_TOKEN_BATCH_SIZE;
+
         public static Config parse(Map<String, Object> opts) {
             int cacheSize = opts.containsKey("--sequencer-cache-size") ?
                     Integer.parseInt((String) opts.get("--sequencer-cache-size")) :
                     DEFAULT_CACHE_SIZE;
+            Duration standbySyncInterval = opts.get("--sequencer-standby-sync-interval") != null ?
+                    Duration.ofMillis(Long.parseLong((String) opts.get("--sequencer-standby-sync-interval"))) :
+                    Duration.ZERO;
+            int tokenBatchSize = opts.get("--sequencer-token-batch-size") != null ?
+                    Integer.parseInt((String) opts.get("--sequencer-token-batch-size")) :
+                    DEFAULT_TOKEN_BATCH_SIZE;
+            if (tokenBatchSize < 1) {
+                throw new IllegalArgumentException("Invalid sequencer token batch size " + tokenBatchSize);
+            }
             return Config.builder()
                     .cacheSize(cacheSize)
+                    .standbySyncInterval(standbySyncInterval)
+                    .tokenBatchSize(tokenBatchSize)
                     .build();
         }
     }
@@ -8,8 +8,10 @@ import org.corfudb.common.util.Memory;
 import org.corfudb.runtime.view.Address;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -167,6 +169,24 @@ public class SequencerServerCache implements AutoCloseable {
         log.info("Invalidated entries {} addresses {}", pqEntries, entries);
     }
 
+    /**
+     * The conflict keys in the cache, and the address of their latest update.
+     *
+     * @return an unmodifiable view of the conflict keys
+     */
+    public Map<ConflictTxStream, Long> getConflictKeys() {
+        return Collections.unmodifiableMap(conflictKeys);
+    }
+
+    /**
+     * Mark this cache as the cache of a newly elected primary sequencer which kept the
+     * conflict keys of the previous primary, i.e., a promoted hot-standby sequencer. Only the
+     * conflict keys evicted so far are unknown to the new primary.
+     */
+    public void promote() {
+        maxConflictNewSequencer = maxConflictWildcard;
+    }
+
     /**
      * The cache size as the number of entries
      *
@@ -0,0 +1,165 @@
+package org.corfudb.infrastructure;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.proto.service.Sequencer.ConflictKeyMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncRequestMsg;
+import org.corfudb.runtime.view.Address;
+import org.corfudb.runtime.view.Layout;
+import org.corfudb.runtime.view.RuntimeLayout;
+import org.corfudb.runtime.view.stream.StreamAddressSpace;
+import org.corfudb.util.concurrent.SingletonResource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getConflictKeyMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamsAddressMapMsg;
+
+/**
+ * Ships the state of the primary sequencer to the hot-standby sequencers, i.e., all the other
+ * sequencers of the layout. A synced standby can be promoted with only the stream addresses
+ * written since its last sync, and keeps the conflict keys of the primary, so the transactions
+ * which started before the failover can still be resolved.
+ * <p>
+ * Every sync only holds the stream addresses and conflict keys allocated since the previous
+ * sync. A standby which missed a sync (e.g. it was restarted or unreachable) rejects the
+ * following ones, and is sent a full sync of the state of the primary instead.
+ * <p>
+ * The pending updates are only accessed by the sequencer thread, while syncs are sent
+ * asynchronously.
+ */
+@Slf4j
+class SequencerStandbyShipper implements AutoCloseable {
+
+    private final SingletonResource<CorfuRuntime> runtime;
+
+    // Stream addresses allocated since the last sync
+    private Map<UUID, StreamAddressSpace> pendingAddresses = new HashMap<>();
+
+    // Conflict keys updated since the last sync, in allocation order
+    private List<ConflictKeyMsg> pendingConflictKeys = new ArrayList<>();
+
+    // The global tail of the last sync, or NON_ADDRESS if the next syncs must be full syncs
+    private long lastSyncTail = Address.NON_ADDRESS;
+
+    // The standbys which are expected to have applied every sync so far
+    private final Set<String> syncedStandbys = ConcurrentHashMap.newKeySet();
+
+    SequencerStandbyShipper(@NonNull ServerContext serverContext) {
+        this.runtime = SingletonResource.withInitial(() ->
+                CorfuRuntime.fromParameters(serverContext.getManagementRuntimeParameters()));
+    }
+
+    /**
+     * Record the addresses allocated to a stream.
+     *
+     * @param streamId stream the addresses were allocated to
+     * @param start    first allocated address (inclusive)
+     * @param end      last allocated address (exclusive)
+     */
+    void recordAllocation(UUID streamId, long start, long end) {
+        StreamAddressSpace addressSpace = pendingAddresses.computeIfAbsent(streamId,
+                id -> new StreamAddressSpace());
+        for (long address = start; address < end; address++) {
+            addressSpace.addAddress(address);
+        }
+    }
+
+    /**
+     * Record the update of a conflict key.
+     *
+     * @param streamId      stream of the conflict key
+     * @param conflictParam conflict parameter
+     * @param address       address of the update
+     */
+    void recordConflictKey(UUID streamId, byte[] conflictParam, long address) {
+        pendingConflictKeys.add(getConflictKeyMsg(streamId, conflictParam, address));
+    }
+
+    /**
+     * Forget the pending updates and the synced standbys, so that all the standbys are sent a
+     * full sync next. This is required whenever the state of the primary is reset, or this
+     * sequencer is no longer the primary.
+     */
+    void reset() {
+        pendingAddresses = new HashMap<>();
+        pendingConflictKeys = new ArrayList<>();
+        lastSyncTail = Address.NON_ADDRESS;
+        syncedStandbys.clear();
+    }
+
+    /**
+     * Sync the standby sequencers of the layout with the updates since the last sync, or with
+     * the full state of the primary if they are not synced.
+     *
+     * @param layout    the current layout, in which this sequencer is the primary
+     * @param state     the sync, with the global tail and epochs of the primary set
+     * @param fullState sets the full state of the primary on a sync
+     */
+    void sync(Layout layout, SequencerStandbySyncRequestMsg.Builder state,
+              Consumer<SequencerStandbySyncRequestMsg.Builder> fullState) {
+        List<String> standbys = layout.getSequencers().subList(1, layout.getSequencers().size());
+        syncedStandbys.retainAll(standbys);
+
+        SequencerStandbySyncRequestMsg deltaSync = null;
+        SequencerStandbySyncRequestMsg fullSync = null;
+        for (String standby : standbys) {
+            SequencerStandbySyncRequestMsg sync;
+            if (lastSyncTail != Address.NON_ADDRESS && syncedStandbys.contains(standby)) {
+                if (deltaSync == null) {
+                    deltaSync = state.clone()
+                            .setBaseTail(lastSyncTail)
+                            .addAllStreamsAddressMap(getStreamsAddressMapMsg(pendingAddresses))
+                            .addAllConflictKeys(pendingConflictKeys)
+                            .build();
+                }
+                sync = deltaSync;
+            } else {
+                if (fullSync == null) {
+                    SequencerStandbySyncRequestMsg.Builder builder = state.clone().setFullSync(true);
+                    fullState.accept(builder);
+                    fullSync = builder.build();
+                }
+                sync = fullSync;
+                syncedStandbys.add(standby);
+            }
+
+            send(layout, standby, sync);
+        }
+
+        pendingAddresses = new HashMap<>();
+        pendingConflictKeys = new ArrayList<>();
+        lastSyncTail = state.getGlobalTail();
+    }
+
+    private void send(Layout layout, String standby, SequencerStandbySyncRequestMsg sync) {
+        try {
+            new RuntimeLayout(layout, runtime.get())
+                    .getSequencerClient(standby)
+                    .syncStandby(sync)
+                    .whenComplete((isSynced, ex) -> {
+                        if (ex != null || !isSynced) {
+                            log.debug("send: standby {} is not synced, sending a full sync next",
+                                    standby, ex);
+                            syncedStandbys.remove(standby);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("send: failed to sync standby {}", standby, e);
+            syncedStandbys.remove(standby);
+        }
+    }
+
+    @Override
+    public void close() {
+        runtime.cleanup(CorfuRuntime::shutdown);
+    }
+}
@@ -2,6 +2,7 @@ package org.corfudb.infrastructure;
 
 import static org.corfudb.infrastructure.logreplication.LogReplicationConfig.DEFAULT_MAX_NUM_MSG_PER_BATCH;
 import static org.corfudb.infrastructure.logreplication.LogReplicationConfig.MAX_DATA_MSG_SIZE_SUPPORTED;
+import static org.corfudb.infrastructure.logreplication.LogReplicationConfig.DEFAULT_LOG_ENTRY_PREFETCH_DEPTH;
 import static org.corfudb.infrastructure.logreplication.LogReplicationConfig.MAX_CACHE_NUM_ENTRIES;
 
 import com.google.common.collect.Sets;
@@ -13,6 +14,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -118,6 +120,8 @@ public class ServerContext implements AutoCloseable {
      */
     public static final Duration SHUTDOWN_TIMER = Duration.ofSeconds(5);
 
+    public static final Duration DEFAULT_LOG_METADATA_SNAPSHOT_INTERVAL = Duration.ofMinutes(5);
+
     @Getter
     private final Map<String, Object> serverConfig;
 
@@ -270,6 +274,61 @@ public class ServerContext implements AutoCloseable {
         return val == null ? MAX_CACHE_NUM_ENTRIES : Integer.parseInt(val);
     }
 
+    /**
+     * Get the number of transaction stream entries LR prefetches during log entry sync.
+     *
+     * @return prefetch depth, 0 if prefetching is disabled
+     */
+    public int getLogReplicationLogEntryPrefetchDepth() {
+        String val = getServerConfig(String.class, "--log-entry-prefetch-depth");
+        return val == null ? DEFAULT_LOG_ENTRY_PREFETCH_DEPTH : Integer.parseInt(val);
+    }
+
+    /**
+     * Get the min interval between snapshots of the log unit's metadata, which speed up its recovery.
+     *
+     * @return snapshot interval, zero if metadata snapshots are disabled
+     */
+    public Duration getLogMetadataSnapshotInterval() {
+        String val = getServerConfig(String.class, "--log-metadata-snapshot-interval");
+        return val == null ? DEFAULT_LOG_METADATA_SNAPSHOT_INTERVAL : Duration.ofSeconds(Long.parseLong(val));
+    }
+
+    /**
+     * Get the weights the servers dequeue the classes of requests with, see {@link WeightedFairQueue}.
+     *
+     * @return the weight of every request class
+     */
+    public Map<RequestClass, Integer> getRequestClassWeights() {
+        String val = getServerConfig(String.class, "--request-class-weights");
+        if (val == null) {
+            return RequestClass.DEFAULT_WEIGHTS;
+        }
+
+        String[] weights = val.split(",");
+        RequestClass[] classes = RequestClass.values();
+        if (weights.length != classes.length) {
+            throw new IllegalArgumentException("Expected " + classes.length
+                    + " request class weights, got " + val);
+        }
+
+        Map<RequestClass, Integer> classWeights = new EnumMap<>(RequestClass.class);
+        for (int i = 0; i < classes.length; i++) {
+            classWeights.put(classes[i], Integer.parseInt(weights[i].trim()));
+        }
+        return classWeights;
+    }
+
+    /**
+     * Whether the management server detects failures with a
+     * {@link org.corfudb.infrastructure.management.GossipFailureDetector}.
+     *
+     * @return true if the gossip failure detector is enabled
+     */
+    public boolean isGossipFailureDetector() {
+        return this.<Boolean>getServerConfig("--gossip-failure-detector").orElse(false);
+    }
+
     /**
      * Get the max write size of a transaction for LR's runtime.
      * @return max write size of a transaction
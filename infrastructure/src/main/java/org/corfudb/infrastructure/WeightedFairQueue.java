@@ -0,0 +1,246 @@
+package org.corfudb.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A blocking queue of the requests of a server, which holds a FIFO queue per
+ * {@link RequestClass} and dequeues the classes by weighted round robin: a class of weight w
+ * is dequeued up to w times in a row, before the next class that has requests is. Empty classes
+ * are skipped, so a class has the whole throughput of the server while the other classes are
+ * idle, and its share of the throughput is proportional to its weight otherwise.
+ * <p>
+ * A barrier request (e.g. a seal) is dequeued after every request queued before it, whatever
+ * their class, and before every request queued after it.
+ * <p>
+ * The depth of every class queue and the time its requests wait are recorded as metrics.
+ *
+ * @param <E> the type of the requests
+ */
+class WeightedFairQueue<E> {
+
+    private static final RequestClass[] CLASSES = RequestClass.values();
+
+    @AllArgsConstructor
+    private static class Element<E> {
+        final E element;
+        final long timerStart;
+    }
+
+    /**
+     * A barrier, and the number of requests of every class queued between the previous
+     * barrier (if any) and this one, which are dequeued before it.
+     */
+    @AllArgsConstructor
+    private static class Barrier<E> {
+        final E element;
+        final int[] ahead;
+    }
+
+    private final int[] weights = new int[CLASSES.length];
+
+    private final ArrayDeque<Element<E>>[] queues;
+
+    private final AtomicInteger[] depths = new AtomicInteger[CLASSES.length];
+
+    private final TimerHandle[] waitTimers = new TimerHandle[CLASSES.length];
+
+    private final ArrayDeque<Barrier<E>> barriers = new ArrayDeque<>();
+
+    // The number of requests of every class queued after the last barrier
+    private int[] sinceBarrier = new int[CLASSES.length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private int size = 0;
+
+    // The class being dequeued, and the number of requests it can still dequeue in a row
+    private int current = 0;
+    private int credits;
+
+    private boolean closed = false;
+
+    /**
+     * Returns a new queue.
+     *
+     * @param name    the name of the queue metrics
+     * @param weights the weight of every request class
+     */
+    @SuppressWarnings("unchecked")
+    WeightedFairQueue(@NonNull String name, @NonNull Map<RequestClass, Integer> weights) {
+        queues = new ArrayDeque[CLASSES.length];
+        for (RequestClass requestClass : CLASSES) {
+            int weight = weights.getOrDefault(requestClass, 1);
+            if (weight < 1) {
+                throw new IllegalArgumentException("Invalid weight " + weight + " of " + requestClass);
+            }
+
+            int index = requestClass.ordinal();
+            this.weights[index] = weight;
+            queues[index] = new ArrayDeque<>();
+            depths[index] = new AtomicInteger();
+            MicroMeterUtils.gauge(name + ".depth", depths[index], AtomicInteger::get,
+                    "class", requestClass.name());
+            waitTimers[index] = MicroMeterUtils.timerHandle(name + ".wait", "class", requestClass.name());
+        }
+        credits = this.weights[current];
+    }
+
+    /**
+     * Enqueue a request.
+     *
+     * @param requestClass the class of the request
+     * @param element      the request
+     * @throws RejectedExecutionException if the queue is closed
+     */
+    void put(@NonNull RequestClass requestClass, @NonNull E element) {
+        int index = requestClass.ordinal();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Queue is closed");
+            }
+            queues[index].add(new Element<>(element, waitTimers[index].start()));
+            depths[index].incrementAndGet();
+            sinceBarrier[index]++;
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Enqueue a barrier request, which is dequeued once every request queued before it is.
+     *
+     * @param element the request
+     * @throws RejectedExecutionException if the queue is closed
+     */
+    void putBarrier(@NonNull E element) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Queue is closed");
+            }
+            barriers.add(new Barrier<>(element, sinceBarrier));
+            sinceBarrier = new int[CLASSES.length];
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dequeue a request, waiting for one if the queue is empty.
+     *
+     * @return the request, or null if the queue is closed and empty
+     * @throws InterruptedException if interrupted while waiting
+     */
+    E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dequeue a request, if any.
+     *
+     * @return the request, or null if the queue is empty
+     */
+    E poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of queued requests
+     */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param requestClass a request class
+     * @return the number of queued requests of the class
+     */
+    int size(@NonNull RequestClass requestClass) {
+        return depths[requestClass.ordinal()].get();
+    }
+
+    /**
+     * Reject the requests enqueued from now on. The queued requests can still be dequeued.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Requires the lock to be held and the queue not to be empty
+    private E dequeue() {
+        // Only the requests queued before the first barrier can be dequeued
+        final Barrier<E> barrier = barriers.peek();
+        final int[] dequeueable = barrier == null ? sinceBarrier : barrier.ahead;
+        if (barrier != null && isEmpty(dequeueable)) {
+            barriers.poll();
+            size--;
+            return barrier.element;
+        }
+
+        while (credits == 0 || dequeueable[current] == 0) {
+            current = (current + 1) % CLASSES.length;
+            credits = weights[current];
+        }
+
+        credits--;
+        size--;
+        dequeueable[current]--;
+        depths[current].decrementAndGet();
+        Element<E> element = queues[current].poll();
+        waitTimers[current].stop(element.timerStart);
+        return element.element;
+    }
+
+    private static boolean isEmpty(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
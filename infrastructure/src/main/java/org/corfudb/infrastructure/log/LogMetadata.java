@@ -9,6 +9,9 @@ import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.corfudb.runtime.view.Address;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +47,24 @@ public class LogMetadata {
         this.streamsAddressSpaceMap = new HashMap<>();
     }
 
+    private LogMetadata(long globalTail, Map<UUID, Long> streamTails,
+                        Map<UUID, StreamAddressSpace> streamsAddressSpaceMap) {
+        this.globalTail = globalTail;
+        this.streamTails = streamTails;
+        this.streamsAddressSpaceMap = streamsAddressSpaceMap;
+    }
+
+    /**
+     * Create a deep copy of this metadata, which is not affected by the later updates.
+     *
+     * @return a copy of this LogMetadata
+     */
+    public LogMetadata copy() {
+        Map<UUID, StreamAddressSpace> addressSpaces = new HashMap<>();
+        streamsAddressSpaceMap.forEach((streamId, addressSpace) -> addressSpaces.put(streamId, addressSpace.copy()));
+        return new LogMetadata(globalTail, new HashMap<>(streamTails), addressSpaces);
+    }
+
     public void update(List<LogData> entries) {
         for (LogData entry : entries) {
             // This API is only used on range writes for state transfer
@@ -150,6 +171,56 @@ public class LogMetadata {
         globalTail = Math.max(globalTail, newTail);
     }
 
+    /**
+     * Serialize the global tail, stream tails and stream address spaces.
+     *
+     * @param out DataOutput to serialize to
+     * @throws IOException
+     */
+    public void serialize(DataOutput out) throws IOException {
+        out.writeLong(globalTail);
+
+        out.writeInt(streamTails.size());
+        for (Map.Entry<UUID, Long> streamTail : streamTails.entrySet()) {
+            out.writeLong(streamTail.getKey().getMostSignificantBits());
+            out.writeLong(streamTail.getKey().getLeastSignificantBits());
+            out.writeLong(streamTail.getValue());
+        }
+
+        out.writeInt(streamsAddressSpaceMap.size());
+        for (Map.Entry<UUID, StreamAddressSpace> addressSpace : streamsAddressSpaceMap.entrySet()) {
+            out.writeLong(addressSpace.getKey().getMostSignificantBits());
+            out.writeLong(addressSpace.getKey().getLeastSignificantBits());
+            addressSpace.getValue().serialize(out);
+        }
+    }
+
+    /**
+     * Deserialize: create a new LogMetadata from DataInputStream
+     *
+     * @param in input stream to read from
+     * @return LogMetadata
+     * @throws IOException
+     */
+    public static LogMetadata deserialize(DataInputStream in) throws IOException {
+        long globalTail = in.readLong();
+
+        int numStreamTails = in.readInt();
+        Map<UUID, Long> streamTails = new HashMap<>();
+        for (int i = 0; i < numStreamTails; i++) {
+            streamTails.put(new UUID(in.readLong(), in.readLong()), in.readLong());
+        }
+
+        int numStreams = in.readInt();
+        Map<UUID, StreamAddressSpace> streamsAddressSpaceMap = new HashMap<>();
+        for (int i = 0; i < numStreams; i++) {
+            UUID streamId = new UUID(in.readLong(), in.readLong());
+            streamsAddressSpaceMap.put(streamId, StreamAddressSpace.deserialize(in));
+        }
+
+        return new LogMetadata(globalTail, streamTails, streamsAddressSpaceMap);
+    }
+
     public void prefixTrim(long address) {
         log.info("prefixTrim: trim stream address maps up to address {}", address);
         for (Map.Entry<UUID, StreamAddressSpace> streamAddressMap : streamsAddressSpaceMap.entrySet()) {
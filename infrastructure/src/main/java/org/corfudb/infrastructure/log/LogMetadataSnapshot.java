@@ -0,0 +1,258 @@
+package org.corfudb.infrastructure.log;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.corfudb.infrastructure.log.StreamLogFiles.Checksum;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import static org.corfudb.infrastructure.utils.Persistence.syncDirectory;
+
+/**
+ * A persisted snapshot of the {@link LogMetadata} of a stream log, which allows a log unit
+ * to recover its metadata without scanning every log segment.
+ * <p>
+ * Besides the metadata, the snapshot records the size and the checksum of every segment file
+ * it covers, so only the segments that have been written since the snapshot was taken (i.e.,
+ * whose size differs) need to be replayed on recovery. The segments whose size is unchanged
+ * are still checksummed, so a segment corrupted since the snapshot was taken is replayed as
+ * well, which detects the corrupted entries. Replaying a segment that is partially covered by
+ * the snapshot is safe, as updating the metadata with an entry is idempotent.
+ * <p>
+ * The snapshot file is laid out as follows:
+ * Version | Payload Checksum | Payload Length | Payload
+ * where the payload holds the starting address of the log, the covered segments
+ * and the serialized {@link LogMetadata}.
+ */
+@Slf4j
+class LogMetadataSnapshot {
+
+    static final int VERSION = 1;
+
+    static final String FILE_NAME = "log_metadata.snapshot";
+
+    private static final int HEADER_SIZE = Integer.BYTES * 3;
+
+    /**
+     * The starting address of the log when the snapshot was taken. A snapshot is only
+     * valid while the log has not been trimmed past it.
+     */
+    @Getter
+    private final long startingAddress;
+
+    /**
+     * The segments covered by this snapshot.
+     */
+    @Getter
+    private final Map<Long, SegmentSummary> segments;
+
+    @Getter
+    private final LogMetadata logMetadata;
+
+    LogMetadataSnapshot(long startingAddress, @NonNull Map<Long, SegmentSummary> segments,
+                        @NonNull LogMetadata logMetadata) {
+        this.startingAddress = startingAddress;
+        this.segments = Collections.unmodifiableMap(segments);
+        this.logMetadata = logMetadata;
+    }
+
+    /**
+     * The state of a segment file covered by a snapshot.
+     */
+    @Value
+    static class SegmentSummary {
+        // Size of the segment file when the snapshot was taken
+        long fileSize;
+
+        // Checksum of the segment file when the snapshot was taken
+        int checksum;
+
+        // Number of entries in the segment
+        long entries;
+
+        // Estimated size of the entries in the segment
+        double bytes;
+    }
+
+    /**
+     * Serialize this snapshot into the contents of a snapshot file.
+     *
+     * @return the contents of the snapshot file
+     * @throws IOException
+     */
+    byte[] serialize() throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeLong(startingAddress);
+        payload.writeInt(segments.size());
+        for (Map.Entry<Long, SegmentSummary> segment : segments.entrySet()) {
+            payload.writeLong(segment.getKey());
+            payload.writeLong(segment.getValue().getFileSize());
+            payload.writeInt(segment.getValue().getChecksum());
+            payload.writeLong(segment.getValue().getEntries());
+            payload.writeDouble(segment.getValue().getBytes());
+        }
+        logMetadata.serialize(payload);
+        payload.flush();
+
+        byte[] payloadArray = payloadBytes.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadArray.length);
+        buffer.putInt(VERSION);
+        buffer.putInt(Checksum.getChecksum(payloadArray));
+        buffer.putInt(payloadArray.length);
+        buffer.put(payloadArray);
+        return buffer.array();
+    }
+
+    /**
+     * Atomically replace the snapshot file with the given contents.
+     *
+     * @param file     the snapshot file
+     * @param contents the serialized snapshot
+     * @throws IOException
+     */
+    static void persist(@NonNull Path file, @NonNull byte[] contents) throws IOException {
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } finally {
+            IOUtils.closeQuietly(channel);
+        }
+
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(file.getParent().toString());
+    }
+
+    /**
+     * Load a snapshot from a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the snapshot, or empty if there is no snapshot file or it is invalid
+     */
+    static Optional<LogMetadataSnapshot> load(@NonNull Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < HEADER_SIZE) {
+                log.warn("load: ignoring truncated log metadata snapshot {}", file);
+                return Optional.empty();
+            }
+
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                log.warn("load: ignoring log metadata snapshot {} with version {}, expected {}",
+                        file, version, VERSION);
+                return Optional.empty();
+            }
+
+            int checksum = buffer.getInt();
+            int length = buffer.getInt();
+            if (length != buffer.remaining()) {
+                log.warn("load: ignoring log metadata snapshot {} with length {}, expected {}",
+                        file, buffer.remaining(), length);
+                return Optional.empty();
+            }
+
+            byte[] payloadArray = new byte[length];
+            buffer.get(payloadArray);
+            if (Checksum.getChecksum(payloadArray) != checksum) {
+                log.warn("load: ignoring corrupted log metadata snapshot {}", file);
+                return Optional.empty();
+            }
+
+            DataInputStream payload = new DataInputStream(new ByteArrayInputStream(payloadArray));
+            long startingAddress = payload.readLong();
+            int numSegments = payload.readInt();
+            Map<Long, SegmentSummary> segments = new HashMap<>();
+            for (int i = 0; i < numSegments; i++) {
+                segments.put(payload.readLong(), new SegmentSummary(payload.readLong(), payload.readInt(),
+                        payload.readLong(), payload.readDouble()));
+            }
+            LogMetadata logMetadata = LogMetadata.deserialize(payload);
+
+            return Optional.of(new LogMetadataSnapshot(startingAddress, segments, logMetadata));
+        } catch (IOException | RuntimeException e) {
+            log.warn("load: ignoring unreadable log metadata snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A running checksum of a segment file. Segment files are only appended to, so the checksum
+     * is extended with the bytes written since it was last updated, rather than computed over
+     * the whole file for every snapshot.
+     */
+    static class SegmentChecksum {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final CRC32 crc = new CRC32();
+
+        // Number of bytes of the file covered by the checksum
+        private long length = 0;
+
+        /**
+         * Extend the checksum up to the given size of the segment file.
+         *
+         * @param file     the segment file
+         * @param fileSize the size of the file to checksum
+         * @param sync     whether to sync the file, if it has grown since the last update
+         * @return the checksum of the first fileSize bytes of the file
+         * @throws IOException if the file cannot be read up to the given size
+         */
+        int update(@NonNull Path file, long fileSize, boolean sync) throws IOException {
+            if (fileSize < length) {
+                crc.reset();
+                length = 0;
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (sync && length < fileSize) {
+                    channel.force(true);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (length < fileSize) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(BUFFER_SIZE, fileSize - length));
+                    int read = channel.read(buffer, length);
+                    if (read < 0) {
+                        throw new EOFException("Segment " + file + " is shorter than " + fileSize + " bytes");
+                    }
+                    buffer.flip();
+                    crc.update(buffer);
+                    length += read;
+                }
+            }
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.corfudb.infrastructure.log;
+
+import io.netty.channel.FileRegion;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Log entries as persisted in the segment files of a stream log, which can be sent to a client
+ * without being read into memory (e.g. with sendfile).
+ * <p>
+ * The regions are opened, so they remain readable if their segments are trimmed or compacted
+ * in the meantime, and must be released once sent. The regions are to be sent in order, and
+ * the offset of every entry is relative to the start of the first region. The regions can also
+ * hold the metadata of the records in between the entries, which is skipped by the clients.
+ */
+@Getter
+@AllArgsConstructor
+public class RawLogEntries {
+
+    private static final RawLogEntries EMPTY = new RawLogEntries(
+            Collections.emptyList(), Collections.emptyList(), 0);
+
+    // Regions of the segment files holding the entries, in order
+    @NonNull
+    private final List<FileRegion> regions;
+
+    // Address, offset and length of every entry in the regions
+    @NonNull
+    private final List<RawLogEntryMsg> entries;
+
+    // Total length of the regions
+    private final long length;
+
+    public static RawLogEntries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Release the regions, if they are not sent.
+     */
+    public void release() {
+        regions.forEach(FileRegion::release);
+    }
+}
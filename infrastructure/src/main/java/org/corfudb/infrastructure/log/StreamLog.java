@@ -7,7 +7,9 @@ import org.corfudb.runtime.exceptions.OverwriteCause;
 import org.corfudb.runtime.exceptions.TrimmedException;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -42,6 +44,34 @@ public interface StreamLog {
      */
     LogData read(long address);
 
+    /**
+     * Given a list of addresses, read the corresponding stream entries.
+     * @param addresses  addresses to read from the log
+     * @return map of the entries that exist, addresses that were not written are absent
+     */
+    default Map<Long, LogData> read(List<Long> addresses) {
+        Map<Long, LogData> entries = new HashMap<>();
+        for (long address : addresses) {
+            LogData entry = read(address);
+            if (entry != null) {
+                entries.put(address, entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Given a list of addresses, get the regions of the log files which hold the corresponding
+     * stream entries, so they can be sent without being read into memory.
+     *
+     * @param addresses addresses to read from the log
+     * @return the entries that can be sent from the log files, the other addresses (e.g. those
+     * that were not written or were trimmed) are absent and must be read instead
+     */
+    default RawLogEntries readFileRegions(List<Long> addresses) {
+        return RawLogEntries.empty();
+    }
+
     /**
      * Inspect if the stream log contains the entry at given address.
      *
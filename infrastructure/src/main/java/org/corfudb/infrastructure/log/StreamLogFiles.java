@@ -1,20 +1,23 @@
 package org.corfudb.infrastructure.log;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.AtomicDouble;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
-import io.micrometer.core.instrument.Timer;
-import io.netty.buffer.Unpooled;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
-import org.corfudb.common.compression.Codec;
+import org.corfudb.common.metrics.micrometer.DistributionSummaryHandle;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
 import org.corfudb.infrastructure.ResourceQuota;
 import org.corfudb.infrastructure.ServerContext;
 import org.corfudb.infrastructure.log.FileSystemAgent.FileSystemConfig;
@@ -23,7 +26,8 @@ import org.corfudb.infrastructure.log.LogFormat.DataType;
 import org.corfudb.infrastructure.log.LogFormat.LogEntry;
 import org.corfudb.infrastructure.log.LogFormat.LogHeader;
 import org.corfudb.infrastructure.log.LogFormat.Metadata;
-import org.corfudb.protocols.logprotocol.CheckpointEntry;
+import org.corfudb.infrastructure.log.LogMetadataSnapshot.SegmentChecksum;
+import org.corfudb.infrastructure.log.LogMetadataSnapshot.SegmentSummary;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
@@ -34,6 +38,8 @@ import org.corfudb.runtime.exceptions.OverwriteCause;
 import org.corfudb.runtime.exceptions.OverwriteException;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
+import org.corfudb.util.CFUtils;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -48,8 +54,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,9 +67,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -67,6 +83,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import static org.corfudb.infrastructure.utils.Persistence.syncDirectory;
+import static org.corfudb.protocols.CorfuProtocolLogData.getLogData;
 
 /**
  * This class implements the StreamLog by persisting the stream log as records in multiple files.
@@ -88,6 +105,17 @@ public class StreamLogFiles implements StreamLog {
 
     public static final int VERSION = 2;
     public static final int RECORDS_PER_LOG_FILE = 10000;
+
+    // Max number of bytes fetched by a single positional read when coalescing adjacent records
+    private static final int MAX_COALESCED_READ_BYTES = 4 * 1024 * 1024;
+
+    // Reads the segments of a batched read spanning multiple segments in parallel
+    private static final ExecutorService segmentReader = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("stream-log-reader-%d")
+                    .build());
+
     private final Path logDir;
     private final boolean verify;
 
@@ -106,11 +134,45 @@ public class StreamLogFiles implements StreamLog {
     // the files of the old instance
     private LogMetadata logMetadata;
 
+    //=================Log Metadata Snapshots=================
+    private final Path metadataSnapshotFile;
+
+    // Min interval between periodic snapshots, snapshots are disabled if zero
+    private final Duration metadataSnapshotInterval;
+
+    private long lastMetadataSnapshot;
+
+    // Set by the write path once the tail segment moves on, so the segment it leaves is
+    // covered by the next snapshot rather than after the snapshot interval
+    private boolean segmentClosed = false;
+
+    // Serializes and persists the log metadata snapshots, off the write path
+    private final ExecutorService metadataSnapshotWriter = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("log-metadata-snapshot")
+                    .build());
+
+    // Snapshot being persisted by the snapshot writer, a new snapshot is skipped until it completes
+    private Future<?> pendingMetadataSnapshot = CompletableFuture.completedFuture(null);
+
+    // Number of entries and their estimated size in each segment, recorded by metadata snapshots
+    private final ConcurrentMap<Long, SegmentTally> segmentTallies = new ConcurrentHashMap<>();
+
+    // Running checksum of each segment, only accessed by the snapshot writer once initialized
+    private final Map<Long, SegmentChecksum> segmentChecksums = new HashMap<>();
+
     // Resource quota to track the log size
     private final ResourceQuota logSizeQuota;
 
     private final String logUnitSizeMetricName = "logunit.size";
     private final String logUnitTrimMarkMetricName = "logunit.trimmark";
+
+    private final TimerHandle fsyncTimer = MicroMeterUtils.timerHandle("logunit.fsync.timer");
+    private final DistributionSummaryHandle readThroughput =
+            MicroMeterUtils.distSummaryHandle("logunit.read.throughput");
+    private final DistributionSummaryHandle writeThroughput =
+            MicroMeterUtils.distSummaryHandle("logunit.write.throughput");
     /**
      * Prevents corfu from reading and executing maintenance
      * operations (reset log unit and stream log compaction) in parallel
@@ -130,6 +192,8 @@ public class StreamLogFiles implements StreamLog {
         channelsToSync = new HashSet<>();
         this.verify = !noVerify;
         this.dataStore = new StreamLogDataStore(serverContext.getDataStore());
+        this.metadataSnapshotFile = logDir.resolveSibling(LogMetadataSnapshot.FILE_NAME);
+        this.metadataSnapshotInterval = serverContext.getLogMetadataSnapshotInterval();
 
         initStreamLogDirectory();
 
@@ -148,6 +212,7 @@ public class StreamLogFiles implements StreamLog {
         // initializing the tail segment (i.e. initializeMaxGlobalAddress)
         logMetadata = new LogMetadata();
         initializeLogMetadata();
+        lastMetadataSnapshot = System.nanoTime();
 
         // This can happen if a prefix trim happens on
         // addresses that haven't been written
@@ -194,17 +259,31 @@ public class StreamLogFiles implements StreamLog {
      * addresses seen.
      * <p>
      * consecutive segments from [startSegment, endSegment]
+     * <p>
+     * If a metadata snapshot is available, the metadata is loaded from it and only the
+     * segments that have changed since the snapshot was taken are scanned. Unless verification
+     * is disabled, a segment is only considered unchanged if its checksum is unchanged too.
      */
     private void initializeLogMetadata() {
         long startingSegment = getStartingSegment();
         long tailSegment = dataStore.getTailSegment();
 
         long start = System.currentTimeMillis();
+        Map<Long, SegmentSummary> snapshotSegments = loadMetadataSnapshot();
+        int scannedSegments = 0;
         // Scan the log in reverse, this will ease stream trim mark resolution (as we require the
         // END records of a checkpoint which are always the last entry in this stream)
         // Note: if a checkpoint END record is not found (i.e., incomplete) this data is not considered
         // for stream trim mark computation.
         for (long currentSegment = tailSegment; currentSegment >= startingSegment; currentSegment--) {
+            SegmentSummary summary = snapshotSegments.get(currentSegment);
+            if (summary != null && isCoveredBySnapshot(currentSegment, summary)) {
+                // The segment has not been written since the snapshot was taken
+                recordSegmentEntries(currentSegment, summary.getEntries(), summary.getBytes());
+                continue;
+            }
+
+            scannedSegments++;
             SegmentHandle segment = getSegmentHandleForAddress(currentSegment * RECORDS_PER_LOG_FILE + 1);
             try {
                 for (Long address : segment.getKnownAddresses().keySet()) {
@@ -213,8 +292,7 @@ public class StreamLogFiles implements StreamLog {
                         continue;
                     }
                     LogData logEntry = read(address);
-                    logUnitSizeEntries.ifPresent(AtomicLong::incrementAndGet);
-                    logUnitSizeBytes.ifPresent(counter -> counter.addAndGet(logEntry.getSizeEstimate()));
+                    recordSegmentEntries(currentSegment, 1, logEntry.getSizeEstimate());
                     logMetadata.update(logEntry, true);
                 }
             } finally {
@@ -225,7 +303,173 @@ public class StreamLogFiles implements StreamLog {
         // Open segment will add entries to the writeChannels map, therefore we need to clear it
         writeChannels.clear();
         long end = System.currentTimeMillis();
-        log.info("initializeStreamTails: took {} ms to load {}, log start {}", end - start, logMetadata, getTrimMark());
+        log.info("initializeStreamTails: took {} ms to load {}, log start {}, scanned {} of {} segments",
+                end - start, logMetadata, getTrimMark(), scannedSegments, tailSegment - startingSegment + 1);
+    }
+
+    /**
+     * Load the log metadata from the metadata snapshot, if snapshots are enabled and
+     * the snapshot is still valid for this log.
+     *
+     * @return the segments covered by the loaded snapshot
+     */
+    private Map<Long, SegmentSummary> loadMetadataSnapshot() {
+        if (metadataSnapshotInterval.isZero()) {
+            return Collections.emptyMap();
+        }
+
+        Optional<LogMetadataSnapshot> snapshot = LogMetadataSnapshot.load(metadataSnapshotFile);
+        if (!snapshot.isPresent()) {
+            return Collections.emptyMap();
+        }
+
+        if (snapshot.get().getStartingAddress() != dataStore.getStartingAddress()) {
+            log.info("loadMetadataSnapshot: ignoring snapshot taken at log start {}, log start {}",
+                    snapshot.get().getStartingAddress(), dataStore.getStartingAddress());
+            return Collections.emptyMap();
+        }
+
+        logMetadata = snapshot.get().getLogMetadata();
+        return snapshot.get().getSegments();
+    }
+
+    /**
+     * Check whether a segment is unchanged since the snapshot covering it was taken.
+     *
+     * @param segment the segment covered by the snapshot
+     * @param summary the state of the segment recorded by the snapshot
+     * @return true if the segment can be skipped, false if it must be scanned
+     */
+    private boolean isCoveredBySnapshot(long segment, SegmentSummary summary) {
+        long fileSize = getSegmentFileSize(segment);
+        if (summary.getFileSize() != fileSize) {
+            return false;
+        }
+
+        if (!verify) {
+            return true;
+        }
+
+        SegmentChecksum checksum = new SegmentChecksum();
+        try {
+            if (checksum.update(Paths.get(getSegmentFilePath(segment)), fileSize, false) != summary.getChecksum()) {
+                log.warn("isCoveredBySnapshot: segment {} changed since the metadata snapshot, rescanning",
+                        segment);
+                return false;
+            }
+        } catch (IOException e) {
+            log.warn("isCoveredBySnapshot: failed to checksum segment {}, rescanning", segment, e);
+            return false;
+        }
+        segmentChecksums.put(segment, checksum);
+        return true;
+    }
+
+    /**
+     * Take a snapshot of the log metadata, covering the segments of the log as they are now.
+     * The writes reflected by the log metadata must be durable once the snapshot is persisted,
+     * so unless the channels have been synced, the snapshot writer syncs the covered segments.
+     * <p>
+     * Only an in-memory copy of the metadata is taken on the calling thread, which is the write
+     * thread, so writes are not held while the snapshot is checksummed, serialized and persisted
+     * by the snapshot writer. A snapshot is skipped if the previous one is still being persisted.
+     *
+     * @param synced whether the channels have been synced
+     * @return whether the snapshot was taken
+     */
+    private boolean snapshotLogMetadata(boolean synced) {
+        if (!pendingMetadataSnapshot.isDone()) {
+            log.debug("snapshotLogMetadata: previous snapshot still in progress, skipping");
+            return false;
+        }
+
+        lastMetadataSnapshot = System.nanoTime();
+        Runnable snapshot = captureMetadataSnapshot(synced);
+        pendingMetadataSnapshot = metadataSnapshotWriter.submit(snapshot);
+        return true;
+    }
+
+    /**
+     * Capture the state of the log covered by a snapshot.
+     *
+     * @param synced whether the channels have been synced
+     * @return the task persisting the captured snapshot
+     */
+    private Runnable captureMetadataSnapshot(boolean synced) {
+        final long startingAddress = dataStore.getStartingAddress();
+        final LogMetadata metadata = logMetadata.copy();
+        final Map<Long, SegmentSummary> segments = new HashMap<>();
+        for (long segment = getStartingSegment(); segment <= dataStore.getTailSegment(); segment++) {
+            SegmentTally tally = segmentTallies.get(segment);
+            long fileSize = getSegmentFileSize(segment);
+            if (tally != null && fileSize >= 0) {
+                segments.put(segment, tally.summarize(fileSize));
+            }
+        }
+
+        return () -> persistMetadataSnapshot(startingAddress, segments, metadata, synced);
+    }
+
+    /**
+     * Checksum (and sync, unless already synced) the covered segments, then serialize and
+     * persist a captured snapshot.
+     */
+    private void persistMetadataSnapshot(long startingAddress, Map<Long, SegmentSummary> segments,
+                                         LogMetadata metadata, boolean synced) {
+        long start = System.currentTimeMillis();
+        try {
+            // The segments which are no longer covered have been trimmed
+            segmentChecksums.keySet().retainAll(segments.keySet());
+            Map<Long, SegmentSummary> checksummed = new HashMap<>();
+            for (Map.Entry<Long, SegmentSummary> segment : segments.entrySet()) {
+                SegmentSummary summary = segment.getValue();
+                int checksum = segmentChecksums.computeIfAbsent(segment.getKey(), s -> new SegmentChecksum())
+                        .update(Paths.get(getSegmentFilePath(segment.getKey())), summary.getFileSize(), !synced);
+                checksummed.put(segment.getKey(), new SegmentSummary(summary.getFileSize(), checksum,
+                        summary.getEntries(), summary.getBytes()));
+            }
+
+            LogMetadataSnapshot snapshot = new LogMetadataSnapshot(startingAddress, checksummed, metadata);
+            byte[] contents = snapshot.serialize();
+            LogMetadataSnapshot.persist(metadataSnapshotFile, contents);
+            log.debug("persistMetadataSnapshot: took {} ms to persist {} bytes covering {} segments",
+                    System.currentTimeMillis() - start, contents.length, segments.size());
+        } catch (IOException e) {
+            // A missing or stale snapshot only slows down recovery
+            log.error("persistMetadataSnapshot: failed to persist snapshot to {}", metadataSnapshotFile, e);
+        }
+    }
+
+    /**
+     * Wait for the snapshot being persisted, if any, to complete.
+     */
+    private void awaitMetadataSnapshot() {
+        try {
+            pendingMetadataSnapshot.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UnrecoverableCorfuError("Interrupted while waiting for the metadata snapshot", ie);
+        } catch (ExecutionException e) {
+            log.error("awaitMetadataSnapshot: metadata snapshot failed", e.getCause());
+        }
+    }
+
+    private void recordSegmentEntries(long segment, long entries, double bytes) {
+        logUnitSizeEntries.ifPresent(counter -> counter.addAndGet(entries));
+        logUnitSizeBytes.ifPresent(counter -> counter.addAndGet(bytes));
+        segmentTallies.computeIfAbsent(segment, s -> new SegmentTally()).add(entries, bytes);
+    }
+
+    private String getSegmentFilePath(long segment) {
+        return logDir + File.separator + segment + ".log";
+    }
+
+    /**
+     * @return the size of the segment's file, or -1 if it does not exist
+     */
+    private long getSegmentFileSize(long segment) {
+        File file = new File(getSegmentFilePath(segment));
+        return file.exists() ? file.length() : -1L;
     }
 
     /**
@@ -322,6 +566,9 @@ public class StreamLogFiles implements StreamLog {
         logMetadata.updateGlobalTail(address);
         long segment = address / RECORDS_PER_LOG_FILE;
 
+        if (segment > dataStore.getTailSegment()) {
+            segmentClosed = true;
+        }
         dataStore.updateTailSegment(segment);
     }
 
@@ -392,14 +639,23 @@ public class StreamLogFiles implements StreamLog {
     public void sync(boolean force) throws IOException {
         if (force) {
             for (FileChannel ch : channelsToSync) {
-                Optional<Timer.Sample> sample =
-                        MicroMeterUtils.startTimer();
-                ch.force(true);
-                MicroMeterUtils.time(sample, "logunit.fsync.timer");
+                long start = fsyncTimer.start();
+                try {
+                    ch.force(true);
+                } finally {
+                    fsyncTimer.stop(start);
+                }
             }
         }
         log.trace("Sync'd {} channels", channelsToSync.size());
         channelsToSync.clear();
+
+        if (!metadataSnapshotInterval.isZero() && (segmentClosed
+                || System.nanoTime() - lastMetadataSnapshot >= metadataSnapshotInterval.toNanos())) {
+            if (snapshotLogMetadata(force)) {
+                segmentClosed = false;
+            }
+        }
     }
 
     @Override
@@ -430,6 +686,7 @@ public class StreamLogFiles implements StreamLog {
 
         // Close segments before deleting their corresponding log files
         closeSegmentHandlers(endSegment);
+        segmentTallies.keySet().removeIf(segment -> segment <= endSegment);
 
         deleteFilesMatchingFilter(file -> {
             try {
@@ -444,56 +701,6 @@ public class StreamLogFiles implements StreamLog {
         log.info("trimPrefix: completed, end segment {}", endSegment);
     }
 
-    private LogData getLogData(LogEntry entry) {
-        ByteBuffer entryData = ByteBuffer.wrap(entry.getData().toByteArray());
-
-        int ldCodecType = entry.hasCodecType() ? entry.getCodecType() : Codec.Type.NONE.getId();
-
-        LogData logData = new LogData(org.corfudb.protocols.wireprotocol
-                .DataType.typeMap.get((byte) entry.getDataType().getNumber()),
-                Unpooled.wrappedBuffer(entryData.array()), ldCodecType);
-
-        logData.setBackpointerMap(getUUIDLongMap(entry.getBackpointersMap()));
-        logData.setGlobalAddress(entry.getGlobalAddress());
-        logData.setEpoch(entry.getEpoch());
-
-        if (entry.hasThreadId()) {
-            logData.setThreadId(entry.getThreadId());
-        }
-        if (entry.hasClientIdLeastSignificant() && entry.hasClientIdMostSignificant()) {
-            long lsd = entry.getClientIdLeastSignificant();
-            long msd = entry.getClientIdMostSignificant();
-            logData.setClientId(new UUID(msd, lsd));
-        }
-
-        if (entry.hasCheckpointEntryType()) {
-            logData.setCheckpointType(CheckpointEntry.CheckpointEntryType
-                    .typeMap.get((byte) entry.getCheckpointEntryType().ordinal()));
-
-            if (!entry.hasCheckpointIdLeastSignificant()
-                    || !entry.hasCheckpointIdMostSignificant()) {
-                log.error("Checkpoint has missing information {}", entry);
-            }
-
-            long lsd = entry.getCheckpointIdLeastSignificant();
-            long msd = entry.getCheckpointIdMostSignificant();
-            UUID checkpointId = new UUID(msd, lsd);
-
-            logData.setCheckpointId(checkpointId);
-
-            lsd = entry.getCheckpointedStreamIdLeastSignificant();
-            msd = entry.getCheckpointedStreamIdMostSignificant();
-            UUID streamId = new UUID(msd, lsd);
-
-            logData.setCheckpointedStreamId(streamId);
-
-            logData.setCheckpointedStreamStartLogAddress(
-                    entry.getCheckpointedStreamStartLogAddress());
-        }
-
-        return logData;
-    }
-
     //================Parsing Helper Methods================//
 
     /**
@@ -725,8 +932,9 @@ public class StreamLogFiles implements StreamLog {
         try {
             ByteBuffer entryBuf = ByteBuffer.allocate(metaData.length);
             fileChannel.read(entryBuf, metaData.offset);
+            verifyChecksum(segment, metaData, entryBuf.array(), 0);
             LogData logData = getLogData(LogEntry.parseFrom(entryBuf.array()));
-            MicroMeterUtils.measure(metaData.length, "logunit.read.throughput");
+            readThroughput.record(metaData.length);
             return logData;
         } catch (InvalidProtocolBufferException e) {
             String errorMessage = getDataCorruptionErrorMessage("Invalid entry",
@@ -780,9 +988,7 @@ public class StreamLogFiles implements StreamLog {
     SegmentHandle getSegmentHandleForAddress(long address) {
         long segment = address / RECORDS_PER_LOG_FILE;
 
-        String filePath = logDir + File.separator;
-        filePath += segment;
-        filePath += ".log";
+        String filePath = getSegmentFilePath(segment);
 
         SegmentHandle handle = writeChannels.computeIfAbsent(filePath, a -> {
             FileChannel writeCh = null;
@@ -826,17 +1032,6 @@ public class StreamLogFiles implements StreamLog {
         return stringLongMap;
     }
 
-    @SuppressWarnings("checkstyle:abbreviationaswordinname")  // Due to deprecation
-    private Map<UUID, Long> getUUIDLongMap(Map<String, Long> stringLongMap) {
-        Map<UUID, Long> uuidLongMap = new HashMap<>();
-
-        for (Map.Entry<String, Long> entry : stringLongMap.entrySet()) {
-            uuidLongMap.put(UUID.fromString(entry.getKey()), entry.getValue());
-        }
-
-        return uuidLongMap;
-    }
-
     @SuppressWarnings("checkstyle:abbreviationaswordinname") // Due to deprecation
     private Set<String> getStrUUID(Set<UUID> uuids) {
         Set<String> strUUIds = new HashSet<>();
@@ -935,9 +1130,8 @@ public class StreamLogFiles implements StreamLog {
         syncTailSegment(entries.get(entries.size() - 1).getGlobalAddress());
         logMetadata.update(entries);
 
-        logUnitSizeBytes.ifPresent(counter -> counter.addAndGet(size));
-        MicroMeterUtils.measure(size, "logunit.write.throughput");
-        logUnitSizeEntries.ifPresent(counter -> counter.addAndGet(entries.size()));
+        recordSegmentEntries(segment.getSegment(), entries.size(), size);
+        writeThroughput.record(size);
         return recordsMap;
     }
 
@@ -983,9 +1177,8 @@ public class StreamLogFiles implements StreamLog {
         syncTailSegment(address);
         logMetadata.update(entry, false);
 
-        logUnitSizeBytes.ifPresent(counter -> counter.addAndGet(size));
-        MicroMeterUtils.measure(size, "logunit.write.throughput");
-        logUnitSizeEntries.ifPresent(counter -> counter.incrementAndGet());
+        recordSegmentEntries(segment.getSegment(), 1, size);
+        writeThroughput.record(size);
         return new AddressMetaData(metadata.getPayloadChecksum(), metadata.getLength(), channelOffset);
     }
 
@@ -1203,6 +1396,250 @@ public class StreamLogFiles implements StreamLog {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Addresses are grouped by segment and the records of a segment are read in file offset
+     * order, records that are adjacent in the file being fetched by a single positional read.
+     * When the addresses span multiple segments, segments are read in parallel.
+     */
+    @Override
+    public Map<Long, LogData> read(List<Long> addresses) {
+        Lock lock = resetLock.readLock();
+        lock.lock();
+
+        try {
+            Map<Long, LogData> entries = new HashMap<>();
+            Map<Long, List<Long>> segments = new TreeMap<>();
+            for (long address : addresses) {
+                if (isTrimmed(address)) {
+                    entries.put(address, LogData.getTrimmed(address));
+                } else {
+                    segments.computeIfAbsent(address / RECORDS_PER_LOG_FILE, segment -> new ArrayList<>())
+                            .add(address);
+                }
+            }
+
+            if (segments.size() == 1) {
+                entries.putAll(readSegment(Iterables.getOnlyElement(segments.values())));
+            } else if (segments.size() > 1) {
+                List<CompletableFuture<Map<Long, LogData>>> segmentReads = segments.values().stream()
+                        .map(segmentAddresses -> CompletableFuture.supplyAsync(
+                                () -> readSegment(segmentAddresses), segmentReader))
+                        .collect(Collectors.toList());
+                segmentReads.forEach(segmentRead -> entries.putAll(CFUtils.getUninterruptibly(segmentRead)));
+            }
+
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the records of a list of addresses that belong to the same segment.
+     *
+     * @param addresses addresses to read, all of them within a single segment
+     * @return map of the records found in the segment
+     */
+    private Map<Long, LogData> readSegment(List<Long> addresses) {
+        SegmentHandle segment = getSegmentHandleForAddress(addresses.get(0));
+
+        try {
+            Map<Long, LogData> entries = new HashMap<>();
+            List<Map.Entry<Long, AddressMetaData>> records = new ArrayList<>();
+            for (long address : addresses) {
+                if (segment.getPendingTrims().contains(address)) {
+                    entries.put(address, LogData.getTrimmed(address));
+                    continue;
+                }
+
+                AddressMetaData metaData = segment.getKnownAddresses().get(address);
+                if (metaData != null) {
+                    records.add(new SimpleImmutableEntry<>(address, metaData));
+                }
+            }
+
+            for (List<Map.Entry<Long, AddressMetaData>> run : getRecordRuns(records)) {
+                AddressMetaData first = run.get(0).getValue();
+                AddressMetaData last = run.get(run.size() - 1).getValue();
+                readRecords(segment, run, first.offset, last.offset + last.length, entries);
+            }
+
+            return entries;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            segment.release();
+        }
+    }
+
+    /**
+     * Sort the records of a segment by file offset and split them into runs of records that
+     * are adjacent in the file, so that every run can be fetched at once.
+     *
+     * @param records addresses and metadata of the records, within a single segment
+     * @return the runs of records, ordered by file offset
+     */
+    private static List<List<Map.Entry<Long, AddressMetaData>>> getRecordRuns(
+            List<Map.Entry<Long, AddressMetaData>> records) {
+        records.sort(Comparator.comparingLong(record -> record.getValue().offset));
+
+        // Consecutive records are only separated by the metadata of the next record
+        List<List<Map.Entry<Long, AddressMetaData>>> runs = new ArrayList<>();
+        int start = 0;
+        while (start < records.size()) {
+            AddressMetaData first = records.get(start).getValue();
+            long readEnd = first.offset + first.length;
+            int end = start + 1;
+
+            while (end < records.size()) {
+                AddressMetaData next = records.get(end).getValue();
+                long gap = next.offset - readEnd;
+                if (gap < 0 || gap > METADATA_SIZE
+                        || next.offset + next.length - first.offset > MAX_COALESCED_READ_BYTES) {
+                    break;
+                }
+                readEnd = next.offset + next.length;
+                end++;
+            }
+
+            runs.add(records.subList(start, end));
+            start = end;
+        }
+
+        return runs;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the records of sealed segments, i.e. the segments before the tail segment, are
+     * covered, the records of the tail segment are read instead. Records that are adjacent
+     * in a segment file are covered by a single region, which then also holds the metadata
+     * of the records in between.
+     */
+    @Override
+    public RawLogEntries readFileRegions(List<Long> addresses) {
+        Lock lock = resetLock.readLock();
+        lock.lock();
+
+        List<FileRegion> regions = new ArrayList<>();
+        try {
+            final long tailSegment = dataStore.getTailSegment();
+            Map<Long, List<Long>> segments = new TreeMap<>();
+            for (long address : addresses) {
+                if (!isTrimmed(address) && address / RECORDS_PER_LOG_FILE < tailSegment) {
+                    segments.computeIfAbsent(address / RECORDS_PER_LOG_FILE, segment -> new ArrayList<>())
+                            .add(address);
+                }
+            }
+
+            List<RawLogEntryMsg> entries = new ArrayList<>();
+            long length = 0;
+            for (List<Long> segmentAddresses : segments.values()) {
+                SegmentHandle segment = getSegmentHandleForAddress(segmentAddresses.get(0));
+                try {
+                    List<Map.Entry<Long, AddressMetaData>> records = new ArrayList<>();
+                    for (long address : segmentAddresses) {
+                        AddressMetaData metaData = segment.getKnownAddresses().get(address);
+                        if (metaData != null && !segment.getPendingTrims().contains(address)) {
+                            records.add(new SimpleImmutableEntry<>(address, metaData));
+                        }
+                    }
+
+                    for (List<Map.Entry<Long, AddressMetaData>> run : getRecordRuns(records)) {
+                        long runOffset = run.get(0).getValue().offset;
+                        for (Map.Entry<Long, AddressMetaData> record : run) {
+                            AddressMetaData metaData = record.getValue();
+                            entries.add(RawLogEntryMsg.newBuilder()
+                                    .setAddress(record.getKey())
+                                    .setOffset(length + metaData.offset - runOffset)
+                                    .setLength(metaData.length)
+                                    .setChecksum(metaData.checksum)
+                                    .build());
+                            readThroughput.record(metaData.length);
+                        }
+
+                        AddressMetaData last = run.get(run.size() - 1).getValue();
+                        long runLength = last.offset + last.length - runOffset;
+                        // The region is opened while the segment is held, so that it can be
+                        // sent even if the segment is deleted in the meantime
+                        DefaultFileRegion region = new DefaultFileRegion(
+                                new File(segment.getFileName()), runOffset, runLength);
+                        regions.add(region);
+                        region.open();
+                        length += runLength;
+                    }
+                } finally {
+                    segment.release();
+                }
+            }
+
+            return new RawLogEntries(regions, entries, length);
+        } catch (IOException e) {
+            regions.forEach(FileRegion::release);
+            throw new RuntimeException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read a run of records with a single positional read.
+     *
+     * @param segment     The file handle to use.
+     * @param records     addresses and metadata of the records, ordered by file offset
+     * @param startOffset file offset of the first record
+     * @param endOffset   file offset at which the last record ends
+     * @param entries     map to add the parsed records to
+     */
+    private void readRecords(SegmentHandle segment, List<Map.Entry<Long, AddressMetaData>> records,
+                             long startOffset, long endOffset, Map<Long, LogData> entries) throws IOException {
+        FileChannel fileChannel = segment.getReadChannel();
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(endOffset - startOffset));
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, startOffset + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        for (Map.Entry<Long, AddressMetaData> record : records) {
+            AddressMetaData metaData = record.getValue();
+            int position = Math.toIntExact(metaData.offset - startOffset);
+            verifyChecksum(segment, metaData, buffer.array(), position);
+            try {
+                LogEntry entry = LogEntry.parseFrom(ByteBuffer.wrap(buffer.array(), position, metaData.length));
+                entries.put(record.getKey(), getLogData(entry));
+                readThroughput.record(metaData.length);
+            } catch (InvalidProtocolBufferException e) {
+                String errorMessage = getDataCorruptionErrorMessage("Invalid entry",
+                        fileChannel, segment.getFileName()
+                );
+                throw new DataCorruptionException(errorMessage, e);
+            }
+        }
+    }
+
+    /**
+     * Verify the checksum of a record read from a segment, if checksums are verified.
+     *
+     * @param segment  the segment the record was read from
+     * @param metaData the metadata of the record
+     * @param bytes    the bytes holding the record
+     * @param position the position of the record in the bytes
+     */
+    private void verifyChecksum(SegmentHandle segment, AddressMetaData metaData, byte[] bytes, int position)
+            throws IOException {
+        if (verify && metaData.checksum != Checksum.getChecksum(bytes, position, metaData.length)) {
+            String errorMessage = getDataCorruptionErrorMessage(
+                    "Checksum mismatch detected while trying to read file",
+                    segment.getReadChannel(), segment.getFileName()
+            );
+            throw new DataCorruptionException(errorMessage);
+        }
+    }
+
     @Override
     public boolean contains(long address) throws TrimmedException {
         // auto commit client is expected to get TrimmedException and
@@ -1229,6 +1666,20 @@ public class StreamLogFiles implements StreamLog {
     @Override
     public void close() {
         FileSystemAgent.shutdown();
+        if (!metadataSnapshotInterval.isZero()) {
+            try {
+                // All the writes must be durable before they are covered by a snapshot
+                for (SegmentHandle fh : writeChannels.values()) {
+                    fh.getWriteChannel().force(true);
+                }
+                awaitMetadataSnapshot();
+                captureMetadataSnapshot(true).run();
+            } catch (IOException e) {
+                log.error("close: failed to sync segments, skipping metadata snapshot", e);
+            }
+        }
+        metadataSnapshotWriter.shutdownNow();
+
         for (SegmentHandle fh : writeChannels.values()) {
             fh.close();
         }
@@ -1324,6 +1775,11 @@ public class StreamLogFiles implements StreamLog {
             closeAllSegmentHandlers();
 
             deleteFilesMatchingFilter(file -> true);
+            // A snapshot being persisted could otherwise outlive the reset
+            awaitMetadataSnapshot();
+            Files.deleteIfExists(metadataSnapshotFile);
+            segmentTallies.clear();
+            segmentChecksums.clear();
 
             dataStore.resetStartingAddress();
             dataStore.resetTailSegment();
@@ -1332,6 +1788,8 @@ public class StreamLogFiles implements StreamLog {
             logSizeQuota.reset();
 
             log.info("reset: Completed");
+        } catch (IOException e) {
+            throw new LogUnitException(e);
         } finally {
             lock.unlock();
         }
@@ -1355,6 +1813,24 @@ public class StreamLogFiles implements StreamLog {
         return writeChannels.values();
     }
 
+    /**
+     * Number of entries in a segment and their estimated size.
+     */
+    private static class SegmentTally {
+        private long entries;
+        private double bytes;
+
+        synchronized void add(long entries, double bytes) {
+            this.entries += entries;
+            this.bytes += bytes;
+        }
+
+        synchronized SegmentSummary summarize(long fileSize) {
+            // The checksum is computed by the snapshot writer
+            return new SegmentSummary(fileSize, 0, entries, bytes);
+        }
+    }
+
     public static class Checksum {
 
         private Checksum() {
@@ -1376,6 +1852,18 @@ public class StreamLogFiles implements StreamLog {
             return hasher.hash().asInt();
         }
 
+        /**
+         * Returns checksum used for log.
+         *
+         * @param bytes  data holding the bytes over which to compute the checksum
+         * @param offset offset of the bytes in data
+         * @param length number of bytes
+         * @return checksum of the bytes
+         */
+        public static int getChecksum(byte[] bytes, int offset, int length) {
+            return Hashing.crc32c().hashBytes(bytes, offset, length).asInt();
+        }
+
         public static int getChecksum(int num) {
             Hasher hasher = Hashing.crc32c().newHasher();
             return hasher.putInt(num).hash().asInt();
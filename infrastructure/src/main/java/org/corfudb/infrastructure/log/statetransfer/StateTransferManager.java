@@ -91,7 +91,8 @@ public class StateTransferManager {
     }
 
     /**
-     * Return a range with the updated list of unknown addresses.
+     * Return a range with the updated list of unknown addresses,
+     * which are mapped to the stripe of the range.
      *
      * @param range A transfer segment range.
      * @return An updated transfer segment range.
@@ -100,7 +101,10 @@ public class StateTransferManager {
         long startAddress = range.getStartAddress();
         long endAddress = range.getEndAddress();
         ImmutableList<Long> unknownAddressesInRange =
-                getUnknownAddressesInRange(startAddress, endAddress);
+                getUnknownAddressesInRange(startAddress, endAddress)
+                        .stream()
+                        .filter(address -> address % range.getNumberOfStripes() == range.getStripeIndex())
+                        .collect(ImmutableList.toImmutableList());
         return range.toBuilder()
                 .unknownAddressesInRange(unknownAddressesInRange)
                 .build();
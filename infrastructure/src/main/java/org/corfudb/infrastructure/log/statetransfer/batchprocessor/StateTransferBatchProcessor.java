@@ -20,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -109,7 +110,14 @@ public interface StateTransferBatchProcessor {
                                         List<Long> allAddressesToTransfer) throws TimeoutException {
         List<LogData> remainingDataToWrite = readBatch.getData();
 
-        CFUtils.getUninterruptibly(logUnitClient.writeRange(remainingDataToWrite),
+        // A range write must be sequential, while a batch of a striped segment
+        // or a retried batch can have gaps, so write each sequential run separately.
+        CompletableFuture<?>[] rangeWrites = splitIntoSequentialRanges(remainingDataToWrite)
+                .stream()
+                .map(logUnitClient::writeRange)
+                .toArray(CompletableFuture[]::new);
+
+        CFUtils.getUninterruptibly(CompletableFuture.allOf(rangeWrites),
                 OverwriteException.class,
                 TimeoutException.class,
                 NetworkException.class);
@@ -123,6 +131,29 @@ public interface StateTransferBatchProcessor {
                 .build();
     }
 
+    /**
+     * Split the log data, ordered by the global address, into the runs of sequential addresses.
+     *
+     * @param data Log data ordered by the global address.
+     * @return A list of the non-empty sequential ranges.
+     */
+    static List<List<LogData>> splitIntoSequentialRanges(List<LogData> data) {
+        List<List<LogData>> ranges = new ArrayList<>();
+        List<LogData> currentRange = new ArrayList<>();
+        for (LogData entry : data) {
+            if (!currentRange.isEmpty() && entry.getGlobalAddress() !=
+                    currentRange.get(currentRange.size() - 1).getGlobalAddress() + 1) {
+                ranges.add(currentRange);
+                currentRange = new ArrayList<>();
+            }
+            currentRange.add(entry);
+        }
+        if (!currentRange.isEmpty()) {
+            ranges.add(currentRange);
+        }
+        return ranges;
+    }
+
     /**
      * Appends records to the stream log. If a log throws an exception during an append, wait and retry.
      *
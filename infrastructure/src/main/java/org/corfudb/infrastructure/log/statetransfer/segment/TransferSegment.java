@@ -41,6 +41,17 @@ public class TransferSegment {
      */
     private final ImmutableList<String> logUnitServers;
 
+    /**
+     * Index of the stripe of the segment to transfer,
+     * only the addresses mapped to this stripe are transferred.
+     */
+    private final int stripeIndex;
+
+    /**
+     * Number of stripes of the segment.
+     */
+    private final int numberOfStripes;
+
     /**
      * Given an optional committed tail,
      * turn a current transfer segment into a transfer segment range.
@@ -62,6 +73,8 @@ public class TransferSegment {
                         .split(false)
                         .status(getStatus().toBuilder().build())
                         .unknownAddressesInRange(ImmutableList.of())
+                        .stripeIndex(stripeIndex)
+                        .numberOfStripes(numberOfStripes)
                         .build();
             } else if (tail >= endAddress) {
                 // If the tail is greater or equal to the end address, this segment is a single
@@ -75,6 +88,8 @@ public class TransferSegment {
                         .split(false)
                         .status(getStatus().toBuilder().build())
                         .unknownAddressesInRange(ImmutableList.of())
+                        .stripeIndex(stripeIndex)
+                        .numberOfStripes(numberOfStripes)
                         .build();
             } else {
                 // If the tail is in the middle of a transfer segment, this segment is a split
@@ -89,6 +104,8 @@ public class TransferSegment {
                         .split(true)
                         .status(getStatus().toBuilder().build())
                         .unknownAddressesInRange(ImmutableList.of())
+                        .stripeIndex(stripeIndex)
+                        .numberOfStripes(numberOfStripes)
                         .build();
 
                 TransferSegmentRangeSingle second = TransferSegmentRangeSingle
@@ -100,6 +117,8 @@ public class TransferSegment {
                         .split(true)
                         .status(getStatus().toBuilder().build())
                         .unknownAddressesInRange(ImmutableList.of())
+                        .stripeIndex(stripeIndex)
+                        .numberOfStripes(numberOfStripes)
                         .build();
 
                 return TransferSegmentRangeSplit.builder()
@@ -116,11 +135,17 @@ public class TransferSegment {
                 .split(false)
                 .status(getStatus().toBuilder().build())
                 .unknownAddressesInRange(ImmutableList.of())
+                .stripeIndex(stripeIndex)
+                .numberOfStripes(numberOfStripes)
                 .build());
     }
 
     public static class TransferSegmentBuilder {
 
+        private int stripeIndex = 0;
+
+        private int numberOfStripes = 1;
+
         public void verify() {
             if (startAddress < 0L || endAddress < 0L) {
                 throw new IllegalStateException(
@@ -140,11 +165,18 @@ public class TransferSegment {
             if (logUnitServers == null) {
                 throw new IllegalStateException("Log unit servers should be present.");
             }
+
+            if (stripeIndex < 0 || stripeIndex >= numberOfStripes) {
+                throw new IllegalStateException(
+                        String.format("Stripe index: %s should be in [0, %s).",
+                                stripeIndex, numberOfStripes));
+            }
         }
 
         public TransferSegment build() {
             verify();
-            return new TransferSegment(startAddress, endAddress, status, logUnitServers);
+            return new TransferSegment(startAddress, endAddress, status, logUnitServers,
+                    stripeIndex, numberOfStripes);
         }
     }
 }
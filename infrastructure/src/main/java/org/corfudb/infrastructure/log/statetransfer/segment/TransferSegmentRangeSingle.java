@@ -53,6 +53,17 @@ public class TransferSegmentRangeSingle implements TransferSegmentRange {
      */
     private final boolean split;
 
+    /**
+     * Index of the stripe of the segment to transfer,
+     * only the addresses mapped to this stripe are transferred.
+     */
+    private final int stripeIndex;
+
+    /**
+     * Number of stripes of the segment.
+     */
+    private final int numberOfStripes;
+
     @Override
     public TransferSegment toTransferSegment() {
         return TransferSegment
@@ -61,6 +72,8 @@ public class TransferSegmentRangeSingle implements TransferSegmentRange {
                 .endAddress(endAddress)
                 .logUnitServers(availableServers.orElse(ImmutableList.of()))
                 .status(status.toBuilder().build())
+                .stripeIndex(stripeIndex)
+                .numberOfStripes(numberOfStripes)
                 .build();
     }
 
@@ -76,6 +89,10 @@ public class TransferSegmentRangeSingle implements TransferSegmentRange {
 
     public static class TransferSegmentRangeSingleBuilder {
 
+        private int stripeIndex = 0;
+
+        private int numberOfStripes = 1;
+
         public void verify() {
             if (startAddress < 0L || endAddress < 0L) {
                 throw new IllegalStateException(
@@ -100,7 +117,7 @@ public class TransferSegmentRangeSingle implements TransferSegmentRange {
         public TransferSegmentRangeSingle build() {
             verify();
             return new TransferSegmentRangeSingle(startAddress, endAddress, typeOfTransfer,
-                    availableServers, unknownAddressesInRange, status, split);
+                    availableServers, unknownAddressesInRange, status, split, stripeIndex, numberOfStripes);
         }
     }
 }
@@ -36,6 +36,8 @@ public class TransferSegmentRangeSplit implements TransferSegmentRange {
                 .endAddress(splitSegments.second.getEndAddress())
                 .status(splitSegments.first.getStatus().toBuilder().build())
                 .logUnitServers(splitSegments.first.getAvailableServers().orElse(ImmutableList.of()))
+                .stripeIndex(splitSegments.first.getStripeIndex())
+                .numberOfStripes(splitSegments.first.getNumberOfStripes())
                 .build();
     }
 
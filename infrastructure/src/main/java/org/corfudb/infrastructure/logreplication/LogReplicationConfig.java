@@ -42,6 +42,9 @@ public class LogReplicationConfig {
     // This value is exposed as a configuration parameter for LR.
     public static final int MAX_CACHE_NUM_ENTRIES = 200;
 
+    // Log Replication default number of transaction stream entries prefetched during log entry sync (disabled)
+    public static final int DEFAULT_LOG_ENTRY_PREFETCH_DEPTH = 0;
+
     // Percentage of log data per log replication message
     public static final int DATA_FRACTION_PER_MSG = 90;
 
@@ -79,6 +82,12 @@ public class LogReplicationConfig {
      */
     private int maxDataSizePerMsg;
 
+    /**
+     * Max number of transaction stream entries read ahead in the background during
+     * log entry sync, 0 disables prefetching.
+     */
+    private int logEntryPrefetchDepth = DEFAULT_LOG_ENTRY_PREFETCH_DEPTH;
+
     /**
      * Constructor
      *
@@ -54,6 +54,7 @@ public class CorfuInterClusterReplicationServer implements Runnable {
                     + "[--lock-lease=<lease-duration>]"
                     + "[-c <ratio>] [-d <level>] [-p <seconds>] "
                     + "[--lrCacheSize=<cache-num-entries>]"
+                    + "[--log-entry-prefetch-depth=<num-entries>]"
                     + "[--plugin=<plugin-config-file-path>]"
                     + "[--base-server-threads=<base_server_threads>] "
                     + "[--log-size-quota-percentage=<max_log_size_percentage>]"
@@ -175,6 +176,9 @@ public class CorfuInterClusterReplicationServer implements Runnable {
                     + "              The max number of messages per batch)\n                     "
                     + " --lrCacheSize=<cache-num-entries>"
                     + "              Cache max number of entries.\n                              "
+                    + " --log-entry-prefetch-depth=<num-entries>"
+                    + "              Number of transaction stream entries read ahead during\n   "
+                    + "              log entry sync, 0 disables prefetching.\n                   "
                     + " --max-replication-data-message-size=<msg-size>                           "
                     + "              Max size of replication data message in bytes. \n   "
                     + " --max-write-size=<max-write-size>"
@@ -426,11 +426,13 @@ public class CorfuReplicationDiscoveryService implements Runnable, CorfuReplicat
 
             Map<UUID, List<UUID>> streamingConfigSink = replicationConfigManager.getStreamingConfigOnSink();
 
-            return new LogReplicationConfig(streamsToReplicate,
+            LogReplicationConfig config = new LogReplicationConfig(streamsToReplicate,
                     streamingConfigSink,
                     serverContext.getLogReplicationMaxNumMsgPerBatch(),
                     serverContext.getLogReplicationMaxDataMessageSize(),
                     serverContext.getLogReplicationCacheMaxSize());
+            config.setLogEntryPrefetchDepth(serverContext.getLogReplicationLogEntryPrefetchDepth());
+            return config;
         } catch (Throwable t) {
             log.error("Exception when fetching the Replication Config", t);
             throw t;
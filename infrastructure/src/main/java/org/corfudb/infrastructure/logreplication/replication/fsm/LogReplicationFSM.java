@@ -380,5 +380,6 @@ public class LogReplicationFSM {
         this.ackReader.shutdown();
         this.logReplicationFSMConsumer.shutdown();
         this.logReplicationFSMWorkers.shutdown();
+        this.logEntryReader.shutdown();
     }
 }
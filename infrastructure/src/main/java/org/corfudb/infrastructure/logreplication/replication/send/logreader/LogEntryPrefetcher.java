@@ -0,0 +1,180 @@
+package org.corfudb.infrastructure.logreplication.replication.send.logreader;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Background prefetch stage for the log entry reader.
+ * <p>
+ * A dedicated thread repeatedly pulls the next element from the given fetcher (which reads and
+ * filters the transaction stream) and buffers it in a bounded queue, so that log reads and message
+ * construction overlap with the network sends driven by the replication FSM thread.
+ * <p>
+ * The prefetch thread blocks while the queue is full. Once it has reached the tail of the stream,
+ * it waits for the consumer to find the queue empty before it asks the fetcher again, rather than
+ * polling the fetcher on a timer.
+ * <p>
+ * The fetcher is only ever invoked from the prefetch thread while the prefetcher is running, so the
+ * underlying (non thread-safe) stream must not be touched by any other thread until {@link #stop()}
+ * returns.
+ *
+ * @param <T> type of the prefetched elements
+ */
+@Slf4j
+public class LogEntryPrefetcher<T> {
+
+    // Source of elements, returns null if no element is currently available
+    private final Supplier<T> fetcher;
+
+    // Bounded buffer of elements ready to be consumed
+    private final BlockingQueue<T> queue;
+
+    private final ExecutorService executor;
+
+    // Released by the consumer when it finds the queue empty, or on stop, to wake the
+    // prefetch thread waiting at the tail of the stream
+    private final Semaphore demand = new Semaphore(0);
+
+    // Set by the prefetch thread once it has reached the tail of the stream, and cleared by the
+    // consumer that wakes it, so the consumer only asks for a new fetch past the tail
+    private final AtomicBoolean atTail = new AtomicBoolean(false);
+
+    // First failure observed by the prefetch thread, surfaced to the consumer once the queue is drained
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private volatile boolean running = false;
+
+    // Released by the prefetch thread once it is no longer accessing the fetcher
+    private CountDownLatch stopped = new CountDownLatch(0);
+
+    /**
+     * Constructor
+     *
+     * @param fetcher supplier of the next element, returns null when no element is available yet
+     * @param depth   max number of elements buffered ahead of the consumer
+     */
+    public LogEntryPrefetcher(@NonNull Supplier<T> fetcher, int depth) {
+        this.fetcher = fetcher;
+        this.queue = new ArrayBlockingQueue<>(depth);
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("log-entry-prefetcher")
+                .build());
+    }
+
+    /**
+     * Start prefetching, if not already running.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        CountDownLatch latch = new CountDownLatch(1);
+        stopped = latch;
+        executor.submit(() -> prefetch(latch));
+    }
+
+    /**
+     * Stop prefetching and discard any buffered element or pending failure.
+     * <p>
+     * On return, the prefetch thread no longer accesses the fetcher.
+     */
+    public synchronized void stop() {
+        running = false;
+        // Wake the prefetch thread if it waits for demand, or for room in the queue
+        demand.release();
+        queue.clear();
+        try {
+            stopped.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping log entry prefetcher", ie);
+        }
+        queue.clear();
+        demand.drainPermits();
+        atTail.set(false);
+        failure.set(null);
+    }
+
+    /**
+     * Stop prefetching and release the prefetch thread.
+     */
+    public void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retrieve the next prefetched element, without blocking.
+     *
+     * @return next element, or null if no element is currently available
+     * @throws RuntimeException the failure hit by the prefetch thread, once all elements
+     *                          buffered before it have been consumed
+     */
+    public T poll() {
+        if (!running && failure.get() == null) {
+            start();
+        }
+
+        T next = queue.poll();
+        if (next == null) {
+            if (atTail.compareAndSet(true, false)) {
+                demand.release();
+            }
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return number of elements currently buffered
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private void prefetch(CountDownLatch latch) {
+        try {
+            while (running) {
+                T next = fetcher.get();
+                if (next == null) {
+                    // Tail of the stream reached, wait until the consumer runs out of entries
+                    atTail.set(true);
+                    demand.acquire();
+                    continue;
+                }
+
+                // Consumer is behind, wait for room in the queue. The queue is cleared on
+                // stop, and only this thread adds to it, so this never blocks once stopped.
+                queue.put(next);
+            }
+        } catch (InterruptedException ie) {
+            log.warn("Log entry prefetcher interrupted.");
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Log entry prefetcher hit an exception, stop prefetching.", e);
+            failure.set(e);
+        } catch (Throwable t) {
+            log.error("Log entry prefetcher hit an unexpected error, stop prefetching.", t);
+            failure.set(new IllegalStateException(t));
+        } finally {
+            running = false;
+            latch.countDown();
+        }
+    }
+}
@@ -27,4 +27,10 @@ public interface LogEntryReader {
     boolean hasMessageExceededSize();
 
     StreamsLogEntryReader.StreamIteratorMetadata getCurrentProcessedEntryMetadata();
+
+    /**
+     * Release any resource held by the reader.
+     */
+    default void shutdown() {
+    }
 }
@@ -6,6 +6,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MeterRegistryProvider;
 import org.corfudb.infrastructure.logreplication.LogReplicationConfig;
@@ -18,6 +19,8 @@ import org.corfudb.runtime.LogReplication.LogReplicationEntryType;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.ObjectsView;
+import org.corfudb.runtime.view.ReadOptions;
+import org.corfudb.runtime.view.StreamOptions;
 import org.corfudb.runtime.view.stream.OpaqueStream;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -80,6 +83,9 @@ public class StreamsLogEntryReader implements LogEntryReader {
 
     private StreamIteratorMetadata currentProcessedEntryMetadata;
 
+    // Background prefetch stage of the transaction stream, null if prefetching is disabled
+    private final LogEntryPrefetcher<TxStreamEntry> prefetcher;
+
     public StreamsLogEntryReader(CorfuRuntime runtime, LogReplicationConfig config) {
         runtime.parseConfigurationString(runtime.getLayoutServers().get(0)).connect();
         this.maxDataSizePerMsg = config.getMaxDataSizePerMsg();
@@ -99,6 +105,14 @@ public class StreamsLogEntryReader implements LogEntryReader {
 
         //create an opaque stream for transaction stream
         txOpaqueStream = new TxOpaqueStream(runtime);
+
+        if (config.getLogEntryPrefetchDepth() > 0) {
+            log.info("Prefetch up to {} transaction stream entries ahead of log entry sync.",
+                    config.getLogEntryPrefetchDepth());
+            prefetcher = new LogEntryPrefetcher<>(this::fetchNextEntry, config.getLogEntryPrefetchDepth());
+        } else {
+            prefetcher = null;
+        }
     }
 
     private LogReplicationEntryMsg generateMessageWithOpaqueEntryList(
@@ -146,6 +160,13 @@ public class StreamsLogEntryReader implements LogEntryReader {
             return false;
         }
 
+        // Discard the chunks of a large transaction committed before the base snapshot, the snapshot sync applied them
+        if (entry.getCommitVersion() <= globalBaseSnapshot) {
+            log.debug("TX Stream entry[{}] :: chunk of a transaction committed at {} before the base snapshot {} [ignored]",
+                    entry.getVersion(), entry.getCommitVersion(), globalBaseSnapshot);
+            return false;
+        }
+
         // If none of the streams in the transaction entry are specified to be replicated, this is an invalid entry, skip
         if (Collections.disjoint(streamUUIDs, txEntryStreamIds)) {
             log.trace("TX Stream entry[{}] :: contains none of the streams of interest, streams={} [ignored]", entry.getVersion(), txEntryStreamIds);
@@ -179,8 +200,16 @@ public class StreamsLogEntryReader implements LogEntryReader {
         globalBaseSnapshot = snapshot;
         preMsgTs = Math.max(snapshot, ackTimestamp);
         log.info("snapshot {} ackTimestamp {} preMsgTs {} seek {}", snapshot, ackTimestamp, preMsgTs, preMsgTs + 1);
+        // The prefetch thread must be quiesced before the transaction stream is moved
+        if (prefetcher != null) {
+            prefetcher.stop();
+            lastOpaqueEntry = null;
+        }
         txOpaqueStream.seek(preMsgTs + 1);
         sequence = 0;
+        if (prefetcher != null) {
+            prefetcher.start();
+        }
     }
 
     @Override
@@ -195,8 +224,6 @@ public class StreamsLogEntryReader implements LogEntryReader {
 
                     if (lastOpaqueEntryValid) {
 
-                        lastOpaqueEntry = filterTransactionEntry(lastOpaqueEntry);
-
                         // If the currentEntry is too big to append the current message, will skip it and
                         // append it to the next message as the first entry.
                         currentEntrySize = ReaderUtility.calculateOpaqueEntrySize(lastOpaqueEntry);
@@ -213,17 +240,14 @@ public class StreamsLogEntryReader implements LogEntryReader {
                     lastOpaqueEntry = null;
                 }
 
-                if (!txOpaqueStream.hasNext()) {
+                TxStreamEntry nextEntry = prefetcher == null ? fetchNextEntry() : prefetcher.poll();
+                if (nextEntry == null) {
                     break;
                 }
 
-                lastOpaqueEntry = txOpaqueStream.next();
-                deltaCounter.ifPresent(Counter::increment);
-                lastOpaqueEntryValid = isValidTransactionEntry(lastOpaqueEntry);
-                if (lastOpaqueEntryValid) {
-                    validDeltaCounter.ifPresent(Counter::increment);
-                }
-                currentProcessedEntryMetadata = new StreamIteratorMetadata(txOpaqueStream.txStream.pos(), lastOpaqueEntryValid);
+                lastOpaqueEntry = nextEntry.getOpaqueEntry();
+                lastOpaqueEntryValid = nextEntry.isValid();
+                currentProcessedEntryMetadata = new StreamIteratorMetadata(nextEntry.getPosition(), lastOpaqueEntryValid);
             }
 
             log.trace("Generate LogEntryDataMessage size {} with {} entries for maxDataSizePerMsg {}. lastEntry size {}",
@@ -248,6 +272,29 @@ public class StreamsLogEntryReader implements LogEntryReader {
         }
     }
 
+    /**
+     * Read the next entry of the transaction stream, and filter out the streams that are not
+     * intended for replication.
+     * <p>
+     * When prefetching is enabled, this is only invoked from the prefetch thread.
+     *
+     * @return next transaction stream entry, or null if the tail of the stream has been reached
+     */
+    private TxStreamEntry fetchNextEntry() {
+        if (!txOpaqueStream.hasNext()) {
+            return null;
+        }
+
+        OpaqueEntry opaqueEntry = txOpaqueStream.next();
+        deltaCounter.ifPresent(Counter::increment);
+        boolean valid = isValidTransactionEntry(opaqueEntry);
+        if (valid) {
+            validDeltaCounter.ifPresent(Counter::increment);
+            opaqueEntry = filterTransactionEntry(opaqueEntry);
+        }
+        return new TxStreamEntry(opaqueEntry, valid, txOpaqueStream.txStream.pos());
+    }
+
     /**
      * Filter out streams that are not intended for replication
      *
@@ -297,6 +344,24 @@ public class StreamsLogEntryReader implements LogEntryReader {
         return currentProcessedEntryMetadata;
     }
 
+    @Override
+    public void shutdown() {
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+    }
+
+    /**
+     * An entry of the transaction stream, filtered to the streams to replicate
+     * if it is valid, along with the stream position it was read at.
+     */
+    @Value
+    private static class TxStreamEntry {
+        OpaqueEntry opaqueEntry;
+        boolean valid;
+        long position;
+    }
+
     /**
      * The class used to track the transaction opaque stream
      */
@@ -308,7 +373,11 @@ public class StreamsLogEntryReader implements LogEntryReader {
         public TxOpaqueStream(CorfuRuntime rt) {
             //create an opaque stream for transaction stream
             this.rt = rt;
-            txStream = new OpaqueStream(rt.getStreamsView().get(ObjectsView.getLogReplicatorStreamId()));
+            // The replicated entries are read once, they must not evict the entries of the local objects
+            StreamOptions options = StreamOptions.builder()
+                    .readClass(ReadOptions.ReadClass.SCAN)
+                    .build();
+            txStream = new OpaqueStream(rt.getStreamsView().get(ObjectsView.getLogReplicatorStreamId(), options), rt);
             streamUpTo();
         }
 
@@ -289,7 +289,7 @@ public class StreamsSnapshotReader implements SnapshotReader {
                     .ignoreTrimmed(false)
                     .cacheEntries(false)
                     .build();
-            Stream stream = (new OpaqueStream(rt.getStreamsView().get(uuid, options))).streamUpTo(snapshot);
+            Stream stream = (new OpaqueStream(rt.getStreamsView().get(uuid, options), rt)).streamUpTo(snapshot);
             iterator = stream.iterator();
             maxVersion = 0;
          }
@@ -280,7 +280,7 @@ public class FailureDetector implements IDetector {
      * @param clusterId     Current clusterId
      * @return Map of Completable futures for the pings.
      */
-    private Map<String, CompletableFuture<NodeState>> pollAsync(
+    static Map<String, CompletableFuture<NodeState>> pollAsync(
             Set<String> allServers, Map<String, IClientRouter> clientRouters, long epoch, UUID clusterId) {
         // Poll servers for health.  All ping activity will happen in the background.
         Map<String, CompletableFuture<NodeState>> clusterState = new HashMap<>();
@@ -0,0 +1,397 @@
+package org.corfudb.infrastructure.management;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.infrastructure.management.failuredetector.PhiAccrualEstimator;
+import org.corfudb.protocols.wireprotocol.ClusterState;
+import org.corfudb.protocols.wireprotocol.NodeState;
+import org.corfudb.protocols.wireprotocol.SequencerMetrics;
+import org.corfudb.protocols.wireprotocol.failuredetector.FileSystemStats;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.ConnectionStatus;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.NodeConnectivityType;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.IClientRouter;
+import org.corfudb.runtime.exceptions.WrongEpochException;
+import org.corfudb.runtime.view.Layout;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * A failure detector for large clusters, which probes a few nodes per round rather than every
+ * node of the layout like the {@link FailureDetector}, so that the traffic of every node stays
+ * flat as the cluster grows. The detector gossips through the {@link NodeState}-s it collects:
+ * <p>
+ * - Every round, the detector probes the next nodes of a randomized round robin (SWIM-style),
+ * so every node is probed at least once every (nodes / probesPerRound) rounds.
+ * - The {@link NodeState} of every probed node, that is the connectivity of the node to the
+ * rest of the cluster, is kept until the node is probed again, and the {@link ClusterState} is
+ * built from the latest known states, so the connectivity graph is updated incrementally.
+ * - A node which does not answer a probe is suspected, and is probed every round until it
+ * answers. It is declared failed once it missed minMissedProbes probes in a row and its phi
+ * (see {@link PhiAccrualEstimator}), computed from the inter-arrival times of its previous
+ * answers, reaches the phiThreshold.
+ * - Whenever a probe fails, a few other nodes are probed indirectly: their fresh connectivity
+ * tells the cluster advisor whether the suspected node is unreachable from the whole cluster or
+ * only from this node.
+ * - Whenever a responsive node is failed, by this node or by the latest known state of another
+ * node, the states older than maxNodeStateAge are refreshed, so the cluster advisor never
+ * decides on the connectivity of a previous round.
+ * <p>
+ * New members, suspected and unresponsive nodes, and nodes which are not ready yet, are probed
+ * every round. The known states are dropped when the epoch changes, so all the nodes are probed
+ * once after every reconfiguration.
+ * <p>
+ * The management Server ensures only one instance of this class and hence this is NOT thread safe.
+ */
+@Slf4j
+public class GossipFailureDetector implements IDetector {
+
+    private static final int MAX_HEARTBEAT_SAMPLES = 100;
+
+    private static final Duration MIN_HEARTBEAT_STD_DEVIATION = Duration.ofMillis(500);
+
+    /**
+     * Number of nodes probed in every round, on top of the suspected and unresponsive nodes.
+     */
+    @Getter
+    @Setter
+    private int probesPerRound = 3;
+
+    /**
+     * Number of nodes probed indirectly in a round where a probe fails.
+     */
+    @Getter
+    @Setter
+    private int indirectProbes = 2;
+
+    /**
+     * The phi a suspected node is declared failed at.
+     */
+    @Getter
+    @Setter
+    private double phiThreshold = 8.0;
+
+    /**
+     * The number of probes in a row a suspected node must miss before it is declared failed,
+     * so that a single lost probe, or the restart of the local node, never fails a node.
+     */
+    @Getter
+    @Setter
+    private int minMissedProbes = 3;
+
+    /**
+     * The max age of the node states the cluster state is built from when a node is failed.
+     */
+    @Setter
+    @NonNull
+    private Duration maxNodeStateAge = Duration.ofSeconds(2);
+
+    /**
+     * The interval between two rounds, the initial estimate of the time between the probes of a
+     * node is derived from.
+     */
+    @Setter
+    @NonNull
+    private Duration roundInterval = Duration.ofSeconds(1);
+
+    /**
+     * Response timeout of the probes.
+     */
+    @Setter
+    @NonNull
+    private Duration probeTimeout = Duration.ofSeconds(2);
+
+    @NonNull
+    private final String localEndpoint;
+
+    private long knownEpoch = Layout.INVALID_EPOCH;
+
+    private Set<String> peers = Collections.emptySet();
+
+    // The latest NodeState received from every node, and when it was received
+    private final Map<String, NodeState> nodeStates = new HashMap<>();
+    private final Map<String, Long> nodeStateTimes = new HashMap<>();
+
+    private final Map<String, PhiAccrualEstimator> heartbeats = new HashMap<>();
+
+    // Nodes which did not answer their latest probe, and the number of probes they missed in a row
+    private final Map<String, Integer> suspects = new HashMap<>();
+
+    private final Deque<String> probeOrder = new ArrayDeque<>();
+
+    public GossipFailureDetector(@NonNull String localEndpoint) {
+        this.localEndpoint = localEndpoint;
+    }
+
+    @Override
+    public PollReport poll(
+            @Nonnull Layout layout, @Nonnull CorfuRuntime corfuRuntime, @NonNull SequencerMetrics sequencerMetrics,
+            FileSystemStats fileSystemStats) {
+
+        log.trace("Poll report. Layout: {}", layout);
+
+        Set<String> allServers = layout.getAllServers();
+        Map<String, IClientRouter> routers = new HashMap<>();
+        allServers.forEach(server -> {
+            IClientRouter router = corfuRuntime.getRouter(server);
+            router.setTimeoutResponse(probeTimeout.toMillis());
+            routers.put(server, router);
+        });
+
+        return pollRound(
+                layout.getEpoch(), layout.getClusterId(), allServers, routers, sequencerMetrics,
+                ImmutableList.copyOf(layout.getUnresponsiveServers()), fileSystemStats
+        );
+    }
+
+    /**
+     * Probes the next nodes, and the suspected ones, then builds the {@link ClusterState} from
+     * the latest known state of every node.
+     *
+     * @return Poll Report with detected failed nodes and out of phase epoch nodes.
+     */
+    @VisibleForTesting
+    PollReport pollRound(
+            long epoch, UUID clusterId, Set<String> allServers, Map<String, IClientRouter> routers,
+            SequencerMetrics sequencerMetrics, ImmutableList<String> layoutUnresponsiveNodes,
+            FileSystemStats fileSystemStats) {
+
+        if (probesPerRound < 1 || indirectProbes < 0 || minMissedProbes < 1) {
+            throw new IllegalStateException("Invalid number of probes");
+        }
+
+        long start = System.currentTimeMillis();
+        updateMembership(epoch, allServers);
+
+        Map<String, Long> wrongEpochs = new HashMap<>();
+        Set<String> targets = selectTargets(layoutUnresponsiveNodes);
+        Set<String> failedProbes = probe(targets, routers, epoch, clusterId, wrongEpochs);
+
+        Set<String> probed = new HashSet<>(targets);
+        if (!failedProbes.isEmpty()) {
+            Set<String> helpers = selectHelpers(targets);
+            log.debug("Probes of {} failed, probing {} indirectly", failedProbes, helpers);
+            probe(helpers, routers, epoch, clusterId, wrongEpochs);
+            probed.addAll(helpers);
+        }
+
+        long now = System.currentTimeMillis();
+        if (isFailureDetected(layoutUnresponsiveNodes, now)) {
+            Set<String> staleNodes = selectStaleNodes(probed, now);
+            if (!staleNodes.isEmpty()) {
+                log.debug("Failure detected, refreshing the states of {}", staleNodes);
+                probe(staleNodes, routers, epoch, clusterId, wrongEpochs);
+                now = System.currentTimeMillis();
+            }
+        }
+
+        ClusterState clusterState = buildClusterState(
+                layoutUnresponsiveNodes, sequencerMetrics, fileSystemStats, now
+        );
+
+        return PollReport.builder()
+                .pollEpoch(epoch)
+                .elapsedTime(Duration.ofMillis(System.currentTimeMillis() - start))
+                .pingResponsiveServers(clusterState.getPingResponsiveNodes())
+                .wrongEpochs(ImmutableMap.copyOf(wrongEpochs))
+                .clusterState(clusterState)
+                .build();
+    }
+
+    /**
+     * Forget the nodes which left the cluster, and the states of the previous epoch.
+     */
+    private void updateMembership(long newEpoch, Set<String> allServers) {
+        if (newEpoch != knownEpoch) {
+            nodeStates.clear();
+            nodeStateTimes.clear();
+            knownEpoch = newEpoch;
+        }
+
+        peers = allServers.stream()
+                .filter(server -> !server.equals(localEndpoint))
+                .collect(Collectors.toSet());
+
+        nodeStates.keySet().retainAll(peers);
+        nodeStateTimes.keySet().retainAll(peers);
+        heartbeats.keySet().retainAll(peers);
+        suspects.keySet().retainAll(peers);
+        probeOrder.retainAll(peers);
+    }
+
+    private Set<String> selectTargets(List<String> layoutUnresponsiveNodes) {
+        Set<String> targets = new HashSet<>(suspects.keySet());
+
+        layoutUnresponsiveNodes.stream()
+                .filter(peers::contains)
+                .forEach(targets::add);
+
+        peers.stream()
+                .filter(peer -> {
+                    NodeState state = nodeStates.get(peer);
+                    return state == null
+                            || state.getConnectivity().getType() == NodeConnectivityType.NOT_READY;
+                })
+                .forEach(targets::add);
+
+        int probes = Math.min(probesPerRound, peers.size());
+        for (int i = 0; i < probes; i++) {
+            if (probeOrder.isEmpty()) {
+                List<String> order = new ArrayList<>(peers);
+                Collections.shuffle(order);
+                probeOrder.addAll(order);
+            }
+            targets.add(probeOrder.poll());
+        }
+
+        return targets;
+    }
+
+    private Set<String> selectHelpers(Set<String> targets) {
+        List<String> candidates = peers.stream()
+                .filter(peer -> !targets.contains(peer))
+                .collect(Collectors.toList());
+        Collections.shuffle(candidates);
+
+        return new HashSet<>(candidates.subList(0, Math.min(indirectProbes, candidates.size())));
+    }
+
+    /**
+     * Whether a node which is not unresponsive in the layout yet is failed, either by this node
+     * or by the latest known state of another node.
+     */
+    private boolean isFailureDetected(List<String> layoutUnresponsiveNodes, long now) {
+        return peers.stream()
+                .filter(peer -> !layoutUnresponsiveNodes.contains(peer))
+                .anyMatch(peer -> isFailed(peer, now))
+                || nodeStates.values().stream()
+                .flatMap(state -> state.getConnectivity().getFailedNodes().stream())
+                .anyMatch(node -> !layoutUnresponsiveNodes.contains(node));
+    }
+
+    /**
+     * Select the nodes not probed in this round whose latest known state is too old.
+     */
+    private Set<String> selectStaleNodes(Set<String> probed, long now) {
+        return nodeStateTimes.entrySet().stream()
+                .filter(entry -> !probed.contains(entry.getKey()))
+                .filter(entry -> now - entry.getValue() >= maxNodeStateAge.toMillis())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Probe the nodes and record their answers.
+     *
+     * @return the nodes which did not answer
+     */
+    private Set<String> probe(Set<String> nodes, Map<String, IClientRouter> routers, long epoch,
+                              UUID clusterId, Map<String, Long> wrongEpochs) {
+        Map<String, CompletableFuture<NodeState>> probes = FailureDetector.pollAsync(
+                nodes, routers, epoch, clusterId
+        );
+
+        long now = System.currentTimeMillis();
+        Set<String> failed = new HashSet<>();
+        probes.forEach((node, probe) -> {
+            try {
+                nodeStates.put(node, probe.get());
+                nodeStateTimes.put(node, now);
+            } catch (Exception e) {
+                // The state of a suspected node is kept until the node is declared failed
+                if (!(e.getCause() instanceof WrongEpochException)) {
+                    suspects.merge(node, 1, Integer::sum);
+                    failed.add(node);
+                    return;
+                }
+
+                // The node answered, from another epoch
+                nodeStates.remove(node);
+                nodeStateTimes.remove(node);
+                wrongEpochs.put(node, ((WrongEpochException) e.getCause()).getCorrectEpoch());
+            }
+
+            suspects.remove(node);
+            heartbeats.computeIfAbsent(node, this::newEstimator).heartbeat(now);
+        });
+
+        return failed;
+    }
+
+    private PhiAccrualEstimator newEstimator(String node) {
+        // Every node is probed at least once every (peers / probesPerRound) rounds
+        long roundsBetweenProbes = (peers.size() + probesPerRound - 1) / probesPerRound;
+        return new PhiAccrualEstimator(
+                MAX_HEARTBEAT_SAMPLES,
+                roundInterval.multipliedBy(Math.max(roundsBetweenProbes, 1)),
+                MIN_HEARTBEAT_STD_DEVIATION,
+                roundInterval
+        );
+    }
+
+    /**
+     * A node is failed if it did not answer its latest minMissedProbes probes, and if it never
+     * answered or its phi reached the threshold.
+     */
+    private boolean isFailed(String node, long now) {
+        Integer missedProbes = suspects.get(node);
+        if (missedProbes == null || missedProbes < minMissedProbes) {
+            return false;
+        }
+
+        PhiAccrualEstimator estimator = heartbeats.get(node);
+        return estimator == null || estimator.phi(now) >= phiThreshold;
+    }
+
+    private ClusterState buildClusterState(
+            ImmutableList<String> layoutUnresponsiveNodes, SequencerMetrics sequencerMetrics,
+            FileSystemStats fileSystemStats, long now) {
+
+        Map<String, ConnectionStatus> localConnectivity = new HashMap<>();
+        Map<String, NodeState> states = new HashMap<>();
+
+        localConnectivity.put(localEndpoint, ConnectionStatus.OK);
+        peers.forEach(peer -> {
+            boolean failed = isFailed(peer, now);
+            localConnectivity.put(peer, failed ? ConnectionStatus.FAILED : ConnectionStatus.OK);
+
+            NodeState state = failed ? null : nodeStates.get(peer);
+            states.put(peer, state != null ? state : NodeState.getUnavailableNodeState(peer));
+        });
+
+        NodeState localState = NodeState.builder()
+                .connectivity(NodeConnectivity.connectivity(
+                        localEndpoint, ImmutableMap.copyOf(localConnectivity)
+                ))
+                .sequencerMetrics(sequencerMetrics)
+                .fileSystem(Optional.ofNullable(fileSystemStats))
+                .build();
+        states.put(localEndpoint, localState);
+
+        return ClusterState.builder()
+                .localEndpoint(localEndpoint)
+                .nodes(ImmutableMap.copyOf(states))
+                .unresponsiveNodes(layoutUnresponsiveNodes)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package org.corfudb.infrastructure.management.failuredetector;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Estimates the suspicion level (phi) of a node from the inter-arrival times of its heartbeats,
+ * see "The phi accrual failure detector" (Hayashibara et al.).
+ * <p>
+ * Rather than suspecting a node after a fixed number of missed heartbeats, the inter-arrival
+ * times are assumed to be normally distributed, and phi is the confidence that the node has
+ * failed: phi = -log10(P(the next heartbeat arrives later than now)). A node is suspected once
+ * phi reaches a threshold, e.g. phi = 8 means a chance of 10^-8 for the suspicion to be wrong.
+ * The detection time thus follows the observed heartbeat rate, e.g. a node probed less often
+ * is given longer to answer.
+ * <p>
+ * This class is NOT thread safe.
+ */
+public class PhiAccrualEstimator {
+
+    /**
+     * The phi of a node which never sent a heartbeat.
+     */
+    public static final double UNKNOWN = 0.0;
+
+    // Coefficients of the logistic approximation of the cumulative normal distribution
+    private static final double LOGISTIC_LINEAR = 1.5976;
+    private static final double LOGISTIC_CUBIC = 0.070566;
+
+    // The first interval is bootstrapped as two samples of +-1/4 of it
+    private static final long FIRST_INTERVAL_SPREAD = 4;
+
+    private final int maxSamples;
+
+    private final double minStdDeviationMs;
+
+    private final double acceptablePauseMs;
+
+    private final Deque<Long> intervals = new ArrayDeque<>();
+
+    private double intervalSum;
+
+    private double squaredIntervalSum;
+
+    private long lastHeartbeatMs = -1;
+
+    /**
+     * Returns a new estimator.
+     *
+     * @param maxSamples         the number of the latest inter-arrival times to keep
+     * @param firstInterval      the inter-arrival time to assume until a second heartbeat arrives
+     * @param minStdDeviation    the lowest standard deviation of the inter-arrival times, so that
+     *                           a very regular heartbeat does not make phi too sensitive
+     * @param acceptablePause    the pause in the heartbeats tolerated on top of the mean
+     *                           inter-arrival time, e.g. garbage collection pauses
+     */
+    public PhiAccrualEstimator(int maxSamples, @NonNull Duration firstInterval,
+                               @NonNull Duration minStdDeviation, @NonNull Duration acceptablePause) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("Invalid number of samples: " + maxSamples);
+        }
+
+        this.maxSamples = maxSamples;
+        this.minStdDeviationMs = minStdDeviation.toMillis();
+        this.acceptablePauseMs = acceptablePause.toMillis();
+
+        // Bootstrap the distribution with two samples around the first interval
+        long first = firstInterval.toMillis();
+        addInterval(first - first / FIRST_INTERVAL_SPREAD);
+        addInterval(first + first / FIRST_INTERVAL_SPREAD);
+    }
+
+    /**
+     * Record a heartbeat of the node.
+     *
+     * @param timestampMs the time the heartbeat arrived at, in milliseconds
+     */
+    public void heartbeat(long timestampMs) {
+        if (lastHeartbeatMs >= 0 && timestampMs > lastHeartbeatMs) {
+            addInterval(timestampMs - lastHeartbeatMs);
+        }
+        lastHeartbeatMs = Math.max(lastHeartbeatMs, timestampMs);
+    }
+
+    /**
+     * @return true if the node sent at least one heartbeat
+     */
+    public boolean isAvailable() {
+        return lastHeartbeatMs >= 0;
+    }
+
+    /**
+     * Get the suspicion level of the node.
+     *
+     * @param timestampMs the current time, in milliseconds
+     * @return phi, or {@link PhiAccrualEstimator#UNKNOWN} if the node never sent a heartbeat
+     */
+    public double phi(long timestampMs) {
+        if (!isAvailable()) {
+            return UNKNOWN;
+        }
+
+        double elapsed = Math.max(0, timestampMs - lastHeartbeatMs);
+        double meanInterval = intervalSum / intervals.size();
+        double variance = squaredIntervalSum / intervals.size() - meanInterval * meanInterval;
+        double mean = meanInterval + acceptablePauseMs;
+        double stdDeviation = Math.max(Math.sqrt(Math.max(variance, 0)), minStdDeviationMs);
+
+        double y = (elapsed - mean) / stdDeviation;
+        double e = Math.exp(-y * (LOGISTIC_LINEAR + LOGISTIC_CUBIC * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+
+    private void addInterval(long interval) {
+        if (intervals.size() == maxSamples) {
+            long oldest = intervals.removeFirst();
+            intervalSum -= oldest;
+            squaredIntervalSum -= (double) oldest * oldest;
+        }
+
+        intervals.addLast(interval);
+        intervalSum += interval;
+        squaredIntervalSum += (double) interval * interval;
+    }
+}
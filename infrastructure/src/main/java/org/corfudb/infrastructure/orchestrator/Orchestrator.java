@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.corfudb.infrastructure.IServerRouter;
 import org.corfudb.infrastructure.ServerContext;
 import org.corfudb.infrastructure.orchestrator.workflows.AddNodeWorkflow;
+import org.corfudb.infrastructure.orchestrator.workflows.AddStripesWorkflow;
 import org.corfudb.infrastructure.orchestrator.workflows.ForceRemoveWorkflow;
 import org.corfudb.infrastructure.orchestrator.workflows.HealNodeWorkflow;
 import org.corfudb.infrastructure.orchestrator.workflows.RemoveNodeWorkflow;
@@ -15,6 +16,7 @@ import org.corfudb.infrastructure.orchestrator.workflows.RestoreRedundancyMergeS
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.orchestrator.AddNodeRequest;
+import org.corfudb.protocols.wireprotocol.orchestrator.AddStripesRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.ForceRemoveNodeRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.HealNodeRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.RemoveNodeRequest;
@@ -41,6 +43,7 @@ import java.util.stream.Collectors;
 
 import static org.corfudb.protocols.CorfuProtocolCommon.getUUID;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getAddNodeRequest;
+import static org.corfudb.protocols.CorfuProtocolWorkflows.getAddStripesRequest;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getForceRemoveNodeRequest;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getHealNodeRequest;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getRemoveNodeRequest;
@@ -147,6 +150,12 @@ public class Orchestrator {
                 dispatch(workflow, req, ctx, r, msg.getRestoreRedundancyMergeSegments().getEndpoint());
                 break;
 
+            case ADD_STRIPES:
+                AddStripesRequest addStripesRequest = getAddStripesRequest(msg.getAddStripes());
+                workflow = workflowFactory.getAddStripes(addStripesRequest);
+                dispatch(workflow, req, ctx, r, addStripesRequest.getEndpoint());
+                break;
+
             default:
                 log.error("handle[{}]: Unknown orchestrator request type {}",
                         req.getHeader().getRequestId(), msg.getPayloadCase());
@@ -313,5 +322,9 @@ public class Orchestrator {
         RestoreRedundancyMergeSegmentsWorkflow getRestoreRedundancy(@Nonnull RestoreRedundancyMergeSegmentsRequest req) {
             return new RestoreRedundancyMergeSegmentsWorkflow(req);
         }
+
+        AddStripesWorkflow getAddStripes(@Nonnull AddStripesRequest req) {
+            return new AddStripesWorkflow(req);
+        }
     }
 }
@@ -26,6 +26,7 @@ import org.corfudb.runtime.exceptions.NetworkException;
 import org.corfudb.runtime.exceptions.OutrankedException;
 import org.corfudb.runtime.exceptions.RetryExhaustedException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.LayoutBuilder;
 import org.corfudb.runtime.view.LayoutManagementView;
@@ -432,9 +433,11 @@ public class RestoreRedundancyMergeSegments extends Action {
         if (layout.getUnresponsiveServers().contains(currentNode)) {
             throw new IllegalStateException("The node is in the unresponsive list.");
         }
+        // State transfer is background traffic, which must not delay the application traffic
+        RuntimeLayout transferLayout = new RuntimeLayout(layout, runtime, TrafficClass.BULK);
+
         // Get the log unit client for the current node
-        LogUnitClient logUnitClient =
-                runtime.getLayoutView().getRuntimeLayout(layout).getLogUnitClient(currentNode);
+        LogUnitClient logUnitClient = transferLayout.getLogUnitClient(currentNode);
 
         // Create a chain replication protocol batch processor
         ProtocolBatchProcessor protocolBatchProcessor = ProtocolBatchProcessor
@@ -451,7 +454,7 @@ public class RestoreRedundancyMergeSegments extends Action {
         CommittedBatchProcessor committedBatchProcessor = CommittedBatchProcessor
                 .builder()
                 .currentNode(currentNode)
-                .runtimeLayout(runtime.getLayoutView().getRuntimeLayout(layout))
+                .runtimeLayout(transferLayout)
                 .build();
 
         // Create a parallel transfer processor for the committed transfer
@@ -0,0 +1,98 @@
+package org.corfudb.infrastructure.orchestrator.workflows;
+
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.infrastructure.orchestrator.Action;
+import org.corfudb.infrastructure.orchestrator.IWorkflow;
+import org.corfudb.protocols.wireprotocol.orchestrator.AddStripesRequest;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.Layout;
+import org.corfudb.util.CFUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.corfudb.protocols.wireprotocol.orchestrator.OrchestratorRequestType.ADD_STRIPES;
+
+/**
+ * A definition of a workflow that adds new log unit stripes to the cluster, to spread
+ * the writes over more log units. The layout is sealed and a new open segment, with the
+ * stripes of the previous open segment followed by the new stripes, is committed, so the
+ * clients route the following writes to the new stripes as soon as they fetch the new layout.
+ * The addresses already written keep their stripes, so no data is transferred. Like the
+ * add node workflow, this workflow has almost no retry logic, and the client is responsible
+ * to ensure that it has completed by restarting the workflow.
+ */
+@NotThreadSafe
+@Slf4j
+public class AddStripesWorkflow implements IWorkflow {
+
+    private final AddStripesRequest request;
+
+    @Getter
+    final UUID id;
+
+    @Getter
+    List<Action> actions;
+
+    /**
+     * Creates a new add stripes workflow from a request.
+     *
+     * @param request request to add stripes
+     */
+    public AddStripesWorkflow(AddStripesRequest request) {
+        this.id = UUID.randomUUID();
+        this.request = request;
+        actions = ImmutableList.of(new BootstrapLogUnits(), new AddStripesToLayout());
+    }
+
+    @Override
+    public String getName() {
+        return ADD_STRIPES.toString();
+    }
+
+    /**
+     * Bootstrap the new log units with the current layout, or ignore
+     * bootstrap if they are already bootstrapped.
+     */
+    private class BootstrapLogUnits extends Action {
+        @Override
+        public String getName() {
+            return "BootstrapLogUnits";
+        }
+
+        @Override
+        public void impl(@Nonnull CorfuRuntime runtime) throws Exception {
+            List<CompletableFuture<Boolean>> bootstraps = request.getStripes()
+                    .stream()
+                    .flatMap(List::stream)
+                    .map(endpoint -> runtime.getLayoutManagementView().bootstrapNewNode(endpoint))
+                    .collect(Collectors.toList());
+            CFUtils.allOf(bootstraps).get();
+        }
+    }
+
+    /**
+     * This action adds the new stripes to the layout, splitting the open segment
+     * at the start address determined during the layout modification.
+     */
+    private class AddStripesToLayout extends Action {
+        @Override
+        public String getName() {
+            return "AddStripesToLayout";
+        }
+
+        @Override
+        public void impl(@Nonnull CorfuRuntime runtime) throws Exception {
+            runtime.invalidateLayout();
+            Layout currentLayout = new Layout(runtime.getLayoutView().getLayout());
+            runtime.getLayoutManagementView().addStripes(currentLayout, request.getStripes(),
+                    request.getStartAddress());
+        }
+    }
+}
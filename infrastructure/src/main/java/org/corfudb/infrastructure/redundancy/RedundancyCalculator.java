@@ -16,6 +16,7 @@ import org.corfudb.runtime.view.LayoutBuilder;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -38,13 +39,13 @@ public class RedundancyCalculator {
 
     @VisibleForTesting
     boolean segmentContainsServer(LayoutSegment segment, String server) {
-        return segment.getFirstStripe().getLogServers().contains(server);
+        return segment.getAllLogServers().contains(server);
     }
 
 
     /**
      * Given a current layout and a restored transfer segment, create a new layout, that
-     * contains a restored node.
+     * contains a restored node in the stripe of the transfer segment.
      *
      * @param transferSegment A restored transfer segment.
      * @param layout          A current layout.
@@ -55,11 +56,11 @@ public class RedundancyCalculator {
         List<LayoutSegment> segments = layout.getSegments().stream().map(layoutSegment -> {
             if (layoutSegment.getEnd() == transferSegment.getEndAddress() + 1L) {
 
-                List<LayoutStripe> newStripes = layoutSegment.getStripes()
-                        .stream()
-                        .map(stripe -> {
+                List<LayoutStripe> newStripes = IntStream.range(0, layoutSegment.getNumberOfStripes())
+                        .mapToObj(stripeIndex -> {
+                            LayoutStripe stripe = layoutSegment.getStripes().get(stripeIndex);
 
-                            if (layoutSegment.getFirstStripe().equals(stripe)) {
+                            if (stripeIndex == transferSegment.getStripeIndex()) {
                                 ImmutableList<String> servers = new ImmutableList
                                         .Builder<String>()
                                         .addAll(stripe.getLogServers())
@@ -111,6 +112,8 @@ public class RedundancyCalculator {
      * This ensures that the absence of a node in a layout is detected in any
      * multiple split segment scenarios which results in the current node being absent
      * closer to the beginning or to the end of a layout segment list.
+     * Adjacent segments with different numbers of stripes are not considered, since the log
+     * servers of the stripes added to a segment do not hold the addresses of the previous one.
      *
      * @param layout Current layout.
      * @param server Current server.
@@ -122,7 +125,8 @@ public class RedundancyCalculator {
             return false;
         } else {
 
-            IntPredicate nodeNotPresent = currentIndex -> Sets.difference(
+            IntPredicate nodeNotPresent = currentIndex -> sameStripes(layout, currentIndex)
+                    && Sets.difference(
                     layout.getSegments().get(currentIndex).getAllLogServers(),
                     layout.getSegments().get(currentIndex - 1).getAllLogServers()
             ).contains(server);
@@ -140,21 +144,26 @@ public class RedundancyCalculator {
     /**
      * Returns true if any server can merge the segments of this layout.
      * Any server can merge the segments of this layout if the segment is split
-     * and a set difference of log servers between the first two adjacent segments is empty.
+     * and a set difference of log servers between the same stripes of any two adjacent
+     * segments is empty. Segments with different numbers of stripes are never merged.
      *
      * @param layout Current layout.
      * @return True if the segments can be merged.
      */
     public static boolean canMergeSegments(Layout layout) {
-        if (layout.getSegments().size() == 1) {
-            return false;
-        } else {
-            final int firstSegmentIndex = 0;
-            final int secondSegmentIndex = 1;
-            return Sets.difference(
-                    layout.getSegments().get(secondSegmentIndex).getAllLogServers(),
-                    layout.getSegments().get(firstSegmentIndex).getAllLogServers()).isEmpty();
-        }
+        return layout.getMergeableSegmentIndex().isPresent();
+    }
+
+    /**
+     * Returns true if a segment has as many stripes as the previous segment.
+     *
+     * @param layout       Current layout.
+     * @param segmentIndex Index of the segment, greater than zero.
+     * @return True if the segment and the previous segment have the same number of stripes.
+     */
+    private static boolean sameStripes(Layout layout, int segmentIndex) {
+        return layout.getSegments().get(segmentIndex).getNumberOfStripes()
+                == layout.getSegments().get(segmentIndex - 1).getNumberOfStripes();
     }
 
     /**
@@ -172,18 +181,23 @@ public class RedundancyCalculator {
 
     /**
      * Given a layout, and a global trim mark, creates an initial list
-     * of non-empty and bounded transfer segments.
+     * of non-empty and bounded transfer segments. The segments that are missing the current
+     * server (see {@link Layout#getMissingStripeIndex}) are to be transferred from the log
+     * servers of the stripe that is missing it.
      *
      * @param layout   A current layout.
      * @param trimMark A current global trim mark.
      * @return A list of transfer segments.
      */
     public ImmutableList<TransferSegment> createStateList(Layout layout, long trimMark) {
-        return layout.getSegments()
-                .stream()
+        return IntStream.range(0, layout.getSegments().size())
                 // Keep all the segments after the trim mark, except the open one.
-                .filter(segment -> segment.getEnd() != NON_ADDRESS && segment.getEnd() > trimMark)
-                .map(segment -> {
+                .filter(segmentIndex -> {
+                    LayoutSegment segment = layout.getSegments().get(segmentIndex);
+                    return segment.getEnd() != NON_ADDRESS && segment.getEnd() > trimMark;
+                })
+                .mapToObj(segmentIndex -> {
+                    LayoutSegment segment = layout.getSegments().get(segmentIndex);
                     // The transfer segment's start is the layout segment's start or a trim mark,
                     // whichever is greater.
                     long segmentStart = Math.max(segment.getStart(), trimMark);
@@ -197,37 +211,47 @@ public class RedundancyCalculator {
                                 .segmentState(RESTORED)
                                 .build();
 
-                        return TransferSegment
+                        return Optional.of(TransferSegment
                                 .builder()
                                 .startAddress(segmentStart)
                                 .endAddress(segmentEnd)
                                 .status(restored)
                                 .logUnitServers(ImmutableList.copyOf(segment.getAllLogServers()))
-                                .build();
-                    } else {
-                        TransferSegmentStatus notTransferred = TransferSegmentStatus
-                                .builder()
-                                .segmentState(NOT_TRANSFERRED)
-                                .build();
+                                .build());
+                    }
 
-                        return TransferSegment
-                                .builder()
-                                .startAddress(segmentStart)
-                                .endAddress(segmentEnd)
-                                .status(notTransferred)
-                                .logUnitServers(ImmutableList.copyOf(segment.getAllLogServers()))
-                                .build();
+                    OptionalInt stripeIndex = layout.getMissingStripeIndex(segmentIndex, getServer());
+                    if (!stripeIndex.isPresent()) {
+                        // The segment maps its addresses to other stripes than the current server's.
+                        return Optional.<TransferSegment>empty();
                     }
 
+                    TransferSegmentStatus notTransferred = TransferSegmentStatus
+                            .builder()
+                            .segmentState(NOT_TRANSFERRED)
+                            .build();
+
+                    return Optional.of(TransferSegment
+                            .builder()
+                            .startAddress(segmentStart)
+                            .endAddress(segmentEnd)
+                            .status(notTransferred)
+                            .logUnitServers(ImmutableList.copyOf(
+                                    segment.getStripes().get(stripeIndex.getAsInt()).getLogServers()))
+                            .stripeIndex(stripeIndex.getAsInt())
+                            .numberOfStripes(segment.getNumberOfStripes())
+                            .build());
                 })
+                .filter(Optional::isPresent)
+                .map(Optional::get)
                 .collect(ImmutableList.toImmutableList());
     }
 
     /**
-     * Get all the layout segments that were trimmed and that do not contain a current server, and
+     * Get all the layout segments that were trimmed and that are missing a current server, and
      * return them as TRANSFERRED segments. Since these segments were trimmed, they
      * contain zero transferable addresses, and hence are not eligible for state transfer.
-     * However, since they also do not contain a current server, they should be considered
+     * However, since they are also missing a current server, they should be considered
      * TRANSFERRED, eligible for the layout redundancy restoration.
      *
      * @param layout   A current layout.
@@ -235,10 +259,12 @@ public class RedundancyCalculator {
      * @return A list of transfer segments.
      */
     public ImmutableList<TransferSegment> getTrimmedNotRestoredSegments(Layout layout, long trimMark) {
-        return layout.getSegments()
-                .stream()
-                .filter(segment -> segment.getEnd() <= trimMark && !segmentContainsServer(segment, getServer()))
-                .map(segment -> {
+        return IntStream.range(0, layout.getSegments().size())
+                .filter(segmentIndex -> layout.getSegments().get(segmentIndex).getEnd() <= trimMark
+                        && layout.getMissingStripeIndex(segmentIndex, getServer()).isPresent())
+                .mapToObj(segmentIndex -> {
+                    LayoutSegment segment = layout.getSegments().get(segmentIndex);
+                    int stripeIndex = layout.getMissingStripeIndex(segmentIndex, getServer()).getAsInt();
                     TransferSegmentStatus transferred = TransferSegmentStatus
                             .builder()
                             .segmentState(TRANSFERRED)
@@ -249,7 +275,10 @@ public class RedundancyCalculator {
                             .startAddress(segment.getStart())
                             .endAddress(segment.getEnd() - 1L)
                             .status(transferred)
-                            .logUnitServers(ImmutableList.copyOf(segment.getAllLogServers()))
+                            .logUnitServers(ImmutableList.copyOf(
+                                    segment.getStripes().get(stripeIndex).getLogServers()))
+                            .stripeIndex(stripeIndex)
+                            .numberOfStripes(segment.getNumberOfStripes())
                             .build();
                 })
                 .collect(ImmutableList.toImmutableList());
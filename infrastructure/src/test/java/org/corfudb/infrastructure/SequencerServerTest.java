@@ -15,6 +15,7 @@ import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage;
 import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
 import org.corfudb.runtime.proto.service.Sequencer.SequencerMetricsResponseMsg;
@@ -37,6 +38,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -65,6 +70,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -772,6 +778,117 @@ public class SequencerServerTest {
         assertEquals(numTokens + globalTail, sequencerServer.getGlobalLogTail());
     }
 
+    /**
+     * Tests that the token requests queued while the sequencer is busy are served in a single
+     * batch, in the order they were received, and that their responses are sent to the channel
+     * together through {@link IServerRouter#sendResponses}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTokenRequestsServedInBatch() throws Exception {
+        final int numRequests = 8;
+        long globalTail = 1;
+        long sequencerEpoch = 1;
+        long numTokens = 2;
+        when(spySequencerFactoryHelper.getGlobalLogTail()).thenReturn(globalTail);
+
+        // Block the single sequencer thread, so that the token requests queue behind it.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.submit(() -> {
+            busy.await();
+            return null;
+        });
+        when(mockServerContext.getExecutorService(anyInt(), anyString())).thenReturn(executor);
+        when(mockServerContext.getServerEpoch()).thenReturn(1L);
+        sequencerServer = new SequencerServer(mockServerContext, spySequencerFactoryHelper);
+        sequencerServer.setSequencerEpoch(sequencerEpoch);
+
+        // The sequencer reuses the list of the responses, so they are copied as they are sent
+        List<ResponseMsg> responses = new ArrayList<>();
+        doAnswer(invocation -> responses.addAll(invocation.getArgument(0)))
+                .when(mockServerRouter).sendResponses(any(List.class), any(ChannelHandlerContext.class));
+
+        List<RequestMsg> requests = new ArrayList<>();
+        for (int i = 0; i < numRequests; i++) {
+            RequestMsg request = getRequestMsg(
+                    getBasicHeader(ClusterIdCheck.CHECK, EpochCheck.CHECK),
+                    getTokenRequestMsg(numTokens, Collections.emptyList())
+            );
+            requests.add(request);
+            sequencerServer.handleMessage(request, mockChannelHandlerContext, mockServerRouter);
+        }
+
+        busy.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Verify that all the responses were sent at once, and never one by one
+        verify(mockServerRouter).sendResponses(any(List.class), any(ChannelHandlerContext.class));
+        verify(mockServerRouter, never()).sendResponse(any(ResponseMsg.class), any(ChannelHandlerContext.class));
+        assertEquals(numRequests, responses.size());
+
+        // Assert that the requests were served in order, each one after the tokens of the previous one
+        for (int i = 0; i < numRequests; i++) {
+            ResponseMsg response = responses.get(i);
+            assertTrue(compareBaseHeaderFields(requests.get(i).getHeader(), response.getHeader()));
+            TokenResponse tokenResponse = getTokenResponse(response.getPayload().getTokenResponse());
+            assertEquals(TokenType.NORMAL, tokenResponse.getRespType());
+            assertEquals(sequencerEpoch, tokenResponse.getToken().getEpoch());
+            assertEquals(globalTail + i * numTokens, tokenResponse.getToken().getSequence());
+        }
+        assertEquals(globalTail + numRequests * numTokens, sequencerServer.getGlobalLogTail());
+    }
+
+    /**
+     * Tests that the token requests of different request classes are served in separate
+     * batches, so a batch scheduled for a class never serves the requests of another class.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTokenRequestsBatchedByClass() throws Exception {
+        final int numRequests = 4;
+        when(spySequencerFactoryHelper.getGlobalLogTail()).thenReturn(0L);
+
+        // Block the single sequencer thread, so that the token requests queue behind it.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.submit(() -> {
+            busy.await();
+            return null;
+        });
+        when(mockServerContext.getExecutorService(anyInt(), anyString())).thenReturn(executor);
+        when(mockServerContext.getServerEpoch()).thenReturn(1L);
+        sequencerServer = new SequencerServer(mockServerContext, spySequencerFactoryHelper);
+        sequencerServer.setSequencerEpoch(1L);
+
+        List<List<ResponseMsg>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(mockServerRouter).sendResponses(any(List.class), any(ChannelHandlerContext.class));
+
+        // Interleave the interactive and bulk requests
+        for (int i = 0; i < numRequests; i++) {
+            HeaderMsg header = getBasicHeader(ClusterIdCheck.CHECK, EpochCheck.CHECK);
+            if (i % 2 == 1) {
+                header = header.toBuilder().setTrafficClass(TrafficClass.BULK).build();
+            }
+            RequestMsg request = getRequestMsg(header, getTokenRequestMsg(1, Collections.emptyList()));
+            sequencerServer.handleMessage(request, mockChannelHandlerContext, mockServerRouter);
+        }
+
+        busy.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Verify that every batch only holds the responses of a single class
+        assertEquals(2, batches.size());
+        for (List<ResponseMsg> batch : batches) {
+            assertEquals(numRequests / 2, batch.size());
+            assertEquals(1, batch.stream().map(response -> response.getHeader().getTrafficClass())
+                    .distinct().count());
+        }
+    }
+
     /**
      * Tests the {@link TokenRequestMsg} handler method with
      * {@link TokenRequestMsg.TokenRequestType} = TK_TX. (Token_Transaction)
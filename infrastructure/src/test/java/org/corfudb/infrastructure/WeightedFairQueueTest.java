@@ -0,0 +1,120 @@
+package org.corfudb.infrastructure;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the dequeue order of the {@link WeightedFairQueue}.
+ */
+public class WeightedFairQueueTest {
+
+    private static final int SYSTEM_WEIGHT = 3;
+    private static final int INTERACTIVE_WEIGHT = 2;
+    private static final int BULK_WEIGHT = 1;
+
+    private WeightedFairQueue<String> newQueue() {
+        return new WeightedFairQueue<>("test.queue", ImmutableMap.of(
+                RequestClass.SYSTEM, SYSTEM_WEIGHT,
+                RequestClass.INTERACTIVE, INTERACTIVE_WEIGHT,
+                RequestClass.BULK, BULK_WEIGHT));
+    }
+
+    private List<String> drain(WeightedFairQueue<String> queue) {
+        List<String> elements = new ArrayList<>();
+        for (String element = queue.poll(); element != null; element = queue.poll()) {
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * Every class is dequeued up to its weight in a row, in FIFO order within the class.
+     */
+    @Test
+    public void dequeuesClassesByWeight() {
+        final int requests = 4;
+        WeightedFairQueue<String> queue = newQueue();
+        for (int i = 0; i < requests; i++) {
+            queue.put(RequestClass.BULK, "b" + i);
+            queue.put(RequestClass.INTERACTIVE, "i" + i);
+            queue.put(RequestClass.SYSTEM, "s" + i);
+        }
+
+        assertThat(queue.size()).isEqualTo(requests * RequestClass.values().length);
+        assertThat(queue.size(RequestClass.BULK)).isEqualTo(requests);
+        assertThat(drain(queue)).containsExactly(
+                "s0", "s1", "s2", "i0", "i1", "b0",
+                "s3", "i2", "i3", "b1",
+                "b2", "b3");
+        assertThat(queue.size()).isZero();
+    }
+
+    /**
+     * A class has the whole queue to itself while the other classes are empty.
+     */
+    @Test
+    public void skipsEmptyClasses() {
+        final int requests = 5;
+        WeightedFairQueue<String> queue = newQueue();
+        for (int i = 0; i < requests; i++) {
+            queue.put(RequestClass.BULK, "b" + i);
+        }
+        assertThat(drain(queue)).containsExactly("b0", "b1", "b2", "b3", "b4");
+
+        queue.put(RequestClass.BULK, "b5");
+        queue.put(RequestClass.SYSTEM, "s0");
+        assertThat(drain(queue)).containsExactly("s0", "b5");
+    }
+
+    /**
+     * A barrier is dequeued after every request queued before it, and before every request
+     * queued after it, whatever their class.
+     */
+    @Test
+    public void barriersDrainEveryClass() {
+        final int queued = 8;
+        WeightedFairQueue<String> queue = newQueue();
+        queue.put(RequestClass.BULK, "b0");
+        queue.put(RequestClass.INTERACTIVE, "i0");
+        queue.putBarrier("seal0");
+        queue.put(RequestClass.SYSTEM, "s0");
+        queue.put(RequestClass.BULK, "b1");
+        queue.putBarrier("seal1");
+        queue.putBarrier("seal2");
+        queue.put(RequestClass.SYSTEM, "s1");
+
+        assertThat(queue.size()).isEqualTo(queued);
+        assertThat(drain(queue)).containsExactly(
+                "i0", "b0", "seal0", "s0", "b1", "seal1", "seal2", "s1");
+        assertThat(queue.size()).isZero();
+    }
+
+    /**
+     * A closed queue rejects new requests, but the queued ones can still be dequeued.
+     */
+    @Test
+    public void closedQueueIsDrained() throws Exception {
+        WeightedFairQueue<String> queue = newQueue();
+        queue.put(RequestClass.INTERACTIVE, "i0");
+        queue.close();
+
+        assertThatThrownBy(() -> queue.put(RequestClass.INTERACTIVE, "i1"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(queue.take()).isEqualTo("i0");
+        assertThat(queue.take()).isNull();
+    }
+
+    @Test
+    public void rejectsInvalidWeights() {
+        assertThatThrownBy(() -> new WeightedFairQueue<String>("test.queue",
+                ImmutableMap.of(RequestClass.BULK, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -16,6 +16,7 @@ import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.exceptions.QuotaExceededException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.proto.service.LogUnit;
+import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.corfudb.util.serializer.Serializers;
 import org.junit.Before;
 import org.junit.Rule;
@@ -26,8 +27,12 @@ import org.mockito.junit.MockitoRule;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.corfudb.protocols.CorfuProtocolCommon.DEFAULT_UUID;
@@ -35,6 +40,7 @@ import static org.corfudb.protocols.CorfuProtocolCommon.getUuidMsg;
 import static org.corfudb.protocols.service.CorfuProtocolBase.getSealRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getLogAddressSpaceRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getRangeWriteLogRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadStreamRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getResetLogUnitRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTailRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTrimLogRequestMsg;
@@ -284,4 +290,26 @@ public class BatchProcessorTest {
             throw e.getCause();
         }
     }
+
+    /**
+     * Test that the BatchProcessor serves stream scans once its quota limit is reached,
+     * even though they have a normal priority.
+     */
+    @Test
+    public void testStreamScanQuotaExempt() {
+        final UUID streamId = UUID.randomUUID();
+        final long start = 2L;
+        final long end = 6L;
+        Map<UUID, StreamAddressSpace> addressMap = new HashMap<>();
+        addressMap.put(streamId, new StreamAddressSpace(LongStream.rangeClosed(1L, end)
+                .boxed().collect(Collectors.toSet())));
+        when(mockStreamLog.getStreamsAddressSpace()).thenReturn(new StreamsAddressResponse(end, addressMap));
+        when(mockStreamLog.quotaExceeded()).thenReturn(true);
+
+        RequestMsg scan = getRequestMsg(getBasicHeader(ClusterIdCheck.CHECK, EpochCheck.IGNORE),
+                getReadStreamRequestMsg(streamId, start, end, 0, false));
+        List<Long> addresses = batchProcessor.<List<Long>>addTask(
+                BatchWriterOperation.Type.STREAM_ADDRESS_SPACE_QUERY, scan).join();
+        assertThat(addresses).containsExactly(3L, 4L, 5L, 6L);
+    }
 }
@@ -382,6 +382,46 @@ class StateTransferManagerTest implements TransferSegmentCreator {
                 .getUnknownAddressesInRangeForRange(singleRange)).isEqualTo(expectedRange);
     }
 
+    @Test
+    void testGetUnknownAddressesInRangeForStripe() {
+        LogUnitClient client = mock(LogUnitClient.class);
+        BasicTransferProcessor mock1 = mock(BasicTransferProcessor.class);
+        ParallelTransferProcessor mock2 = mock(ParallelTransferProcessor.class);
+        long rangeStart = 0L;
+        long rangeEnd = 1000L;
+        int numberOfStripes = 2;
+
+        Set<Long> known =
+                LongStream.range(0L, 501L).boxed().collect(Collectors.toSet());
+
+        doReturn(CompletableFuture.completedFuture(new KnownAddressResponse(known))).when(client)
+                .requestKnownAddresses(rangeStart, rangeEnd);
+
+        StateTransferManager configuredInstance = getConfiguredInstance(client, mock1, mock2);
+
+        // Only the addresses of the second stripe are transferred
+        ImmutableList<Long> unknown = LongStream.range(501L, 1001L)
+                .filter(address -> address % numberOfStripes == 1)
+                .boxed()
+                .collect(ImmutableList.toImmutableList());
+
+        TransferSegmentRangeSingle singleRange =
+                ((TransferSegmentRangeSingle) getSingleRange(rangeStart, rangeEnd, StateTransferType.PROTOCOL_READ,
+                        false, Optional.empty(), TransferSegmentStatus.builder().build()))
+                        .toBuilder()
+                        .stripeIndex(1)
+                        .numberOfStripes(numberOfStripes)
+                        .build();
+
+        TransferSegmentRange expectedRange = singleRange
+                .toBuilder()
+                .unknownAddressesInRange(unknown)
+                .build();
+
+        assertThat(configuredInstance
+                .getUnknownAddressesInRangeForRange(singleRange)).isEqualTo(expectedRange);
+    }
+
     @Test
     void testRangeToBatchRequestStreamEmpty() {
         StateTransferManager defaultInstance = getDefaultInstance();
@@ -17,6 +17,8 @@ import org.corfudb.util.NodeLocator;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -28,9 +30,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.corfudb.infrastructure.log.statetransfer.batch.TransferBatchResponse.TransferStatus.SUCCEEDED;
 import static org.corfudb.runtime.exceptions.OverwriteCause.SAME_DATA;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class StateTransferBatchProcessorTest extends DataTest {
 
@@ -54,6 +58,29 @@ class StateTransferBatchProcessorTest extends DataTest {
         assertThat(res.getTransferBatchRequest().getAddresses()).isEqualTo(addresses);
     }
 
+    @Test
+    public void writeRecordsNonSequentialSuccess() {
+        // Write a batch of a striped segment, every sequential range is written separately.
+        List<Long> addresses = Arrays.asList(0L, 2L, 3L, 4L, 8L);
+        List<LogData> stubList = createStubList(addresses);
+        LogUnitClient logUnitClient = mock(LogUnitClient.class);
+        doReturn(CompletableFuture.completedFuture(true)).when(logUnitClient).writeRange(anyList());
+        AddressSpaceView addressSpaceView = mock(AddressSpaceView.class);
+
+        ProtocolBatchProcessor batchProcessor = ProtocolBatchProcessor
+                .builder()
+                .logUnitClient(logUnitClient)
+                .addressSpaceView(addressSpaceView)
+                .build();
+        TransferBatchResponse res = batchProcessor.writeRecords(ReadBatch.builder().data(stubList).build(),
+                logUnitClient, 1, Duration.ofMillis(50));
+        assertThat(res.getStatus() == SUCCEEDED).isTrue();
+        assertThat(res.getTransferBatchRequest().getAddresses()).isEqualTo(addresses);
+        verify(logUnitClient).writeRange(stubList.subList(0, 1));
+        verify(logUnitClient).writeRange(stubList.subList(1, 4));
+        verify(logUnitClient).writeRange(stubList.subList(4, 5));
+    }
+
     @Test
     public void writeRecordsIllegalArgumentException() {
         // Write and fail immediately with illegal argument exception.
@@ -114,8 +141,11 @@ class StateTransferBatchProcessorTest extends DataTest {
 
         doReturn(failedFuture).when(logUnitClient).writeRange(stubList);
 
-        doReturn(CompletableFuture.completedFuture(true)).when(logUnitClient)
-                .writeRange(knownStubList);
+        // The remaining odd addresses are not sequential, each of them is written separately.
+        for (LogData data : knownStubList) {
+            doReturn(CompletableFuture.completedFuture(true)).when(logUnitClient)
+                    .writeRange(Collections.singletonList(data));
+        }
         // Even addresses are written only
         doReturn(CompletableFuture.completedFuture(new KnownAddressResponse(new HashSet<>(known))))
                 .when(logUnitClient)
@@ -0,0 +1,211 @@
+package org.corfudb.infrastructure.management;
+
+import com.google.common.collect.ImmutableList;
+import org.corfudb.infrastructure.NodeNames.NodeName;
+import org.corfudb.protocols.wireprotocol.NodeState;
+import org.corfudb.protocols.wireprotocol.SequencerMetrics;
+import org.corfudb.protocols.wireprotocol.failuredetector.FileSystemStats;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.NodeConnectivityType;
+import org.corfudb.runtime.clients.IClientRouter;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.corfudb.infrastructure.management.NodeStateTestUtil.nodeState;
+import static org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.ConnectionStatus.OK;
+
+public class GossipFailureDetectorTest {
+
+    private final long epoch = 1;
+    private final UUID clusterId = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private final String localEndpoint = NodeName.a.name();
+
+    private final Map<String, IClientRouter> routers = new HashMap<>();
+    private final Map<String, AtomicInteger> probes = new HashMap<>();
+    private final Map<String, AtomicBoolean> available = new HashMap<>();
+
+    private Set<String> cluster(int size) {
+        Set<String> servers = Arrays.stream(NodeName.values())
+                .limit(size)
+                .map(NodeName::name)
+                .collect(Collectors.toSet());
+
+        servers.forEach(server -> {
+            probes.put(server, new AtomicInteger());
+            available.put(server, new AtomicBoolean(true));
+
+            IClientRouter router = Mockito.mock(IClientRouter.class);
+            Mockito.doAnswer(invocation -> {
+                probes.get(server).incrementAndGet();
+                if (!available.get(server).get()) {
+                    CompletableFuture<NodeState> timeout = new CompletableFuture<>();
+                    timeout.completeExceptionally(new TimeoutException());
+                    return timeout;
+                }
+                return CompletableFuture.completedFuture(nodeState(server, 0, OK, OK, OK));
+            }).when(router).sendRequestAndGetCompletable(
+                    ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any(),
+                    ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                    ArgumentMatchers.any()
+            );
+            routers.put(server, router);
+        });
+
+        return servers;
+    }
+
+    private PollReport poll(GossipFailureDetector detector, Set<String> servers) {
+        probes.values().forEach(counter -> counter.set(0));
+        return detector.pollRound(
+                epoch, clusterId, servers, routers, SequencerMetrics.READY, ImmutableList.of(),
+                Mockito.mock(FileSystemStats.class)
+        );
+    }
+
+    private int probed() {
+        return probes.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * All the nodes are probed in the first round, then only probesPerRound nodes per round,
+     * while the cluster state keeps the latest state of every node.
+     */
+    @Test
+    public void probesFewNodesPerRound() {
+        final int clusterSize = 10;
+        final int probesPerRound = 3;
+        final int rounds = 3;
+
+        Set<String> servers = cluster(clusterSize);
+        GossipFailureDetector detector = new GossipFailureDetector(localEndpoint);
+        detector.setProbesPerRound(probesPerRound);
+
+        PollReport report = poll(detector, servers);
+        assertThat(probed()).isEqualTo(clusterSize - 1);
+        assertThat(probes.get(localEndpoint).get()).isZero();
+        assertThat(report.getReachableNodes()).containsExactlyInAnyOrderElementsOf(servers);
+
+        for (int round = 0; round < rounds; round++) {
+            report = poll(detector, servers);
+            assertThat(probed()).isEqualTo(probesPerRound);
+            assertThat(report.getFailedNodes()).isEmpty();
+            assertThat(report.getClusterState().size()).isEqualTo(clusterSize);
+            assertThat(report.getClusterState().getNodes().values())
+                    .allMatch(state -> state.getConnectivity().getType() == NodeConnectivityType.CONNECTED);
+        }
+    }
+
+    /**
+     * A node which never answered is only failed once it missed minMissedProbes probes in a row.
+     */
+    @Test
+    public void unknownNodeFailsAfterMissedProbes() {
+        final int clusterSize = 3;
+        final int minMissedProbes = 3;
+        final String failed = NodeName.c.name();
+
+        Set<String> servers = cluster(clusterSize);
+        available.get(failed).set(false);
+        GossipFailureDetector detector = new GossipFailureDetector(localEndpoint);
+        detector.setMinMissedProbes(minMissedProbes);
+
+        PollReport report;
+        for (int round = 1; round < minMissedProbes; round++) {
+            report = poll(detector, servers);
+            assertThat(probes.get(failed).get()).isEqualTo(1);
+            assertThat(report.getFailedNodes()).isEmpty();
+        }
+
+        report = poll(detector, servers);
+        assertThat(report.getFailedNodes()).containsExactly(failed);
+        assertThat(report.getClusterState().getNode(failed).get().getConnectivity().getType())
+                .isEqualTo(NodeConnectivityType.UNAVAILABLE);
+    }
+
+    /**
+     * The states too old to decide on are refreshed in a round a node is failed, and only then.
+     */
+    @Test
+    public void staleStatesRefreshedOnFailure() {
+        final int clusterSize = 10;
+        final int probesPerRound = 1;
+        final int indirectProbes = 0;
+        final String failed = NodeName.c.name();
+
+        Set<String> servers = cluster(clusterSize);
+        GossipFailureDetector detector = new GossipFailureDetector(localEndpoint);
+        detector.setProbesPerRound(probesPerRound);
+        detector.setIndirectProbes(indirectProbes);
+        detector.setMinMissedProbes(1);
+        detector.setPhiThreshold(0);
+        detector.setMaxNodeStateAge(Duration.ZERO);
+        poll(detector, servers);
+
+        // Every state is stale, but the cluster is healthy
+        poll(detector, servers);
+        assertThat(probed()).isEqualTo(probesPerRound);
+
+        available.get(failed).set(false);
+        PollReport report;
+        do {
+            report = poll(detector, servers);
+        } while (probes.get(failed).get() == 0);
+
+        assertThat(report.getFailedNodes()).containsExactly(failed);
+        assertThat(probed()).isEqualTo(clusterSize - 1);
+    }
+
+    /**
+     * A node which stops answering is suspected, probed every round along with a few other
+     * nodes, and only failed once its phi reaches the threshold.
+     */
+    @Test
+    public void suspectedNodeFailsAtPhiThreshold() {
+        final int clusterSize = 10;
+        final int probesPerRound = 1;
+        final int indirectProbes = 2;
+        final String suspect = NodeName.c.name();
+
+        Set<String> servers = cluster(clusterSize);
+        GossipFailureDetector detector = new GossipFailureDetector(localEndpoint);
+        detector.setProbesPerRound(probesPerRound);
+        detector.setIndirectProbes(indirectProbes);
+        detector.setPhiThreshold(Double.MAX_VALUE);
+        poll(detector, servers);
+
+        available.get(suspect).set(false);
+        PollReport report;
+        do {
+            report = poll(detector, servers);
+        } while (probes.get(suspect).get() == 0);
+        assertThat(report.getFailedNodes()).isEmpty();
+
+        report = poll(detector, servers);
+        assertThat(probes.get(suspect).get()).isEqualTo(1);
+        assertThat(probed()).isBetween(probesPerRound + indirectProbes, probesPerRound + indirectProbes + 1);
+        assertThat(report.getFailedNodes()).isEmpty();
+        assertThat(report.getClusterState().getNode(suspect).get().getConnectivity().getType())
+                .isEqualTo(NodeConnectivityType.CONNECTED);
+
+        detector.setPhiThreshold(0);
+        report = poll(detector, servers);
+        assertThat(report.getFailedNodes()).containsExactly(suspect);
+
+        available.get(suspect).set(true);
+        report = poll(detector, servers);
+        assertThat(report.getFailedNodes()).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package org.corfudb.infrastructure.management.failuredetector;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PhiAccrualEstimatorTest {
+
+    private static final int MAX_SAMPLES = 10;
+    private static final long INTERVAL_MS = 1000;
+
+    private PhiAccrualEstimator newEstimator() {
+        return new PhiAccrualEstimator(
+                MAX_SAMPLES, Duration.ofMillis(INTERVAL_MS), Duration.ofMillis(100), Duration.ZERO
+        );
+    }
+
+    @Test
+    public void phiIsUnknownWithoutHeartbeat() {
+        PhiAccrualEstimator estimator = newEstimator();
+        assertThat(estimator.isAvailable()).isFalse();
+        assertThat(estimator.phi(INTERVAL_MS)).isEqualTo(PhiAccrualEstimator.UNKNOWN);
+    }
+
+    /**
+     * Phi grows with the time since the last heartbeat, relative to the heartbeat interval.
+     */
+    @Test
+    public void phiGrowsWithElapsedTime() {
+        final int heartbeats = 20;
+        final double lowPhi = 1.0;
+        final double highPhi = 8.0;
+
+        PhiAccrualEstimator estimator = newEstimator();
+        long now = 0;
+        for (int i = 0; i < heartbeats; i++) {
+            estimator.heartbeat(now);
+            now += INTERVAL_MS;
+        }
+        long last = now - INTERVAL_MS;
+
+        assertThat(estimator.phi(last + INTERVAL_MS / 2)).isLessThan(lowPhi);
+        assertThat(estimator.phi(last + INTERVAL_MS)).isLessThan(estimator.phi(last + INTERVAL_MS * 2));
+        assertThat(estimator.phi(last + INTERVAL_MS * 2)).isGreaterThan(highPhi);
+    }
+
+    /**
+     * The estimate follows the heartbeat rate: a slower heartbeat is given more time.
+     */
+    @Test
+    public void phiAdaptsToHeartbeatInterval() {
+        final long slowInterval = INTERVAL_MS * 5;
+        final double highPhi = 8.0;
+
+        PhiAccrualEstimator estimator = newEstimator();
+        long now = 0;
+        for (int i = 0; i <= MAX_SAMPLES; i++) {
+            estimator.heartbeat(now);
+            now += slowInterval;
+        }
+        long last = now - slowInterval;
+
+        assertThat(estimator.phi(last + INTERVAL_MS * 2)).isLessThan(highPhi);
+        assertThat(estimator.phi(last + slowInterval * 2)).isGreaterThan(highPhi);
+    }
+}
@@ -305,6 +305,64 @@ public class RedundancyCalculatorTest extends LayoutBasedTestHelper implements T
 
     }
 
+    /**
+     * The log servers of the stripes added to a segment do not hold the addresses of the
+     * previous segment, so neither a restoration nor a merge is required.
+     */
+    @Test
+    public void testAddedStripesDoNotRequireRestoration() {
+        LayoutStripe stripe0 = new LayoutStripe(Arrays.asList("A", "B"));
+        LayoutStripe stripe1 = new LayoutStripe(Arrays.asList("localhost", "C"));
+        LayoutSegment segment1 = new LayoutSegment(CHAIN_REPLICATION, 0L, 6L,
+                Collections.singletonList(stripe0));
+        LayoutSegment segment2 = new LayoutSegment(CHAIN_REPLICATION, 6L, NON_ADDRESS,
+                Arrays.asList(stripe0, stripe1));
+
+        Layout layout = createTestLayout(Arrays.asList(segment1, segment2));
+        assertThat(RedundancyCalculator.canRestoreRedundancy(layout, "localhost")).isFalse();
+        assertThat(RedundancyCalculator.canMergeSegments(layout)).isFalse();
+        assertThat(RedundancyCalculator.canRestoreRedundancyOrMergeSegments(layout, "C")).isFalse();
+    }
+
+    /**
+     * A node added to the stripes of the open segment is only restored to the previous segments
+     * with as many stripes, in the stripe it belongs to, after which these segments are merged.
+     */
+    @Test
+    public void testRestoreRedundancyAfterAddedStripes() {
+        LayoutStripe stripe0 = new LayoutStripe(Collections.singletonList("A"));
+        LayoutStripe stripe1 = new LayoutStripe(Collections.singletonList("C"));
+        LayoutStripe restoredStripe0 = new LayoutStripe(Arrays.asList("A", "localhost"));
+        LayoutSegment segment1 = new LayoutSegment(CHAIN_REPLICATION, 0L, 6L,
+                Collections.singletonList(stripe0));
+        LayoutSegment segment2 = new LayoutSegment(CHAIN_REPLICATION, 6L, 10L,
+                Arrays.asList(stripe0, stripe1));
+        LayoutSegment segment3 = new LayoutSegment(CHAIN_REPLICATION, 10L, NON_ADDRESS,
+                Arrays.asList(restoredStripe0, stripe1));
+
+        Layout layout = createTestLayout(Arrays.asList(segment1, segment2, segment3));
+        assertThat(RedundancyCalculator.canRestoreRedundancy(layout, "localhost")).isTrue();
+        assertThat(RedundancyCalculator.canMergeSegments(layout)).isFalse();
+
+        RedundancyCalculator calculator = new RedundancyCalculator("localhost");
+        ImmutableList<TransferSegment> transferSegments = calculator.createStateList(layout, -1L);
+        assertThat(transferSegments).containsExactly(TransferSegment.builder()
+                .startAddress(6L)
+                .endAddress(9L)
+                .status(TransferSegmentStatus.builder().segmentState(NOT_TRANSFERRED).build())
+                .logUnitServers(ImmutableList.of("A"))
+                .stripeIndex(0)
+                .numberOfStripes(2)
+                .build());
+
+        Layout restoredLayout = calculator.restoreRedundancyForSegment(transferSegments.get(0), layout);
+        assertThat(restoredLayout.getSegments().get(1).getStripes())
+                .containsExactly(restoredStripe0, stripe1);
+        assertThat(RedundancyCalculator.canRestoreRedundancy(restoredLayout, "localhost")).isFalse();
+        assertThat(RedundancyCalculator.canMergeSegments(restoredLayout)).isTrue();
+        assertThat(restoredLayout.getMergeableSegmentIndex()).hasValue(2);
+    }
+
     @Test
     public void testSegmentVerification() {
         TransferSegmentStatus status = TransferSegmentStatus.builder().build();
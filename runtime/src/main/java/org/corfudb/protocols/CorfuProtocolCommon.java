@@ -600,7 +600,9 @@ public final class CorfuProtocolCommon {
     @AllArgsConstructor
     public enum MessageMarker {
         PROTO_REQUEST_MSG_MARK(0x1),
-        PROTO_RESPONSE_MSG_MARK(0x2);
+        PROTO_RESPONSE_MSG_MARK(0x2),
+        PROTO_REQUEST_BATCH_MSG_MARK(0x3),
+        PROTO_RESPONSE_WITH_RAW_ENTRIES_MSG_MARK(0x4);
 
         public static final Map<Byte, MessageMarker> typeMap =
                 Arrays.stream(MessageMarker.values())
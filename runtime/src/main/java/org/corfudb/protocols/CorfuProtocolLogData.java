@@ -4,14 +4,26 @@ import com.google.protobuf.ByteString;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.common.compression.Codec;
+import org.corfudb.infrastructure.log.LogFormat.LogEntry;
+import org.corfudb.protocols.logprotocol.CheckpointEntry;
+import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.runtime.proto.LogData.LogDataMsg;
 import org.corfudb.runtime.proto.LogData.ReadResponseMsg;
 
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * This class provides methods for creating and converting between the Protobuf
  * objects defined in log_data.proto and their Java counterparts. Used by the
  * LogUnit RPCs.
+ * <p>
+ * It also converts the log entries persisted by the LogUnit (log_format.proto),
+ * as they are read by the LogUnit and sent as is to the clients.
  */
 @Slf4j
 public final class CorfuProtocolLogData {
@@ -56,4 +68,70 @@ public final class CorfuProtocolLogData {
                 .setLogData(getLogDataMsg(logData))
                 .build();
     }
+
+    /**
+     * Returns a LogData object from the log entry persisted by a LogUnit.
+     *
+     * @param entry  the log entry, as persisted by a LogUnit
+     * @return       an equivalent LogData object
+     */
+    public static LogData getLogData(LogEntry entry) {
+        ByteBuffer entryData = ByteBuffer.wrap(entry.getData().toByteArray());
+
+        int ldCodecType = entry.hasCodecType() ? entry.getCodecType() : Codec.Type.NONE.getId();
+
+        LogData logData = new LogData(DataType.typeMap.get((byte) entry.getDataType().getNumber()),
+                Unpooled.wrappedBuffer(entryData.array()), ldCodecType);
+
+        logData.setBackpointerMap(getUUIDLongMap(entry.getBackpointersMap()));
+        logData.setGlobalAddress(entry.getGlobalAddress());
+        logData.setEpoch(entry.getEpoch());
+
+        if (entry.hasThreadId()) {
+            logData.setThreadId(entry.getThreadId());
+        }
+        if (entry.hasClientIdLeastSignificant() && entry.hasClientIdMostSignificant()) {
+            long lsd = entry.getClientIdLeastSignificant();
+            long msd = entry.getClientIdMostSignificant();
+            logData.setClientId(new UUID(msd, lsd));
+        }
+
+        if (entry.hasCheckpointEntryType()) {
+            logData.setCheckpointType(CheckpointEntry.CheckpointEntryType
+                    .typeMap.get((byte) entry.getCheckpointEntryType().ordinal()));
+
+            if (!entry.hasCheckpointIdLeastSignificant()
+                    || !entry.hasCheckpointIdMostSignificant()) {
+                log.error("Checkpoint has missing information {}", entry);
+            }
+
+            long lsd = entry.getCheckpointIdLeastSignificant();
+            long msd = entry.getCheckpointIdMostSignificant();
+            UUID checkpointId = new UUID(msd, lsd);
+
+            logData.setCheckpointId(checkpointId);
+
+            lsd = entry.getCheckpointedStreamIdLeastSignificant();
+            msd = entry.getCheckpointedStreamIdMostSignificant();
+            UUID streamId = new UUID(msd, lsd);
+
+            logData.setCheckpointedStreamId(streamId);
+
+            logData.setCheckpointedStreamStartLogAddress(
+                    entry.getCheckpointedStreamStartLogAddress());
+        }
+
+        return logData;
+    }
+
+    @SuppressWarnings("checkstyle:abbreviationaswordinname")  // Due to deprecation
+    private static Map<UUID, Long> getUUIDLongMap(Map<String, Long> stringLongMap) {
+        Map<UUID, Long> uuidLongMap = new HashMap<>();
+
+        for (Map.Entry<String, Long> entry : stringLongMap.entrySet()) {
+            uuidLongMap.put(UUID.fromString(entry.getKey()), entry.getValue());
+        }
+
+        return uuidLongMap;
+    }
 }
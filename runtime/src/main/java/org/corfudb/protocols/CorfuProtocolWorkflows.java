@@ -1,7 +1,11 @@
 package org.corfudb.protocols;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.corfudb.protocols.wireprotocol.orchestrator.AddNodeRequest;
+import org.corfudb.protocols.wireprotocol.orchestrator.AddStripesRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.CreateWorkflowResponse;
 import org.corfudb.protocols.wireprotocol.orchestrator.ForceRemoveNodeRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.HealNodeRequest;
@@ -9,9 +13,11 @@ import org.corfudb.protocols.wireprotocol.orchestrator.QueryResponse;
 import org.corfudb.protocols.wireprotocol.orchestrator.RemoveNodeRequest;
 import org.corfudb.protocols.wireprotocol.orchestrator.RestoreRedundancyMergeSegmentsRequest;
 import org.corfudb.runtime.proto.Workflows.AddNodeWorkflowMsg;
+import org.corfudb.runtime.proto.Workflows.AddStripesWorkflowMsg;
 import org.corfudb.runtime.proto.Workflows.CreatedWorkflowMsg;
 import org.corfudb.runtime.proto.Workflows.ForceRemoveNodeWorkflowMsg;
 import org.corfudb.runtime.proto.Workflows.HealNodeWorkflowMsg;
+import org.corfudb.runtime.proto.Workflows.LogUnitStripeMsg;
 import org.corfudb.runtime.proto.Workflows.RemoveNodeWorkflowMsg;
 import org.corfudb.runtime.proto.Workflows.RestoreRedundancyMergeSegmentsWorkflowMsg;
 import org.corfudb.runtime.proto.Workflows.QueriedWorkflowMsg;
@@ -200,6 +206,41 @@ public final class CorfuProtocolWorkflows {
         return new RestoreRedundancyMergeSegmentsRequest(msg.getEndpoint());
     }
 
+    /**
+     * Returns a Protobuf message used to initiate a workflow that adds
+     * new log unit stripes to the cluster.
+     *
+     * @param stripes        the log servers of every new stripe, in chain order
+     * @param startAddress   the lowest address the new stripes are used from
+     * @return               an AddStripesWorkflowMsg to be used in an OrchestratorRequestMsg
+     */
+    public static AddStripesWorkflowMsg getAddStripesWorkflowMsg(List<List<String>> stripes,
+                                                                 long startAddress) {
+        return AddStripesWorkflowMsg.newBuilder()
+                .addAllStripe(stripes.stream()
+                        .map(stripe -> LogUnitStripeMsg.newBuilder()
+                                .addAllLogServer(stripe)
+                                .build())
+                        .collect(Collectors.toList()))
+                .setStartAddress(startAddress)
+                .build();
+    }
+
+    /**
+     * Returns an AddStripesRequest object from its Protobuf representation.
+     * Used by the Orchestrator.
+     *
+     * @param msg   the desired Protobuf AddStripesWorkflow message
+     * @return      an equivalent Java AddStripesRequest object
+     */
+    public static AddStripesRequest getAddStripesRequest(AddStripesWorkflowMsg msg) {
+        List<List<String>> stripes = msg.getStripeList()
+                .stream()
+                .map(stripe -> (List<String>) new ArrayList<>(stripe.getLogServerList()))
+                .collect(Collectors.toList());
+        return new AddStripesRequest(stripes, msg.getStartAddress());
+    }
+
     /**
      * Returns a Protobuf message used to indicate to the client that
      * a corresponding workflow was created. The id can be used by the
@@ -112,9 +112,15 @@ public class LogEntry implements ICorfuSerializable {
         // Base Messages
         NOP(0, LogEntry.class),
         SMR(1, SMREntry.class),
+        // SMREntry in the compact encoding, see SMREntry#compact
+        SMR_V2(2, SMREntry.class),
         MULTIOBJSMR(7, MultiObjectSMREntry.class),
         MULTISMR(8, MultiSMREntry.class),
-        CHECKPOINT(10, CheckpointEntry.class);
+        CHECKPOINT(10, CheckpointEntry.class),
+        // The commit entry of a transaction written as several MultiObjectSMREntry entries
+        MULTIOBJSMR_COMMIT(11, MultiObjectSMRCommitEntry.class),
+        // A chunk of a transaction written as several entries, applied through its commit entry
+        MULTIOBJSMR_CHUNK(12, MultiObjectSMRChunkEntry.class);
 
         public final int type;
         public final Class<? extends LogEntry> entryType;
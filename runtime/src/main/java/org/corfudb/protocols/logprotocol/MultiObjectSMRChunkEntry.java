@@ -0,0 +1,43 @@
+package org.corfudb.protocols.logprotocol;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.Address;
+
+/**
+ * A chunk of the write set of a transaction whose write set is too large for a single log entry.
+ * <p>
+ * A chunk is only applied through its {@link MultiObjectSMRCommitEntry}, the chunk records the
+ * address of the commit entry so that the readers of a stream the chunk was written to can tell
+ * whether the transaction was committed.
+ */
+@SuppressWarnings("checkstyle:abbreviation")
+@ToString(callSuper = true)
+public class MultiObjectSMRChunkEntry extends MultiObjectSMREntry {
+
+    /**
+     * The address of the commit entry of the transaction this chunk belongs to.
+     */
+    @Getter
+    @Setter
+    private long commitAddress = Address.NON_ADDRESS;
+
+    public MultiObjectSMRChunkEntry() {
+        this.type = LogEntryType.MULTIOBJSMR_CHUNK;
+    }
+
+    @Override
+    public void deserializeBuffer(ByteBuf b, CorfuRuntime rt) {
+        super.deserializeBuffer(b, rt);
+        commitAddress = b.readLong();
+    }
+
+    @Override
+    public void serialize(ByteBuf b) {
+        super.serialize(b);
+        b.writeLong(commitAddress);
+    }
+}
@@ -0,0 +1,166 @@
+package org.corfudb.protocols.logprotocol;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import lombok.ToString;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.Address;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The commit entry of a transaction whose write set is too large for a single log entry.
+ * <p>
+ * The write set of such a transaction is split into several {@link MultiObjectSMRChunkEntry} chunks,
+ * which are written to a range of addresses acquired right after the address of the commit entry,
+ * so a prefix trim never reaches the chunks of a commit entry which is not trimmed itself. The chunks
+ * do not belong to the streams of the transaction, so the stream readers never see them: only the
+ * commit entry belongs to those streams, and it provides the updates of all its chunks at its address.
+ * If the writer fails before writing the commit entry, its address is hole filled and none of the
+ * chunks is ever applied.
+ * <p>
+ * If the transaction is replicated, the chunks are written to the log replication stream, so
+ * that the log replicator can replicate them one by one instead of the whole write set at once.
+ * <p>
+ * The chunks are read the first time the updates are accessed, which requires a runtime. Opaque
+ * readers resolve the chunks themselves (see {@link OpaqueEntry#unpack(ILogData, CorfuRuntime, UUID)}).
+ */
+@SuppressWarnings("checkstyle:abbreviation")
+@ToString(exclude = {"chunks", "chunkUpdates"})
+public class MultiObjectSMRCommitEntry extends LogEntry implements ISMRConsumable {
+
+    /**
+     * The address of the first chunk, the chunks are written at consecutive addresses.
+     */
+    @Getter
+    private long firstChunkAddress = Address.NON_ADDRESS;
+
+    /**
+     * The number of chunks the write set was split into.
+     */
+    @Getter
+    private int numChunks;
+
+    /**
+     * The stream the chunks were written to, or null if they do not belong to any stream.
+     */
+    @Getter
+    private UUID chunkStreamId;
+
+    private volatile List<MultiObjectSMRChunkEntry> chunks;
+
+    // map from stream-ID to the updates of the stream in all the chunks
+    private final Map<UUID, List<SMREntry>> chunkUpdates = new ConcurrentHashMap<>();
+
+    public MultiObjectSMRCommitEntry() {
+        this.type = LogEntryType.MULTIOBJSMR_COMMIT;
+    }
+
+    /**
+     * Create the commit entry of a transaction split into several chunks.
+     *
+     * @param firstChunkAddress the address of the first chunk
+     * @param numChunks         the number of chunks the write set was split into
+     * @param chunkStreamId     the stream the chunks were written to, if any
+     */
+    public MultiObjectSMRCommitEntry(long firstChunkAddress, int numChunks, @Nullable UUID chunkStreamId) {
+        this();
+        this.firstChunkAddress = firstChunkAddress;
+        this.numChunks = numChunks;
+        this.chunkStreamId = chunkStreamId;
+    }
+
+    @Override
+    void deserializeBuffer(ByteBuf b, CorfuRuntime rt) {
+        firstChunkAddress = b.readLong();
+        numChunks = b.readInt();
+        if (b.readBoolean()) {
+            chunkStreamId = new UUID(b.readLong(), b.readLong());
+        }
+    }
+
+    @Override
+    public void serialize(ByteBuf b) {
+        super.serialize(b);
+        b.writeLong(firstChunkAddress);
+        b.writeInt(numChunks);
+        b.writeBoolean(chunkStreamId != null);
+        if (chunkStreamId != null) {
+            b.writeLong(chunkStreamId.getMostSignificantBits());
+            b.writeLong(chunkStreamId.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Whether the given address is the address of one of the chunks of this commit entry.
+     */
+    public boolean isChunkAddress(long address) {
+        return address >= firstChunkAddress && address < firstChunkAddress + numChunks;
+    }
+
+    /**
+     * Get the addresses of the chunks, in the order they were split from the write set.
+     */
+    public List<Long> getChunkAddresses() {
+        return LongStream.range(firstChunkAddress, firstChunkAddress + numChunks)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the updates of a particular object in all the chunks, in the order they were written.
+     *
+     * @param id StreamID
+     * @return an empty list if object has no updates; a list of updates if exists
+     */
+    @Override
+    public List<SMREntry> getSMRUpdates(UUID id) {
+        return chunkUpdates.computeIfAbsent(id, k -> {
+            List<SMREntry> updates = new ArrayList<>();
+            getChunks().forEach(chunk -> updates.addAll(chunk.getSMRUpdates(id)));
+            return updates;
+        });
+    }
+
+    /**
+     * Read the chunks of this commit entry, once. The updates of the chunks take
+     * the address of the commit entry, i.e., the address the transaction committed at.
+     */
+    private List<MultiObjectSMRChunkEntry> getChunks() {
+        if (chunks == null) {
+            synchronized (this) {
+                if (chunks == null) {
+                    checkState(runtime != null, "A commit entry requires a runtime to read its chunks");
+                    checkState(Address.isAddress(getGlobalAddress()), "A commit entry requires its address");
+
+                    List<Long> addresses = getChunkAddresses();
+                    Map<Long, ILogData> data = runtime.getAddressSpaceView().read(addresses);
+
+                    List<MultiObjectSMRChunkEntry> resolved = new ArrayList<>(numChunks);
+                    for (long address : addresses) {
+                        Object payload = data.get(address).getPayload(runtime);
+                        checkState(payload instanceof MultiObjectSMRChunkEntry
+                                        && ((MultiObjectSMRChunkEntry) payload).getCommitAddress() == getGlobalAddress(),
+                                "Address %s is not a chunk of the commit entry at %s", address, getGlobalAddress());
+                        MultiObjectSMRChunkEntry chunk = (MultiObjectSMRChunkEntry) payload;
+                        chunk.setGlobalAddress(getGlobalAddress());
+                        resolved.add(chunk);
+                    }
+                    chunks = resolved;
+                }
+            }
+        }
+        return chunks;
+    }
+}
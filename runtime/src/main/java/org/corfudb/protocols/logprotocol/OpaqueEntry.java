@@ -6,24 +6,29 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 import org.corfudb.protocols.CorfuProtocolCommon;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.view.Address;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import javax.annotation.Nullable;
+
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static com.google.common.base.Preconditions.checkState;
 import static org.corfudb.util.serializer.CorfuSerializer.corfuPayloadMagic;
 
 @Slf4j
@@ -45,10 +50,21 @@ public class OpaqueEntry implements Serializable {
     // TODO(Maithem): Inconsistent behavior when full-sync vs delta (for full sync the versions will change)
     long version;
 
+    /**
+     * The address of the commit entry of the transaction, if this is the entry of a chunk
+     * of a large transaction, or the version of the entry otherwise.
+     */
+    @Getter
+    long commitVersion;
 
     public OpaqueEntry(long version, Map<UUID, List<SMREntry>> updates) {
+        this(version, version, updates);
+    }
+
+    private OpaqueEntry(long version, long commitVersion, Map<UUID, List<SMREntry>> updates) {
         this.entries = updates;
         this.version = version;
+        this.commitVersion = commitVersion;
     }
 
     public static void serialize(ByteBuf buf, OpaqueEntry entry) {
@@ -85,27 +101,28 @@ public class OpaqueEntry implements Serializable {
     }
 
     public static OpaqueEntry unpack(ILogData logData) {
-        byte[] payload = ((LogData) logData).getData();
-        if (payload == null) return empty;
-        // what if payload is null ?
-        ByteBuf payloadBuf = Unpooled.wrappedBuffer(payload);
-
-        if (logData.hasPayloadCodec()) {
-            // if the payload has a codec we need to decode it before deserialization
-            ByteBuf compressedBuf = CorfuProtocolCommon.fromBuffer(payload, ByteBuf.class);
-            byte[] compressedArrayBuf= new byte[compressedBuf.readableBytes()];
-            compressedBuf.readBytes(compressedArrayBuf);
-            payloadBuf = Unpooled.wrappedBuffer(logData.getPayloadCodecType()
-                    .getInstance().decompress(ByteBuffer.wrap(compressedArrayBuf)));
-        }
+        return unpack(logData, null, null);
+    }
 
-        if (payloadBuf.readByte() != corfuPayloadMagic) {
-            throw new IllegalStateException("Must be ICorfuSerializable");
-        }
+    /**
+     * Unpack the updates of a log entry read from a stream, without deserializing them.
+     * <p>
+     * The updates of a large transaction are unpacked from its commit entry, unless its chunks were
+     * written to the stream being read: each chunk is then unpacked on its own, at its own address,
+     * and only if the commit entry of the chunk was written.
+     *
+     * @param logData  the log entry to unpack
+     * @param runtime  the runtime used to read the chunks of a large transaction, which
+     *                 cannot be unpacked without it
+     * @param streamId the stream the log entry was read from, if any
+     * @return the updates of every stream of the log entry
+     */
+    public static OpaqueEntry unpack(ILogData logData, @Nullable CorfuRuntime runtime, @Nullable UUID streamId) {
+        LogEntry entry = deserialize(logData);
+        if (entry == null) return empty;
 
         long version = logData.getGlobalAddress();
-
-        LogEntry entry = (LogEntry) LogEntry.deserialize(payloadBuf, null, true);
+        long commitVersion = version;
         Map<UUID, List<SMREntry>> res = new HashMap<>();
 
         switch (entry.getType()) {
@@ -126,39 +143,116 @@ public class OpaqueEntry implements Serializable {
                     res.put(mapEntry.getKey(), mapEntry.getValue().getUpdates());
                 }
                 break;
+            case MULTIOBJSMR_COMMIT:
+                MultiObjectSMRCommitEntry commitEntry = (MultiObjectSMRCommitEntry) entry;
+                if (streamId != null && streamId.equals(commitEntry.getChunkStreamId())) {
+                    // The chunks are unpacked from the stream, one by one
+                    break;
+                }
+                // The updates of a large transaction are held by its chunks
+                checkState(runtime != null, "A commit entry at %s requires a runtime to read its chunks",
+                        version);
+                Map<Long, ILogData> chunks = runtime.getAddressSpaceView().read(commitEntry.getChunkAddresses());
+                for (long chunkAddress : commitEntry.getChunkAddresses()) {
+                    MultiObjectSMREntry chunk = (MultiObjectSMREntry) deserialize(chunks.get(chunkAddress));
+                    chunk.getEntryMap().forEach((chunkStreamId, updates) ->
+                            res.computeIfAbsent(chunkStreamId, k -> new ArrayList<>()).addAll(updates.getUpdates()));
+                }
+                break;
+            case MULTIOBJSMR_CHUNK:
+                // A chunk is only unpacked if its transaction was committed
+                checkState(runtime != null, "A chunk at %s requires a runtime to read its commit entry",
+                        version);
+                MultiObjectSMRChunkEntry chunkEntry = (MultiObjectSMRChunkEntry) entry;
+                ILogData commitData = runtime.getAddressSpaceView().read(chunkEntry.getCommitAddress());
+                if (commitData.isData() && commitData.getPayload(runtime) instanceof MultiObjectSMRCommitEntry
+                        && ((MultiObjectSMRCommitEntry) commitData.getPayload(runtime)).isChunkAddress(version)) {
+                    commitVersion = chunkEntry.getCommitAddress();
+                    for (Map.Entry<UUID, MultiSMREntry> mapEntry : chunkEntry.getEntryMap().entrySet()) {
+                        res.put(mapEntry.getKey(), mapEntry.getValue().getUpdates());
+                    }
+                }
+                break;
             case CHECKPOINT:
                 CheckpointEntry cpEntries = (CheckpointEntry) entry;
                 if (cpEntries.getCpType() != CheckpointEntry.CheckpointEntryType.CONTINUATION) return empty;
 
                 version = Long.decode(cpEntries.getDict().get(CheckpointEntry.CheckpointDictKey.SNAPSHOT_ADDRESS));
+                commitVersion = version;
                 res.put(logData.getCheckpointedStreamId(), cpEntries.getSmrEntries(true).getUpdates());
                 break;
             default:
                 throw new IllegalStateException("Unknown type " + entry.getType());
         }
-        return new OpaqueEntry(version, res);
+        return new OpaqueEntry(version, commitVersion, res);
     }
 
-    public static int write(FileOutputStream fileOutput, OpaqueEntry opaqueEntry) throws IOException {
+    /**
+     * Deserialize the payload of a log entry in its opaque form.
+     *
+     * @return the log entry, or null if the log entry has no payload
+     */
+    private static LogEntry deserialize(ILogData logData) {
+        byte[] payload = ((LogData) logData).getData();
+        if (payload == null) return null;
+        // what if payload is null ?
+        ByteBuf payloadBuf = Unpooled.wrappedBuffer(payload);
+
+        if (logData.hasPayloadCodec()) {
+            // if the payload has a codec we need to decode it before deserialization
+            ByteBuf compressedBuf = CorfuProtocolCommon.fromBuffer(payload, ByteBuf.class);
+            byte[] compressedArrayBuf= new byte[compressedBuf.readableBytes()];
+            compressedBuf.readBytes(compressedArrayBuf);
+            payloadBuf = Unpooled.wrappedBuffer(logData.getPayloadCodecType()
+                    .getInstance().decompress(ByteBuffer.wrap(compressedArrayBuf)));
+        }
+
+        if (payloadBuf.readByte() != corfuPayloadMagic) {
+            throw new IllegalStateException("Must be ICorfuSerializable");
+        }
+
+        return (LogEntry) LogEntry.deserialize(payloadBuf, null, true);
+    }
+
+    /**
+     * Write an entry to an output stream, prefixed with its serialized size.
+     *
+     * @param output      the stream to write to
+     * @param opaqueEntry the entry to write
+     * @return the serialized size of the entry
+     * @throws IOException
+     */
+    public static int write(OutputStream output, OpaqueEntry opaqueEntry) throws IOException {
         ByteBuf byteBuf = Unpooled.buffer();
         OpaqueEntry.serialize(byteBuf, opaqueEntry);
         int size = byteBuf.writerIndex();
         byte[] intBytes = ByteBuffer.allocate(INT_BYTES).putInt(size).array();
-        byte[] dataBytes = Arrays.copyOfRange(byteBuf.array(), 0, size);
 
-        fileOutput.write(intBytes);
-        fileOutput.write(dataBytes);
+        output.write(intBytes);
+        output.write(byteBuf.array(), byteBuf.arrayOffset(), size);
 
         return size;
     }
 
-    public static OpaqueEntry read(FileInputStream fileInput) throws IOException {
+    /**
+     * Read the next entry written by {@link #write} from an input stream.
+     *
+     * @param input the stream to read from
+     * @return the entry, or null if the end of the stream was reached
+     * @throws IOException
+     */
+    public static OpaqueEntry read(InputStream input) throws IOException {
         byte[] intBytes = new byte[INT_BYTES];
-        fileInput.read(intBytes);
+        int read = IOUtils.read(input, intBytes);
+        if (read == 0) {
+            return null;
+        } else if (read < INT_BYTES) {
+            throw new EOFException("Truncated entry size");
+        }
         int size = ByteBuffer.wrap(intBytes).getInt();
 
         byte[] dataBytes = new byte[size];
-        fileInput.read(dataBytes);
+        IOUtils.readFully(input, dataBytes);
 
         ByteBuf byteBuf = Unpooled.wrappedBuffer(dataBytes);
         OpaqueEntry opaqueEntry = OpaqueEntry.deserialize(byteBuf);
@@ -4,14 +4,16 @@ import static com.google.common.base.Preconditions.checkState;
 
 
 import io.netty.buffer.ByteBuf;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.ToString;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.util.serializer.CorfuSerializer;
@@ -26,6 +28,10 @@ import org.corfudb.util.serializer.ISerializer;
 @EqualsAndHashCode
 public class SMREntry extends LogEntry implements ISMRConsumable {
 
+    // Every byte of a variable-length integer holds 7 bits, and whether more bytes follow
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int VARINT_BITS = 7;
+
     /**
      * The name of the SMR method. Note that this is limited to the size of a short.
      */
@@ -40,6 +46,22 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
     @Getter
     private Object[] SMRArguments;
 
+    /**
+     * Whether the entry is serialized in the compact encoding ({@link LogEntryType#SMR_V2}),
+     * which only readers supporting it can deserialize.
+     */
+    @Getter
+    @Setter
+    private transient boolean compact = false;
+
+    /**
+     * Whether the entry was read from a checkpoint, so it can be loaded with the other updates
+     * of the checkpoint at once, see {@link org.corfudb.runtime.object.ICorfuBulkLoadable}.
+     */
+    @Getter
+    @Setter
+    private transient boolean checkpointUpdate = false;
+
     /**
      * The serializer used to serialize the SMR arguments.
      */
@@ -113,13 +135,23 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
         int readIndex = b.readerIndex();
 
         super.deserializeBuffer(b, rt);
-        short methodLength = b.readShort();
-        byte[] methodBytes = new byte[methodLength];
-        b.readBytes(methodBytes, 0, methodLength);
-        SMRMethod = new String(methodBytes);
+        compact = type == LogEntryType.SMR_V2;
+        type = LogEntryType.SMR;
+        if (compact) {
+            int methodId = readVarInt(b);
+            if (methodId == SMRMethodDictionary.INLINE) {
+                SMRMethod = b.readCharSequence(readVarInt(b), StandardCharsets.UTF_8).toString();
+            } else {
+                SMRMethod = SMRMethodDictionary.getMethod(methodId);
+            }
+        } else {
+            short methodLength = b.readShort();
+            byte[] methodBytes = new byte[methodLength];
+            b.readBytes(methodBytes, 0, methodLength);
+            SMRMethod = new String(methodBytes);
+        }
         byte serializerId = b.readByte();
-        byte numArguments = b.readByte();
-        Object[] arguments = new Object[numArguments];
+        int numArguments = compact ? readVarInt(b) : b.readByte();
 
         if (!opaque) {
             serializerType = rt.getSerializers().getSerializer(serializerId);
@@ -127,8 +159,9 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
             this.serializerId = serializerId;
         }
 
-        for (byte arg = 0; arg < numArguments; arg++) {
-            int len = b.readInt();
+        Object[] arguments = new Object[numArguments];
+        for (int arg = 0; arg < numArguments; arg++) {
+            int len = compact ? readVarInt(b) : b.readInt();
             ByteBuf objBuf = b.slice(b.readerIndex(), len);
             if (opaque) {
                 byte[] argBytes = new byte[len];
@@ -153,16 +186,23 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
         checkState(magicByte == CorfuSerializer.corfuPayloadMagic, "Not a ICorfuSerializable object");
         // container type
         byte type = b.readByte();
-        checkState(type == LogEntryType.SMR.asByte(), "Not a SMREntry!");
+        boolean compact = type == LogEntryType.SMR_V2.asByte();
+        checkState(compact || type == LogEntryType.SMR.asByte(), "Not a SMREntry!");
         // Method name
-        short methodLength = b.readShort();
-        b.skipBytes(methodLength);
+        if (compact) {
+            if (readVarInt(b) == SMRMethodDictionary.INLINE) {
+                b.skipBytes(readVarInt(b));
+            }
+        } else {
+            short methodLength = b.readShort();
+            b.skipBytes(methodLength);
+        }
         // Serializer type
         b.readByte();
         // num args
-        int numArgs = b.readByte();
+        int numArgs = compact ? readVarInt(b) : b.readByte();
         for (int arg = 0; arg < numArgs; arg++) {
-            int len = b.readInt();
+            int len = compact ? readVarInt(b) : b.readInt();
             b.skipBytes(len);
         }
     }
@@ -170,9 +210,20 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
     @Override
     public void serialize(ByteBuf b) {
         int startWriterIndex = b.writerIndex();
-        super.serialize(b);
-        b.writeShort(SMRMethod.length());
-        b.writeBytes(SMRMethod.getBytes());
+        if (compact) {
+            b.writeByte(LogEntryType.SMR_V2.asByte());
+            int methodId = SMRMethodDictionary.getId(SMRMethod);
+            writeVarInt(b, methodId);
+            if (methodId == SMRMethodDictionary.INLINE) {
+                byte[] methodBytes = SMRMethod.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(b, methodBytes.length);
+                b.writeBytes(methodBytes);
+            }
+        } else {
+            super.serialize(b);
+            b.writeShort(SMRMethod.length());
+            b.writeBytes(SMRMethod.getBytes());
+        }
         if (opaque) {
             //TODO(Maithem) add test for serialize/desrialize of opaque entries
             if (serializerId == -1) {
@@ -182,24 +233,108 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
         } else {
             b.writeByte(serializerType.getType());
         }
-        b.writeByte(SMRArguments.length);
-        Arrays.stream(SMRArguments)
-                .forEach(x -> {
-                    int lengthIndex = b.writerIndex();
-                    b.writeInt(0);
-                    if (opaque) {
-                        b.writeBytes((byte[]) x);
-                    } else {
-                        serializerType.serialize(x, b);
-                    }
-                    int length = b.writerIndex() - lengthIndex - 4;
-                    b.writerIndex(lengthIndex);
-                    b.writeInt(length);
-                    b.writerIndex(lengthIndex + length + 4);
-                });
+        writeArgumentCount(b, SMRArguments.length);
+        for (Object x : SMRArguments) {
+            if (opaque) {
+                writeArgument(b, buf -> buf.writeBytes((byte[]) x));
+            } else {
+                writeArgument(b, buf -> serializerType.serialize(x, buf));
+            }
+        }
         serializedSize = b.writerIndex() - startWriterIndex;
     }
 
+    private void writeArgumentCount(ByteBuf b, int count) {
+        if (compact) {
+            writeVarInt(b, count);
+        } else {
+            b.writeByte(count);
+        }
+    }
+
+    /**
+     * Write an argument, prefixed by its length. The length is only known once the argument is
+     * written, so in the compact encoding a single byte is reserved for it, and the argument is
+     * shifted in place if its length takes more.
+     */
+    private void writeArgument(ByteBuf b, Consumer<ByteBuf> writer) {
+        int lengthIndex = b.writerIndex();
+        int lengthBytes = compact ? 1 : Integer.BYTES;
+        b.writeZero(lengthBytes);
+        writer.accept(b);
+        int length = b.writerIndex() - lengthIndex - lengthBytes;
+
+        if (!compact) {
+            b.setInt(lengthIndex, length);
+            return;
+        }
+
+        int shift = varIntSize(length) - lengthBytes;
+        if (shift > 0) {
+            b.ensureWritable(shift);
+            shiftRight(b, lengthIndex + lengthBytes, length, shift);
+            b.writerIndex(b.writerIndex() + shift);
+        }
+        int argumentIndex = b.writerIndex();
+        b.writerIndex(lengthIndex);
+        writeVarInt(b, length);
+        b.writerIndex(argumentIndex);
+    }
+
+    /**
+     * Move the bytes in [index, index + length) of the buffer by shift bytes to the right. The
+     * bytes are copied from the last ones, so that none is overwritten before it is copied.
+     */
+    private static void shiftRight(ByteBuf b, int index, int length, int shift) {
+        int end = index + length;
+        while (end - index >= Long.BYTES) {
+            end -= Long.BYTES;
+            b.setLong(end + shift, b.getLong(end));
+        }
+        while (end > index) {
+            end--;
+            b.setByte(end + shift, b.getByte(end));
+        }
+    }
+
+    /**
+     * @return the number of bytes of the variable-length integer of the value
+     */
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~(VARINT_CONTINUATION - 1)) != 0) {
+            value >>>= VARINT_BITS;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Write an unsigned variable-length integer, 7 bits per byte, least significant bits first.
+     */
+    static void writeVarInt(ByteBuf b, int value) {
+        while ((value & ~(VARINT_CONTINUATION - 1)) != 0) {
+            b.writeByte((value & (VARINT_CONTINUATION - 1)) | VARINT_CONTINUATION);
+            value >>>= VARINT_BITS;
+        }
+        b.writeByte(value);
+    }
+
+    /**
+     * Read an unsigned variable-length integer written by {@link SMREntry#writeVarInt}.
+     */
+    static int readVarInt(ByteBuf b) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_BITS) {
+            byte next = b.readByte();
+            value |= (next & (VARINT_CONTINUATION - 1)) << shift;
+            if ((next & VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable-length integer");
+    }
+
     @Override
     public List<SMREntry> getSMRUpdates(UUID id) {
         // TODO: we should check that the id matches the id of this entry,
@@ -0,0 +1,52 @@
+package org.corfudb.protocols.logprotocol;
+
+import com.google.common.collect.ImmutableBiMap;
+
+/**
+ * The ids of the SMR methods in the compact SMREntry encoding. The methods of the built-in
+ * objects are encoded as a small id rather than as their name, while any other method is
+ * encoded as its name (id {@link SMRMethodDictionary#INLINE}).
+ * <p>
+ * The entries are decoded without knowing the type of the object they update (e.g. by log
+ * replication or stream listeners), so the dictionary is shared by all the object types.
+ * The ids are persisted in the log: they must never be changed or reused, only added.
+ */
+@SuppressWarnings("checkstyle:abbreviation")
+final class SMRMethodDictionary {
+
+    /**
+     * The id of a method which is not in the dictionary, and which is followed by its name.
+     */
+    static final int INLINE = 0;
+
+    private static final ImmutableBiMap<String, Integer> IDS = ImmutableBiMap.<String, Integer>builder()
+            .put("put", 1)
+            .put("remove", 2)
+            .put("putAll", 3)
+            .put("clear", 4)
+            .build();
+
+    private SMRMethodDictionary() {
+    }
+
+    /**
+     * @param method the name of an SMR method
+     * @return the id of the method, or {@link SMRMethodDictionary#INLINE} if it has none
+     */
+    static int getId(String method) {
+        return IDS.getOrDefault(method, INLINE);
+    }
+
+    /**
+     * @param id the id of an SMR method
+     * @return the name of the method
+     * @throws IllegalStateException if the id is unknown
+     */
+    static String getMethod(int id) {
+        String method = IDS.inverse().get(id);
+        if (method == null) {
+            throw new IllegalStateException("Unknown SMR method id " + id);
+        }
+        return method;
+    }
+}
@@ -0,0 +1,114 @@
+package org.corfudb.protocols.logprotocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.corfudb.common.compression.Codec;
+import org.corfudb.protocols.CorfuProtocolCommon;
+import org.corfudb.protocols.logprotocol.LogEntry.LogEntryType;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.LogData;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.corfudb.util.serializer.CorfuSerializer.corfuPayloadMagic;
+
+/**
+ * Extracts the updates of a single stream from log entries that span multiple streams.
+ * <p>
+ * The updates of each stream are kept in their serialized form, i.e., an entry is filtered
+ * without deserializing any SMR update, so this can be used by the log unit to serve stream
+ * reads without the serializers of the objects.
+ */
+public final class StreamEntryFilter {
+
+    private StreamEntryFilter() {
+        // Prevent initializing a utility class
+    }
+
+    /**
+     * Filter a log entry down to the updates of the given stream.
+     *
+     * @param logData  the log entry, as stored by the log unit
+     * @param streamId the stream whose updates should be kept
+     * @return a log entry with the same metadata, whose {@link MultiObjectSMREntry} payload only
+     * holds the updates of the stream and whose backpointers are restricted to the stream, or the
+     * entry itself if it has no such payload or does not hold updates of any other stream
+     */
+    public static LogData filter(LogData logData, UUID streamId) {
+        if (!logData.isData() || logData.getData() == null) {
+            return logData;
+        }
+
+        ByteBuf payload = decode(logData);
+        if (payload.readByte() != corfuPayloadMagic
+                || payload.readByte() != LogEntryType.MULTIOBJSMR.asByte()) {
+            return logData;
+        }
+
+        // The MultiObjectSMREntry payload is structured as follows:
+        // Magic | LogEntry Type | number of MultiSMREntry entries | MultiSMREntry id | serialized MultiSMREntry | ...
+        final int numStreams = payload.readInt();
+        ByteBuf filtered = Unpooled.buffer();
+        filtered.writeByte(corfuPayloadMagic);
+        filtered.writeByte(LogEntryType.MULTIOBJSMR.asByte());
+        final int numStreamsIndex = filtered.writerIndex();
+        filtered.writeInt(0);
+
+        int numFiltered = 0;
+        for (int i = 0; i < numStreams; i++) {
+            long msb = payload.readLong();
+            long lsb = payload.readLong();
+            int start = payload.readerIndex();
+            MultiSMREntry.seekToEnd(payload);
+
+            if (msb == streamId.getMostSignificantBits() && lsb == streamId.getLeastSignificantBits()) {
+                filtered.writeLong(msb);
+                filtered.writeLong(lsb);
+                filtered.writeBytes(payload, start, payload.readerIndex() - start);
+                numFiltered++;
+            }
+        }
+
+        if (numFiltered == numStreams) {
+            return logData;
+        }
+        filtered.setInt(numStreamsIndex, numFiltered);
+
+        LogData result = new LogData(DataType.DATA, encode(logData, filtered));
+        result.getMetadataMap().putAll(logData.getMetadataMap());
+        // The filtered entry no longer belongs to the other streams
+        Long backpointer = logData.getBackpointerMap().get(streamId);
+        result.setBackpointerMap(backpointer == null
+                ? Collections.emptyMap() : Collections.singletonMap(streamId, backpointer));
+        return result;
+    }
+
+    private static ByteBuf decode(LogData logData) {
+        byte[] data = logData.getData();
+        if (!logData.hasPayloadCodec()) {
+            return Unpooled.wrappedBuffer(data);
+        }
+
+        // If the payload has a codec we need to decode it before inspecting it
+        ByteBuf compressedBuf = CorfuProtocolCommon.fromBuffer(data, ByteBuf.class);
+        byte[] compressedArrayBuf = new byte[compressedBuf.readableBytes()];
+        compressedBuf.readBytes(compressedArrayBuf);
+        return Unpooled.wrappedBuffer(logData.getPayloadCodecType()
+                .getInstance().decompress(ByteBuffer.wrap(compressedArrayBuf)));
+    }
+
+    private static ByteBuf encode(LogData logData, ByteBuf payload) {
+        if (!logData.hasPayloadCodec()) {
+            return payload;
+        }
+
+        // Keep the codec of the original entry, so the filtered payload is compressed as well
+        Codec codec = logData.getPayloadCodecType().getInstance();
+        ByteBuffer compressed = codec.compress(ByteBuffer.wrap(payload.array(), 0, payload.readableBytes()));
+        ByteBuf encoded = Unpooled.buffer();
+        CorfuProtocolCommon.serialize(encoded, Unpooled.wrappedBuffer(compressed));
+        return encoded;
+    }
+}
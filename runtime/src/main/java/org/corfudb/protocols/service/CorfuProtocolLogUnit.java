@@ -1,5 +1,6 @@
 package org.corfudb.protocols.service;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import org.corfudb.protocols.wireprotocol.InspectAddressesResponse;
 import org.corfudb.protocols.wireprotocol.KnownAddressResponse;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
+import org.corfudb.protocols.wireprotocol.ReadStreamResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.proto.RpcCommon.UuidToLongPairMsg;
@@ -32,8 +34,11 @@ import org.corfudb.runtime.proto.service.LogUnit.LogAddressSpaceRequestMsg;
 import org.corfudb.runtime.proto.service.LogUnit.LogAddressSpaceResponseMsg;
 import org.corfudb.runtime.proto.service.LogUnit.RangeWriteLogRequestMsg;
 import org.corfudb.runtime.proto.service.LogUnit.RangeWriteLogResponseMsg;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
 import org.corfudb.runtime.proto.service.LogUnit.ReadLogRequestMsg;
 import org.corfudb.runtime.proto.service.LogUnit.ReadLogResponseMsg;
+import org.corfudb.runtime.proto.service.LogUnit.ReadStreamRequestMsg;
+import org.corfudb.runtime.proto.service.LogUnit.ReadStreamResponseMsg;
 import org.corfudb.runtime.proto.service.LogUnit.ResetLogUnitRequestMsg;
 import org.corfudb.runtime.proto.service.LogUnit.ResetLogUnitResponseMsg;
 import org.corfudb.runtime.proto.service.LogUnit.TailRequestMsg;
@@ -74,9 +79,23 @@ public final class CorfuProtocolLogUnit {
      * @return           a RequestPayloadMsg containing the READ request
      */
     public static RequestPayloadMsg getReadLogRequestMsg(List<Long> addresses, boolean cacheable) {
+        return getReadLogRequestMsg(addresses, cacheable, true);
+    }
+
+    /**
+     * Returns a READ request that can be sent by the client.
+     *
+     * @param addresses        a list of addresses to read from
+     * @param cacheable        true if the read result should be cached on the LogUnit server
+     * @param acceptRawEntries true if the entries can be sent as persisted by the LogUnit server
+     * @return                 a RequestPayloadMsg containing the READ request
+     */
+    public static RequestPayloadMsg getReadLogRequestMsg(List<Long> addresses, boolean cacheable,
+                                                         boolean acceptRawEntries) {
         return RequestPayloadMsg.newBuilder()
                 .setReadLogRequest(ReadLogRequestMsg.newBuilder()
                         .setCacheResults(cacheable)
+                        .setAcceptRawEntries(acceptRawEntries)
                         .addAllAddress(addresses)
                         .build())
                 .build();
@@ -99,6 +118,22 @@ public final class CorfuProtocolLogUnit {
                 .build();
     }
 
+    /**
+     * Returns a READ_LOG response message from the log unit server, part of the entries of
+     * which are sent as raw log entries following the message.
+     *
+     * @param addresses  a map containing the inline LogData entries
+     * @param rawEntries the raw log entries following the message
+     * @return           a ResponsePayloadMsg containing the READ_LOG response
+     */
+    public static ResponsePayloadMsg getReadLogResponseMsg(Map<Long, LogData> addresses,
+                                                           List<RawLogEntryMsg> rawEntries) {
+        ResponsePayloadMsg response = getReadLogResponseMsg(addresses);
+        return response.toBuilder()
+                .setReadLogResponse(response.getReadLogResponse().toBuilder().addAllRawEntries(rawEntries))
+                .build();
+    }
+
     /**
      * Returns a ReadResponse from its Protobuf representation.
      *
@@ -112,6 +147,61 @@ public final class CorfuProtocolLogUnit {
         return rr;
     }
 
+    /**
+     * Returns a READ_STREAM request that can be sent by the client.
+     *
+     * @param streamId    the stream to read
+     * @param start       start of the range of addresses to read (exclusive)
+     * @param end         end of the range of addresses to read (inclusive)
+     * @param maxEntries  max number of entries in the response
+     * @param cacheable   true if the read result should be cached on the LogUnit server
+     * @return            a RequestPayloadMsg containing the READ_STREAM request
+     */
+    public static RequestPayloadMsg getReadStreamRequestMsg(UUID streamId, long start, long end,
+                                                            int maxEntries, boolean cacheable) {
+        return RequestPayloadMsg.newBuilder()
+                .setReadStreamRequest(ReadStreamRequestMsg.newBuilder()
+                        .setStreamId(getUuidMsg(streamId))
+                        .setStart(start)
+                        .setEnd(end)
+                        .setMaxEntries(maxEntries)
+                        .setCacheResults(cacheable)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns a READ_STREAM response that can be sent by the server.
+     *
+     * @param addresses    a map containing the stream entries read, in address order
+     * @param lastAddress  the last address covered by the response
+     * @return             a ResponsePayloadMsg containing the READ_STREAM response
+     */
+    public static ResponsePayloadMsg getReadStreamResponseMsg(Map<Long, LogData> addresses, long lastAddress) {
+        return ResponsePayloadMsg.newBuilder()
+                .setReadStreamResponse(ReadStreamResponseMsg.newBuilder()
+                        .addAllResponse(addresses.entrySet()
+                                .stream()
+                                .map(e -> getReadResponseMsg(e.getKey(), e.getValue()))
+                                .collect(Collectors.toList()))
+                        .setLastAddress(lastAddress)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns a ReadStreamResponse from its Protobuf representation.
+     *
+     * @param msg  the desired Protobuf ReadStreamResponse message
+     * @return     an equivalent ReadStreamResponse object
+     */
+    public static ReadStreamResponse getReadStreamResponse(ReadStreamResponseMsg msg) {
+        Map<Long, LogData> addresses = new HashMap<>();
+        msg.getResponseList().forEach(e -> addresses.put(e.getAddress(), getLogData(e.getLogData())));
+
+        return new ReadStreamResponse(addresses, msg.getLastAddress());
+    }
+
     /**
      * Returns a WRITE request that can be sent by the client.
      *
@@ -362,6 +452,21 @@ public final class CorfuProtocolLogUnit {
                 .build();
     }
 
+    /**
+     * Returns a LOG_ADDRESS_SPACE request that can be sent by the client, which only requests
+     * the addresses from startAddress onward.
+     *
+     * @param startAddress  the first address requested
+     * @return              a RequestPayloadMsg containing the LOG_ADDRESS_SPACE request
+     */
+    public static RequestPayloadMsg getLogAddressSpaceRequestMsg(long startAddress) {
+        return RequestPayloadMsg.newBuilder()
+                .setLogAddressSpaceRequest(LogAddressSpaceRequestMsg.newBuilder()
+                        .setStartAddress(startAddress)
+                        .build())
+                .build();
+    }
+
     /**
      * Returns a LOG_ADDRESS_SPACE response that can be sent by the server.
      *
@@ -22,6 +22,7 @@ import org.corfudb.runtime.proto.service.Management.ReportFailureRequestMsg;
 import org.corfudb.runtime.proto.service.Management.ReportFailureResponseMsg;
 import org.corfudb.runtime.view.Layout;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -32,6 +33,7 @@ import static org.corfudb.protocols.CorfuProtocolCommon.getSequencerMetricsMsg;
 import static org.corfudb.protocols.CorfuProtocolNodeConnectivity.getNodeConnectivity;
 import static org.corfudb.protocols.CorfuProtocolNodeConnectivity.getNodeConnectivityMsg;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getAddNodeWorkflowMsg;
+import static org.corfudb.protocols.CorfuProtocolWorkflows.getAddStripesWorkflowMsg;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getCreatedWorkflowMsg;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getForceRemoveNodeWorkflowMsg;
 import static org.corfudb.protocols.CorfuProtocolWorkflows.getHealNodeWorkflowMsg;
@@ -342,6 +344,23 @@ public final class CorfuProtocolManagement {
                 .build();
     }
 
+    /**
+     * Returns an ORCHESTRATOR request message containing an AddStripesWorkflowMsg
+     * that can be sent by the client. Used to initiate a workflow that adds new
+     * log unit stripes to the cluster.
+     *
+     * @param stripes      the log servers of every new stripe, in chain order
+     * @param startAddress the lowest address the new stripes are used from
+     * @return a RequestPayloadMsg containing the ORCHESTRATOR request
+     */
+    public static RequestPayloadMsg getAddStripesRequestMsg(List<List<String>> stripes, long startAddress) {
+        return RequestPayloadMsg.newBuilder()
+                .setOrchestratorRequest(OrchestratorRequestMsg.newBuilder()
+                        .setAddStripes(getAddStripesWorkflowMsg(stripes, startAddress))
+                        .build())
+                .build();
+    }
+
     /**
      * Returns an ORCHESTRATOR response message containing a QueriedWorkflowMsg that
      * can be sent by the server. Used to indicate the status of a previously queried
@@ -1,5 +1,6 @@
 package org.corfudb.protocols.service;
 
+import java.util.List;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.util.CompatibilityVectorUtils;
@@ -8,6 +9,7 @@ import org.corfudb.runtime.proto.ServerErrors.ServerErrorMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
 import org.corfudb.runtime.proto.service.CorfuMessage.ProtocolVersionMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
+import org.corfudb.runtime.proto.service.CorfuMessage.RequestBatchMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
@@ -151,6 +153,18 @@ public final class CorfuProtocolMessage {
                 .build();
     }
 
+    /**
+     * Returns a batch of request messages sent by the clients in a single frame.
+     *
+     * @param requests  the requests of the batch
+     * @return          a RequestBatchMsg with the provided requests
+     */
+    public static RequestBatchMsg getRequestBatchMsg(List<RequestMsg> requests) {
+        return RequestBatchMsg.newBuilder()
+                .addAllRequests(requests)
+                .build();
+    }
+
     /**
      * Returns a response message sent by the server.
      *
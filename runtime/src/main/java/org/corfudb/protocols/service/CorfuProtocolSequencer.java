@@ -3,7 +3,9 @@ package org.corfudb.protocols.service;
 import com.google.common.collect.EnumBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.common.compression.Codec;
 import org.corfudb.protocols.CorfuProtocolCommon;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
 import org.corfudb.protocols.wireprotocol.StreamAddressRange;
@@ -11,29 +13,41 @@ import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TokenType;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.exceptions.SerializerException;
 import org.corfudb.runtime.proto.RpcCommon.UuidToLongPairMsg;
 import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponsePayloadMsg;
 import org.corfudb.runtime.proto.service.Sequencer.BootstrapSequencerRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.BootstrapSequencerResponseMsg;
+import org.corfudb.runtime.proto.service.Sequencer.ConflictKeyMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerBootstrapChunkRequestMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerBootstrapChunkResponseMsg;
 import org.corfudb.runtime.proto.service.Sequencer.SequencerMetricsRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.SequencerMetricsResponseMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbyStatusRequestMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbyStatusResponseMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncRequestMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncResponseMsg;
 import org.corfudb.runtime.proto.service.Sequencer.SequencerTrimRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.SequencerTrimResponseMsg;
+import org.corfudb.runtime.proto.service.Sequencer.StreamsAddressMapMsg;
 import org.corfudb.runtime.proto.service.Sequencer.StreamsAddressRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.TokenRequestMsg;
 import org.corfudb.runtime.proto.service.Sequencer.TokenRequestMsg.TokenRequestType;
 import org.corfudb.runtime.proto.service.Sequencer.TokenResponseMsg;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.corfudb.protocols.CorfuProtocolCommon.getSequencerMetricsMsg;
+import static org.corfudb.protocols.CorfuProtocolCommon.getStreamAddressSpace;
 import static org.corfudb.protocols.CorfuProtocolCommon.getStreamAddressSpaceMsg;
 import static org.corfudb.protocols.CorfuProtocolCommon.getTokenMsg;
 import static org.corfudb.protocols.CorfuProtocolCommon.getUUID;
@@ -49,6 +63,7 @@ import static org.corfudb.protocols.CorfuProtocolTxResolution.getTxResolutionInf
  * - SequencerTrimRequestMsg
  * - SequencerMetricsRequestMsg
  * - StreamsAddressRequestMsg
+ * - SequencerBootstrapChunkRequestMsg
  * These methods are used by both the client and the server.
  */
 @Slf4j
@@ -313,17 +328,154 @@ public final class CorfuProtocolSequencer {
                         .setGlobalTail(globalTail)
                         .setSequencerEpoch(sequencerEpoch)
                         .setBootstrapWithoutTailsUpdate(bootstrapWithoutTailsUpdate)
-                        .addAllStreamsAddressMap(streamAddressSpaceMap.entrySet()
-                                .stream()
-                                .map(entry -> UuidToStreamAddressSpacePairMsg.newBuilder()
-                                        .setStreamUuid(getUuidMsg(entry.getKey()))
-                                        .setAddressSpace(getStreamAddressSpaceMsg(entry.getValue()))
-                                        .build())
-                                .collect(Collectors.toList()))
+                        .addAllStreamsAddressMap(getStreamsAddressMapMsg(streamAddressSpaceMap))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns the {@link RequestPayloadMsg} Java object from the
+     * {@link BootstrapSequencerRequestMsg} Protobuf object, which promotes
+     * a hot-standby sequencer.
+     *
+     * @param streamAddressSpaceMap the addresses of the streams from standbyTail onward
+     * @param globalTail            the globalTail of the request
+     * @param sequencerEpoch        the sequencerEpoch of the request
+     * @param standbyTail           the global tail the standby was synced up to
+     * @return a new {@link RequestPayloadMsg} Protobuf object
+     */
+    public static RequestPayloadMsg getStandbyBootstrapSequencerRequestMsg(
+            Map<UUID, StreamAddressSpace> streamAddressSpaceMap,
+            long globalTail, long sequencerEpoch, long standbyTail) {
+        return RequestPayloadMsg.newBuilder()
+                .setBootstrapSequencerRequest(BootstrapSequencerRequestMsg.newBuilder()
+                        .setGlobalTail(globalTail)
+                        .setSequencerEpoch(sequencerEpoch)
+                        .setBootstrapFromStandby(true)
+                        .setStandbyTail(standbyTail)
+                        .addAllStreamsAddressMap(getStreamsAddressMapMsg(streamAddressSpaceMap))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns the {@link RequestPayloadMsg} Java object from the
+     * {@link BootstrapSequencerRequestMsg} Protobuf object, which commits
+     * a chunked bootstrap.
+     *
+     * @param globalTail     the globalTail of the request
+     * @param sequencerEpoch the sequencerEpoch of the request
+     * @param numChunks      the number of chunks sent for this bootstrap
+     * @return a new {@link RequestPayloadMsg} Protobuf object
+     */
+    public static RequestPayloadMsg getChunkedBootstrapSequencerRequestMsg(
+            long globalTail, long sequencerEpoch, int numChunks) {
+        return RequestPayloadMsg.newBuilder()
+                .setBootstrapSequencerRequest(BootstrapSequencerRequestMsg.newBuilder()
+                        .setGlobalTail(globalTail)
+                        .setSequencerEpoch(sequencerEpoch)
+                        .setNumChunks(numChunks)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns a new {@link RequestPayloadMsg} Protobuf object consisting of a
+     * {@link SequencerBootstrapChunkRequestMsg} object.
+     *
+     * @param sequencerEpoch    the epoch of the bootstrap the chunk belongs to
+     * @param chunkIndex        the index of the chunk in the bootstrap
+     * @param streamsAddressMap the address maps of the streams in the chunk
+     * @param codecType         the codec to compress the address maps with
+     * @return a new {@link RequestPayloadMsg} Protobuf object
+     */
+    public static RequestPayloadMsg getSequencerBootstrapChunkRequestMsg(
+            long sequencerEpoch, int chunkIndex,
+            List<UuidToStreamAddressSpacePairMsg> streamsAddressMap, Codec.Type codecType) {
+        byte[] serialized = StreamsAddressMapMsg.newBuilder()
+                .addAllStreamsAddressMap(streamsAddressMap)
+                .build()
+                .toByteArray();
+
+        return RequestPayloadMsg.newBuilder()
+                .setSequencerBootstrapChunkRequest(SequencerBootstrapChunkRequestMsg.newBuilder()
+                        .setSequencerEpoch(sequencerEpoch)
+                        .setChunkIndex(chunkIndex)
+                        .setCodecType(codecType.getId())
+                        .setStreamsAddressMap(ByteString.copyFrom(
+                                codecType.getInstance().compress(ByteBuffer.wrap(serialized))))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns the address maps of the streams in a chunk of a chunked bootstrap.
+     *
+     * @param msg the {@link SequencerBootstrapChunkRequestMsg} Protobuf object
+     * @return the address spaces of the streams in the chunk
+     * @throws SerializerException if unable to decompress or deserialize the chunk
+     */
+    public static Map<UUID, StreamAddressSpace> getStreamsAddressMap(SequencerBootstrapChunkRequestMsg msg) {
+        Codec codec = Codec.getCodecTypeById(msg.getCodecType()).getInstance();
+        try {
+            StreamsAddressMapMsg streamsAddressMap = StreamsAddressMapMsg.parseFrom(
+                    codec.decompress(ByteBuffer.wrap(msg.getStreamsAddressMap().toByteArray())));
+
+            Map<UUID, StreamAddressSpace> addressSpaceMap = new HashMap<>();
+            for (UuidToStreamAddressSpacePairMsg entry : streamsAddressMap.getStreamsAddressMapList()) {
+                addressSpaceMap.put(getUUID(entry.getStreamUuid()),
+                        getStreamAddressSpace(entry.getAddressSpace()));
+            }
+            return addressSpaceMap;
+        } catch (InvalidProtocolBufferException ex) {
+            throw new SerializerException("Unexpected error while deserializing bootstrap chunk", ex);
+        }
+    }
+
+    /**
+     * Returns a new {@link ResponsePayloadMsg} Protobuf object consisting of a
+     * {@link SequencerBootstrapChunkResponseMsg} object.
+     *
+     * @param isAccepted the boolean value indicating if the chunk was accepted or not
+     * @return a new {@link ResponsePayloadMsg} Protobuf object
+     */
+    public static ResponsePayloadMsg getSequencerBootstrapChunkResponseMsg(boolean isAccepted) {
+        return ResponsePayloadMsg.newBuilder()
+                .setSequencerBootstrapChunkResponse(SequencerBootstrapChunkResponseMsg.newBuilder()
+                        .setIsAccepted(isAccepted)
                         .build())
                 .build();
     }
 
+    /**
+     * Returns the Protobuf representation of a stream and its address space.
+     *
+     * @param streamId     the id of the stream
+     * @param addressSpace the address space of the stream
+     * @return a {@link UuidToStreamAddressSpacePairMsg} Protobuf object
+     */
+    public static UuidToStreamAddressSpacePairMsg getStreamAddressSpacePairMsg(
+            UUID streamId, StreamAddressSpace addressSpace) {
+        return UuidToStreamAddressSpacePairMsg.newBuilder()
+                .setStreamUuid(getUuidMsg(streamId))
+                .setAddressSpace(getStreamAddressSpaceMsg(addressSpace))
+                .build();
+    }
+
+    /**
+     * Returns the Protobuf representation of a map of streams to their address spaces.
+     *
+     * @param streamAddressSpaceMap the address spaces of the streams
+     * @return a list of {@link UuidToStreamAddressSpacePairMsg} Protobuf objects
+     */
+    public static List<UuidToStreamAddressSpacePairMsg> getStreamsAddressMapMsg(
+            Map<UUID, StreamAddressSpace> streamAddressSpaceMap) {
+        return streamAddressSpaceMap.entrySet()
+                .stream()
+                .map(entry -> getStreamAddressSpacePairMsg(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Returns the {@link ResponsePayloadMsg} Java object from the
      * {@link BootstrapSequencerResponseMsg} Protobuf object.
@@ -339,4 +491,76 @@ public final class CorfuProtocolSequencer {
                         .build())
                 .build();
     }
+
+    /**
+     * Returns the {@link ConflictKeyMsg} Protobuf object of a conflict key.
+     *
+     * @param streamId      the stream of the conflict key
+     * @param conflictParam the conflict parameter
+     * @param address       the address of the latest update of the conflict key
+     * @return a new {@link ConflictKeyMsg} Protobuf object
+     */
+    public static ConflictKeyMsg getConflictKeyMsg(UUID streamId, byte[] conflictParam, long address) {
+        return ConflictKeyMsg.newBuilder()
+                .setStreamId(getUuidMsg(streamId))
+                .setConflictParam(ByteString.copyFrom(conflictParam))
+                .setAddress(address)
+                .build();
+    }
+
+    /**
+     * Returns a new {@link RequestPayloadMsg} Protobuf object consisting of the given
+     * {@link SequencerStandbySyncRequestMsg} object.
+     *
+     * @param standbySync the state shipped to a hot-standby sequencer
+     * @return a new {@link RequestPayloadMsg} Protobuf object
+     */
+    public static RequestPayloadMsg getSequencerStandbySyncRequestMsg(
+            SequencerStandbySyncRequestMsg standbySync) {
+        return RequestPayloadMsg.newBuilder()
+                .setSequencerStandbySyncRequest(standbySync)
+                .build();
+    }
+
+    /**
+     * Returns a new {@link ResponsePayloadMsg} Protobuf object consisting of a
+     * {@link SequencerStandbySyncResponseMsg} object.
+     *
+     * @param isSynced the boolean value indicating if the standby applied the sync or not
+     * @return a new {@link ResponsePayloadMsg} Protobuf object
+     */
+    public static ResponsePayloadMsg getSequencerStandbySyncResponseMsg(boolean isSynced) {
+        return ResponsePayloadMsg.newBuilder()
+                .setSequencerStandbySyncResponse(SequencerStandbySyncResponseMsg.newBuilder()
+                        .setIsSynced(isSynced)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns a new {@link RequestPayloadMsg} Protobuf object consisting of a default
+     * {@link SequencerStandbyStatusRequestMsg} object.
+     *
+     * @return the {@link RequestPayloadMsg} Protobuf object
+     */
+    public static RequestPayloadMsg getSequencerStandbyStatusRequestMsg() {
+        return RequestPayloadMsg.newBuilder()
+                .setSequencerStandbyStatusRequest(SequencerStandbyStatusRequestMsg.getDefaultInstance())
+                .build();
+    }
+
+    /**
+     * Returns a new {@link ResponsePayloadMsg} Protobuf object consisting of a
+     * {@link SequencerStandbyStatusResponseMsg} object.
+     *
+     * @param standbyTail the global tail the standby is synced up to
+     * @return a new {@link ResponsePayloadMsg} Protobuf object
+     */
+    public static ResponsePayloadMsg getSequencerStandbyStatusResponseMsg(long standbyTail) {
+        return ResponsePayloadMsg.newBuilder()
+                .setSequencerStandbyStatusResponse(SequencerStandbyStatusResponseMsg.newBuilder()
+                        .setStandbyTail(standbyTail)
+                        .build())
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package org.corfudb.protocols.wireprotocol;
 
+import com.google.common.hash.Hashing;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.Unpooled;
@@ -7,11 +8,21 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.infrastructure.log.LogFormat.LogEntry;
 import org.corfudb.protocols.CorfuProtocolCommon.MessageMarker;
+import org.corfudb.runtime.proto.service.CorfuMessage.RequestBatchMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
+import org.corfudb.runtime.proto.service.LogUnit.ReadLogResponseMsg;
+
+import static org.corfudb.protocols.CorfuProtocolLogData.getLogData;
+import static org.corfudb.protocols.CorfuProtocolLogData.getReadResponseMsg;
+import static org.corfudb.protocols.CorfuProtocolServerErrors.getDataCorruptionErrorMsg;
+import static org.corfudb.protocols.service.CorfuProtocolMessage.getResponseMsg;
 
 /**
  * Created by mwei on 10/1/15.
@@ -46,6 +57,31 @@ public class NettyCorfuMessageDecoder extends ByteToMessageDecoder {
                     }
                 }
 
+                break;
+            case PROTO_REQUEST_BATCH_MSG_MARK:
+                // The requests of a batch are passed on individually, so they are
+                // dispatched by the server router as if they were sent one by one.
+                try (ByteBufInputStream msgInputStream = new ByteBufInputStream(byteBuf)) {
+                    try {
+                        RequestBatchMsg batch = RequestBatchMsg.parseFrom(msgInputStream);
+                        list.addAll(batch.getRequestsList());
+                    } catch (IOException e) {
+                        log.error("decode: An exception occurred during parsing request batch "
+                                + "from ByteBufInputStream.", e);
+                    }
+                }
+
+                break;
+            case PROTO_RESPONSE_WITH_RAW_ENTRIES_MSG_MARK:
+                try {
+                    list.add(decodeResponseWithRawEntries(byteBuf));
+                } catch (IOException e) {
+                    log.error("decode: An exception occurred during parsing response "
+                            + "with raw log entries from ByteBuf.", e);
+                } finally {
+                    byteBuf.skipBytes(byteBuf.readableBytes());
+                }
+
                 break;
             case PROTO_RESPONSE_MSG_MARK:
                 try (ByteBufInputStream msgInputStream = new ByteBufInputStream(byteBuf)) {
@@ -64,6 +100,57 @@ public class NettyCorfuMessageDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Decodes a read response followed by the raw log entries it describes, i.e., the log
+     * entries as persisted by the log unit, into a read response holding all the entries.
+     *
+     * @param byteBuf the frame, after its message marker
+     * @return the read response
+     * @throws IOException if the response or a log entry cannot be parsed
+     */
+    private ResponseMsg decodeResponseWithRawEntries(ByteBuf byteBuf) throws IOException {
+        final int responseLength = byteBuf.readInt();
+        ResponseMsg response;
+        try (ByteBufInputStream msgInputStream = new ByteBufInputStream(byteBuf.readSlice(responseLength))) {
+            response = ResponseMsg.parseFrom(msgInputStream);
+        }
+
+        // The offsets of the raw log entries are relative to the end of the response
+        return inlineRawEntries(response, byteBuf);
+    }
+
+    /**
+     * Adds the raw log entries described by a read response to the response. The raw log
+     * entries are not verified by the log unit, so if the checksum of an entry does not match,
+     * a DATA_CORRUPTION_ERROR response for its address is returned instead.
+     *
+     * @param response   the read response
+     * @param rawEntries the raw log entries, starting at the reader index
+     * @return the read response holding all the entries, or a DATA_CORRUPTION_ERROR response
+     * @throws IOException if a log entry cannot be parsed
+     */
+    public static ResponseMsg inlineRawEntries(ResponseMsg response, ByteBuf rawEntries) throws IOException {
+        final int rawEntriesIndex = rawEntries.readerIndex();
+        ReadLogResponseMsg readResponse = response.getPayload().getReadLogResponse();
+        ReadLogResponseMsg.Builder readResponseBuilder = readResponse.toBuilder().clearRawEntries();
+        for (RawLogEntryMsg rawEntry : readResponse.getRawEntriesList()) {
+            ByteBuffer entryBuffer = rawEntries.nioBuffer(
+                    Math.toIntExact(rawEntriesIndex + rawEntry.getOffset()), rawEntry.getLength());
+            if (Hashing.crc32c().newHasher().putBytes(entryBuffer.duplicate()).hash().asInt()
+                    != rawEntry.getChecksum()) {
+                log.warn("inlineRawEntries: checksum mismatch of the raw log entry at {}", rawEntry.getAddress());
+                return getResponseMsg(response.getHeader(), getDataCorruptionErrorMsg(rawEntry.getAddress()));
+            }
+
+            LogData logData = getLogData(LogEntry.parseFrom(entryBuffer));
+            readResponseBuilder.addResponse(getReadResponseMsg(rawEntry.getAddress(), logData));
+        }
+
+        return response.toBuilder()
+                .setPayload(response.getPayload().toBuilder().setReadLogResponse(readResponseBuilder))
+                .build();
+    }
+
     @Override
     protected void decodeLast(ChannelHandlerContext ctx, ByteBuf in,
                               List<Object> out) throws Exception {
@@ -2,17 +2,21 @@ package org.corfudb.protocols.wireprotocol;
 
 import com.google.protobuf.TextFormat;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.util.concurrent.atomic.LongAccumulator;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.runtime.proto.service.CorfuMessage.RequestBatchMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestMsg;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
 
+import static org.corfudb.protocols.CorfuProtocolCommon.MessageMarker.PROTO_REQUEST_BATCH_MSG_MARK;
 import static org.corfudb.protocols.CorfuProtocolCommon.MessageMarker.PROTO_REQUEST_MSG_MARK;
 import static org.corfudb.protocols.CorfuProtocolCommon.MessageMarker.PROTO_RESPONSE_MSG_MARK;
+import static org.corfudb.protocols.CorfuProtocolCommon.MessageMarker.PROTO_RESPONSE_WITH_RAW_ENTRIES_MSG_MARK;
 
 /**
  * Created by mwei on 10/1/15.
@@ -47,6 +51,18 @@ public class NettyCorfuMessageEncoder extends MessageToByteEncoder<Object> {
                                 e.getCause(), e);
                     }
                 }
+            } else if (object instanceof RequestBatchMsg) {
+                RequestBatchMsg batch = (RequestBatchMsg) object;
+                try (ByteBufOutputStream batchOutputStream = new ByteBufOutputStream(byteBuf)) {
+                    try {
+                        // Marks the Corfu msg as a batch of protobuf requests.
+                        batchOutputStream.writeByte(PROTO_REQUEST_BATCH_MSG_MARK.asByte());
+                        batch.writeTo(batchOutputStream);
+                    } catch (IOException e) {
+                        log.warn("encode: Exception occurred when encoding a batch of {} requests, caused by {}",
+                                batch.getRequestsCount(), e.getCause(), e);
+                    }
+                }
             } else if (object instanceof ResponseMsg) {
                 ResponseMsg response = (ResponseMsg) object;
 
@@ -78,4 +94,38 @@ public class NettyCorfuMessageEncoder extends MessageToByteEncoder<Object> {
             log.error("encode: Error during serialization!", e);
         }
     }
+
+    /**
+     * Encodes the beginning of a frame which holds a read response followed by the raw log
+     * entries it describes. The raw log entries are written to the channel separately (e.g.
+     * as regions of the log files), so the frame is written bypassing this encoder and the
+     * length field prepender of the pipeline, and carries its own length field.
+     *
+     * @param allocator        the allocator of the channel
+     * @param response         the read response, describing the raw log entries
+     * @param rawEntriesLength the total length of the raw log entries
+     * @return the beginning of the frame, up to the raw log entries
+     * @throws IOException if the response cannot be serialized
+     */
+    public static ByteBuf encodeResponseWithRawEntries(ByteBufAllocator allocator, ResponseMsg response,
+                                                       long rawEntriesLength) throws IOException {
+        final int responseLength = response.getSerializedSize();
+        final long frameLength = Byte.BYTES + Integer.BYTES + responseLength + rawEntriesLength;
+        if (frameLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Frame of " + frameLength + " bytes is too large");
+        }
+
+        ByteBuf byteBuf = allocator.buffer(Integer.BYTES + Byte.BYTES + Integer.BYTES + responseLength);
+        try (ByteBufOutputStream responseOutputStream = new ByteBufOutputStream(byteBuf)) {
+            responseOutputStream.writeInt((int) frameLength);
+            // Marks the Corfu msg as protobuf response followed by raw log entries.
+            responseOutputStream.writeByte(PROTO_RESPONSE_WITH_RAW_ENTRIES_MSG_MARK.asByte());
+            responseOutputStream.writeInt(responseLength);
+            response.writeTo(responseOutputStream);
+        } catch (IOException | RuntimeException e) {
+            byteBuf.release();
+            throw e;
+        }
+        return byteBuf;
+    }
 }
@@ -0,0 +1,16 @@
+package org.corfudb.protocols.wireprotocol;
+
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Response to a stream read, with the entries of the stream found in the
+ * requested range and the last address covered by the response.
+ */
+@Value
+public class ReadStreamResponse {
+
+    Map<Long, LogData> addresses;
+
+    long lastAddress;
+}
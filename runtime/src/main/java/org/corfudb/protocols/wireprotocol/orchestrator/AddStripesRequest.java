@@ -0,0 +1,41 @@
+package org.corfudb.protocols.wireprotocol.orchestrator;
+
+import lombok.Getter;
+
+import java.util.List;
+
+import static org.corfudb.protocols.wireprotocol.orchestrator.OrchestratorRequestType.ADD_STRIPES;
+
+/**
+ * An orchestrator request to add new log unit stripes to the cluster. The new stripes are
+ * added to a new segment, which starts at the start address or after the log tail, whichever
+ * is greater.
+ */
+public class AddStripesRequest implements Request {
+
+    /**
+     * The log servers of every new stripe, in chain order.
+     */
+    @Getter
+    List<List<String>> stripes;
+
+    @Getter
+    long startAddress;
+
+    public AddStripesRequest(List<List<String>> stripes, long startAddress) {
+        this.stripes = stripes;
+        this.startAddress = startAddress;
+    }
+
+    /**
+     * @return the endpoint which identifies the workflow, i.e. the head of the first new stripe
+     */
+    public String getEndpoint() {
+        return stripes.get(0).get(0);
+    }
+
+    @Override
+    public OrchestratorRequestType getType() {
+        return ADD_STRIPES;
+    }
+}
@@ -39,7 +39,12 @@ public enum OrchestratorRequestType {
     /**
      * Restore redundancy and merge segments in the layout.
      */
-    RESTORE_REDUNDANCY_MERGE_SEGMENTS(5);
+    RESTORE_REDUNDANCY_MERGE_SEGMENTS(5),
+
+    /**
+     * Add log unit stripes to the cluster
+     */
+    ADD_STRIPES(6);
 
     @Getter
     public final int type;
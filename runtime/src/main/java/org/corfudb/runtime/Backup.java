@@ -1,28 +1,42 @@
 package org.corfudb.runtime;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.io.FileUtils;
+import org.corfudb.common.compression.CodecOutputStream;
 import org.corfudb.protocols.logprotocol.OpaqueEntry;
 import org.corfudb.protocols.logprotocol.SMREntry;
 import org.corfudb.runtime.exceptions.BackupRestoreException;
 import org.corfudb.runtime.exceptions.TrimmedException;
+import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.StreamOptions;
 import org.corfudb.runtime.view.TableRegistry;
 import org.corfudb.runtime.view.stream.OpaqueStream;
+import org.corfudb.util.CFUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -33,8 +47,14 @@ import java.util.stream.Stream;
  *
  * Steps:
  * 1. Open the selective set of tables as OpaqueStreams
- * 2. Write each table to individual temporary file
- * 3. Merge temporary backup files into a single .tar file under a user-given path
+ * 2. Write each table to individual temporary file, compressed with the runtime codec.
+ *    Up to backupRestoreParallelism tables are backed up concurrently.
+ * 3. Merge temporary backup files into a single .tar file under a user-given path,
+ *    along with a {@link BackupManifest}
+ *
+ * An incremental backup only holds the updates made after the timestamp of a previous
+ * backup, see {@link #getTimestamp()}, and is restored on top of the restore of that backup.
+ * It requires the log not to be trimmed past the timestamp of the previous backup.
  */
 @Slf4j
 public class Backup {
@@ -49,8 +69,13 @@ public class Backup {
     private final List<UUID> streamIDs;
 
     // The snapshot address to back up
+    @Getter
     private long timestamp;
 
+    // The snapshot address of the previous backup an incremental backup is based on,
+    // or NON_ADDRESS for a full backup
+    private final long baseTimestamp;
+
     // The Corfu Runtime which is performing the back up
     private final CorfuRuntime runtime;
 
@@ -68,9 +93,21 @@ public class Backup {
      * @param runtime       - the runtime which is performing the back up
      */
     public Backup(String filePath, List<UUID> streamIDs, CorfuRuntime runtime) {
+        this(filePath, streamIDs, runtime, Address.NON_ADDRESS);
+    }
+
+    /**
+     * @param filePath      - the filePath where the generated backup tar file will be placed
+     * @param streamIDs     - the stream IDs of tables which are backed up
+     * @param runtime       - the runtime which is performing the back up
+     * @param baseTimestamp - the timestamp of the previous backup to back up the updates since,
+     *                        or NON_ADDRESS for a full backup
+     */
+    public Backup(String filePath, List<UUID> streamIDs, CorfuRuntime runtime, long baseTimestamp) {
         this.filePath = filePath;
         this.streamIDs = streamIDs;
         this.runtime = runtime;
+        this.baseTimestamp = baseTimestamp;
     }
 
     /**
@@ -82,8 +119,23 @@ public class Backup {
      *                            if false, back up all UFO tables
      */
     public Backup(String filePath, CorfuRuntime runtime, boolean taggedTablesOnly) {
+        this(filePath, runtime, taggedTablesOnly, Address.NON_ADDRESS);
+    }
+
+    /**
+     * Discover and back up all tables, or tables with requires_backup_support tag
+     *
+     * @param filePath          - the filePath where the generated backup tar file will be placed
+     * @param runtime           - the runtime which is performing the back up
+     * @param taggedTablesOnly  - if true, back up tables which has requires_backup_support tag set;
+     *                            if false, back up all UFO tables
+     * @param baseTimestamp     - the timestamp of the previous backup to back up the updates since,
+     *                            or NON_ADDRESS for a full backup
+     */
+    public Backup(String filePath, CorfuRuntime runtime, boolean taggedTablesOnly, long baseTimestamp) {
         this.filePath = filePath;
         this.runtime = runtime;
+        this.baseTimestamp = baseTimestamp;
         if (taggedTablesOnly) {
             this.streamIDs = getTaggedTables();
         } else {
@@ -106,6 +158,11 @@ public class Backup {
         this.timestamp = runtime.getAddressSpaceView().getLogTail();
 
         try {
+            if (baseTimestamp > timestamp) {
+                throw new IllegalArgumentException("base timestamp " + baseTimestamp
+                        + " is ahead of the log tail " + timestamp);
+            }
+
             // The cleanup() in finally block is not guaranteed to have
             // been run in previous backups if there was OOM
             cleanup();
@@ -119,6 +176,26 @@ public class Backup {
         log.info("backup completed");
     }
 
+    /**
+     * Get the timestamp of a backup, to take an incremental backup relative to it.
+     *
+     * @param filePath   the path of the backup tar file
+     * @return           the snapshot address the tables of the backup were backed up at
+     * @throws IOException if the backup tar file can not be read, or has no manifest
+     */
+    public static long getBackupTimestamp(String filePath) throws IOException {
+        try (TarArchiveInputStream tarInput = new TarArchiveInputStream(
+                new BufferedInputStream(new FileInputStream(filePath)))) {
+            TarArchiveEntry entry;
+            while ((entry = tarInput.getNextTarEntry()) != null) {
+                if (entry.getName().equals(BackupManifest.FILE_NAME)) {
+                    return BackupManifest.deserialize(tarInput).getTimestamp();
+                }
+            }
+        }
+        throw new IOException("no manifest found in backup tar file " + filePath);
+    }
+
     /**
      * Check if table exists in Corfu Db
      *
@@ -150,17 +227,32 @@ public class Backup {
 
         this.backupTempDirPath = Files.createTempDirectory(BACKUP_TEMP_DIR_PREFIX).toString();
         Map<UUID, String> streamIdToTableNameMap = getStreamIdToTableNameMap();
-        for (UUID streamId : streamIDs) {
-            if (!tableExists(streamId)) {
-                log.warn("cannot back up a non-existent table stream id {} table name {}",
-                        streamId, streamIdToTableNameMap.get(streamId));
-                continue;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                runtime.getParameters().getBackupRestoreParallelism(),
+                new ThreadFactoryBuilder().setNameFormat("backup-%d").setDaemon(true).build());
+        try {
+            List<Future<Void>> tableBackups = new ArrayList<>();
+            for (UUID streamId : streamIDs) {
+                if (!tableExists(streamId)) {
+                    log.warn("cannot back up a non-existent table stream id {} table name {}",
+                            streamId, streamIdToTableNameMap.get(streamId));
+                    continue;
+                }
+
+                // temporary backup file's name format: uuid.namespace$tableName
+                Path filePath = Paths.get(backupTempDirPath)
+                        .resolve(streamId + "." + streamIdToTableNameMap.get(streamId));
+                tableBackups.add(executor.submit(() -> {
+                    backupTable(filePath, streamId);
+                    return null;
+                }));
             }
 
-            // temporary backup file's name format: uuid.namespace$tableName
-            Path filePath = Paths.get(backupTempDirPath)
-                    .resolve(streamId + "." + streamIdToTableNameMap.get(streamId));
-            backupTable(filePath, streamId);
+            for (Future<Void> tableBackup : tableBackups) {
+                CFUtils.getUninterruptibly(tableBackup, IOException.class);
+            }
+        } finally {
+            executor.shutdownNow();
         }
         long elapsedTime = System.currentTimeMillis() - startTime;
 
@@ -182,12 +274,17 @@ public class Backup {
         long startTime = System.currentTimeMillis();
         BackupTableStats backupTableStats;
 
-        try (FileOutputStream fileOutput = new FileOutputStream(filePath.toString())) {
+        try (OutputStream fileOutput = new CodecOutputStream(new BufferedOutputStream(
+                new FileOutputStream(filePath.toString())), runtime.getParameters().getCodecType())) {
             StreamOptions options = StreamOptions.builder()
                     .ignoreTrimmed(false)
                     .cacheEntries(false)
                     .build();
-            Stream<OpaqueEntry> stream = (new OpaqueStream(runtime.getStreamsView().get(uuid, options))).streamUpTo(timestamp);
+            OpaqueStream opaqueStream = new OpaqueStream(runtime.getStreamsView().get(uuid, options), runtime);
+            if (baseTimestamp != Address.NON_ADDRESS) {
+                opaqueStream.seek(baseTimestamp + 1);
+            }
+            Stream<OpaqueEntry> stream = opaqueStream.streamUpTo(timestamp);
 
             backupTableStats = writeTableToFile(fileOutput, stream, uuid);
         } catch (IOException e) {
@@ -204,10 +301,10 @@ public class Backup {
                 backupTableStats.getNumOfEntries(), backupTableStats.getTableSize(), elapsedTime, filePath);
     }
 
-    private BackupTableStats writeTableToFile(FileOutputStream fileOutput, Stream<OpaqueEntry> stream, UUID uuid) throws IOException {
+    private BackupTableStats writeTableToFile(OutputStream fileOutput, Stream<OpaqueEntry> stream, UUID uuid) throws IOException {
         Iterator<OpaqueEntry> iterator = stream.iterator();
         int numOfEntries = 0;
-        int tableSize = 0;
+        long tableSize = 0;
         while (iterator.hasNext()) {
             numOfEntries++;
             OpaqueEntry lastEntry = iterator.next();
@@ -216,7 +313,7 @@ public class Backup {
                 Map<UUID, List<SMREntry>> map = new HashMap<>();
                 map.put(uuid, smrEntries);
                 OpaqueEntry newOpaqueEntry = new OpaqueEntry(lastEntry.getVersion(), map);
-                tableSize = OpaqueEntry.write(fileOutput, newOpaqueEntry);
+                tableSize += OpaqueEntry.write(fileOutput, newOpaqueEntry);
             }
         }
         fileOutput.flush();
@@ -236,10 +333,21 @@ public class Backup {
             return;
         }
 
-        try (FileOutputStream fileOutput = new FileOutputStream(filePath);
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(filePath));
              TarArchiveOutputStream tarOutput = new TarArchiveOutputStream(fileOutput)) {
             // truncate file names if too long
             tarOutput.setLongFileMode(TarArchiveOutputStream.LONGFILE_TRUNCATE);
+            // allow table backup files larger than 8GB
+            tarOutput.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+            byte[] manifest = new BackupManifest(runtime.getParameters().getCodecType(),
+                    timestamp, baseTimestamp).serialize();
+            TarArchiveEntry manifestEntry = new TarArchiveEntry(BackupManifest.FILE_NAME);
+            manifestEntry.setSize(manifest.length);
+            tarOutput.putArchiveEntry(manifestEntry);
+            tarOutput.write(manifest);
+            tarOutput.closeArchiveEntry();
+
             for (File srcFile : srcFiles) {
                 addToTarFile(srcFile, tarOutput);
             }
@@ -259,16 +367,11 @@ public class Backup {
      * @throws IOException
      */
     private void addToTarFile(File tableFile,TarArchiveOutputStream tarOutput) throws IOException {
-        try (FileInputStream fileInput = new FileInputStream(tableFile)) {
+        try {
             TarArchiveEntry tarEntry = new TarArchiveEntry(tableFile);
             tarEntry.setName(tableFile.getName());
             tarOutput.putArchiveEntry(tarEntry);
-
-            int count;
-            byte[] buf = new byte[1024];
-            while ((count = fileInput.read(buf, 0, 1024)) != -1) {
-                tarOutput.write(buf, 0, count);
-            }
+            Files.copy(tableFile.toPath(), tarOutput);
             tarOutput.closeArchiveEntry();
         } catch (IOException e) {
             log.error("failed to add table backup file {} to tar file", tableFile.getName());
@@ -347,9 +450,9 @@ public class Backup {
     private static class BackupTableStats {
 
         private final int numOfEntries;
-        private final int tableSize;
+        private final long tableSize;
 
-        BackupTableStats(int numOfEntries, int tableSize) {
+        BackupTableStats(int numOfEntries, long tableSize) {
             this.numOfEntries = numOfEntries;
             this.tableSize = tableSize;
         }
@@ -358,7 +461,7 @@ public class Backup {
             return numOfEntries;
         }
 
-        public int getTableSize() {
+        public long getTableSize() {
             return tableSize;
         }
     }
@@ -0,0 +1,76 @@
+package org.corfudb.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.corfudb.common.compression.Codec;
+import org.corfudb.runtime.view.Address;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Describes a backup tar file generated by Corfu Backup. It is stored in the tar file
+ * along with the table backup files, under {@link BackupManifest#FILE_NAME}.
+ *
+ * Backup tar files without a manifest hold uncompressed, full backups of the tables.
+ */
+@Getter
+@AllArgsConstructor
+class BackupManifest {
+
+    static final String FILE_NAME = "backup.manifest";
+
+    static final int VERSION = 1;
+
+    private static final String VERSION_KEY = "version";
+    private static final String CODEC_KEY = "codec";
+    private static final String TIMESTAMP_KEY = "timestamp";
+    private static final String BASE_TIMESTAMP_KEY = "baseTimestamp";
+
+    // The codec the table backup files are compressed with
+    private final Codec.Type codecType;
+
+    // The snapshot address the tables are backed up at
+    private final long timestamp;
+
+    // The snapshot address of the backup an incremental backup is based on,
+    // or NON_ADDRESS for a full backup
+    private final long baseTimestamp;
+
+    /**
+     * An incremental backup only holds the updates made after its base timestamp, and is
+     * restored on top of the backup it is based on.
+     */
+    boolean isIncremental() {
+        return baseTimestamp != Address.NON_ADDRESS;
+    }
+
+    byte[] serialize() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, Integer.toString(VERSION));
+        properties.setProperty(CODEC_KEY, Integer.toString(codecType.getId()));
+        properties.setProperty(TIMESTAMP_KEY, Long.toString(timestamp));
+        properties.setProperty(BASE_TIMESTAMP_KEY, Long.toString(baseTimestamp));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        properties.store(output, null);
+        return output.toByteArray();
+    }
+
+    static BackupManifest deserialize(InputStream input) throws IOException {
+        Properties properties = new Properties();
+        properties.load(input);
+
+        int version = Integer.parseInt(properties.getProperty(VERSION_KEY));
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported backup manifest version " + version);
+        }
+
+        return new BackupManifest(
+                Codec.getCodecTypeById(Integer.parseInt(properties.getProperty(CODEC_KEY))),
+                Long.parseLong(properties.getProperty(TIMESTAMP_KEY)),
+                Long.parseLong(properties.getProperty(BASE_TIMESTAMP_KEY)));
+    }
+}
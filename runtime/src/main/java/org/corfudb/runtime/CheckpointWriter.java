@@ -329,6 +329,7 @@ public class CheckpointWriter<T extends StreamingMap> {
                     new Object[]{keyMutator.apply(entry.getKey()),
                             valueMutator.apply(entry.getValue())},
                     serializer);
+            smrPutEntry.setCompact(rt.getParameters().isCompactSmrEntries());
 
             /* Need to check the size of the compressed buffer. inputByteBuffer and
                inputBuffer are the same buffer.
@@ -26,6 +26,7 @@ import org.corfudb.runtime.exceptions.WrongClusterException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.runtime.view.AddressSpaceView;
 import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.LayoutManagementView;
@@ -40,6 +41,7 @@ import org.corfudb.util.GitRepositoryState;
 import org.corfudb.util.NodeLocator;
 import org.corfudb.util.Sleep;
 import org.corfudb.util.serializer.Serializers;
+import org.corfudb.util.tracing.RequestTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -174,6 +176,18 @@ public class CorfuRuntime {
             .setNameFormat("CorfuRuntime-%d")
             .build());
 
+    /**
+     * These threads write the chunks of large transactions in parallel, the pool is
+     * only created once the runtime writes a large transaction.
+     */
+    private final AtomicReference<ExecutorService> largeTransactionWriter = new AtomicReference<>(null);
+
+    /**
+     * These threads read and deserialize checkpoint batches in parallel, the pool is only
+     * created once the runtime loads a checkpoint with a read parallelism greater than one.
+     */
+    private final AtomicReference<ExecutorService> checkpointLoader = new AtomicReference<>(null);
+
     /**
      * Latest layout seen by the runtime.
      */
@@ -197,6 +211,13 @@ public class CorfuRuntime {
          */
         int maxWriteSize = Integer.MAX_VALUE;
 
+        /*
+         * Whether or not a transaction whose write set exceeds the max write size is committed
+         * as several entries, which become visible atomically once a commit entry is written.
+         * Otherwise, such a transaction is aborted.
+         */
+        boolean largeTransactionsEnabled = false;
+
         /*
          * Set the bulk read size.
          */
@@ -218,6 +239,23 @@ public class CorfuRuntime {
          */
         Duration holeFillTimeout = Duration.ofSeconds(10);
 
+        /*
+         * Whether or not reads which are slow to be served by the tail of a chain are hedged,
+         * i.e., also sent to the previous replica of the chain.
+         */
+        boolean hedgedReadsEnabled = false;
+
+        /*
+         * The percentile of the latency of the tail of a chain after which a read is hedged.
+         */
+        double hedgedReadPercentile = 0.99;
+
+        /*
+         * Whether or not the snapshot timestamp queries of concurrently starting transactions
+         * are shared, i.e., a single global tail query is sent on behalf of all of them.
+         */
+        boolean snapshotQueryCoalescingEnabled = true;
+
         /*
         * cache metrics are to be enabled only for the tuning exercise.
         */
@@ -239,10 +277,8 @@ public class CorfuRuntime {
         long maxCacheWeight;
 
         /*
-         * This is a hint to size the AddressSpaceView cache, a higher concurrency
-         * level allows for less lock contention at the cost of more memory overhead.
-         * The default value of zero will result in using the cache's internal default
-         * concurrency level (i.e. 4).
+         * This was a hint to size the AddressSpaceView cache. It is ignored since the
+         * cache is no longer segmented, and is kept for compatibility.
          */
         int cacheConcurrencyLevel = 0;
 
@@ -289,6 +325,11 @@ public class CorfuRuntime {
          */
         int restoreBatchSize = 50;
 
+        /*
+         * The maximum number of tables which are backed up or restored concurrently.
+         */
+        int backupRestoreParallelism = 4;
+
         /*
          * Stream Batch Size: number of addresses to fetch in advance when stream address discovery mechanism
          * relies on address maps instead of follow backpointers, i.e., followBackpointersEnabled = false;
@@ -301,6 +342,26 @@ public class CorfuRuntime {
          */
         int checkpointReadBatchSize = 5;
 
+        /*
+         * Checkpoint read parallelism: max number of checkpoint batches read and deserialized
+         * concurrently when loading a checkpoint. A value of 1 loads batches one at a time.
+         */
+        int checkpointReadParallelism = 1;
+
+        /*
+         * Stream read filtering: if enabled, stream views that rely on address maps read their entries
+         * through stream scans served by the log units, which only return the updates of the stream
+         * being read rather than whole transactions spanning multiple streams.
+         */
+        boolean streamReadFiltering = false;
+
+        /*
+         * Sequencer bootstrap chunk size: the max serialized size, in bytes, of the stream address maps
+         * sent in a single message when bootstrapping a sequencer. Larger address maps are streamed to the
+         * sequencer in compressed chunks, which are only applied once all of them have been received.
+         */
+        int sequencerBootstrapChunkSize = 16 << 20;
+
         /*
          * Cache Option for local writes.
          *
@@ -364,11 +425,24 @@ public class CorfuRuntime {
          */
         private PriorityLevel priorityLevel = PriorityLevel.NORMAL;
 
+        /*
+         * The traffic class of the requests made by this client. Servers queue the
+         * requests of every class separately, so runtimes dedicated to background jobs
+         * (e.g. compaction or backups) should use the BULK class.
+         */
+        private TrafficClass trafficClass = TrafficClass.INTERACTIVE;
+
         /*
          * The compression codec to use to encode a write's payload
          */
         private Codec.Type codecType = Codec.Type.ZSTD;
 
+        /*
+         * Write the SMR updates in the compact encoding, with method ids and variable-length
+         * integers. Only enable once every client and server reading the log supports it.
+         */
+        private boolean compactSmrEntries = false;
+
         /*
          * Enable runtime metrics.
          */
@@ -406,10 +480,14 @@ public class CorfuRuntime {
 
         public static class CorfuRuntimeParametersBuilder extends RuntimeParametersBuilder {
             private int maxWriteSize = Integer.MAX_VALUE;
+            private boolean largeTransactionsEnabled = false;
             private int bulkReadSize = 10;
             private int holeFillRetry = 10;
             private Duration holeFillRetryThreshold = Duration.ofSeconds(1L);
             private Duration holeFillTimeout = Duration.ofSeconds(10);
+            private boolean hedgedReadsEnabled = false;
+            private double hedgedReadPercentile = 0.99;
+            private boolean snapshotQueryCoalescingEnabled = true;
             private boolean cacheEntryMetricsDisabled = true;
             private boolean cacheDisabled = false;
             private long maxCacheEntries;
@@ -422,15 +500,21 @@ public class CorfuRuntime {
             private int checkpointRetries = 5;
             private int checkpointBatchSize = 50;
             private int restoreBatchSize = 50;
+            private int backupRestoreParallelism = 4;
             private int streamBatchSize = 10;
             private int checkpointReadBatchSize = 5;
+            private int checkpointReadParallelism = 1;
+            private boolean streamReadFiltering = false;
+            private int sequencerBootstrapChunkSize = 16 << 20;
             private Duration runtimeGCPeriod = Duration.ofMinutes(20);
             private UUID clusterId = null;
             private int systemDownHandlerTriggerLimit = 20;
             private List<NodeLocator> layoutServers = new ArrayList<>();
             private int invalidateRetry = 5;
             private PriorityLevel priorityLevel = PriorityLevel.NORMAL;
+            private TrafficClass trafficClass = TrafficClass.INTERACTIVE;
             private Codec.Type codecType = Codec.Type.ZSTD;
+            private boolean compactSmrEntries = false;
             private boolean metricsEnabled = true;
             private int streamingWorkersThreadPoolSize = 2;
             private Duration streamingPollPeriod = Duration.ofMillis(50);
@@ -580,11 +664,37 @@ public class CorfuRuntime {
                 return this;
             }
 
+            public CorfuRuntimeParametersBuilder traceSamplingRate(int traceSamplingRate) {
+                super.traceSamplingRate(traceSamplingRate);
+                return this;
+            }
+
+            public CorfuRuntimeParametersBuilder slowTraceThreshold(Duration slowTraceThreshold) {
+                super.slowTraceThreshold(slowTraceThreshold);
+                return this;
+            }
+
+            public CorfuRuntimeParametersBuilder requestCoalescingEnabled(boolean requestCoalescingEnabled) {
+                super.requestCoalescingEnabled(requestCoalescingEnabled);
+                return this;
+            }
+
+            public CorfuRuntimeParametersBuilder maxRequestBatchSize(int maxRequestBatchSize) {
+                super.maxRequestBatchSize(maxRequestBatchSize);
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder maxWriteSize(int maxWriteSize) {
                 this.maxWriteSize = maxWriteSize;
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder largeTransactionsEnabled(
+                    boolean largeTransactionsEnabled) {
+                this.largeTransactionsEnabled = largeTransactionsEnabled;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder bulkReadSize(int bulkReadSize) {
                 this.bulkReadSize = bulkReadSize;
                 return this;
@@ -605,6 +715,22 @@ public class CorfuRuntime {
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder hedgedReadsEnabled(boolean hedgedReadsEnabled) {
+                this.hedgedReadsEnabled = hedgedReadsEnabled;
+                return this;
+            }
+
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder hedgedReadPercentile(double hedgedReadPercentile) {
+                this.hedgedReadPercentile = hedgedReadPercentile;
+                return this;
+            }
+
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder snapshotQueryCoalescingEnabled(
+                    boolean snapshotQueryCoalescingEnabled) {
+                this.snapshotQueryCoalescingEnabled = snapshotQueryCoalescingEnabled;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder cacheEntryMetricsDisabled(boolean cacheEntryMetricsDisabled) {
                 this.cacheEntryMetricsDisabled = cacheEntryMetricsDisabled;
                 return this;
@@ -665,6 +791,11 @@ public class CorfuRuntime {
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder backupRestoreParallelism(int backupRestoreParallelism) {
+                this.backupRestoreParallelism = backupRestoreParallelism;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder streamBatchSize(int streamBatchSize) {
                 this.streamBatchSize = streamBatchSize;
                 return this;
@@ -675,6 +806,21 @@ public class CorfuRuntime {
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder checkpointReadParallelism(int checkpointReadParallelism) {
+                this.checkpointReadParallelism = checkpointReadParallelism;
+                return this;
+            }
+
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder streamReadFiltering(boolean streamReadFiltering) {
+                this.streamReadFiltering = streamReadFiltering;
+                return this;
+            }
+
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder sequencerBootstrapChunkSize(int sequencerBootstrapChunkSize) {
+                this.sequencerBootstrapChunkSize = sequencerBootstrapChunkSize;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder cacheWrites(boolean cacheWrites) {
                 this.cacheWrites = cacheWrites;
                 return this;
@@ -721,11 +867,21 @@ public class CorfuRuntime {
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder trafficClass(TrafficClass trafficClass) {
+                this.trafficClass = trafficClass;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder codecType(Codec.Type codecType) {
                 this.codecType = codecType;
                 return this;
             }
 
+            public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder compactSmrEntries(boolean compactSmrEntries) {
+                this.compactSmrEntries = compactSmrEntries;
+                return this;
+            }
+
             public CorfuRuntimeParameters.CorfuRuntimeParametersBuilder metricsEnabled(boolean enabled) {
                 this.metricsEnabled = enabled;
                 return this;
@@ -757,11 +913,19 @@ public class CorfuRuntime {
                 corfuRuntimeParameters.setUncaughtExceptionHandler(uncaughtExceptionHandler);
                 corfuRuntimeParameters.setSystemDownHandler(systemDownHandler);
                 corfuRuntimeParameters.setBeforeRpcHandler(beforeRpcHandler);
+                corfuRuntimeParameters.setTraceSamplingRate(traceSamplingRate);
+                corfuRuntimeParameters.setSlowTraceThreshold(slowTraceThreshold);
+                corfuRuntimeParameters.setRequestCoalescingEnabled(requestCoalescingEnabled);
+                corfuRuntimeParameters.setMaxRequestBatchSize(maxRequestBatchSize);
                 corfuRuntimeParameters.setMaxWriteSize(maxWriteSize);
+                corfuRuntimeParameters.setLargeTransactionsEnabled(largeTransactionsEnabled);
                 corfuRuntimeParameters.setBulkReadSize(bulkReadSize);
                 corfuRuntimeParameters.setHoleFillRetry(holeFillRetry);
                 corfuRuntimeParameters.setHoleFillRetryThreshold(holeFillRetryThreshold);
                 corfuRuntimeParameters.setHoleFillTimeout(holeFillTimeout);
+                corfuRuntimeParameters.setHedgedReadsEnabled(hedgedReadsEnabled);
+                corfuRuntimeParameters.setHedgedReadPercentile(hedgedReadPercentile);
+                corfuRuntimeParameters.setSnapshotQueryCoalescingEnabled(snapshotQueryCoalescingEnabled);
                 corfuRuntimeParameters.setCacheEntryMetricsDisabled(cacheEntryMetricsDisabled);
                 corfuRuntimeParameters.setCacheDisabled(cacheDisabled);
                 corfuRuntimeParameters.setMaxCacheEntries(maxCacheEntries);
@@ -774,15 +938,21 @@ public class CorfuRuntime {
                 corfuRuntimeParameters.setCheckpointRetries(checkpointRetries);
                 corfuRuntimeParameters.setCheckpointBatchSize(checkpointBatchSize);
                 corfuRuntimeParameters.setRestoreBatchSize(restoreBatchSize);
+                corfuRuntimeParameters.setBackupRestoreParallelism(backupRestoreParallelism);
                 corfuRuntimeParameters.setStreamBatchSize(streamBatchSize);
                 corfuRuntimeParameters.setCheckpointReadBatchSize(checkpointReadBatchSize);
+                corfuRuntimeParameters.setCheckpointReadParallelism(checkpointReadParallelism);
+                corfuRuntimeParameters.setStreamReadFiltering(streamReadFiltering);
+                corfuRuntimeParameters.setSequencerBootstrapChunkSize(sequencerBootstrapChunkSize);
                 corfuRuntimeParameters.setRuntimeGCPeriod(runtimeGCPeriod);
                 corfuRuntimeParameters.setClusterId(clusterId);
                 corfuRuntimeParameters.setSystemDownHandlerTriggerLimit(systemDownHandlerTriggerLimit);
                 corfuRuntimeParameters.setLayoutServers(layoutServers);
                 corfuRuntimeParameters.setInvalidateRetry(invalidateRetry);
                 corfuRuntimeParameters.setPriorityLevel(priorityLevel);
+                corfuRuntimeParameters.setTrafficClass(trafficClass);
                 corfuRuntimeParameters.setCodecType(codecType);
+                corfuRuntimeParameters.setCompactSmrEntries(compactSmrEntries);
                 corfuRuntimeParameters.setMetricsEnabled(metricsEnabled);
                 corfuRuntimeParameters.setStreamingWorkersThreadPoolSize(streamingWorkersThreadPoolSize);
                 corfuRuntimeParameters.setStreamingPollPeriod(streamingPollPeriod);
@@ -839,6 +1009,48 @@ public class CorfuRuntime {
         return tableRegistryObj;
     }
 
+    /**
+     * lazy instantiation of the threads which write the chunks of large transactions
+     */
+    public ExecutorService getLargeTransactionWriter() {
+        ExecutorService writer = largeTransactionWriter.get();
+        if (writer == null) {
+            synchronized (largeTransactionWriter) {
+                writer = largeTransactionWriter.get();
+                if (writer == null) {
+                    writer = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                            new ThreadFactoryBuilder()
+                                    .setDaemon(true)
+                                    .setNameFormat("LargeTransactionWriter-%d")
+                                    .build());
+                    largeTransactionWriter.set(writer);
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * lazy instantiation of the threads which load checkpoint batches in parallel
+     */
+    public ExecutorService getCheckpointLoader() {
+        ExecutorService loader = checkpointLoader.get();
+        if (loader == null) {
+            synchronized (checkpointLoader) {
+                loader = checkpointLoader.get();
+                if (loader == null) {
+                    loader = Executors.newFixedThreadPool(parameters.getCheckpointReadParallelism(),
+                            new ThreadFactoryBuilder()
+                                    .setDaemon(true)
+                                    .setNameFormat("CheckpointLoader-%d")
+                                    .build());
+                    checkpointLoader.set(loader);
+                }
+            }
+        }
+        return loader;
+    }
+
     /**
      * When set, overrides the default getRouterFunction. Used by the testing
      * framework to ensure the default routers used are for testing.
@@ -924,6 +1136,10 @@ public class CorfuRuntime {
             log.warn("Runtime metrics are disabled.");
         }
 
+        if (parameters.traceSamplingRate > 0) {
+            RequestTracer.client().configure(parameters.slowTraceThreshold);
+        }
+
         log.info("Corfu runtime version {} initialized.",
                 Long.toHexString(GitRepositoryState.getCorfuSourceCodeVersion()));
     }
@@ -978,6 +1194,14 @@ public class CorfuRuntime {
         }
         garbageCollector.stop();
         runtimeExecutor.shutdownNow();
+        ExecutorService largeTransactionWriterObj = largeTransactionWriter.get();
+        if (largeTransactionWriterObj != null) {
+            largeTransactionWriterObj.shutdownNow();
+        }
+        ExecutorService checkpointLoaderObj = checkpointLoader.get();
+        if (checkpointLoaderObj != null) {
+            checkpointLoaderObj.shutdownNow();
+        }
         if (layout != null) {
             try {
                 layout.cancel(true);
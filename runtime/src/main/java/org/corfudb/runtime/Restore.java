@@ -1,11 +1,13 @@
 package org.corfudb.runtime;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.io.FileUtils;
+import org.corfudb.common.compression.CodecInputStream;
 import org.corfudb.protocols.logprotocol.MultiSMREntry;
 import org.corfudb.protocols.logprotocol.OpaqueEntry;
 import org.corfudb.protocols.logprotocol.SMREntry;
@@ -14,13 +16,15 @@ import org.corfudb.runtime.collections.TxnContext;
 import org.corfudb.runtime.exceptions.BackupRestoreException;
 import org.corfudb.runtime.view.CacheOption;
 import org.corfudb.runtime.view.TableRegistry;
+import org.corfudb.util.CFUtils;
 import org.corfudb.util.serializer.Serializers;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +37,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.corfudb.runtime.view.TableRegistry.getFullyQualifiedTableName;
 
@@ -43,7 +50,12 @@ import static org.corfudb.runtime.view.TableRegistry.getFullyQualifiedTableName;
  *
  * Steps:
  * 1. Open the given .tar file, obtain a set of backup files for tables
- * 2. Restore tables by committing transactions using the OpaqueEntries from table backup files
+ * 2. Restore tables by committing transactions using the OpaqueEntries from table backup files.
+ *    The RegistryTable is restored first, then up to backupRestoreParallelism tables are
+ *    restored concurrently, each with a single write in flight.
+ *
+ * An incremental backup is restored on top of the restore of the backup it is based on,
+ * so no table is cleared before restoring it, regardless of the restore mode.
  */
 @Slf4j
 public class Restore {
@@ -65,6 +77,9 @@ public class Restore {
     // Restore mode. Refer to class definition for details
     private RestoreMode restoreMode;
 
+    // The manifest of the backup tar file, or null if it was generated without one
+    private BackupManifest manifest;
+
     // Cache the mapping from table uuid to requires_backup_support in RegistryTable
     private Map<UUID, Boolean> tableTagged = new HashMap<>();
 
@@ -110,54 +125,89 @@ public class Restore {
     }
 
     private void restore() throws IOException {
-        if (restoreMode == RestoreMode.FULL) {
+        final boolean incremental = manifest != null && manifest.isIncremental();
+        if (restoreMode == RestoreMode.FULL && !incremental) {
             clearAllTables();
         }
 
         long startTime = System.currentTimeMillis();
-        for (String tableBackup : tableBackups) {
-            log.info("start restoring table {}", tableBackup);
-            if (restoreMode == RestoreMode.PARTIAL_TAGGED && !isTableTagged(tableBackup)) {
-                log.info("skip restoring table {} since it doesn't have requires_backup_support tag", tableBackup);
-                continue;
+
+        // The RegistryTable is at the beginning of the list, and is restored before the other
+        // tables, as the restored RegistryTable tells which tables are tagged
+        List<String> tablesToRestore = new ArrayList<>(tableBackups);
+        if (!tablesToRestore.isEmpty() && tablesToRestore.get(0).equals(getRegistryTableBackup())) {
+            restoreTable(tablesToRestore.remove(0), incremental);
+        }
+
+        if (restoreMode == RestoreMode.PARTIAL_TAGGED) {
+            tablesToRestore.removeIf(tableBackup -> {
+                if (!isTableTagged(tableBackup)) {
+                    log.info("skip restoring table {} since it doesn't have requires_backup_support tag", tableBackup);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                rt.getParameters().getBackupRestoreParallelism(),
+                new ThreadFactoryBuilder().setNameFormat("restore-%d").setDaemon(true).build());
+        try {
+            List<Future<Void>> tableRestores = new ArrayList<>();
+            for (String tableBackup : tablesToRestore) {
+                tableRestores.add(executor.submit(() -> {
+                    restoreTable(tableBackup, incremental);
+                    return null;
+                }));
             }
 
-            UUID streamId = UUID.fromString(tableBackup.substring(0, tableBackup.indexOf(".")));
-            try {
-                Path tableBackupPath = Paths.get(restoreTempDirPath).resolve(tableBackup);
-                restoreTable(tableBackupPath, streamId);
-            } catch (IOException e) {
-                log.error("failed to restore table {} from temp file {}", streamId, tableBackup);
-                throw e;
+            for (Future<Void> tableRestore : tableRestores) {
+                CFUtils.getUninterruptibly(tableRestore, IOException.class);
             }
+        } finally {
+            executor.shutdownNow();
         }
         long elapsedTime = System.currentTimeMillis() - startTime;
         log.info("successfully restored {} tables to, elapsed time {}ms",
                 tableBackups.size(), elapsedTime);
     }
 
+    private void restoreTable(String tableBackup, boolean incremental) throws IOException {
+        log.info("start restoring table {}", tableBackup);
+        UUID streamId = UUID.fromString(tableBackup.substring(0, tableBackup.indexOf(".")));
+        try {
+            Path tableBackupPath = Paths.get(restoreTempDirPath).resolve(tableBackup);
+            restoreTable(tableBackupPath, streamId, incremental);
+        } catch (IOException e) {
+            log.error("failed to restore table {} from temp file {}", streamId, tableBackup);
+            throw e;
+        }
+    }
+
     /**
      * Restore a single table
      *
-     * @param filePath   - the path of the temp backup file
-     * @param streamId   - the stream ID of the table which is to be restored
+     * @param filePath    - the path of the temp backup file
+     * @param streamId    - the stream ID of the table which is to be restored
+     * @param incremental - whether the table backup only holds the updates since a previous backup
      * @throws IOException
      */
-    private void restoreTable(Path filePath, UUID streamId) throws IOException {
+    private void restoreTable(Path filePath, UUID streamId, boolean incremental) throws IOException {
         long startTime = System.currentTimeMillis();
 
-        try (FileInputStream fileInput = new FileInputStream(filePath.toString())) {
+        try (InputStream fileInput = openTableBackup(filePath)) {
 
             // Clear table before restore
-            if (restoreMode == RestoreMode.PARTIAL || restoreMode == RestoreMode.PARTIAL_TAGGED) {
+            if (!incremental
+                    && (restoreMode == RestoreMode.PARTIAL || restoreMode == RestoreMode.PARTIAL_TAGGED)) {
                 SMREntry entry = new SMREntry("clear", new Array[0], Serializers.PRIMITIVE);
                 nonCachedAppendSMREntries(streamId, entry);
             }
 
             StreamBatchWriter sbw = new StreamBatchWriter(rt.getParameters().getRestoreBatchSize(),
                     rt.getParameters().getMaxWriteSize(), streamId);
-            while (fileInput.available() > 0) {
-                OpaqueEntry opaqueEntry = OpaqueEntry.read(fileInput);
+            OpaqueEntry opaqueEntry;
+            while ((opaqueEntry = OpaqueEntry.read(fileInput)) != null) {
                 List<SMREntry> smrEntries = opaqueEntry.getEntries().get(streamId);
                 if (smrEntries == null || smrEntries.isEmpty()) {
                     continue;
@@ -177,6 +227,17 @@ public class Restore {
         }
     }
 
+    /**
+     * Open a table backup file, which is compressed if the backup has a manifest.
+     */
+    private InputStream openTableBackup(Path filePath) throws IOException {
+        InputStream fileInput = new BufferedInputStream(new FileInputStream(filePath.toString()));
+        if (manifest == null) {
+            return fileInput;
+        }
+        return new CodecInputStream(fileInput, manifest.getCodecType());
+    }
+
     /**
      * Check if the table has requires_backup_tag. Return true if it's RegistryTable.
      */
@@ -232,7 +293,7 @@ public class Restore {
      */
     private void openTarFile() throws IOException {
         this.restoreTempDirPath = Files.createTempDirectory(RESTORE_TEMP_DIR_PREFIX).toString();
-        try (FileInputStream fileInput = new FileInputStream(filePath);
+        try (InputStream fileInput = new BufferedInputStream(new FileInputStream(filePath));
              TarArchiveInputStream tarInput = new TarArchiveInputStream(fileInput)) {
             getTablesFromTarFile(tarInput);
         } catch (IOException e) {
@@ -242,32 +303,37 @@ public class Restore {
     }
 
     private void getTablesFromTarFile(TarArchiveInputStream tarInput) throws IOException {
-        int count;
-        byte[] buf = new byte[1024];
         TarArchiveEntry entry;
         while ((entry = tarInput.getNextTarEntry()) != null) {
+            if (entry.getName().equals(BackupManifest.FILE_NAME)) {
+                manifest = BackupManifest.deserialize(tarInput);
+                log.info("backup taken at {}, base timestamp {}, codec {}", manifest.getTimestamp(),
+                        manifest.getBaseTimestamp(), manifest.getCodecType());
+                continue;
+            }
             tableBackups.add(entry.getName());
 
-            String tablePath = restoreTempDirPath + File.separator + entry.getName();
-            try (FileOutputStream fos = new FileOutputStream(tablePath)) {
-                while ((count = tarInput.read(buf, 0, 1024)) != -1) {
-                    fos.write(buf, 0, count);
-                }
-            }
+            Path tablePath = Paths.get(restoreTempDirPath).resolve(entry.getName());
+            Files.copy(tarInput, tablePath);
         }
 
         // Move the RegistryTable to the beginning of the list
-        String registryTableName = getFullyQualifiedTableName(
-                TableRegistry.CORFU_SYSTEM_NAMESPACE, TableRegistry.REGISTRY_TABLE_NAME);
-        UUID registryTableUUID = CorfuRuntime.getStreamID(registryTableName);
-        // format: uuid.namespace$tableName
-        String backupEntry = registryTableUUID + "." + registryTableName;
-        int index = tableBackups.indexOf(backupEntry);
+        int index = tableBackups.indexOf(getRegistryTableBackup());
         if (index != -1) {
             Collections.swap(tableBackups, 0, index);
         }
     }
 
+    /**
+     * Get the name of the backup file of the RegistryTable, format: uuid.namespace$tableName
+     */
+    private static String getRegistryTableBackup() {
+        String registryTableName = getFullyQualifiedTableName(
+                TableRegistry.CORFU_SYSTEM_NAMESPACE, TableRegistry.REGISTRY_TABLE_NAME);
+        UUID registryTableUUID = CorfuRuntime.getStreamID(registryTableName);
+        return registryTableUUID + "." + registryTableName;
+    }
+
     /**
      * Some verification logic (TBD) such as
      * - Compare the user provided streamIds and names of table backups under tmp directory, or some metadata file
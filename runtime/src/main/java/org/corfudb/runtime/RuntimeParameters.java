@@ -190,6 +190,36 @@ public class RuntimeParameters {
 
         //endregion
 
+        // region Tracing Parameters
+        /**
+         * Average number of requests per request traced end-to-end (see
+         * {@link org.corfudb.util.tracing.RequestTracer}). 0 disables tracing.
+         */
+        public int traceSamplingRate = 0;
+
+        /**
+         * Traced requests taking at least this long are logged and retained by the client tracer.
+         */
+        public Duration slowTraceThreshold = Duration.ofMillis(100);
+
+        //endregion
+
+        // region Request Batching Parameters
+        /**
+         * True, if the requests sent to a node are coalesced, i.e., written by the event loop
+         * of the channel and flushed at most once per event loop tick, rather than flushed one
+         * by one by the calling threads.
+         */
+        public boolean requestCoalescingEnabled = false;
+
+        /**
+         * Max number of coalesced requests sent in a single frame. Sending more than one request
+         * per frame requires servers which can receive batches of requests. 1 disables batching.
+         */
+        public int maxRequestBatchSize = 1;
+
+        //endregion
+
         /**
          * Get the netty channel options to be used by the netty client implementation.
          *
@@ -41,6 +41,10 @@ public class RuntimeParametersBuilder {
         };
     protected volatile Runnable beforeRpcHandler = () -> {
         };
+    protected int traceSamplingRate = 0;
+    protected Duration slowTraceThreshold = Duration.ofMillis(100);
+    protected boolean requestCoalescingEnabled = false;
+    protected int maxRequestBatchSize = 1;
     public RuntimeParametersBuilder tlsEnabled(boolean tlsEnabled) {
         this.tlsEnabled = tlsEnabled;
         return this;
@@ -161,6 +165,26 @@ public class RuntimeParametersBuilder {
         return this;
     }
 
+    public RuntimeParametersBuilder traceSamplingRate(int traceSamplingRate) {
+        this.traceSamplingRate = traceSamplingRate;
+        return this;
+    }
+
+    public RuntimeParametersBuilder slowTraceThreshold(Duration slowTraceThreshold) {
+        this.slowTraceThreshold = slowTraceThreshold;
+        return this;
+    }
+
+    public RuntimeParametersBuilder requestCoalescingEnabled(boolean requestCoalescingEnabled) {
+        this.requestCoalescingEnabled = requestCoalescingEnabled;
+        return this;
+    }
+
+    public RuntimeParametersBuilder maxRequestBatchSize(int maxRequestBatchSize) {
+        this.maxRequestBatchSize = maxRequestBatchSize;
+        return this;
+    }
+
     public RuntimeParameters build() {
         RuntimeParameters runtimeParameters = new RuntimeParameters();
         runtimeParameters.setTlsEnabled(tlsEnabled);
@@ -187,6 +211,10 @@ public class RuntimeParametersBuilder {
         runtimeParameters.setUncaughtExceptionHandler(uncaughtExceptionHandler);
         runtimeParameters.setSystemDownHandler(systemDownHandler);
         runtimeParameters.setBeforeRpcHandler(beforeRpcHandler);
+        runtimeParameters.setTraceSamplingRate(traceSamplingRate);
+        runtimeParameters.setSlowTraceThreshold(slowTraceThreshold);
+        runtimeParameters.setRequestCoalescingEnabled(requestCoalescingEnabled);
+        runtimeParameters.setMaxRequestBatchSize(maxRequestBatchSize);
         return runtimeParameters;
     }
 }
@@ -9,6 +9,7 @@ import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 
 import static org.corfudb.protocols.CorfuProtocolCommon.getUuidMsg;
 
@@ -32,6 +33,9 @@ public abstract class AbstractClient implements IClient {
     @Setter
     private PriorityLevel priorityLevel = PriorityLevel.NORMAL;
 
+    @Setter
+    private TrafficClass trafficClass = TrafficClass.INTERACTIVE;
+
     public AbstractClient(IClientRouter router, long epoch, UUID clusterID) {
         this.router = router;
         this.epoch = epoch;
@@ -41,6 +45,6 @@ public abstract class AbstractClient implements IClient {
     <T> CompletableFuture<T> sendRequestWithFuture(RequestPayloadMsg payload,
                                                    ClusterIdCheck ignoreClusterId, EpochCheck ignoreEpoch) {
         return router.sendRequestAndGetCompletable(payload, epoch,
-                getUuidMsg(clusterID), priorityLevel, ignoreClusterId, ignoreEpoch);
+                getUuidMsg(clusterID), priorityLevel, trafficClass, ignoreClusterId, ignoreEpoch);
     }
 }
@@ -0,0 +1,108 @@
+package org.corfudb.runtime.clients;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tracks the round trip latency of the requests sent to an endpoint, both as an exponentially
+ * weighted moving average and as percentiles over a window of the most recent requests.
+ * <p>
+ * The latency is recorded by the router of the endpoint when every request completes, including
+ * the failed and timed out requests, and can be used to pick a replica to send a request to, or
+ * to decide when a request should be hedged.
+ */
+public class EndpointLatency {
+
+    /**
+     * Number of recent latencies the percentiles are computed over.
+     */
+    static final int WINDOW_SIZE = 128;
+
+    /**
+     * Number of latencies to record before the percentiles are known.
+     */
+    static final int MIN_SAMPLES = WINDOW_SIZE / 4;
+
+    /**
+     * Number of latencies to record before the percentiles are recomputed.
+     */
+    private static final int RESORT_INTERVAL = WINDOW_SIZE / 8;
+
+    /**
+     * Weight of a new latency in the moving average.
+     */
+    private static final double EWMA_ALPHA = 0.1;
+
+    // Ring buffer of the most recent latencies (nanoseconds)
+    private final long[] window = new long[WINDOW_SIZE];
+
+    // The window, sorted when the percentiles were last computed
+    private final long[] sortedWindow = new long[WINDOW_SIZE];
+
+    // Number of latencies in the window when the percentiles were last computed
+    private int sortedSize = 0;
+
+    private long samples = 0;
+
+    private long samplesAtSort = 0;
+
+    private double ewmaNanos = 0;
+
+    /**
+     * Record the round trip latency of a request.
+     *
+     * @param latencyNanos latency of the request, in nanoseconds
+     */
+    public synchronized void record(long latencyNanos) {
+        window[(int) (samples % WINDOW_SIZE)] = latencyNanos;
+        ewmaNanos = samples == 0 ? latencyNanos : ewmaNanos + EWMA_ALPHA * (latencyNanos - ewmaNanos);
+        samples++;
+    }
+
+    /**
+     * @return the number of latencies recorded so far
+     */
+    public synchronized long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return the moving average of the latency, or empty if no latency has been recorded
+     */
+    public synchronized Optional<Duration> getAverage() {
+        if (samples == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos((long) ewmaNanos));
+    }
+
+    /**
+     * Get a percentile of the latency of the most recent requests.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the percentile of the latency, or empty if too few latencies have been recorded
+     * to estimate it
+     */
+    public synchronized Optional<Duration> getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile);
+        }
+
+        if (samples < MIN_SAMPLES) {
+            return Optional.empty();
+        }
+
+        // Sorting the window is amortized over several requests, as a slightly stale
+        // percentile is as good an estimate as the current one
+        if (sortedSize == 0 || samples - samplesAtSort >= RESORT_INTERVAL) {
+            sortedSize = (int) Math.min(samples, WINDOW_SIZE);
+            System.arraycopy(window, 0, sortedWindow, 0, sortedSize);
+            Arrays.sort(sortedWindow, 0, sortedSize);
+            samplesAtSort = samples;
+        }
+
+        int index = Math.min((int) Math.ceil(percentile * sortedSize) - 1, sortedSize - 1);
+        return Optional.of(Duration.ofNanos(sortedWindow[Math.max(index, 0)]));
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Set;
 
 import org.corfudb.runtime.proto.ServerErrors.ServerErrorMsg.ErrorCase;
 import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponsePayloadMsg.PayloadCase;
 import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
 
@@ -29,6 +30,14 @@ public interface IClient {
         //no-op
     }
 
+    /**
+     * Set the traffic class of messages sent by this client
+     * @param trafficClass
+     */
+    default void setTrafficClass(TrafficClass trafficClass) {
+        //no-op
+    }
+
     /**
      * Get the router used by the Netty client.
      */
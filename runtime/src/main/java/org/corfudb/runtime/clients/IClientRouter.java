@@ -2,6 +2,7 @@ package org.corfudb.runtime.clients;
 
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import org.corfudb.runtime.proto.RpcCommon.UuidMsg;
@@ -45,6 +46,29 @@ public interface IClientRouter {
                                                           UuidMsg clusterId, CorfuMessage.PriorityLevel priority,
                                                           ClusterIdCheck ignoreClusterId, EpochCheck ignoreEpoch);
 
+    /**
+     * Send a request message of a traffic class and get a completable future to be fulfilled
+     * by the reply. Routers which do not support traffic classes send the request as an
+     * interactive one.
+     *
+     * @param payload
+     * @param epoch
+     * @param clusterId
+     * @param priority
+     * @param trafficClass
+     * @param ignoreClusterId
+     * @param ignoreEpoch
+     * @param <T> The type of completable to return.
+     * @return A completable future which will be fulfilled by the reply,
+     * or a timeout in the case there is no response.
+     */
+    default <T> CompletableFuture<T> sendRequestAndGetCompletable(CorfuMessage.RequestPayloadMsg payload, long epoch,
+                                                                  UuidMsg clusterId, CorfuMessage.PriorityLevel priority,
+                                                                  CorfuMessage.TrafficClass trafficClass,
+                                                                  ClusterIdCheck ignoreClusterId, EpochCheck ignoreEpoch) {
+        return sendRequestAndGetCompletable(payload, epoch, clusterId, priority, ignoreClusterId, ignoreEpoch);
+    }
+
     /**
      * Send a request message and get a completable future to be fulfilled by the reply.
      *
@@ -122,4 +146,13 @@ public interface IClientRouter {
      * @param timeoutResponse Response timeout in milliseconds.
      */
     void setTimeoutResponse(long timeoutResponse);
+
+    /**
+     * Get the round trip latency of the requests sent by this router.
+     *
+     * @return the latency of the endpoint, or empty if this router does not track it
+     */
+    default Optional<EndpointLatency> getLatency() {
+        return Optional.empty();
+    }
 }
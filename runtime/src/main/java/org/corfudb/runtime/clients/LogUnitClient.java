@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.DataType;
@@ -15,9 +17,11 @@ import org.corfudb.protocols.wireprotocol.InspectAddressesResponse;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.KnownAddressResponse;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
+import org.corfudb.protocols.wireprotocol.ReadStreamResponse;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.exceptions.DataCorruptionException;
 import org.corfudb.runtime.proto.service.LogUnit.TailRequestMsg.Type;
 import org.corfudb.util.serializer.Serializers;
 
@@ -29,6 +33,7 @@ import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getKnownAddress
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getLogAddressSpaceRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getRangeWriteLogRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadLogRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadStreamRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getResetLogUnitRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTailRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTrimLogRequestMsg;
@@ -128,7 +133,38 @@ public class LogUnitClient extends AbstractClient {
      * @return a completableFuture which returns a ReadResponse on completion.
      */
     public CompletableFuture<ReadResponse> read(List<Long> addresses, boolean cacheable) {
-        return sendRequestWithFuture(getReadLogRequestMsg(addresses, cacheable), ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        CompletableFuture<ReadResponse> response = sendRequestWithFuture(
+                getReadLogRequestMsg(addresses, cacheable), ClusterIdCheck.CHECK, EpochCheck.CHECK);
+
+        // The entries that are not cached are sent as persisted and only verified once received,
+        // if one of them is corrupted, the addresses are read again by the log unit instead
+        return response.handle((readResponse, ex) -> {
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (!cacheable && cause instanceof DataCorruptionException) {
+                return this.<ReadResponse>sendRequestWithFuture(getReadLogRequestMsg(addresses, cacheable, false),
+                        ClusterIdCheck.CHECK, EpochCheck.CHECK);
+            }
+
+            return response;
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Asynchronously read the entries of a stream in the range (start, end] from the logging unit.
+     * Entries that span multiple streams only carry the updates of the requested stream.
+     *
+     * @param streamId   the stream to read.
+     * @param start      start of the range (exclusive).
+     * @param end        end of the range (inclusive).
+     * @param maxEntries max number of entries to return, the remainder of the range
+     *                   is read by a subsequent request from the returned last address.
+     * @param cacheable  whether the read result should be cached on log unit server.
+     * @return a completableFuture which returns a ReadStreamResponse on completion.
+     */
+    public CompletableFuture<ReadStreamResponse> readStream(UUID streamId, long start, long end,
+                                                            int maxEntries, boolean cacheable) {
+        return sendRequestWithFuture(getReadStreamRequestMsg(streamId, start, end, maxEntries, cacheable),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
     }
 
     /**
@@ -190,6 +226,16 @@ public class LogUnitClient extends AbstractClient {
         return sendRequestWithFuture(getLogAddressSpaceRequestMsg(), ClusterIdCheck.CHECK, EpochCheck.CHECK);
     }
 
+    /**
+     * Get the address space for all streams in the log, from the given address onward.
+     *
+     * @param startAddress the first address requested
+     * @return A CompletableFuture that will complete with the streams addresses from startAddress onward.
+     */
+    public CompletableFuture<StreamsAddressResponse> getLogAddressSpace(long startAddress) {
+        return sendRequestWithFuture(getLogAddressSpaceRequestMsg(startAddress), ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
     /**
      * Get the starting address of a log unit.
      *
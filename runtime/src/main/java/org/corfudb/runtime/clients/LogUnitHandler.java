@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.corfudb.protocols.wireprotocol.InspectAddressesResponse;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
+import org.corfudb.protocols.wireprotocol.ReadStreamResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.runtime.exceptions.DataCorruptionException;
@@ -22,6 +23,7 @@ import static org.corfudb.protocols.CorfuProtocolCommon.getStreamsAddressRespons
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getInspectAddressesResponse;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getKnownAddressResponse;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadResponse;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadStreamResponse;
 import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getTailsResponse;
 
 
@@ -89,6 +91,19 @@ public class LogUnitHandler implements IClient, IHandler<LogUnitClient> {
         return getReadResponse(msg.getPayload().getReadLogResponse());
     }
 
+    /**
+     * Handle a read stream response from the server.
+     *
+     * @param msg      The read stream response message.
+     * @param ctx      The context the message was sent under.
+     * @param router   A reference to the router.
+     * @return {@link ReadStreamResponse} sent back from server.
+     */
+    @ResponseHandler(type = PayloadCase.READ_STREAM_RESPONSE)
+    private static Object handleReadStreamResponse(ResponseMsg msg, ChannelHandlerContext ctx, IClientRouter router) {
+        return getReadStreamResponse(msg.getPayload().getReadStreamResponse());
+    }
+
     /**
      * Handle a inspect addresses response from the server.
      *
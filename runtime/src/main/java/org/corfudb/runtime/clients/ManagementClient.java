@@ -1,5 +1,6 @@
 package org.corfudb.runtime.clients;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -16,6 +17,7 @@ import org.corfudb.runtime.view.Layout;
 import org.corfudb.util.CFUtils;
 
 import static org.corfudb.protocols.service.CorfuProtocolManagement.getAddNodeRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolManagement.getAddStripesRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolManagement.getBootstrapManagementRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolManagement.getForceRemoveNodeRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolManagement.getHealFailureRequestMsg;
@@ -144,6 +146,24 @@ public class ManagementClient extends AbstractClient {
         );
     }
 
+    /**
+     * Creates a workflow request to add new log unit stripes.
+     *
+     * @param stripes      The log servers of every new stripe, in chain order.
+     * @param startAddress The lowest address the new stripes are used from.
+     * @return CreateWorkflowResponse which gives the workflowId.
+     * @throws TimeoutException when the rpc times out
+     */
+    public CreateWorkflowResponse addStripesRequest(@Nonnull List<List<String>> stripes, long startAddress)
+            throws TimeoutException {
+        RequestPayloadMsg payload = getAddStripesRequestMsg(stripes, startAddress);
+
+        return CFUtils.getUninterruptibly(
+                sendRequestWithFuture(payload, ClusterIdCheck.IGNORE, EpochCheck.IGNORE),
+                TimeoutException.class
+        );
+    }
+
     /**
      * Query the state of a workflow on a particular orchestrator.
      * @param workflowId the workflow to query
@@ -25,15 +25,20 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import javax.net.ssl.SSLException;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -62,11 +67,13 @@ import org.corfudb.security.tls.SslContextConstructor;
 import org.corfudb.util.CFUtils;
 import org.corfudb.util.NodeLocator;
 import org.corfudb.util.Sleep;
+import org.corfudb.util.tracing.RequestTracer;
 
 import static org.corfudb.protocols.CorfuProtocolCommon.DEFAULT_UUID;
 import static org.corfudb.protocols.CorfuProtocolCommon.getUuidMsg;
 import static org.corfudb.protocols.service.CorfuProtocolBase.getPingRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getHeaderMsg;
+import static org.corfudb.protocols.service.CorfuProtocolMessage.getRequestBatchMsg;
 import static org.corfudb.protocols.service.CorfuProtocolMessage.getRequestMsg;
 
 
@@ -127,6 +134,32 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
      */
     public final Map<Long, CompletableFuture> outstandingRequests;
 
+    /**
+     * The outstanding requests on this router that are traced.
+     */
+    private final Map<Long, TracedRequest> tracedRequests = new ConcurrentHashMap<>();
+
+    /**
+     * The round trip latency of the requests sent by this router.
+     */
+    private final EndpointLatency latency = new EndpointLatency();
+
+    /**
+     * Max number of coalesced requests written by the event loop in a single task, so that
+     * reading the responses is not delayed by a steady stream of requests.
+     */
+    private static final int MAX_COALESCED_REQUESTS = 1024;
+
+    /**
+     * The requests waiting to be written by the event loop, if requests are coalesced.
+     */
+    private final Queue<CorfuMessage.RequestMsg> coalescedRequests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the event loop is scheduled to write the coalesced requests.
+     */
+    private final AtomicBoolean coalescedRequestsScheduled = new AtomicBoolean(false);
+
     /**
      * The currently registered channel.
      */
@@ -337,6 +370,7 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
             connectionFuture = new CompletableFuture<>();
             // Exceptionally complete all requests that were waiting for a completion.
             outstandingRequests.forEach((reqId, reqCompletableFuture) -> {
+                traceCompletion(reqId);
                 reqCompletableFuture.completeExceptionally(
                         new NetworkException("Disconnected", node));
                 // And also remove them.
@@ -426,6 +460,21 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
             long epoch, RpcCommon.UuidMsg clusterId,
             CorfuMessage.PriorityLevel priority,
             ClusterIdCheck ignoreClusterId, EpochCheck ignoreEpoch) {
+        return sendRequestAndGetCompletable(payload, epoch, clusterId, priority,
+                CorfuMessage.TrafficClass.INTERACTIVE, ignoreClusterId, ignoreEpoch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CompletableFuture<T> sendRequestAndGetCompletable(
+            RequestPayloadMsg payload,
+            long epoch, RpcCommon.UuidMsg clusterId,
+            CorfuMessage.PriorityLevel priority,
+            CorfuMessage.TrafficClass trafficClass,
+            ClusterIdCheck ignoreClusterId, EpochCheck ignoreEpoch) {
+        final long startNanos = System.nanoTime();
 
         // Check the connection future. If connected, continue with sending the message.
         // If timed out, return a exceptionally completed with the timeout.
@@ -450,15 +499,33 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
         // Set the base fields for this message.
         CorfuMessage.HeaderMsg header = getHeaderMsg(thisRequestId, priority,
                 epoch, clusterId, clientId, ignoreClusterId, ignoreEpoch);
+        if (trafficClass != CorfuMessage.TrafficClass.INTERACTIVE) {
+            header = header.toBuilder().setTrafficClass(trafficClass).build();
+        }
+
+        // Trace this request as part of the operation the calling thread is traced for,
+        // otherwise sample it on its own.
+        final long currentTraceId = RequestTracer.currentTraceId();
+        final boolean ownsTrace = currentTraceId == RequestTracer.NO_TRACE;
+        final long traceId = ownsTrace ? RequestTracer.sample(parameters.getTraceSamplingRate()) : currentTraceId;
+        if (traceId != RequestTracer.NO_TRACE) {
+            RequestTracer.client().record(traceId, "rpc.connect@" + node, startNanos);
+            header = header.toBuilder().setTraceId(traceId).build();
+        }
 
         CorfuMessage.RequestMsg request = getRequestMsg(header, payload);
 
         // Generate a future and put it in the completion table.
         final CompletableFuture<T> cf = new CompletableFuture<>();
         outstandingRequests.put(thisRequestId, cf);
+        if (traceId != RequestTracer.NO_TRACE) {
+            tracedRequests.put(thisRequestId, new TracedRequest(traceId, ownsTrace,
+                    "rpc." + payload.getPayloadCase() + "@" + node, System.nanoTime()));
+        }
 
         // Write this message out on the channel
-        channel.writeAndFlush(request, channel.voidPromise());
+        final long sentNanos = System.nanoTime();
+        writeRequest(request);
         if (log.isTraceEnabled()) {
             log.trace("Sent request message {}: {}", request.getPayload().getPayloadCase(),
                     TextFormat.shortDebugString(request.getHeader()));
@@ -467,6 +534,8 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
         // Generate a timeout future, which will complete exceptionally
         // if the main future is not completed.
         final CompletableFuture<T> cfTimeout = CFUtils.within(cf, Duration.ofMillis(timeoutResponse));
+        // The failed and timed out requests are recorded too, as they are the slowest ones
+        cfTimeout.whenComplete((r, e) -> latency.record(System.nanoTime() - sentNanos));
         cfTimeout.exceptionally(e -> {
             // CFUtils.within() can wrap different kinds of exceptions in
             // CompletionException, just dealing with TimeoutException here since
@@ -474,6 +543,7 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
             // takes care of others. This avoids handling same exception twice.
             if (e.getCause() instanceof TimeoutException) {
                 outstandingRequests.remove(thisRequestId);
+                traceCompletion(thisRequestId);
                 log.debug(
                         "sendRequestAndGetCompletable: Remove request {} to {} due to timeout! Request:{}",
                         thisRequestId, node, TextFormat.shortDebugString(request.getHeader()));
@@ -489,6 +559,11 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
         throw new UnsupportedOperationException("Unsupported API.");
     }
 
+    @Override
+    public Optional<EndpointLatency> getLatency() {
+        return Optional.of(latency);
+    }
+
     /**
      * Send a one way message, without adding a completable future.
      *
@@ -511,17 +586,78 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
         CorfuMessage.HeaderMsg header = getHeaderMsg(thisRequestId, priority,
                 epoch, clusterId, clientId, ignoreClusterId, ignoreEpoch);
 
+        final long traceId = RequestTracer.currentTraceId();
+        if (traceId != RequestTracer.NO_TRACE) {
+            header = header.toBuilder().setTraceId(traceId).build();
+        }
 
         CorfuMessage.RequestMsg request = getRequestMsg(header, payload);
 
         // Write this message out on the channel
-        channel.writeAndFlush(request, channel.voidPromise());
+        writeRequest(request);
         if (log.isTraceEnabled()) {
             log.trace("Sent one-way request message {}: {}", request.getPayload().getPayloadCase(),
                     TextFormat.shortDebugString(request.getHeader()));
         }
     }
 
+    /**
+     * Write a request out on the channel. If requests are coalesced, the request is written
+     * by the event loop along with the other requests sent in the meantime, and the channel
+     * is flushed once for all of them.
+     *
+     * @param request The request to write.
+     */
+    private void writeRequest(CorfuMessage.RequestMsg request) {
+        if (!parameters.isRequestCoalescingEnabled()) {
+            channel.writeAndFlush(request, channel.voidPromise());
+            return;
+        }
+
+        coalescedRequests.add(request);
+        if (coalescedRequestsScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(this::writeCoalescedRequests);
+        }
+    }
+
+    /**
+     * Write the coalesced requests out on the channel, in batches of at most
+     * maxRequestBatchSize requests per frame, and flush the channel.
+     */
+    private void writeCoalescedRequests() {
+        // Requests added from now on are written by the next task
+        coalescedRequestsScheduled.set(false);
+
+        final Channel currentChannel = channel;
+        final int maxBatchSize = Math.max(parameters.getMaxRequestBatchSize(), 1);
+        List<CorfuMessage.RequestMsg> batch = new ArrayList<>();
+        CorfuMessage.RequestMsg request;
+        int written = 0;
+        while (written < MAX_COALESCED_REQUESTS && (request = coalescedRequests.poll()) != null) {
+            batch.add(request);
+            written++;
+            if (batch.size() == maxBatchSize) {
+                writeBatch(currentChannel, batch);
+                batch = new ArrayList<>();
+            }
+        }
+        writeBatch(currentChannel, batch);
+        currentChannel.flush();
+
+        // Reschedule the requests that are left, unless a task has already been scheduled
+        if (!coalescedRequests.isEmpty() && coalescedRequestsScheduled.compareAndSet(false, true)) {
+            currentChannel.eventLoop().execute(this::writeCoalescedRequests);
+        }
+    }
+
+    private void writeBatch(Channel currentChannel, List<CorfuMessage.RequestMsg> batch) {
+        if (batch.size() == 1) {
+            currentChannel.write(batch.get(0), currentChannel.voidPromise());
+        } else if (batch.size() > 1) {
+            currentChannel.write(getRequestBatchMsg(batch), currentChannel.voidPromise());
+        }
+    }
+
     /**
      * Complete a given outstanding request with a completion value.
      *
@@ -532,6 +668,7 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
     public <T> void completeRequest(long requestId, T completion) {
         CompletableFuture<T> cf;
         if ((cf = (CompletableFuture<T>) outstandingRequests.remove(requestId)) != null) {
+            traceCompletion(requestId);
             cf.complete(completion);
         } else {
             log.warn("Attempted to complete request {}, but request not outstanding!", requestId);
@@ -547,6 +684,7 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
     public void completeExceptionally(long requestID, @Nonnull Throwable cause) {
         CompletableFuture cf;
         if ((cf = outstandingRequests.remove(requestID)) != null) {
+            traceCompletion(requestID);
             cf.completeExceptionally(cause);
             log.debug("completeExceptionally: Remove request {} to {} due to {}.", requestID, node,
                     cause.getClass().getSimpleName(), cause);
@@ -556,6 +694,38 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<Object> imple
         }
     }
 
+    /**
+     * Record the round trip of a request, if it is traced. This is done before the request
+     * future is completed, so that the span is part of the trace when the caller ends it.
+     *
+     * @param requestId The request that is being completed.
+     */
+    private void traceCompletion(long requestId) {
+        if (tracedRequests.isEmpty()) {
+            return;
+        }
+
+        TracedRequest tracedRequest = tracedRequests.remove(requestId);
+        if (tracedRequest != null) {
+            RequestTracer.client().record(tracedRequest.traceId, tracedRequest.span, tracedRequest.sentNanos);
+            if (tracedRequest.ownsTrace) {
+                RequestTracer.client().complete(tracedRequest.traceId);
+            }
+        }
+    }
+
+    /**
+     * A traced outstanding request.
+     */
+    @AllArgsConstructor
+    private static class TracedRequest {
+        final long traceId;
+        // Whether the trace was started for this request alone
+        final boolean ownsTrace;
+        final String span;
+        final long sentNanos;
+    }
+
     /**
      * Validate the clientID of a CorfuMsg.
      *
@@ -1,5 +1,6 @@
 package org.corfudb.runtime.clients;
 
+import org.corfudb.common.compression.Codec;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
@@ -7,6 +8,8 @@ import org.corfudb.protocols.wireprotocol.StreamAddressRange;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncRequestMsg;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 
 import java.util.List;
@@ -15,8 +18,13 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getBootstrapSequencerRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getChunkedBootstrapSequencerRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getDefaultSequencerMetricsRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerBootstrapChunkRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbyStatusRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbySyncRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerTrimRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStandbyBootstrapSequencerRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamsAddressRequestMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getTokenRequestMsg;
 
@@ -107,6 +115,88 @@ public class SequencerClient extends AbstractClient {
                 ClusterIdCheck.CHECK, EpochCheck.CHECK);
     }
 
+    /**
+     * Sends a chunk of the stream address maps of a chunked bootstrap. The chunks are staged
+     * by the sequencer until the bootstrap is committed with {@link #bootstrapChunked}.
+     *
+     * @param readyStateEpoch   Epoch of the bootstrap the chunk belongs to.
+     * @param chunkIndex        Index of the chunk, starting from 0.
+     * @param streamsAddressMap Address maps of the streams in the chunk.
+     * @param codecType         Codec to compress the address maps with.
+     * @return A CompletableFuture which completes with true if the chunk was accepted.
+     */
+    public CompletableFuture<Boolean> bootstrapChunk(long readyStateEpoch, int chunkIndex,
+                                                     List<UuidToStreamAddressSpacePairMsg> streamsAddressMap,
+                                                     Codec.Type codecType) {
+        return sendRequestWithFuture(
+                getSequencerBootstrapChunkRequestMsg(readyStateEpoch, chunkIndex,
+                        streamsAddressMap, codecType),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
+    /**
+     * Resets the sequencer with the specified initialToken and the stream address maps
+     * of the chunks previously sent with {@link #bootstrapChunk}.
+     *
+     * @param initialToken    Token Number which the sequencer starts distributing.
+     * @param readyStateEpoch Epoch at which the sequencer is ready and to stamp tokens.
+     * @param numChunks       Number of chunks sent for this bootstrap.
+     * @return A CompletableFuture which completes with true once the sequencer is reset,
+     * or false if the sequencer did not receive all the chunks.
+     */
+    public CompletableFuture<Boolean> bootstrapChunked(long initialToken, long readyStateEpoch,
+                                                       int numChunks) {
+        return sendRequestWithFuture(
+                getChunkedBootstrapSequencerRequestMsg(initialToken, readyStateEpoch, numChunks),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
+    /**
+     * Promotes a hot-standby sequencer, which only needs the stream addresses
+     * written since the state it was last shipped.
+     *
+     * @param initialToken          Token Number which the sequencer starts distributing.
+     * @param streamAddressSpaceMap Per stream map of the addresses from standbyTail onward.
+     * @param readyStateEpoch       Epoch at which the sequencer is ready and to stamp tokens.
+     * @param standbyTail           Global tail the standby was synced up to.
+     * @return A CompletableFuture which completes with true once the sequencer is promoted,
+     * or false if it requires a full bootstrap.
+     */
+    public CompletableFuture<Boolean> bootstrapFromStandby(long initialToken,
+                                                           Map<UUID, StreamAddressSpace> streamAddressSpaceMap,
+                                                           long readyStateEpoch, long standbyTail) {
+        return sendRequestWithFuture(
+                getStandbyBootstrapSequencerRequestMsg(
+                        streamAddressSpaceMap,
+                        initialToken,
+                        readyStateEpoch,
+                        standbyTail),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
+    /**
+     * Ships the state of the primary sequencer to a hot-standby sequencer.
+     *
+     * @param standbySync the state of the primary sequencer
+     * @return A CompletableFuture which completes with true if the standby applied the sync,
+     * or false if it requires a full sync.
+     */
+    public CompletableFuture<Boolean> syncStandby(SequencerStandbySyncRequestMsg standbySync) {
+        return sendRequestWithFuture(getSequencerStandbySyncRequestMsg(standbySync),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
+    /**
+     * Queries the global tail a hot-standby sequencer is synced up to.
+     *
+     * @return A CompletableFuture which completes with the standby tail, or
+     * {@link org.corfudb.runtime.view.Address#NON_ADDRESS} if the sequencer is not a synced standby.
+     */
+    public CompletableFuture<Long> getStandbyTail() {
+        return sendRequestWithFuture(getSequencerStandbyStatusRequestMsg(),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
     /**
      * Resets the sequencer with the specified initialToken.
      * BootstrapWithoutTailsUpdate defaulted to false.
@@ -124,4 +124,49 @@ public class SequencerHandler implements IClient, IHandler<SequencerClient> {
                 msg.getPayload().getStreamsAddressResponse().getEpoch(),
                 msg.getPayload().getStreamsAddressResponse().getAddressMapList());
     }
+
+    /**
+     * Handle a sequencer standby sync response from the server.
+     *
+     * @param msg      The sequencer standby sync response message.
+     * @param ctx      The context the message was sent under.
+     * @param router   A reference to the router.
+     * @return True if the standby applied the sync, false otherwise.
+     */
+    @ResponseHandler(type = PayloadCase.SEQUENCER_STANDBY_SYNC_RESPONSE)
+    private static Object handleSequencerStandbySyncResponse(ResponseMsg msg,
+                                                             ChannelHandlerContext ctx,
+                                                             IClientRouter router) {
+        return msg.getPayload().getSequencerStandbySyncResponse().getIsSynced();
+    }
+
+    /**
+     * Handle a sequencer standby status response from the server.
+     *
+     * @param msg      The sequencer standby status response message.
+     * @param ctx      The context the message was sent under.
+     * @param router   A reference to the router.
+     * @return The global tail the standby is synced up to.
+     */
+    @ResponseHandler(type = PayloadCase.SEQUENCER_STANDBY_STATUS_RESPONSE)
+    private static Object handleSequencerStandbyStatusResponse(ResponseMsg msg,
+                                                               ChannelHandlerContext ctx,
+                                                               IClientRouter router) {
+        return msg.getPayload().getSequencerStandbyStatusResponse().getStandbyTail();
+    }
+
+    /**
+     * Handle a sequencer bootstrap chunk response from the server.
+     *
+     * @param msg      The sequencer bootstrap chunk response message.
+     * @param ctx      The context the message was sent under.
+     * @param router   A reference to the router.
+     * @return True if the chunk was accepted, false otherwise.
+     */
+    @ResponseHandler(type = PayloadCase.SEQUENCER_BOOTSTRAP_CHUNK_RESPONSE)
+    private static Object handleSequencerBootstrapChunkResponse(ResponseMsg msg,
+                                                                ChannelHandlerContext ctx,
+                                                                IClientRouter router) {
+        return msg.getPayload().getSequencerBootstrapChunkResponse().getIsAccepted();
+    }
 }
@@ -0,0 +1,63 @@
+package org.corfudb.runtime.collections;
+
+import org.corfudb.runtime.CorfuStoreMetadata.Timestamp;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link StreamListener} which receives the updates in batches rather than one transaction at a time.
+ * <p>
+ * Every time the listener is notified, up to {@link BatchedStreamListener#getBatchSize()} pending
+ * transactions are read with a single read, and delivered in one callback, so that high-rate tables
+ * do not pay the dispatch and callback overheads for every transaction.
+ * <p>
+ * If the listener is coalescing, the updates of the batch are merged by key: only the last update of
+ * every key is delivered (a clear drops the previous updates of its table), as a single
+ * {@link CorfuStreamEntries} with the timestamp of the last transaction of the batch. This suits
+ * listeners which only need the latest state of every key, e.g. indexers and cache invalidation.
+ */
+public interface BatchedStreamListener extends StreamListener {
+
+    /**
+     * Default maximum number of transactions delivered in one callback.
+     */
+    int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * @return the maximum number of transactions delivered in one callback, bounded by the buffer
+     * size of the subscription
+     */
+    default int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * @return true if the updates of a batch are merged by key
+     */
+    default boolean isCoalescing() {
+        return false;
+    }
+
+    /**
+     * Receive a batch of updates, ordered by their timestamps.
+     *
+     * @param batch the updates of every transaction of the batch, or a single merged update
+     *              if the listener is coalescing
+     */
+    void onNextBatch(List<CorfuStreamEntries> batch);
+
+    /**
+     * Called once a batch is processed, i.e. once {@link BatchedStreamListener#onNextBatch(List)}
+     * returns, e.g. to track the position from which the subscription can be resumed.
+     *
+     * @param timestamp the timestamp of the last transaction of the batch
+     */
+    default void onBatchProcessed(Timestamp timestamp) {
+    }
+
+    @Override
+    default void onNext(CorfuStreamEntries results) {
+        onNextBatch(Collections.singletonList(results));
+    }
+}
@@ -3,6 +3,7 @@ package org.corfudb.runtime.collections;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.annotations.Accessor;
@@ -13,12 +14,14 @@ import org.corfudb.annotations.Mutator;
 import org.corfudb.annotations.MutatorAccessor;
 import org.corfudb.annotations.PassThrough;
 import org.corfudb.annotations.TransactionalMethod;
+import org.corfudb.runtime.object.ICorfuBulkLoadable;
 import org.corfudb.runtime.object.ICorfuExecutionContext;
 import org.corfudb.runtime.object.ICorfuSMR;
 import org.corfudb.runtime.object.ICorfuVersionPolicy;
 import org.corfudb.util.ImmutableListSetWrapper;
 
 import javax.annotation.Nonnull;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
@@ -58,7 +62,7 @@ import java.util.stream.Stream;
  */
 @Slf4j
 @CorfuObject
-public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable<K, V>> {
+public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable<K, V>>, ICorfuBulkLoadable {
 
     // Accessor/Mutator threads can interleave in a way that create a deadlock because they can create a
     // circular dependency between the VersionLockedObject(VLO) lock and the common forkjoin thread pool. In order
@@ -80,17 +84,21 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
     private final Set<Index.Spec<K, V, ?>> indexSpec;
     private final Map<String, Map<Object, Map<K, V>>> secondaryIndexes;
     private final Map<String, String> secondaryIndexesAliasToPath;
+    // The keys in the order of their positions, if the table is ordered
+    private final OrderedIndex<K, V, ?> orderedIndex;
     private final CorfuTable<K, V> optimisticTable;
     private final VersionPolicy versionPolicy;
 
     public CorfuTable(ContextAwareMap<K, V> mainMap,
                       Set<Index.Spec<K, V, ?>> indexSpec,
                       Map<String, Map<Object, Map<K, V>>> secondaryIndexes,
+                      OrderedIndex<K, V, ?> orderedIndex,
                       CorfuTable<K, V> optimisticTable) {
         this.mainMap = mainMap;
         this.indexSpec = indexSpec;
         this.secondaryIndexes = secondaryIndexes;
         this.secondaryIndexesAliasToPath = new HashMap<>();
+        this.orderedIndex = orderedIndex;
         this.optimisticTable = optimisticTable;
         this.versionPolicy = ICorfuVersionPolicy.DEFAULT;
     }
@@ -108,8 +116,10 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
         this.secondaryIndexesAliasToPath = new HashMap<>();
         this.mainMap = streamingMapSupplier.get();
         this.versionPolicy = versionPolicy;
+        Optional<Index.PositionFunction<K, V, ?>> positionFunction = indices.getPositionFunction();
+        this.orderedIndex = positionFunction.isPresent() ? OrderedIndex.of(positionFunction.get()) : null;
         this.optimisticTable = new CorfuTable<>(this.mainMap.getOptimisticMap(), this.indexSpec,
-                this.secondaryIndexes, null);
+                this.secondaryIndexes, this.orderedIndex, null);
 
         indices.forEach(index -> {
             secondaryIndexes.put(index.getName().get(), new HashMap<>());
@@ -201,6 +211,15 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
         return !secondaryIndexes.isEmpty();
     }
 
+    /** Return whether this table keeps its entries in order or not.
+     *
+     * @return  True, if the table is ordered. False otherwise.
+     */
+    @Accessor
+    public boolean isOrdered() {
+        return orderedIndex != null;
+    }
+
     /** {@inheritDoc} */
     @Override
     @Accessor
@@ -253,6 +272,33 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
         throw new IllegalArgumentException("Secondary Index " + secondaryIndex + " is not defined.");
     }
 
+    /**
+     * Get the entries which follow a position in the order of the table, in order, without
+     * scanning the whole table. The position of every entry is computed by the
+     * {@link Index.PositionFunction} the table was created with.
+     *
+     * @param position   the position to start after (exclusive), or null to start from the
+     *                   first entry
+     * @param maxEntries the maximum number of entries to return
+     * @return the entries following the position, in order
+     * @throws UnsupportedOperationException if the table is not ordered
+     */
+    @Accessor
+    public @Nonnull List<Entry<K, V>> getOrderedEntries(Object position, int maxEntries) {
+        if (orderedIndex == null) {
+            throw new UnsupportedOperationException("CorfuTable is not ordered.");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntries " + maxEntries);
+        }
+
+        List<Entry<K, V>> entries = new ArrayList<>();
+        for (K key : orderedIndex.keysAfter(position, maxEntries)) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, mainMap.get(key)));
+        }
+        return entries;
+    }
+
     /**
      * Scan and filter using the specified index function and projection.
      *
@@ -295,7 +341,7 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
     public V put(@ConflictParameter K key, V value) {
         V previous = mainMap.put(key, value);
         // If we have index functions, update the secondary indexes.
-        if (!secondaryIndexes.isEmpty()) {
+        if (!secondaryIndexes.isEmpty() || orderedIndex != null) {
             unmapSecondaryIndexes(key, previous);
             mapSecondaryIndexes(key, value);
         }
@@ -418,7 +464,7 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
             table.unmapSecondaryIndexes(key, previous);
         } else {
             V previous = table.mainMap.put(key, undoRecord);
-            if (!table.secondaryIndexes.isEmpty()) {
+            if (!table.secondaryIndexes.isEmpty() || table.orderedIndex != null) {
                 table.unmapSecondaryIndexes(key, previous);
                 table.mapSecondaryIndexes(key, undoRecord);
             }
@@ -442,7 +488,7 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
             conflictParameterFunction = "putAllConflictFunction")
     public void putAll(@Nonnull Map<? extends K, ? extends V> m) {
         // If we have no index functions, then just directly put all
-        if (secondaryIndexes.isEmpty()) {
+        if (secondaryIndexes.isEmpty() && orderedIndex == null) {
             mainMap.putAll(m);
         } else {
             // Otherwise we must update all secondary indexes
@@ -462,6 +508,9 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
     public void clear() {
         mainMap.clear();
         secondaryIndexes.values().forEach(Map::clear);
+        if (orderedIndex != null) {
+            orderedIndex.clear();
+        }
     }
 
     /** {@inheritDoc} */
@@ -649,6 +698,10 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
             return;
         }
 
+        if (orderedIndex != null) {
+            orderedIndex.unmap(key);
+        }
+
         try {
             // Map entry into secondary indexes
             for (Index.Spec<K, V, ?> index : indexSpec) {
@@ -687,6 +740,10 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
             return;
         }
 
+        if (orderedIndex != null) {
+            orderedIndex.map(key, value);
+        }
+
         try {
             // Map entry into secondary indexes
             for (Index.Spec<K, V, ?> index : indexSpec) {
@@ -740,6 +797,71 @@ public class CorfuTable<K, V> implements ICorfuTable<K, V>, ICorfuSMR<CorfuTable
         return versionPolicy;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The puts of a checkpoint are loaded into an empty table: the secondary indexes are built
+     * in parallel, one per thread, on the side and installed once they are complete, rather
+     * than being updated put by put.
+     */
+    @DontInstrument
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean bulkLoad(String smrMethod, List<Object[]> arguments) {
+        if (!"put".equals(smrMethod) || !mainMap.isEmpty()) {
+            return false;
+        }
+
+        final Map<K, V> entries = Maps.newHashMapWithExpectedSize(arguments.size());
+        arguments.forEach(args -> entries.put((K) args[0], (V) args[1]));
+
+        // The persisted maps write the entries one at a time
+        if (mainMap instanceof StreamingMapDecorator) {
+            mainMap.putAll(entries);
+        } else {
+            entries.forEach(mainMap::put);
+        }
+
+        if (orderedIndex != null) {
+            entries.forEach(orderedIndex::map);
+        }
+
+        if (!indexSpec.isEmpty()) {
+            final Map<String, Map<Object, Map<K, V>>> builtIndexes;
+            try {
+                builtIndexes = pool.submit(() -> indexSpec.parallelStream()
+                        .collect(Collectors.toMap(index -> index.getName().get(),
+                                index -> buildSecondaryIndex(index, entries)))).join();
+            } catch (Exception e) {
+                log.error("Received an exception while computing the index. " +
+                        "This is most likely an issue with the client's indexing function.", e);
+                // The indexes are not installed, disable indexing as a failed put would.
+                clearIndex();
+                throw e;
+            }
+            secondaryIndexes.putAll(builtIndexes);
+        }
+        return true;
+    }
+
+    /**
+     * Build a secondary index of the given entries.
+     *
+     * @param index   the specification of the index.
+     * @param entries the entries to index.
+     * @return the secondary index of the entries.
+     */
+    @DontInstrument
+    protected Map<Object, Map<K, V>> buildSecondaryIndex(Index.Spec<K, V, ?> index, Map<K, V> entries) {
+        final Map<Object, Map<K, V>> secondaryIndex = new HashMap<>();
+        entries.forEach((key, value) -> {
+            for (Object indexKey : index.getMultiValueIndexFunction().apply(key, value)) {
+                secondaryIndex.computeIfAbsent(indexKey, k -> new HashMap<>()).put(key, value);
+            }
+        });
+        return secondaryIndex;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -34,6 +34,20 @@ public class Index {
             extends BiFunction<K, V, Iterable<I>> {
     }
 
+    /**
+     * Denotes a function that takes as input the key and value of an {@link CorfuTable}
+     * record, and computes the position of the record in the order the table keeps its
+     * records in. Distinct records must have distinct positions, and the position of a
+     * record must not depend on the mutable state of its key or value.
+     *
+     * @param <K> type of the record key.
+     * @param <V> type of the record value.
+     * @param <P> type of the position computed.
+     */
+    @FunctionalInterface
+    public interface PositionFunction<K, V, P extends Comparable<P>> extends BiFunction<K, V, P> {
+    }
+
     /**
      * Descriptor of named indexing function entry. The indexing function can
      * be single indexer {@link Function} mapping a value to single
@@ -124,6 +138,17 @@ public class Index {
          */
         <I> Optional<Spec<K, V, I>> get(Name name);
 
+        /**
+         * Obtain the {@link PositionFunction} ordering the records of the table, if the
+         * records are to be kept in order.
+         *
+         * @return the function computing the position of a record, or empty if the table
+         * is not ordered.
+         */
+        default Optional<PositionFunction<K, V, ?>> getPositionFunction() {
+            return Optional.empty();
+        }
+
         /**
          * Obtain a static {@link Registry} with no registered {@link Function}s.
          *
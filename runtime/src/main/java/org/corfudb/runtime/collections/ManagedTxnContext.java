@@ -9,6 +9,7 @@ import org.corfudb.runtime.view.Address;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -183,6 +184,41 @@ public class ManagedTxnContext implements AutoCloseable {
         return this.txnContext.enqueue(table, record);
     }
 
+    /**
+     * Enqueue several message objects into the CorfuQueue, in order.
+     *
+     * @param table   Table object to perform the enqueue on.
+     * @param records Records to be inserted into the Queue.
+     * @return the keys which can identify the records in the underlying table, in order.
+     */
+    public <K extends Message, V extends Message, M extends Message>
+    List<K> enqueueAll(@Nonnull Table<K, V, M> table, @Nonnull List<V> records) {
+        return this.txnContext.enqueueAll(table, records);
+    }
+
+    /**
+     * Remove the entries at the head of the CorfuQueue.
+     *
+     * @param table      Table object to perform the dequeue on.
+     * @param maxEntries Maximum number of entries to remove.
+     * @return the removed entries, ordered by their parent transaction.
+     */
+    public <K extends Message, V extends Message, M extends Message>
+    List<Table.CorfuQueueRecord> dequeue(@Nonnull Table<K, V, M> table, int maxEntries) {
+        return this.txnContext.dequeue(table, maxEntries);
+    }
+
+    /**
+     * Acknowledge consumed entries of the CorfuQueue, removing them without reading them.
+     *
+     * @param table Table object to perform the acknowledgement on.
+     * @param keys  Keys of the consumed entries.
+     */
+    public <K extends Message, V extends Message, M extends Message>
+    void ack(@Nonnull Table<K, V, M> table, @Nonnull Collection<K> keys) {
+        this.txnContext.ack(table, keys);
+    }
+
     /**
      * get the full record from the table given a key.
      * If this is invoked on a Read-Your-Writes transaction, it will result in starting a corfu transaction
@@ -429,6 +465,22 @@ public class ManagedTxnContext implements AutoCloseable {
         return this.txnContext.entryList(table);
     }
 
+    /**
+     * Return the Queue entries which follow a given entry, ordered by their parent transaction.
+     *
+     * @param table        Table< K, V, M > object aka queue on which the scan must be done.
+     * @param entriesAfter Return only the entries after this entry, or null to start from
+     *                     the head of the queue.
+     * @param maxEntries   Maximum number of entries to return.
+     * @return Collection of Queue records sorted by their transaction commit time.
+     */
+    public <K extends Message, V extends Message, M extends Message>
+    List<Table.CorfuQueueRecord> entryList(@Nonnull Table<K, V, M> table,
+                                           @Nullable Table.CorfuQueueRecord entriesAfter,
+                                           int maxEntries) {
+        return this.txnContext.entryList(table, entriesAfter, maxEntries);
+    }
+
     /**
      * @return true if the transaction was started by this layer, false otherwise
      */
@@ -0,0 +1,95 @@
+package org.corfudb.runtime.collections;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps the keys of a {@link CorfuTable} in the order of their positions, as computed by the
+ * {@link Index.PositionFunction} of the table, so that the records can be scanned in order,
+ * from any position, without sorting the whole table.
+ * <p>
+ * The position of every key is remembered when the key is mapped, so that the key can be
+ * unmapped even if its record was updated in place in the meantime (e.g. the records of a
+ * queue, whose transaction sequence is only known on commit).
+ *
+ * @param <K> type of the record key.
+ * @param <V> type of the record value.
+ * @param <P> type of the record position.
+ */
+class OrderedIndex<K, V, P extends Comparable<P>> {
+
+    private final Index.PositionFunction<K, V, P> positionFunction;
+
+    private final NavigableMap<P, K> keys = new TreeMap<>();
+
+    private final Map<K, P> positions = new HashMap<>();
+
+    OrderedIndex(@NonNull Index.PositionFunction<K, V, P> positionFunction) {
+        this.positionFunction = positionFunction;
+    }
+
+    static <K, V, P extends Comparable<P>> OrderedIndex<K, V, P> of(
+            @NonNull Index.PositionFunction<K, V, P> positionFunction) {
+        return new OrderedIndex<>(positionFunction);
+    }
+
+    /**
+     * Map a record to its position, replacing the previous position of the key, if any.
+     *
+     * @param key   the key of the record
+     * @param value the value of the record
+     */
+    void map(K key, V value) {
+        P position = positionFunction.apply(key, value);
+        P previous = positions.put(key, position);
+        if (previous != null) {
+            keys.remove(previous);
+        }
+        keys.put(position, key);
+    }
+
+    /**
+     * Unmap a key from its position, if it is mapped.
+     *
+     * @param key the key to unmap
+     */
+    void unmap(K key) {
+        P position = positions.remove(key);
+        if (position != null) {
+            keys.remove(position);
+        }
+    }
+
+    void clear() {
+        keys.clear();
+        positions.clear();
+    }
+
+    /**
+     * Get the keys that follow a position, in order.
+     *
+     * @param after      the position to start after (exclusive), or null to start from the
+     *                   first key
+     * @param maxEntries the maximum number of keys to return
+     * @return the keys following the position
+     */
+    @SuppressWarnings("unchecked")
+    List<K> keysAfter(@Nullable Object after, int maxEntries) {
+        NavigableMap<P, K> tail = after == null ? keys : keys.tailMap((P) after, false);
+        List<K> result = new ArrayList<>(Math.min(positions.size(), maxEntries));
+        for (K key : tail.values()) {
+            if (result.size() == maxEntries) {
+                break;
+            }
+            result.add(key);
+        }
+        return result;
+    }
+}
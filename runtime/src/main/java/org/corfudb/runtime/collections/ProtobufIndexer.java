@@ -34,7 +34,16 @@ public class ProtobufIndexer implements Index.Registry<Message, CorfuRecord<Mess
     // Map from secondary index name to index path (index fully qualified name)
     private final HashMap<String, String> secondaryIndexNameToPath = new HashMap<>();
 
+    // Orders the records of the table, if they are to be kept in order (e.g. queues)
+    private final Index.PositionFunction<Message, CorfuRecord<Message, Message>, ?> positionFunction;
+
     ProtobufIndexer(Message payloadSchema, CorfuOptions.SchemaOptions schemaOptions) {
+        this(payloadSchema, schemaOptions, null);
+    }
+
+    ProtobufIndexer(Message payloadSchema, CorfuOptions.SchemaOptions schemaOptions,
+                    Index.PositionFunction<Message, CorfuRecord<Message, Message>, ?> positionFunction) {
+        this.positionFunction = positionFunction;
         registerSecondaryIndex(payloadSchema, schemaOptions);
     }
 
@@ -402,6 +411,11 @@ public class ProtobufIndexer implements Index.Registry<Message, CorfuRecord<Mess
         });
     }
 
+    @Override
+    public Optional<Index.PositionFunction<Message, CorfuRecord<Message, Message>, ?>> getPositionFunction() {
+        return Optional.ofNullable(positionFunction);
+    }
+
     @Override
     public Iterator<Index.Spec<Message, CorfuRecord<Message, Message>, ?>> iterator() {
         return indices.values().iterator();
@@ -76,6 +76,17 @@ abstract class StreamListenerResumePolicy implements StreamListener {
         this.lastProcessedEntryTs = results.getTimestamp();
     }
 
+    /**
+     * Batched listeners are not notified through {@link StreamListener#onNextEntry(CorfuStreamEntries)},
+     * so this implements {@link BatchedStreamListener#onBatchProcessed(Timestamp)} for the
+     * subclasses which are batched listeners.
+     *
+     * @param timestamp the timestamp of the last transaction of the processed batch
+     */
+    public void onBatchProcessed(Timestamp timestamp) {
+        this.lastProcessedEntryTs = timestamp;
+    }
+
     @Override
     public void onError(Throwable throwable) {
         log.error("Exception caught during streaming processing. Re-subscribe this listener to latest timestamp. " +
@@ -21,6 +21,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +84,16 @@ public class Table<K extends Message, V extends Message, M extends Message> {
      */
     private final CorfuGuidGenerator guidGenerator;
 
+    /**
+     * The entries of a queue are kept in enqueue order, i.e., by transaction sequence and then
+     * by entry id, so that they can be consumed without sorting the whole queue.
+     */
+    private static final Index.PositionFunction<Message, CorfuRecord<Message, Message>, CorfuQueue.CorfuRecordId>
+            QUEUE_POSITION = (key, record) -> new CorfuQueue.CorfuRecordId(
+                    record.getMetadata() instanceof Queue.CorfuQueueMetadataMsg
+                            ? ((Queue.CorfuQueueMetadataMsg) record.getMetadata()).getTxSequence() : 0,
+                    ((Queue.CorfuGuidMsg) key).getInstanceId());
+
     /**
      * Returns a Table instance backed by a CorfuTable.
      *
@@ -116,25 +128,22 @@ public class Table<K extends Message, V extends Message, M extends Message> {
         this.tableParameters = tableParameters;
         this.streamingMapSupplier = streamingMapSupplier;
         this.versionPolicy = versionPolicy;
+        this.keyClass = tableParameters.getKClass();
+        this.valueClass = tableParameters.getVClass();
+        this.metadataClass = tableParameters.getMClass();
 
         if (corfuTable == null) {
             this.corfuTable = corfuRuntime.getObjectsView().build()
                     .setTypeToken(CorfuTable.<K, CorfuRecord<V, M>>getTableType())
                     .setStreamName(this.fullyQualifiedTableName)
                     .setSerializer(serializer)
-                    .setArguments(new ProtobufIndexer(tableParameters.getValueSchema(),
-                                    tableParameters.getSchemaOptions()),
-                            streamingMapSupplier, versionPolicy)
+                    .setArguments(getIndexer(), streamingMapSupplier, versionPolicy)
                     .setStreamTags(streamTags)
                     .open();
         } else {
             this.corfuTable = corfuTable;
         }
-        this.keyClass = tableParameters.getKClass();
-        this.valueClass = tableParameters.getVClass();
-        this.metadataClass = tableParameters.getMClass();
-        if (keyClass == Queue.CorfuGuidMsg.class &&
-                metadataClass == Queue.CorfuQueueMetadataMsg.class) { // Really a Queue
+        if (isQueue()) {
             this.guidGenerator = CorfuGuidGenerator.getInstance(corfuRuntime);
         } else {
             this.guidGenerator = null;
@@ -150,6 +159,15 @@ public class Table<K extends Message, V extends Message, M extends Message> {
         this(tableParameters, corfuRuntime, serializer, streamingMapSupplier, versionPolicy, streamTags, null);
     }
 
+    private boolean isQueue() {
+        return keyClass == Queue.CorfuGuidMsg.class && metadataClass == Queue.CorfuQueueMetadataMsg.class;
+    }
+
+    private ProtobufIndexer getIndexer() {
+        return new ProtobufIndexer(tableParameters.getValueSchema(), tableParameters.getSchemaOptions(),
+                isQueue() ? QUEUE_POSITION : null);
+    }
+
     /**
      * Fetch the value for a key.
      *
@@ -213,9 +231,7 @@ public class Table<K extends Message, V extends Message, M extends Message> {
                 .setTypeToken(CorfuTable.<K, CorfuRecord<V, M>>getTableType())
                 .setStreamName(this.fullyQualifiedTableName)
                 .setSerializer(serializer)
-                .setArguments(new ProtobufIndexer(tableParameters.getValueSchema(),
-                                tableParameters.getSchemaOptions()),
-                        streamingMapSupplier, versionPolicy)
+                .setArguments(getIndexer(), streamingMapSupplier, versionPolicy)
                 .setStreamTags(streamTags)
                 .open();
     }
@@ -231,6 +247,18 @@ public class Table<K extends Message, V extends Message, M extends Message> {
      *                                  element prevents it from being added to this queue
      */
     public K enqueue(V e) {
+        return enqueueAll(Collections.singletonList(e)).get(0);
+    }
+
+    /**
+     * Appends the specified elements at the end of this unbounded queue, in order.
+     * The elements share the transaction sequence of the enqueue, so a single callback
+     * fixes up their metadata on commit.
+     *
+     * @param elements the elements to add
+     * @return the keys of the elements, in order
+     */
+    public List<K> enqueueAll(List<V> elements) {
         /**
          * This is a callback that is placed into the root transaction's context on
          * the thread local stack which will be invoked right after this transaction
@@ -238,37 +266,43 @@ public class Table<K extends Message, V extends Message, M extends Message> {
          */
         @AllArgsConstructor
         class QueueEntryAddressGetter implements TransactionalContext.PreCommitListener {
-            private CorfuRecord<V, M> record;
+            private List<CorfuRecord<V, M>> records;
 
             /**
              * If we are in a transaction, determine the commit address and fix it up in
-             * the queue entry's metadata.
+             * the metadata of the queue entries.
              * @param tokenResponse - the sequencer's token response returned.
              */
             @Override
             public void preCommitCallback(TokenResponse tokenResponse) {
-                record.setMetadata((M) Queue.CorfuQueueMetadataMsg.newBuilder()
-                        .setTxSequence(tokenResponse.getSequence()).build());
+                M metadata = (M) Queue.CorfuQueueMetadataMsg.newBuilder()
+                        .setTxSequence(tokenResponse.getSequence()).build();
+                records.forEach(record -> record.setMetadata(metadata));
                 log.trace("preCommitCallback for Queue: " + tokenResponse);
             }
         }
 
-        // Obtain a cluster-wide unique 64-bit id to identify this entry in the queue.
-        long entryId = guidGenerator.nextLong();
-        // Embed this key into a protobuf.
-        K keyOfQueueEntry = (K) Queue.CorfuGuidMsg.newBuilder().setInstanceId(entryId).build();
-
-        // Prepare a partial record with the queue's payload and temporary metadata that will be overwritten
-        // by the QueueEntryAddressGetter callback above when the transaction finally commits.
-        CorfuRecord<V, M> queueEntry = new CorfuRecord<>(e,
-                (M) Queue.CorfuQueueMetadataMsg.newBuilder().setTxSequence(0).build());
+        List<K> keys = new ArrayList<>(elements.size());
+        List<CorfuRecord<V, M>> queueEntries = new ArrayList<>(elements.size());
+        for (V e : elements) {
+            // Obtain a cluster-wide unique 64-bit id to identify this entry in the queue.
+            long entryId = guidGenerator.nextLong();
+            // Embed this key into a protobuf.
+            keys.add((K) Queue.CorfuGuidMsg.newBuilder().setInstanceId(entryId).build());
+
+            // Prepare a partial record with the queue's payload and temporary metadata that will be overwritten
+            // by the QueueEntryAddressGetter callback above when the transaction finally commits.
+            queueEntries.add(new CorfuRecord<>(e,
+                    (M) Queue.CorfuQueueMetadataMsg.newBuilder().setTxSequence(0).build()));
+        }
 
-        QueueEntryAddressGetter addressGetter = new QueueEntryAddressGetter(queueEntry);
-        log.trace("enqueue: Adding preCommitListener for Queue: " + e.toString());
-        TransactionalContext.getRootContext().addPreCommitListener(addressGetter);
+        log.trace("enqueue: Adding preCommitListener for {} Queue entries", elements.size());
+        TransactionalContext.getRootContext().addPreCommitListener(new QueueEntryAddressGetter(queueEntries));
 
-        corfuTable.insert(keyOfQueueEntry, queueEntry);
-        return keyOfQueueEntry;
+        for (int i = 0; i < keys.size(); i++) {
+            corfuTable.insert(keys.get(i), queueEntries.get(i));
+        }
+        return keys;
     }
 
     /**
@@ -281,6 +315,49 @@ public class Table<K extends Message, V extends Message, M extends Message> {
      * @return List of Entries sorted by their enqueue order
      */
     public List<CorfuQueueRecord> entryList() {
+        return entryList(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the entries which follow a given entry of the queue, sorted by the order in which
+     * the enqueue materialized. The entries are kept in order, so consuming the queue a batch at
+     * a time, resuming after the last entry of the previous batch, does not sort the queue.
+     *
+     * <p>Note that an entry whose transaction committed after a later transaction was
+     * consumed can appear before the resumed position.</p>
+     *
+     * @param entriesAfter return only the entries after this entry, or null to start from the
+     *                     head of the queue
+     * @param maxEntries   the maximum number of entries to return
+     * @throws IllegalArgumentException if maxEntries is not positive
+     * @return List of Entries sorted by their enqueue order
+     */
+    public List<CorfuQueueRecord> entryList(@Nullable CorfuQueueRecord entriesAfter, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("entryList can't take zero or negative maxEntries");
+        }
+
+        List<Map.Entry<K, CorfuRecord<V, M>>> entries;
+        if (corfuTable.isOrdered()) {
+            entries = corfuTable.getOrderedEntries(entriesAfter == null ? null : new CorfuQueue.CorfuRecordId(
+                    entriesAfter.getTxSequence().getTxSequence(), entriesAfter.getRecordId().getInstanceId()),
+                    maxEntries);
+        } else {
+            // The table was opened without ordering elsewhere (e.g. by a generic tool)
+            entries = sortedEntriesAfter(entriesAfter, maxEntries);
+        }
+
+        List<CorfuQueueRecord> copy = new ArrayList<>(entries.size());
+        for (Map.Entry<K, CorfuRecord<V, M>> entry : entries) {
+            copy.add(new CorfuQueueRecord((Queue.CorfuGuidMsg) entry.getKey(),
+                    (Queue.CorfuQueueMetadataMsg) entry.getValue().getMetadata(),
+                    entry.getValue().getPayload()));
+        }
+        return copy;
+    }
+
+    private List<Map.Entry<K, CorfuRecord<V, M>>> sortedEntriesAfter(@Nullable CorfuQueueRecord entriesAfter,
+                                                                    int maxEntries) {
         Comparator<Map.Entry<K, CorfuRecord<V, M>>> queueComparator =
                 (Map.Entry<K, CorfuRecord<V, M>> rec1, Map.Entry<K, CorfuRecord<V, M>> rec2) -> {
                     long r1EntryId = ((Queue.CorfuGuidMsg) rec1.getKey()).getInstanceId();
@@ -291,14 +368,38 @@ public class Table<K extends Message, V extends Message, M extends Message> {
                     return CorfuQueueRecord.compareTo(r1EntryId, r2EntryId, r1Sequence, r2Sequence);
                 };
 
-        List<CorfuQueueRecord> copy = new ArrayList<>(corfuTable.size());
-        for (Map.Entry<K, CorfuRecord<V, M>> entry : corfuTable.entryStream()
-                .sorted(queueComparator).collect(Collectors.toList())) {
-            copy.add(new CorfuQueueRecord((Queue.CorfuGuidMsg) entry.getKey(),
-                    (Queue.CorfuQueueMetadataMsg) entry.getValue().getMetadata(),
-                    entry.getValue().getPayload()));
+        Stream<Map.Entry<K, CorfuRecord<V, M>>> entries = corfuTable.entryStream();
+        if (entriesAfter != null) {
+            long afterEntryId = entriesAfter.getRecordId().getInstanceId();
+            long afterSequence = entriesAfter.getTxSequence().getTxSequence();
+            entries = entries.filter(entry -> CorfuQueueRecord.compareTo(
+                    ((Queue.CorfuGuidMsg) entry.getKey()).getInstanceId(), afterEntryId,
+                    ((Queue.CorfuQueueMetadataMsg) entry.getValue().getMetadata()).getTxSequence(),
+                    afterSequence) > 0);
         }
-        return copy;
+        return entries.sorted(queueComparator).limit(maxEntries).collect(Collectors.toList());
+    }
+
+    /**
+     * Removes the entries at the head of the queue, and returns them in enqueue order.
+     *
+     * @param maxEntries the maximum number of entries to remove
+     * @return the removed entries, sorted by their enqueue order
+     */
+    public List<CorfuQueueRecord> dequeue(int maxEntries) {
+        List<CorfuQueueRecord> entries = entryList(null, maxEntries);
+        entries.forEach(entry -> corfuTable.delete((K) entry.getRecordId()));
+        return entries;
+    }
+
+    /**
+     * Acknowledges the consumption of entries of the queue, removing them. Unlike a delete,
+     * the entries are removed without reading them first.
+     *
+     * @param keys the keys of the consumed entries
+     */
+    public void ack(Collection<K> keys) {
+        keys.forEach(corfuTable::delete);
     }
 
     /**
@@ -19,6 +19,7 @@ import org.corfudb.runtime.view.TableRegistry;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -433,6 +434,66 @@ public class TxnContext implements AutoCloseable {
         return ret;
     }
 
+    /**
+     * Enqueue several message objects into the CorfuQueue, in order.
+     *
+     * @param table   Table object to perform the enqueue on.
+     * @param records Records to be inserted into the Queue.
+     * @param <K>     Type of Key.
+     * @param <V>     Type of Value.
+     * @param <M>     Type of Metadata.
+     * @return the keys of the records, in order.
+     */
+    @Nonnull
+    public <K extends Message, V extends Message, M extends Message>
+    List<K> enqueueAll(@Nonnull Table<K, V, M> table,
+                       @Nonnull final List<V> records) {
+        validateWrite(table);
+        List<K> ret = table.enqueueAll(records);
+        tablesUpdated.putIfAbsent(table.getStreamUUID(), table);
+        return ret;
+    }
+
+    /**
+     * Remove the entries at the head of the CorfuQueue.
+     *
+     * @param table      Table object to perform the dequeue on.
+     * @param maxEntries Maximum number of entries to remove.
+     * @param <K>        Type of Key.
+     * @param <V>        Type of Value.
+     * @param <M>        Type of Metadata.
+     * @return the removed entries, ordered by their parent transaction.
+     */
+    @Nonnull
+    public <K extends Message, V extends Message, M extends Message>
+    List<Table.CorfuQueueRecord> dequeue(@Nonnull Table<K, V, M> table,
+                                         int maxEntries) {
+        validateWrite(table);
+        List<Table.CorfuQueueRecord> ret = table.dequeue(maxEntries);
+        tablesUpdated.putIfAbsent(table.getStreamUUID(), table);
+        return ret;
+    }
+
+    /**
+     * Acknowledge consumed entries of the CorfuQueue, removing them without reading them.
+     *
+     * @param table Table object to perform the acknowledgement on.
+     * @param keys  Keys of the consumed entries.
+     * @param <K>   Type of Key.
+     * @param <V>   Type of Value.
+     * @param <M>   Type of Metadata.
+     * @return TxnContext instance.
+     */
+    @Nonnull
+    public <K extends Message, V extends Message, M extends Message>
+    TxnContext ack(@Nonnull Table<K, V, M> table,
+                   @Nonnull final Collection<K> keys) {
+        validateWrite(table);
+        table.ack(keys);
+        tablesUpdated.putIfAbsent(table.getStreamUUID(), table);
+        return this;
+    }
+
     // *************************** READ API *****************************************
 
     /**
@@ -695,6 +756,24 @@ public class TxnContext implements AutoCloseable {
         return table.entryList();
     }
 
+    /**
+     * Return the Queue entries which follow a given entry, ordered by their parent transaction.
+     * Consuming a queue a batch at a time, resuming after the last entry of the previous
+     * batch, does not sort the whole queue.
+     *
+     * @param table        Table< K, V, M > object aka queue on which the scan must be done.
+     * @param entriesAfter Return only the entries after this entry, or null to start from
+     *                     the head of the queue.
+     * @param maxEntries   Maximum number of entries to return.
+     * @return Collection of entries.
+     */
+    public <K extends Message, V extends Message, M extends Message>
+    List<Table.CorfuQueueRecord> entryList(@Nonnull final Table<K, V, M> table,
+                                           @Nullable final Table.CorfuQueueRecord entriesAfter,
+                                           int maxEntries) {
+        return table.entryList(entriesAfter, maxEntries);
+    }
+
     /**
      * @return The the thread local's TxnContext, null if not in a transaction.
      */
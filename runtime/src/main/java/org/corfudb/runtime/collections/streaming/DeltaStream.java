@@ -17,8 +17,12 @@ import org.corfudb.runtime.view.ReadOptions;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Unlike the {@link org.corfudb.runtime.view.stream.IStreamView} this stream implementation only tracks updates
@@ -201,24 +205,71 @@ public class DeltaStream {
     }
 
     public ILogData next() {
+        checkTrimGap();
 
+        TimeStampedRead stampedRead = nextRead();
+        long startRead = System.nanoTime();
+        ILogData logData = addressSpaceView.read(stampedRead.getAddress(), options);
+        MicroMeterUtils.time(Duration.ofNanos(System.nanoTime() - startRead),"delta_stream.read");
+
+        return consume(stampedRead, logData);
+    }
+
+    /**
+     * Read up to maxEntries of the pending addresses with a single multi-address read.
+     *
+     * @param maxEntries the maximum number of entries to read
+     * @return the entries read, in address order
+     */
+    public List<ILogData> next(int maxEntries) {
+        Preconditions.checkArgument(maxEntries > 0, "maxEntries %s must be > 0", maxEntries);
+        checkTrimGap();
+
+        List<TimeStampedRead> stampedReads = new ArrayList<>();
+        while (stampedReads.size() < maxEntries && !addressesToRead.isEmpty()) {
+            stampedReads.add(nextRead());
+        }
+
+        long startRead = System.nanoTime();
+        Map<Long, ILogData> entries = addressSpaceView.read(stampedReads.stream()
+                .map(TimeStampedRead::getAddress)
+                .collect(Collectors.toList()), options);
+        MicroMeterUtils.time(Duration.ofNanos(System.nanoTime() - startRead),"delta_stream.read");
+
+        return stampedReads.stream()
+                .map(stampedRead -> consume(stampedRead, entries.get(stampedRead.getAddress())))
+                .collect(Collectors.toList());
+    }
+
+    private void checkTrimGap() {
         if (lastAddressRead.get() < trimMark.get()) {
             throw new TrimmedException(String.format("lastAddressRead %s trimMark %s", lastAddressRead, trimMark));
         }
+    }
 
+    /**
+     * Dequeue the next address to read.
+     */
+    private TimeStampedRead nextRead() {
         TimeStampedRead stampedRead = (TimeStampedRead) addressesToRead.remove();
         long readAddress = stampedRead.getAddress();
 
-        Preconditions.checkState(lastAddressRead.get() < readAddress,
-                "%d must be greater than %d", readAddress, lastAddressRead);
-
         if (readAddress <= trimMark.get()) {
             throw new TrimmedException(String.format("current %d trimMark %s", readAddress, trimMark));
         }
 
-        long startRead = System.nanoTime();
-        ILogData logData = addressSpaceView.read(readAddress, options);
-        MicroMeterUtils.time(Duration.ofNanos(System.nanoTime() - startRead),"delta_stream.read");
+        return stampedRead;
+    }
+
+    /**
+     * Validate the entry read at a dequeued address, and advance the last address read.
+     */
+    private ILogData consume(TimeStampedRead stampedRead, ILogData logData) {
+        long readAddress = stampedRead.getAddress();
+
+        Preconditions.checkState(lastAddressRead.get() < readAddress,
+                "%d must be greater than %d", readAddress, lastAddressRead);
+        Preconditions.checkNotNull(logData, "address %s was not read", readAddress);
 
         if (!logData.isHole()) {
             // if its not a hole then it must belong to our stream
@@ -6,10 +6,11 @@ import com.google.protobuf.Message;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
-import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
+import org.corfudb.protocols.logprotocol.ISMRConsumable;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.CorfuStoreMetadata;
+import org.corfudb.runtime.collections.BatchedStreamListener;
 import org.corfudb.runtime.collections.CorfuStreamEntries;
 import org.corfudb.runtime.collections.CorfuStreamEntry;
 import org.corfudb.runtime.collections.StreamListener;
@@ -20,7 +21,9 @@ import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.view.TableRegistry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,7 +37,8 @@ import java.util.stream.Collectors;
 /**
  * This class represents a Streaming task that is managed by {@link StreamPollingScheduler}. It binds a stream listener
  * {@link StreamListener} to a {@link DeltaStream}, ever time it's scheduled to sync, it will read data for a specific
- * stream tag, transform it and propagate it to the listener.
+ * stream tag, transform it and propagate it to the listener. A {@link BatchedStreamListener} is given the updates
+ * of up to a batch of deltas at a time.
  *
  * @param <K> - type of the protobuf KeySchema defined while the table was created.
  * @param <V> - type of the protobuf PayloadSchema defined by the table creator.
@@ -111,7 +115,7 @@ public class StreamingTask<K extends Message, V extends Message, M extends Messa
         }
 
         long epoch = logData.getEpoch();
-        MultiObjectSMREntry smrEntries = (MultiObjectSMREntry) logData.getPayload(runtime);
+        ISMRConsumable smrEntries = (ISMRConsumable) logData.getPayload(runtime);
 
         Map<UUID, TableSchema<K, V, M>> filteredSchemas = logData.getStreams()
                 .stream()
@@ -153,17 +157,49 @@ public class StreamingTask<K extends Message, V extends Message, M extends Messa
         return this.stream;
     }
 
+    /**
+     * Merge the updates of a batch by key, keeping the last update of every key.
+     */
+    private CorfuStreamEntries coalesce(List<CorfuStreamEntries> batch) {
+        Map<TableSchema, Map<Message, CorfuStreamEntry>> updates = new HashMap<>();
+
+        batch.forEach(entries -> entries.getEntries().forEach((schema, entryList) -> {
+            Map<Message, CorfuStreamEntry> tableUpdates = updates.computeIfAbsent(schema,
+                    s -> new LinkedHashMap<>());
+            entryList.forEach(entry -> {
+                // A clear supersedes all the previous updates of the table
+                if (entry.getOperation() == CorfuStreamEntry.OperationType.CLEAR) {
+                    tableUpdates.clear();
+                }
+                // Re-insert, so that the updates stay ordered by their last occurrence
+                tableUpdates.remove(entry.getKey());
+                tableUpdates.put(entry.getKey(), entry);
+            });
+        }));
+
+        Map<TableSchema, List<CorfuStreamEntry>> streamEntries = new HashMap<>();
+        updates.forEach((schema, tableUpdates) -> streamEntries.put(schema, new ArrayList<>(tableUpdates.values())));
+
+        return new CorfuStreamEntries(streamEntries, batch.get(batch.size() - 1).getTimestamp());
+    }
+
     private void produce() {
         Preconditions.checkState(status.get() == StreamStatus.SYNCING);
         Preconditions.checkState(stream.hasNext());
-        ILogData logData = stream.next();
-        Optional<CorfuStreamEntries> streamEntries = transform(logData);
-        log.debug("producing {}@{} {} on {}", logData.getEpoch(), logData.getGlobalAddress(), logData.getType(), listenerId);
 
-        streamEntries.ifPresent(e -> MicroMeterUtils.time(() -> listener.onNextEntry(e),
-                "stream.notify.duration",
-                "listener",
-                listenerId));
+        if (listener instanceof BatchedStreamListener) {
+            produceBatch((BatchedStreamListener) listener);
+        } else {
+            ILogData logData = stream.next();
+            Optional<CorfuStreamEntries> streamEntries = transform(logData);
+            log.debug("producing {}@{} {} on {}", logData.getEpoch(), logData.getGlobalAddress(), logData.getType(),
+                    listenerId);
+
+            streamEntries.ifPresent(e -> MicroMeterUtils.time(() -> listener.onNextEntry(e),
+                    "stream.notify.duration",
+                    "listener",
+                    listenerId));
+        }
 
         // Re-schedule, give other streams a chance to produce
         if (stream.hasNext()) {
@@ -177,6 +213,35 @@ public class StreamingTask<K extends Message, V extends Message, M extends Messa
         move(StreamStatus.SYNCING, StreamStatus.RUNNABLE);
     }
 
+    /**
+     * Read up to a batch of deltas with a single read, and deliver their updates in one callback.
+     */
+    private void produceBatch(BatchedStreamListener batchedListener) {
+        List<ILogData> batch = stream.next(batchedListener.getBatchSize());
+        log.debug("producing {} entries [{}, {}] on {}", batch.size(), batch.get(0).getGlobalAddress(),
+                batch.get(batch.size() - 1).getGlobalAddress(), listenerId);
+
+        List<CorfuStreamEntries> streamEntries = batch.stream()
+                .map(this::transform)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+
+        if (streamEntries.isEmpty()) {
+            return;
+        }
+
+        List<CorfuStreamEntries> delivered = batchedListener.isCoalescing()
+                ? Collections.singletonList(coalesce(streamEntries))
+                : streamEntries;
+
+        MicroMeterUtils.time(() -> batchedListener.onNextBatch(delivered),
+                "stream.notify.duration",
+                "listener",
+                listenerId);
+        batchedListener.onBatchProcessed(delivered.get(delivered.size() - 1).getTimestamp());
+    }
+
     public void propagateError() {
         Objects.requireNonNull(error);
         if (error instanceof TrimmedException) {
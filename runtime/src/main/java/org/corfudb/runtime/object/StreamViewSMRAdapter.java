@@ -57,6 +57,7 @@ public class StreamViewSMRAdapter implements ISMRStream {
                 cp.getSmrEntries().getUpdates().forEach(e -> {
                     e.setRuntime(runtime);
                     e.setGlobalAddress(logData.getGlobalAddress());
+                    e.setCheckpointUpdate(true);
                 });
                 return cp.getSmrEntries().getUpdates();
             } else {
@@ -15,6 +15,7 @@ import org.corfudb.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -685,34 +686,93 @@ public class VersionLockedObject<T extends ICorfuSMR<T>> {
 
         AtomicLong numBytes = new AtomicLong();
         AtomicLong numEntries = new AtomicLong();
-        Runnable syncStreamRunnable = () ->
-                stream.streamUpTo(syncTo)
-                        .forEachOrdered(entry -> {
-                            try {
-                                Object res = applyUpdateUnsafe(entry, timestamp);
-                                if (timestamp == Address.OPTIMISTIC) {
-                                    entry.setUpcallResult(res);
-                                } else if (pendingUpcalls.contains(entry.getGlobalAddress())) {
-                                    log.debug("Sync[{}] Upcall Result {}",
-                                            this, entry.getGlobalAddress());
-                                    upcallResults.put(entry.getGlobalAddress(), res == null
-                                            ? NullValue.NULL_VALUE : res);
-                                    pendingUpcalls.remove(entry.getGlobalAddress());
-                                }
-                                entry.setUpcallResult(res);
-                                numEntries.getAndIncrement();
-                                numBytes.getAndAdd(entry.getSerializedSize()==null ? 0: entry.getSerializedSize());
-                            } catch (Exception e) {
-                                log.error("Sync[{}] Error: Couldn't execute upcall due to {}", this, e);
-                                throw new UnrecoverableCorfuError(e);
+        // The updates of a checkpoint are loaded at once by the objects which support it
+        final boolean bulkLoad = timestamp != Address.OPTIMISTIC && object instanceof ICorfuBulkLoadable;
+        final List<SMREntry> checkpointUpdates = new ArrayList<>();
+        Runnable syncStreamRunnable = () -> {
+            stream.streamUpTo(syncTo)
+                    .forEachOrdered(entry -> {
+                        if (bulkLoad && entry.isCheckpointUpdate()) {
+                            if (!checkpointUpdates.isEmpty() && !checkpointUpdates.get(0)
+                                    .getSMRMethod().equals(entry.getSMRMethod())) {
+                                loadCheckpointUnsafe(checkpointUpdates, timestamp);
                             }
-                        });
+                            checkpointUpdates.add(entry);
+                        } else {
+                            loadCheckpointUnsafe(checkpointUpdates, timestamp);
+                            applySyncedUpdateUnsafe(entry, timestamp);
+                        }
+                        numEntries.getAndIncrement();
+                        numBytes.getAndAdd(entry.getSerializedSize()==null ? 0: entry.getSerializedSize());
+                    });
+            loadCheckpointUnsafe(checkpointUpdates, timestamp);
+        };
         MicroMeterUtils.time(syncStreamRunnable, "vlo.sync.timer",
                 "streamId", getID().toString());
         MicroMeterUtils.measure(numBytes.longValue(), "vlo.sync.read_size");
         MicroMeterUtils.measure(numEntries.longValue(), "vlo.sync.read_entries");
     }
 
+    /**
+     * Apply an update synced from a stream, and save its upcall result.
+     *
+     * @param entry     The entry to apply.
+     * @param timestamp The timestamp the stream is synced to.
+     */
+    private void applySyncedUpdateUnsafe(SMREntry entry, long timestamp) {
+        try {
+            Object res = applyUpdateUnsafe(entry, timestamp);
+            if (timestamp == Address.OPTIMISTIC) {
+                entry.setUpcallResult(res);
+            } else if (pendingUpcalls.contains(entry.getGlobalAddress())) {
+                log.debug("Sync[{}] Upcall Result {}",
+                        this, entry.getGlobalAddress());
+                upcallResults.put(entry.getGlobalAddress(), res == null
+                        ? NullValue.NULL_VALUE : res);
+                pendingUpcalls.remove(entry.getGlobalAddress());
+            }
+            entry.setUpcallResult(res);
+        } catch (Exception e) {
+            log.error("Sync[{}] Error: Couldn't execute upcall due to {}", this, e);
+            throw new UnrecoverableCorfuError(e);
+        }
+    }
+
+    /**
+     * Load the synced updates of a checkpoint into the object at once, or apply them one at
+     * a time if the object can not load them. The updates are cleared once applied.
+     *
+     * <p>Checkpoint updates never carry undo records, as the stream can not be rolled back
+     * past a checkpoint, and have no pending upcalls, as they are not written by this runtime.
+     *
+     * @param updates   The checkpoint updates of a single SMR method, in order.
+     * @param timestamp The timestamp the stream is synced to.
+     */
+    private void loadCheckpointUnsafe(List<SMREntry> updates, long timestamp) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        final List<Object[]> arguments = new ArrayList<>(updates.size());
+        updates.forEach(update -> arguments.add(update.getSMRArguments()));
+
+        final boolean loaded;
+        try {
+            loaded = ((ICorfuBulkLoadable) object).bulkLoad(updates.get(0).getSMRMethod(), arguments);
+        } catch (Exception e) {
+            log.error("Sync[{}] Error: Couldn't load {} checkpoint updates due to {}", this, updates.size(), e);
+            throw new UnrecoverableCorfuError(e);
+        }
+
+        if (loaded) {
+            log.trace("Sync[{}] Loaded {} checkpoint updates", this, updates.size());
+            updates.forEach(update -> update.setUpcallResult(null));
+        } else {
+            updates.forEach(update -> applySyncedUpdateUnsafe(update, timestamp));
+        }
+        updates.clear();
+    }
+
     /**
      * Roll back the optimistic stream, resetting the object if it can not
      * be restored.
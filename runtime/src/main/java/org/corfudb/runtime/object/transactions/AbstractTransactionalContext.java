@@ -314,8 +314,7 @@ public abstract class AbstractTransactionalContext implements
             Token timestamp = getTransaction()
                     .getRuntime()
                     .getSequencerView()
-                    .query()
-                    .getToken();
+                    .querySnapshot(getTransaction().getMaxSnapshotStaleness());
             log.trace("obtainSnapshotTimestamp: sequencer SnapshotTimestamp[{}] {}", this, timestamp);
             return timestamp;
         }
@@ -9,6 +9,8 @@ import lombok.NonNull;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
 
+import java.time.Duration;
+
 
 /**
  * Represents a transaction.
@@ -40,6 +42,15 @@ public class Transaction {
     @Default
     final Token snapshot = Token.UNINITIALIZED;
 
+    /**
+     * For snapshot transactions without a user defined snapshot,
+     * how long before the transaction starts the global tail the
+     * snapshot starts at may have been queried. A zero staleness
+     * queries the current global tail.
+     */
+    @Default
+    final Duration maxSnapshotStaleness = Duration.ZERO;
+
     /**
      * Start the transaction with the parameters given
      * to the builder.
@@ -53,6 +64,11 @@ public class Transaction {
      * Verifies that this transaction has a valid snapshot and context.
      */
     private void verify() {
+        if (!maxSnapshotStaleness.isZero() && type != TransactionType.SNAPSHOT) {
+            throw new IllegalArgumentException(String.format("A stale snapshot is only allowed for " +
+                    "snapshot transactions, type=%s", type));
+        }
+
         final AbstractTransactionalContext parentCtx = TransactionalContext.getCurrentContext();
         if (parentCtx != null) {
             // In a nested transaction, the runtime should be the same as the parent's
@@ -1,26 +1,29 @@
 package org.corfudb.runtime.view;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
-import com.google.common.util.concurrent.UncheckedExecutionException;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.netty.handler.timeout.TimeoutException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MeterRegistryProvider;
+import org.corfudb.common.metrics.micrometer.DistributionSummaryHandle;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
+import org.corfudb.common.util.Tuple;
 import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.IToken;
 import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.ReadStreamResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
@@ -36,6 +39,9 @@ import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.util.CFUtils;
 import org.corfudb.util.Sleep;
+import org.corfudb.runtime.view.Layout.LayoutSegment;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
+import org.corfudb.runtime.view.ReadOptions.ReadClass;
 import org.corfudb.util.Utils;
 import org.ehcache.sizeof.SizeOf;
 
@@ -43,16 +49,16 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NavigableSet;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -69,8 +75,17 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
     private final SizeOf sizeOf;
     /**
      * A cache for read results.
+     * <p>
+     * The cache is a W-TinyLFU cache: an entry is only admitted over the eviction candidate if it
+     * is used more frequently, so sweeps through the log (e.g. object rebuilds, checkpoint loads)
+     * do not evict the hot entries the VersionLockedObject needs to roll back.
      */
     private final Cache<Long, ILogData> readCache;
+
+    /**
+     * The hits and misses of the read cache, per class of reader.
+     */
+    private final Map<ReadClass, ReadCacheStats> readCacheStats = new EnumMap<>(ReadClass.class);
     private final ReadOptions defaultReadOptions = ReadOptions.builder()
             .ignoreTrim(false)
             .waitForHole(true)
@@ -81,6 +96,15 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
     private final String hitRatioName = "address_space.read_cache.hit_ratio";
     private final String sizeName = "address_space.read_cache.size";
     private final String entrySizeName = "address_space.read_cache.avg_entry_size";
+    private final String classHitRatioName = "address_space.read_cache.class_hit_ratio";
+
+    private final TimerHandle singleReadTimer =
+            MicroMeterUtils.timerHandle("address_space.read.latency", "type", "single");
+    private final TimerHandle multiReadTimer =
+            MicroMeterUtils.timerHandle("address_space.read.latency", "type", "multi");
+    private final TimerHandle writeTimer = MicroMeterUtils.timerHandle("address_space.write.latency");
+    private final DistributionSummaryHandle logSizeSummary =
+            MicroMeterUtils.distSummaryHandle("address_space.log_data.size.bytes");
 
     /**
      * Constructor for the Address Space View.
@@ -88,12 +112,11 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
     public AddressSpaceView(@Nonnull final CorfuRuntime runtime) {
         super(runtime);
         sizeOf = SizeOf.newInstance();
-        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
 
         final boolean cacheDisabled = runtime.getParameters().isCacheDisabled();
         final long maxCacheEntries = runtime.getParameters().getMaxCacheEntries();
         final long maxCacheWeight = runtime.getParameters().getMaxCacheWeight();
-        final int concurrencyLevel = runtime.getParameters().getCacheConcurrencyLevel();
 
         if (maxCacheWeight != 0) {
             throw new UnsupportedOperationException("Weighing cache is not supported!");
@@ -108,37 +131,65 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
             cacheBuilder.maximumSize(DEFAULT_MAX_CACHE_ENTRIES);
         }
 
-        if (concurrencyLevel != 0) {
-            cacheBuilder.concurrencyLevel(concurrencyLevel);
-        }
-
+        // The cache is maintained (i.e. evictions) on the calling threads
         readCache = cacheBuilder.expireAfterAccess(runtime.getParameters().getCacheExpiryTime(), TimeUnit.SECONDS)
                 .expireAfterWrite(runtime.getParameters().getCacheExpiryTime(), TimeUnit.SECONDS)
+                .executor(Runnable::run)
                 .removalListener(this::handleEviction)
                 .recordStats()
                 .build();
 
-        Optional<MeterRegistry> metricsRegistry = MeterRegistryProvider.getInstance();
-        metricsRegistry.map(registry -> GuavaCacheMetrics.monitor(registry, readCache, "address_space.read_cache"));
+        MeterRegistryProvider.getInstance().ifPresent(registry ->
+                CaffeineCacheMetrics.monitor(registry, readCache, "address_space.read_cache"));
         MicroMeterUtils.gauge(hitRatioName, readCache, cache -> cache.stats().hitRate());
 
+        for (ReadClass readClass : ReadClass.values()) {
+            ReadCacheStats stats = new ReadCacheStats();
+            readCacheStats.put(readClass, stats);
+            MicroMeterUtils.gauge(classHitRatioName, stats, ReadCacheStats::hitRate,
+                    "class", readClass.name().toLowerCase());
+        }
+
         if (!runtime.getParameters().isCacheEntryMetricsDisabled()) {
-            MicroMeterUtils.gauge(sizeName, readCache, Cache::size);
+            MicroMeterUtils.gauge(sizeName, readCache, Cache::estimatedSize);
             MicroMeterUtils.gauge(entrySizeName, readCache, cache -> calculateEstimatedAvgEntrySize());
         }
     }
 
-    private void handleEviction(RemovalNotification<Long, ILogData> notification) {
+    /**
+     * The hits and misses of the read cache of a class of reader.
+     */
+    private static class ReadCacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        void record(long hitCount, long missCount) {
+            hits.add(hitCount);
+            misses.add(missCount);
+        }
+
+        double hitRate() {
+            long hitCount = hits.sum();
+            long requestCount = hitCount + misses.sum();
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+    }
+
+    private void recordCacheAccess(ReadOptions options, long hitCount, long missCount) {
+        readCacheStats.get(options.getReadClass()).record(hitCount, missCount);
+    }
+
+    private void handleEviction(Long address, ILogData value, RemovalCause cause) {
         if (log.isTraceEnabled()) {
-            log.trace("handleEviction: evicting {} cause {}", notification.getKey(), notification.getCause());
+            log.trace("handleEviction: evicting {} cause {}", address, cause);
         }
     }
 
     private double calculateEstimatedAvgEntrySize() {
-        if (readCache.size() == 0) {
+        long currentCacheSize = readCache.estimatedSize();
+        if (currentCacheSize == 0) {
             return 0.0;
         }
-        long currentCacheSize = readCache.size();
         long currentDataSizeInCache = readCache.asMap().entrySet().stream()
                 .mapToLong(e -> sizeOf.deepSizeOf(e.getKey()) + sizeOf.deepSizeOf(e.getValue())).sum();
 
@@ -147,7 +198,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
 
 
     private void recordLogSizeDist(double logSize) {
-        MicroMeterUtils.measure(logSize, "address_space.log_data.size.bytes");
+        logSizeSummary.record(logSize);
     }
     /**
      * Remove all log entries that are less than the trim mark
@@ -278,23 +329,11 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
                 // (now with no undoRecord and this won't be generated as upcall will not be executed for mutations)
                 // Thread#3 tries to rollback but fails to do so because X+1 (overwritten value) does not have undoRecord
                 // ---> Unnecessary NRE (but this can be prevented if writer writes around the cache whenever present).
-                try {
-                    readCache.get(token.getSequence(), () -> ld);
-                } catch (ExecutionException | UncheckedExecutionException e) {
-                    // Guava wraps the exceptions thrown from the lower layers, therefore
-                    // we need to unwrap them before throwing them to the upper layers that
-                    // don't understand the guava exceptions
-                    Throwable cause = e.getCause();
-                    if (cause instanceof RuntimeException) {
-                        throw (RuntimeException) cause;
-                    } else {
-                        throw new RuntimeException(cause);
-                    }
-                }
+                readCache.get(token.getSequence(), address -> ld);
             }
         };
 
-        MicroMeterUtils.time(writeRunnable, "address_space.write.latency");
+        writeTimer.record(writeRunnable);
     }
 
     /**
@@ -345,7 +384,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
         // undo records are stored in transient fields and are not persisted.
         // A missing undo record can cause a NoRollbackException, thus forcing
         // a complete object rebuild that generates a "scanning" behavior
-        // which affects the LRU window. In essence, affecting other cache users
+        // which affects the cache window. In essence, affecting other cache users
         // and making the VersionLockedObject very sensitive to caching behavior.
         // A concrete example of this would be unsynchronized readers/writes:
         // 1. Thread A starts replicating write1
@@ -360,6 +399,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
 
         Supplier<ILogData> logDataSupplier = () -> {
             ILogData data = readCache.getIfPresent(address);
+            recordCacheAccess(options, data == null ? 0 : 1, data == null ? 1 : 0);
             if (data == null) {
                 // Loading a value without the cache loader can result in
                 // redundant loading calls (i.e. multiple threads try to
@@ -373,7 +413,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
             recordLogSizeDist(data.getSizeEstimate());
             return data;
         };
-        return MicroMeterUtils.time(logDataSupplier, "address_space.read.latency", "type", "single");
+        return singleReadTimer.record(logDataSupplier);
     }
 
     /**
@@ -383,21 +423,24 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
      * If 'nextRead' is present in the cache, it directly returns this data.
      *
      * @param nextRead  current address of interest
-     * @param addresses batch of addresses to read (bring into the cache) in case
+     * @param addresses ordered addresses to read (bring into the cache) in batch in case
      *                  there is a cache miss (includes nextRead)
      * @param options   options for this read request
      * @return data for current 'address' of interest.
      */
     public @Nonnull
-    ILogData read(@NonNull Long nextRead, @NonNull NavigableSet<Long> addresses,
+    ILogData read(@NonNull Long nextRead, @NonNull Iterable<Long> addresses,
                   @NonNull ReadOptions options) {
         if (options.isClientCacheable()) {
             ILogData data = readCache.getIfPresent(nextRead);
             if (data == null) {
+                // The misses are accounted by the batch read
                 List<Long> batch = getBatch(nextRead, addresses);
                 log.trace("read: request address {}, read batch {}", nextRead, batch);
                 Map<Long, ILogData> mapAddresses = read(batch, options);
                 data = mapAddresses.get(nextRead);
+            } else {
+                recordCacheAccess(options, 1, 0);
             }
             final ILogData finalData = data;
             recordLogSizeDist(finalData.getSizeEstimate());
@@ -414,7 +457,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
      * @param queue       queue to get entries from.
      * @return batch of entries.
      */
-    private List<Long> getBatch(long currentRead, @NonNull NavigableSet<Long> queue) {
+    private List<Long> getBatch(long currentRead, @NonNull Iterable<Long> queue) {
         List<Long> batchRead = new ArrayList<>();
         batchRead.add(currentRead);
 
@@ -450,7 +493,8 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
                                      @NonNull ILogData loadedValue,
                                      @NonNull ReadOptions options) {
 
-        if (!options.isClientCacheable()) {
+        // Bulk readers are served from the cache, but do not admit the entries they read once
+        if (!options.isClientCacheable() || options.getReadClass() == ReadClass.SCAN) {
             return loadedValue;
         }
 
@@ -461,19 +505,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
             return loadedValue;
         }
 
-        try {
-            return cache.get(address, () -> loadedValue);
-        } catch (ExecutionException | UncheckedExecutionException e) {
-            // Guava wraps the exceptions thrown from the lower layers, therefore
-            // we need to unwrap them before throwing them to the upper layers that
-            // don't understand the guava exceptions
-            Throwable cause = e.getCause();
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-            } else {
-                throw new RuntimeException(cause);
-            }
-        }
+        return cache.get(address, key -> loadedValue);
     }
 
     /**
@@ -487,6 +519,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
             final Map<Long, ILogData> cachedData = readCache.getAllPresent(addresses);
             final Set<Long> addressesToFetch = Sets.difference(
                     Sets.newHashSet(addresses), cachedData.keySet());
+            recordCacheAccess(options, cachedData.size(), addressesToFetch.size());
 
             final Map<Long, ILogData> uncachedData = fetchAll(addressesToFetch, options);
             final List<Long> trimmedAddresses = filterTrimmedAddresses(uncachedData);
@@ -508,7 +541,7 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
             result.values().forEach(value -> recordLogSizeDist(value.getSizeEstimate()));
             return result;
         };
-        return MicroMeterUtils.time(readSupplier, "address_space.read.latency", "type", "multi");
+        return multiReadTimer.record(readSupplier);
     }
 
     /**
@@ -541,6 +574,62 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
         return data;
     }
 
+    /**
+     * Read the entries of a stream in a range of addresses, filtered down to the updates of the
+     * stream by the log units. Entries are requested in chunks of at most bulkReadSize entries
+     * from the tail of each stripe's chain, and are never cached as they are partial.
+     * <p>
+     * Only addresses known to the log units' stream address maps are returned, i.e., unwritten
+     * addresses are not hole filled, and the range is only scanned if it falls within a single
+     * chain replicated segment (an empty map is returned otherwise), so callers must fall back
+     * to regular reads for any missing address.
+     *
+     * @param streamId the stream to read
+     * @param start    the address the range starts after (exclusive)
+     * @param end      the last address of the range (inclusive)
+     * @param options  options for this read request
+     * @return a map of the stream's addresses in the range to their filtered entries
+     */
+    public Map<Long, ILogData> readStream(@NonNull UUID streamId, long start, long end,
+                                          @NonNull ReadOptions options) {
+        final Map<Long, ILogData> result = layoutHelper(runtimeLayout -> {
+            final Layout layout = runtimeLayout.getLayout();
+            final LayoutSegment segment = layout.getSegment(end);
+            final Map<Long, ILogData> data = new HashMap<>();
+            if (segment.getStart() > start + 1
+                    || segment.getReplicationMode() != Layout.ReplicationMode.CHAIN_REPLICATION) {
+                log.debug("readStream[{}]: range ({}, {}] not within a chain replicated segment",
+                        streamId, start, end);
+                return data;
+            }
+
+            for (LayoutStripe stripe : segment.getStripes()) {
+                final LogUnitClient client = runtimeLayout.getLogUnitClient(
+                        stripe.getLogServers().get(stripe.getLogServers().size() - 1));
+                long lastAddress = start;
+                while (lastAddress < end) {
+                    ReadStreamResponse response = CFUtils.getUninterruptibly(client.readStream(streamId,
+                            lastAddress, end, runtime.getParameters().getBulkReadSize(),
+                            options.isServerCacheable()));
+                    data.putAll(response.getAddresses());
+                    lastAddress = response.getLastAddress();
+                }
+            }
+            return data;
+        });
+
+        final List<Long> trimmedAddresses = filterTrimmedAddresses(result);
+        trimmedAddresses.forEach(result::remove);
+        if (!trimmedAddresses.isEmpty()) {
+            if (!options.isIgnoreTrim()) {
+                throw new TrimmedException(trimmedAddresses);
+            }
+
+            log.debug("readStream: ignoring trimmed addresses {}", trimmedAddresses);
+        }
+        return result;
+    }
+
     /**
      * Get the first address in the address space.
      *
@@ -826,5 +915,8 @@ public class AddressSpaceView extends AbstractView implements AutoCloseable {
     @Override
     public void close() {
         MicroMeterUtils.removeGaugesWithNoTags(hitRatioName, sizeName, entrySizeName);
+        MicroMeterUtils.removeGauges(readCacheStats.keySet().stream()
+                .map(readClass -> Tuple.of(classHitRatioName, Tags.of("class", readClass.name().toLowerCase())))
+                .collect(Collectors.toList()));
     }
 }
\ No newline at end of file
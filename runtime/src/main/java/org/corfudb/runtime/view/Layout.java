@@ -4,19 +4,19 @@ import static java.util.Objects.requireNonNull;
 
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Sets;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Data;
@@ -208,16 +208,74 @@ public class Layout {
     }
 
     /**
-     * Get all the fully redundant log unit servers, i.e.
-     * log units that are present in all layout segments.
+     * Get all the fully redundant log unit servers, i.e. log units that hold
+     * the complete state of the addresses mapped to them. A log unit is fully
+     * redundant if no segment is missing it (see {@link #getMissingStripeIndex}),
+     * it then holds every address of the stripes it belongs to in every segment.
      *
      * @return a set of fully redundant log unit servers
      */
     public Set<String> getFullyRedundantLogServers() {
-        return segments.stream()
-                .map(LayoutSegment::getAllLogServers)
-                .reduce(Sets::intersection)
-                .orElseGet(Collections::emptySet);
+        return getAllLogServers().stream()
+                .filter(server -> IntStream.range(0, segments.size())
+                        .noneMatch(index -> getMissingStripeIndex(index, server).isPresent()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the stripe of a segment that is missing a log unit server, i.e. the
+     * stripe the log unit server belongs to in the next segment that contains it.
+     * The addresses of segments with different numbers of stripes are mapped to
+     * different log unit servers, so a log unit server is only missing from the
+     * segments that have as many stripes as the segments up to the next one that
+     * contains it. A log unit server that no later segment contains is missing
+     * from the first stripe of the segments that have as many stripes as all
+     * the following segments.
+     *
+     * @param segmentIndex index of the segment
+     * @param server       log unit server
+     * @return the index of the stripe of the segment that is missing the log unit server,
+     * or empty if the segment is not missing it
+     */
+    public OptionalInt getMissingStripeIndex(int segmentIndex, String server) {
+        LayoutSegment segment = segments.get(segmentIndex);
+        if (segment.getAllLogServers().contains(server)) {
+            return OptionalInt.empty();
+        }
+
+        for (LayoutSegment nextSegment : segments.subList(segmentIndex + 1, segments.size())) {
+            if (nextSegment.getNumberOfStripes() != segment.getNumberOfStripes()) {
+                return OptionalInt.empty();
+            }
+
+            for (int stripeIndex = 0; stripeIndex < nextSegment.getNumberOfStripes(); stripeIndex++) {
+                if (nextSegment.getStripes().get(stripeIndex).getLogServers().contains(server)) {
+                    return OptionalInt.of(stripeIndex);
+                }
+            }
+        }
+
+        return OptionalInt.of(0);
+    }
+
+    /**
+     * Returns the first segment that can be merged with the previous segment, i.e. a segment
+     * that has as many stripes as the previous segment, and every stripe of which only holds
+     * log unit servers of the same stripe of the previous segment.
+     *
+     * @return the index of the segment, or empty if no segments can be merged
+     */
+    public OptionalInt getMergeableSegmentIndex() {
+        return IntStream.range(1, segments.size())
+                .filter(index -> {
+                    LayoutSegment previous = segments.get(index - 1);
+                    LayoutSegment segment = segments.get(index);
+                    return segment.getNumberOfStripes() == previous.getNumberOfStripes()
+                            && IntStream.range(0, segment.getNumberOfStripes()).allMatch(stripeIndex ->
+                            previous.getStripes().get(stripeIndex).getLogServers()
+                                    .containsAll(segment.getStripes().get(stripeIndex).getLogServers()));
+                })
+                .findFirst();
     }
 
     /**
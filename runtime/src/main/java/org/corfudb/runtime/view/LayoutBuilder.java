@@ -191,7 +191,7 @@ public class LayoutBuilder {
 
     /**
      * Adds a new log unit server.
-     * If the last segment's start address is equal to 'globalLogTail' + 1,
+     * If the last segment's start address is equal to (or greater than) 'globalLogTail' + 1,
      * this segment does not have any new data, so it does not need to be split.
      * Add a new log unit endpoint to this segment's specified stripe index.
      * Otherwise, split the latest open segment, such that the the latest open segment
@@ -212,7 +212,8 @@ public class LayoutBuilder {
         LayoutSegment lastSegment = layoutSegmentList.remove(layoutSegmentList.size() - 1);
 
         // No need to split the segment, just add the new log unit endpoint at the specified index.
-        if (lastSegment.getStart() == globalLogTail + 1) {
+        // The segment can start after the tail if stripes were added to it from a later address.
+        if (lastSegment.getStart() >= globalLogTail + 1) {
             ImmutableList<String> logServers = new ImmutableList.Builder<String>()
                     .addAll(lastSegment.getStripes().get(stripeIndex).getLogServers())
                     .add(newLogunitEndpoint)
@@ -256,6 +257,51 @@ public class LayoutBuilder {
         return this;
     }
 
+    /**
+     * Adds new stripes to the open segment, from the given address onward.
+     * If the open segment starts at this address, it does not have any data yet, so the
+     * new stripes are simply added to it. Otherwise, the open segment is closed at this
+     * address and a new open segment, with the stripes of the closed segment followed by
+     * the new stripes, is opened for all the writes from this address onward.
+     *
+     * @param startAddress the address the new stripes are used from, which must be in
+     *                     the open segment
+     * @param newStripes   a non empty list of the stripes to add
+     * @return this builder
+     */
+    public LayoutBuilder addStripes(long startAddress, @NonNull List<LayoutStripe> newStripes) {
+        if (newStripes.isEmpty()) {
+            throw new LayoutModificationException("No stripes to add.");
+        }
+
+        List<LayoutSegment> layoutSegmentList = layout.getSegments();
+        LayoutSegment lastSegment = layoutSegmentList.get(layoutSegmentList.size() - 1);
+        if (startAddress < lastSegment.getStart()) {
+            throw new LayoutModificationException("Cannot add stripes at " + startAddress
+                    + " before the open segment start " + lastSegment.getStart());
+        }
+        layoutSegmentList.remove(layoutSegmentList.size() - 1);
+
+        List<LayoutStripe> newStripeList = new ArrayList<>(lastSegment.getStripes());
+        newStripeList.addAll(newStripes);
+
+        // Close the open segment at the start address, unless it does not start before it.
+        if (lastSegment.getStart() != startAddress) {
+            LayoutSegment closedSegment = new LayoutSegment(lastSegment.getReplicationMode(),
+                    lastSegment.getStart(),
+                    startAddress,
+                    lastSegment.getStripes());
+            layoutSegmentList.add(layoutSegmentList.size(), closedSegment);
+        }
+
+        LayoutSegment openSegment = new LayoutSegment(lastSegment.getReplicationMode(),
+                startAddress,
+                lastSegment.getEnd(),
+                newStripeList);
+        layoutSegmentList.add(layoutSegmentList.size(), openSegment);
+        return this;
+    }
+
     /**
      * Add a log unit server to a specific stripe in a specific segment.
      *
@@ -3,27 +3,35 @@ package org.corfudb.runtime.view;
 import com.google.common.collect.Sets;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.common.compression.Codec;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
 import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.SequencerClient;
 import org.corfudb.runtime.exceptions.LayoutModificationException;
 import org.corfudb.runtime.exceptions.OutrankedException;
 import org.corfudb.runtime.exceptions.QuorumUnreachableException;
+import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.corfudb.util.CFUtils;
 import org.corfudb.util.Utils;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamAddressSpacePairMsg;
 import static org.corfudb.util.Utils.getLogTail;
 
 /**
@@ -172,6 +180,72 @@ public class LayoutManagementView extends AbstractView {
         reconfigureSequencerServers(currentLayout, newLayout, false);
     }
 
+    /**
+     * Adds new log unit stripes to the existing layout.
+     * The addresses already written keep their stripes: the new stripes are added to the
+     * open segment from the start address or after the global log tail, whichever is greater,
+     * and the writes of the following addresses are spread over the old and new stripes.
+     * The new log units are not in the current layout, so they are sealed at the new epoch
+     * along with its servers, to only serve the clients which use the new layout.
+     *
+     * @param currentLayout Current layout.
+     * @param stripes       Log servers of every new stripe, in chain order.
+     * @param startAddress  Lowest address the new stripes are used from.
+     * @throws OutrankedException if consensus outranked.
+     */
+    public void addStripes(@Nonnull Layout currentLayout,
+                           @Nonnull List<List<String>> stripes,
+                           long startAddress)
+            throws OutrankedException {
+        Set<List<String>> openStripes = currentLayout.getLastSegment().getStripes()
+                .stream()
+                .map(LayoutStripe::getLogServers)
+                .collect(Collectors.toSet());
+
+        Layout newLayout;
+        if (!openStripes.containsAll(stripes)) {
+            Set<String> newLogServers = stripes.stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toSet());
+            Set<String> existingLogServers = Sets.intersection(newLogServers,
+                    currentLayout.getAllLogServers());
+            if (!existingLogServers.isEmpty()) {
+                throw new LayoutModificationException("Log servers " + existingLogServers
+                        + " are already in the layout.");
+            }
+
+            sealEpoch(currentLayout);
+
+            RuntimeLayout runtimeLayout = runtime.getLayoutView().getRuntimeLayout(currentLayout);
+            newLogServers.stream()
+                    .map(endpoint -> runtimeLayout.getBaseClient(endpoint)
+                            .sealRemoteServer(currentLayout.getEpoch()))
+                    .collect(Collectors.toList())
+                    .forEach(CFUtils::getUninterruptibly);
+
+            long stripesStart = Math.max(currentLayout.getLastSegment().getStart(),
+                    Math.max(startAddress, getLogTail(runtimeLayout) + 1));
+            newLayout = new LayoutBuilder(currentLayout)
+                    .addStripes(stripesStart, stripes.stream()
+                            .map(LayoutStripe::new)
+                            .collect(Collectors.toList()))
+                    .build();
+
+            attemptConsensus(newLayout);
+
+            if (!runtime.getLayoutView().getLayout().equals(newLayout)) {
+                throw new IllegalStateException("This node's layout was not committed. "
+                        + "Aborting add stripes workflow.");
+            }
+            log.info("addStripes: Added stripes {} from address {}.", stripes, stripesStart);
+        } else {
+            log.info("addStripes: Stripes {} already exist in the layout, skipping.", stripes);
+            newLayout = currentLayout;
+        }
+
+        reconfigureSequencerServers(currentLayout, newLayout, false);
+    }
+
     /**
      * Heals an existing node in the layout.
      *
@@ -216,8 +290,9 @@ public class LayoutManagementView extends AbstractView {
     }
 
     /**
-     * Attempts to merge all the segments of the layout starting from the first two.
-     * Once the remaining segments can no longer be merged, attempts consensus on a new layout.
+     * Attempts to merge all the segments of the layout that can be merged with their previous
+     * segment (see {@link Layout#getMergeableSegmentIndex()}). Once the remaining segments can no
+     * longer be merged, attempts consensus on a new layout.
      *
      * @param currentLayout Current layout
      * @throws OutrankedException if consensus is outranked.
@@ -225,26 +300,20 @@ public class LayoutManagementView extends AbstractView {
     public void mergeSegments(Layout currentLayout) {
         Layout tempLayout = currentLayout;
         Layout newLayout;
-        Predicate<Layout> shouldMergeSegments = layout -> {
-            if (layout.getSegments().size() > 1) {
-                return Sets.difference(
-                        layout.getSegments().get(1).getAllLogServers(),
-                        layout.getSegments().get(0).getAllLogServers()).isEmpty();
-            }
-            return false;
-        };
 
-        if (shouldMergeSegments.test(tempLayout)) {
+        if (tempLayout.getMergeableSegmentIndex().isPresent()) {
 
             log.info("mergeSegments: layout is {}", tempLayout);
 
             sealEpoch(tempLayout);
 
-            while (shouldMergeSegments.test(tempLayout)) {
+            OptionalInt segmentIndex = tempLayout.getMergeableSegmentIndex();
+            while (segmentIndex.isPresent()) {
                 LayoutBuilder layoutBuilder = new LayoutBuilder(tempLayout);
                 tempLayout = layoutBuilder
-                        .mergePreviousSegment(1)
+                        .mergePreviousSegment(segmentIndex.getAsInt())
                         .build();
+                segmentIndex = tempLayout.getMergeableSegmentIndex();
             }
 
             newLayout = tempLayout;
@@ -418,6 +487,13 @@ public class LayoutManagementView extends AbstractView {
                         || !originalLayout.getPrimarySequencer()
                         .equals(newLayout.getPrimarySequencer())) {
 
+                    // A hot-standby sequencer only needs to catch up with the addresses
+                    // written since its last sync.
+                    if (promoteStandbySequencer(newLayout)) {
+                        lastKnownSequencerEpoch = newLayout.getEpoch();
+                        return;
+                    }
+
                     // The sequencer state needs to be computed/aggregated across all the
                     // head nodes of all segments in the newLayout. Note that
                     // AddressSpaceView::getLogAddressSpace shouldn't be used because
@@ -436,11 +512,11 @@ public class LayoutManagementView extends AbstractView {
                 }
 
                 // Configuring the new sequencer.
-                boolean sequencerBootstrapResult = CFUtils.getUninterruptibly(
+                boolean sequencerBootstrapResult = bootstrapSequencer(
                         runtime.getLayoutView().getRuntimeLayout(newLayout)
-                                .getPrimarySequencerClient()
-                                .bootstrap(maxTokenRequested, streamsAddressSpace, newLayout.getEpoch(),
-                                        bootstrapWithoutTailsUpdate));
+                                .getPrimarySequencerClient(),
+                        maxTokenRequested, streamsAddressSpace, newLayout.getEpoch(),
+                        bootstrapWithoutTailsUpdate);
                 lastKnownSequencerEpoch = newLayout.getEpoch();
                 if (sequencerBootstrapResult) {
                     log.info("reconfigureSequencerServers: Sequencer bootstrap successful.");
@@ -456,6 +532,114 @@ public class LayoutManagementView extends AbstractView {
         }
     }
 
+    /**
+     * Bootstraps a sequencer with the given stream address maps. Address maps larger than the
+     * sequencer bootstrap chunk size are streamed to the sequencer in compressed chunks, so
+     * neither side has to build a single message holding all of them.
+     *
+     * @param sequencerClient             client of the sequencer to bootstrap
+     * @param initialToken                token the sequencer starts distributing
+     * @param streamsAddressSpace         address maps of all the streams
+     * @param epoch                       epoch the sequencer is bootstrapped at
+     * @param bootstrapWithoutTailsUpdate true if the sequencer only needs its epoch updated
+     * @return true if the sequencer was bootstrapped, false otherwise
+     */
+    private boolean bootstrapSequencer(SequencerClient sequencerClient, long initialToken,
+                                       Map<UUID, StreamAddressSpace> streamsAddressSpace,
+                                       long epoch, boolean bootstrapWithoutTailsUpdate) {
+        final int chunkSize = runtime.getParameters().getSequencerBootstrapChunkSize();
+        final Codec.Type codecType = runtime.getParameters().getCodecType();
+
+        List<UuidToStreamAddressSpacePairMsg> chunk = new ArrayList<>();
+        long chunkBytes = 0;
+        int numChunks = 0;
+        for (Map.Entry<UUID, StreamAddressSpace> entry : streamsAddressSpace.entrySet()) {
+            UuidToStreamAddressSpacePairMsg streamAddressSpace =
+                    getStreamAddressSpacePairMsg(entry.getKey(), entry.getValue());
+            chunk.add(streamAddressSpace);
+            chunkBytes += streamAddressSpace.getSerializedSize();
+
+            if (chunkBytes >= chunkSize) {
+                if (!sendBootstrapChunk(sequencerClient, epoch, numChunks++, chunk, codecType)) {
+                    return false;
+                }
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+        }
+
+        // The address maps fit in a single message.
+        if (numChunks == 0) {
+            return CFUtils.getUninterruptibly(sequencerClient.bootstrap(initialToken,
+                    streamsAddressSpace, epoch, bootstrapWithoutTailsUpdate));
+        }
+
+        if (!chunk.isEmpty()
+                && !sendBootstrapChunk(sequencerClient, epoch, numChunks++, chunk, codecType)) {
+            return false;
+        }
+
+        log.info("bootstrapSequencer: Sent the address maps of {} streams in {} chunks.",
+                streamsAddressSpace.size(), numChunks);
+        return CFUtils.getUninterruptibly(
+                sequencerClient.bootstrapChunked(initialToken, epoch, numChunks));
+    }
+
+    private boolean sendBootstrapChunk(SequencerClient sequencerClient, long epoch, int chunkIndex,
+                                       List<UuidToStreamAddressSpacePairMsg> chunk,
+                                       Codec.Type codecType) {
+        boolean accepted = CFUtils.getUninterruptibly(
+                sequencerClient.bootstrapChunk(epoch, chunkIndex, chunk, codecType));
+        if (!accepted) {
+            log.warn("sendBootstrapChunk: Chunk {} of the bootstrap at epoch {} rejected.",
+                    chunkIndex, epoch);
+        }
+        return accepted;
+    }
+
+    /**
+     * Promotes the primary sequencer of the new layout if it is a synced hot-standby sequencer,
+     * which only requires the stream addresses written since its last sync.
+     *
+     * @param newLayout the layout to bootstrap the primary sequencer for
+     * @return true if the sequencer was promoted, false if it requires a full bootstrap
+     */
+    private boolean promoteStandbySequencer(Layout newLayout) {
+        RuntimeLayout runtimeLayout = new RuntimeLayout(newLayout, runtime);
+        SequencerClient sequencerClient = runtimeLayout.getPrimarySequencerClient();
+
+        long standbyTail;
+        try {
+            standbyTail = CFUtils.getUninterruptibly(sequencerClient.getStandbyTail());
+        } catch (RuntimeException e) {
+            log.warn("promoteStandbySequencer: failed to query the standby sequencer.", e);
+            return false;
+        }
+
+        if (standbyTail == Address.NON_ADDRESS) {
+            return false;
+        }
+
+        StreamsAddressResponse streamsAddressesResponse = Utils
+                .getLogAddressSpace(runtimeLayout, standbyTail);
+        boolean promoted = CFUtils.getUninterruptibly(sequencerClient.bootstrapFromStandby(
+                streamsAddressesResponse.getLogTail() + 1,
+                streamsAddressesResponse.getAddressMap(),
+                newLayout.getEpoch(),
+                standbyTail));
+
+        if (promoted) {
+            log.info("promoteStandbySequencer: Standby sequencer promoted, standby tail {}, "
+                            + "log tail {}, caught up streams {}.", standbyTail,
+                    streamsAddressesResponse.getLogTail(),
+                    streamsAddressesResponse.getAddressMap().size());
+        } else {
+            log.warn("promoteStandbySequencer: Standby sequencer promotion failed, "
+                    + "falling back to a full bootstrap.");
+        }
+        return promoted;
+    }
+
     /**
      * Triggers a new task to bootstrap the sequencer for the specified layout. If there is already
      * a task in progress, this is a no-op.
@@ -14,8 +14,8 @@ import org.corfudb.runtime.view.ClusterStatusReport.ClusterStatus;
 import org.corfudb.runtime.view.ClusterStatusReport.ClusterStatusReliability;
 import org.corfudb.runtime.view.ClusterStatusReport.ConnectivityStatus;
 import org.corfudb.runtime.view.ClusterStatusReport.NodeStatus;
-import org.corfudb.runtime.view.Layout.LayoutSegment;
 import org.corfudb.runtime.view.workflows.AddNode;
+import org.corfudb.runtime.view.workflows.AddStripes;
 import org.corfudb.runtime.view.workflows.ForceRemoveNode;
 import org.corfudb.runtime.view.workflows.HealNode;
 import org.corfudb.runtime.view.workflows.RemoveNode;
@@ -108,6 +108,24 @@ public class ManagementView extends AbstractView {
                 .invoke();
     }
 
+    /**
+     * Add new log unit stripes to the existing cluster, to spread the writes over more
+     * log units. The new stripes are used from the start address, or from the log tail
+     * at the time the stripes are added, whichever is greater.
+     *
+     * @param stripes      The log servers of every new stripe, in chain order.
+     * @param startAddress The lowest address the new stripes are used from.
+     * @param retry        the number of times to retry a workflow if it fails
+     * @param timeout      total time to wait before the workflow times out
+     * @param pollPeriod   the poll interval to check whether a workflow completed or not
+     * @throws WorkflowResultUnknownException when the side affect of the operation
+     *                                        can't be determined
+     */
+    public void addStripes(@Nonnull List<List<String>> stripes, long startAddress, int retry,
+                           @Nonnull Duration timeout, @Nonnull Duration pollPeriod) {
+        new AddStripes(stripes, startAddress, runtime, retry, timeout, pollPeriod).invoke();
+    }
+
     /**
      * Heal an unresponsive node.
      *
@@ -461,7 +479,7 @@ public class ManagementView extends AbstractView {
         for (String endpoint : layout.getAllServers()) {
             if (layout.getUnresponsiveServers().contains(endpoint)) {
                 nodeStatusMap.put(endpoint, NodeStatus.DOWN);
-            } else if (layout.getSegments().size() != layout.getSegmentsForEndpoint(endpoint).size()) {
+            } else if (!layout.getFullyRedundantLogServers().contains(endpoint)) {
                 // Note: this is based on the assumption that all nodes in the layout are log unit servers
                 nodeStatusMap.put(endpoint, NodeStatus.DB_SYNCING);
             } else {
@@ -619,10 +637,11 @@ public class ManagementView extends AbstractView {
 
         /**
          * Returns a LogUnit Server's status in the layout. It is marked as:
-         * UP if it is present in all segments or none of the segments and not in the unresponsive list,
+         * UP if it is fully redundant (see {@link Layout#getFullyRedundantLogServers()}) or in none
+         * of the segments and not in the unresponsive list,
          * NOTE: A node is UP if its not in any of the segments as it might not be a LogUnit component
          * but has only the Layout or the Sequencer (or both) component(s) active.
-         * DB_SYNCING if it is present in some but not all or none of the segments,
+         * DB_SYNCING if it is present in some of the segments but is not fully redundant,
          * DOWN if it is present in the unresponsive servers list.
          *
          * @param layout Layout to check.
@@ -634,15 +653,8 @@ public class ManagementView extends AbstractView {
                 return NodeStatus.DOWN;
             }
 
-            int segmentsCount = layout.getSegments().size();
-            int nodeInSegments = 0;
-            for (LayoutSegment layoutSegment : layout.getSegments()) {
-                if (layoutSegment.getAllLogServers().contains(server)) {
-                    nodeInSegments++;
-                }
-            }
-
-            if (nodeInSegments == segmentsCount || nodeInSegments == 0){
+            if (!layout.getAllLogServers().contains(server)
+                    || layout.getFullyRedundantLogServers().contains(server)) {
                 return NodeStatus.UP;
             }
 
@@ -42,4 +42,28 @@ public class ReadOptions {
     @Getter
     @Builder.Default
     private final boolean serverCacheable = true;
+
+    /**
+     * The class of the reader, which decides whether the entries it loads are admitted to the
+     * client cache, and which cache hit ratio the read is accounted to
+     */
+    @Getter
+    @Builder.Default
+    private final ReadClass readClass = ReadClass.OBJECT;
+
+    /**
+     * The classes of readers of the client cache.
+     */
+    public enum ReadClass {
+        /**
+         * Reads that sync objects and transactions, whose entries are likely to be read again
+         */
+        OBJECT,
+
+        /**
+         * One-pass bulk reads (e.g. log replication, backups), which are served from the client
+         * cache when possible but never admit entries to it
+         */
+        SCAN
+    }
 }
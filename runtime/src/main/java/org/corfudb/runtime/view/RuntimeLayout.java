@@ -12,6 +12,7 @@ import org.corfudb.runtime.clients.LogUnitClient;
 import org.corfudb.runtime.clients.ManagementClient;
 import org.corfudb.runtime.clients.SequencerClient;
 import org.corfudb.runtime.exceptions.QuorumUnreachableException;
+import org.corfudb.runtime.proto.service.CorfuMessage.TrafficClass;
 import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.runtime.view.Layout.LayoutSegment;
@@ -42,12 +43,30 @@ public class RuntimeLayout {
     @Getter
     private final CorfuRuntime runtime;
 
+    /**
+     * The traffic class of the requests sent by the clients, or null to use the
+     * traffic class of the runtime.
+     */
+    private final TrafficClass trafficClass;
+
     /**
      * Constructor taking a reference of the layout to stamp the clients.
      */
     public RuntimeLayout(@Nonnull Layout layout, @Nonnull CorfuRuntime corfuRuntime) {
         this.layout = layout;
         this.runtime = corfuRuntime;
+        this.trafficClass = null;
+    }
+
+    /**
+     * Constructor taking a reference of the layout to stamp the clients, and the traffic
+     * class of their requests.
+     */
+    public RuntimeLayout(@Nonnull Layout layout, @Nonnull CorfuRuntime corfuRuntime,
+                         @Nonnull TrafficClass trafficClass) {
+        this.layout = layout;
+        this.runtime = corfuRuntime;
+        this.trafficClass = trafficClass;
     }
 
     /**
@@ -113,6 +132,8 @@ public class RuntimeLayout {
                     IClient inst = ctor.newInstance(getRuntime()
                             .getRouter(endpoint), layout.getEpoch(), layout.getClusterId());
                     inst.setPriorityLevel(getRuntime().getParameters().getPriorityLevel());
+                    inst.setTrafficClass(trafficClass != null ? trafficClass
+                            : getRuntime().getParameters().getTrafficClass());
                     return inst;
                 } catch (NoSuchMethodException | IllegalAccessException | InstantiationException
                         | InvocationTargetException e) {
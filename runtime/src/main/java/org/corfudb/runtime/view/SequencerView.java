@@ -1,14 +1,17 @@
 package org.corfudb.runtime.view;
 
 import com.google.common.collect.Lists;
+import lombok.NonNull;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
 import org.corfudb.protocols.wireprotocol.StreamAddressRange;
+import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.corfudb.util.CFUtils;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -23,6 +26,8 @@ import java.util.function.Supplier;
 
 public class SequencerView extends AbstractView {
 
+    private final TailQueryCoalescer snapshotQueries = new TailQueryCoalescer(() -> query().getToken());
+
     public SequencerView(CorfuRuntime runtime) {
         super(runtime);
     }
@@ -48,6 +53,34 @@ public class SequencerView extends AbstractView {
 
     }
 
+    /**
+     * Return a snapshot timestamp for a transaction, i.e. the current global tail. The queries
+     * of concurrent callers are shared, see {@link TailQueryCoalescer}.
+     *
+     * @return the global tail
+     */
+    public Token querySnapshot() {
+        return querySnapshot(Duration.ZERO);
+    }
+
+    /**
+     * Return a snapshot timestamp for a read-only transaction, which may be the global tail
+     * queried up to maxStaleness ago.
+     *
+     * @param maxStaleness how long ago the global tail may have been queried
+     * @return the global tail
+     */
+    public Token querySnapshot(@NonNull Duration maxStaleness) {
+        if (!runtime.getParameters().isSnapshotQueryCoalescingEnabled()) {
+            return query().getToken();
+        }
+
+        if (maxStaleness.isZero()) {
+            return snapshotQueries.get();
+        }
+        return snapshotQueries.get(maxStaleness);
+    }
+
     /**
      * Return the tail of a specific stream.
      *
@@ -113,6 +146,20 @@ public class SequencerView extends AbstractView {
         return MicroMeterUtils.time(tokenSupplier, "sequencer.tx_resolution");
     }
 
+    /**
+     * Acquire a contiguous range of tokens, which belong to the given streams if any.
+     *
+     * @param numTokens number of tokens to acquire
+     * @param streamIds streams the tokens belong to, none for raw tokens
+     * @return First token of the range, and the backpointers of the streams
+     */
+    public TokenResponse nextRange(int numTokens, UUID... streamIds) {
+        Supplier<TokenResponse> tokenSupplier = () ->
+                layoutHelper(e -> CFUtils.getUninterruptibly(e.getPrimarySequencerClient()
+                        .nextToken(Arrays.asList(streamIds), numTokens)));
+        return MicroMeterUtils.time(tokenSupplier, "sequencer.next");
+    }
+
     /**
      * Return the next token in the sequencer for a particular stream.
      *
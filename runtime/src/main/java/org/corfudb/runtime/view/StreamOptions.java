@@ -36,4 +36,11 @@ public class StreamOptions {
     @Getter
     @Builder.Default
     private final boolean isCheckpointCapable = true;
+
+    /**
+     * The class of the reads of this stream in the client cache.
+     */
+    @Getter
+    @Builder.Default
+    private final ReadOptions.ReadClass readClass = ReadOptions.ReadClass.OBJECT;
 }
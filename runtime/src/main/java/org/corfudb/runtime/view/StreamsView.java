@@ -1,10 +1,18 @@
 package org.corfudb.runtime.view;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.protocols.logprotocol.MultiObjectSMRChunkEntry;
+import org.corfudb.protocols.logprotocol.MultiObjectSMRCommitEntry;
+import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
+import org.corfudb.protocols.logprotocol.MultiSMREntry;
+import org.corfudb.protocols.logprotocol.SMREntry;
 import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
 import org.corfudb.runtime.CorfuRuntime;
@@ -13,15 +21,23 @@ import org.corfudb.runtime.exceptions.AppendException;
 import org.corfudb.runtime.exceptions.OverwriteException;
 import org.corfudb.runtime.exceptions.StaleTokenException;
 import org.corfudb.runtime.exceptions.TransactionAbortedException;
+import org.corfudb.runtime.exceptions.WriteSizeException;
 import org.corfudb.runtime.object.transactions.TransactionalContext;
 import org.corfudb.runtime.view.stream.IStreamView;
+import org.corfudb.util.CFUtils;
 import org.corfudb.util.Utils;
+import org.corfudb.util.serializer.Serializers;
+import org.corfudb.util.tracing.RequestTracer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
@@ -37,6 +53,18 @@ public class StreamsView extends AbstractView {
      */
     public static final String CHECKPOINT_SUFFIX = "_cp";
 
+    /**
+     * The share of the max write size the updates of a large transaction chunk may take,
+     * the rest is left to the metadata and the updates of the pre-commit listeners.
+     */
+    private static final double LARGE_TRANSACTION_CHUNK_FILL = 0.95;
+
+    // Magic byte, type, number of streams and commit address of a MultiObjectSMRChunkEntry
+    private static final int CHUNK_ENTRY_HEADER_SIZE = 14;
+
+    // Stream id, magic byte, type and number of updates of a MultiSMREntry
+    private static final int STREAM_HEADER_SIZE = 22;
+
     /**
      * This list should have references to all opened streams. The ViewsGarbageCollector
      * will use this list to clear trimmed addresses from streams. Since new streams
@@ -137,6 +165,24 @@ public class StreamsView extends AbstractView {
      */
     public long append(@Nonnull Object object, @Nullable TxResolutionInfo conflictInfo,
                        @Nonnull CacheOption cacheOption, @Nonnull UUID... streamIDs) {
+        // Trace the whole append (token acquisition, chain write and retries) as a single request
+        final long traceId = RequestTracer.client().begin(runtime.getParameters().getTraceSamplingRate());
+        try {
+            return doAppend(object, conflictInfo, cacheOption, traceId, streamIDs);
+        } catch (WriteSizeException wse) {
+            if (!(object instanceof MultiObjectSMREntry) || conflictInfo == null
+                    || !runtime.getParameters().isLargeTransactionsEnabled()) {
+                throw wse;
+            }
+            return appendLargeTransaction((MultiObjectSMREntry) object, conflictInfo, cacheOption,
+                    traceId, streamIDs);
+        } finally {
+            RequestTracer.client().end(traceId);
+        }
+    }
+
+    private long doAppend(@Nonnull Object object, @Nullable TxResolutionInfo conflictInfo,
+                          @Nonnull CacheOption cacheOption, long traceId, @Nonnull UUID... streamIDs) {
 
         final boolean serializeMetadata = false;
         final LogData ld = new LogData(DataType.DATA, object, runtime.getParameters().getCodecType());
@@ -152,9 +198,11 @@ public class StreamsView extends AbstractView {
 
             for (int retry = 0; retry < runtime.getParameters().getWriteRetry(); retry++) {
                 // Go to the sequencer, grab a token to write.
+                final long tokenStartNanos = System.nanoTime();
                 tokenResponse = conflictInfo == null
                         ? runtime.getSequencerView().next(streamIDs) // Token w/o conflict info
                         : runtime.getSequencerView().next(conflictInfo, streamIDs); // Token w/ conflict info
+                RequestTracer.client().record(traceId, "append.token", tokenStartNanos);
 
                 // Is our token a valid type?
                 AbortCause abortCause = getAbortCauseFromToken(tokenResponse);
@@ -171,7 +219,9 @@ public class StreamsView extends AbstractView {
                     // Run pre-commit listeners if we are in transaction.
                     runPreCommitListeners(tokenResponse, ld, serializeMetadata);
                     // Attempt to write to the log.
+                    final long writeStartNanos = System.nanoTime();
                     runtime.getAddressSpaceView().write(tokenResponse, ld, cacheOption);
+                    RequestTracer.client().record(traceId, "append.write", writeStartNanos);
                     // If we're here, we succeeded, return the acquired token.
                     return tokenResponse.getSequence();
                 } catch (OverwriteException oe) {
@@ -210,6 +260,184 @@ public class StreamsView extends AbstractView {
         throw new AppendException();
     }
 
+    /**
+     * Append a transaction whose write set exceeds the max write size, as several entries
+     * which become visible atomically.
+     * <p>
+     * The transaction is first resolved by the sequencer a single time, with the token of a
+     * {@link MultiObjectSMRCommitEntry}, i.e., the address the transaction commits at. The write set is
+     * split into chunks, which take a range of tokens after the commit entry, so a prefix trim never
+     * reaches a chunk before its commit entry, whose updates are held by the checkpoints by then. The
+     * chunks do not belong to the streams of the transaction, so the stream readers never see them, but
+     * if the transaction is replicated they belong to the log replication stream, which replicates them
+     * one by one. The chunks are written in parallel, and once all of them are written, the commit entry
+     * is written. The stream readers only apply the chunks through the commit entry, so none of them is
+     * applied if the commit entry is never written.
+     *
+     * @return The address the commit entry was written to.
+     */
+    private long appendLargeTransaction(@Nonnull MultiObjectSMREntry writeSet, @Nonnull TxResolutionInfo conflictInfo,
+                                        @Nonnull CacheOption cacheOption, long traceId,
+                                        @Nonnull UUID... streamIDs) {
+        final int maxWriteSize = runtime.getParameters().getMaxWriteSize();
+        final List<MultiObjectSMRChunkEntry> chunks = splitWriteSet(writeSet,
+                (int) (maxWriteSize * LARGE_TRANSACTION_CHUNK_FILL));
+        final UUID chunkStreamId = Arrays.asList(streamIDs).contains(ObjectsView.getLogReplicatorStreamId())
+                ? ObjectsView.getLogReplicatorStreamId() : null;
+        final UUID[] chunkStreamIds = chunkStreamId == null ? new UUID[0] : new UUID[]{chunkStreamId};
+        log.info("appendLargeTransaction: splitting write set of streams {} into {} chunks",
+                Arrays.stream(streamIDs).map(Utils::toReadableId).collect(Collectors.toSet()), chunks.size());
+
+        TokenResponse tokenResponse = null;
+        for (int retry = 0; retry < runtime.getParameters().getWriteRetry(); retry++) {
+            // Acquire the address of the commit entry, and then the addresses of the chunks
+            final long tokenStartNanos = System.nanoTime();
+            tokenResponse = runtime.getSequencerView().next(conflictInfo, streamIDs);
+
+            AbortCause abortCause = getAbortCauseFromToken(tokenResponse);
+            if (abortCause != null) {
+                throw new TransactionAbortedException(
+                        conflictInfo,
+                        tokenResponse.getConflictKey(), tokenResponse.getConflictStream(),
+                        tokenResponse.getToken().getSequence(), abortCause,
+                        TransactionalContext.getCurrentContext());
+            }
+
+            final TokenResponse chunkTokens = runtime.getSequencerView().nextRange(chunks.size(), chunkStreamIds);
+            RequestTracer.client().record(traceId, "append.token", tokenStartNanos);
+
+            final LogData commitData = new LogData(DataType.DATA,
+                    new MultiObjectSMRCommitEntry(chunkTokens.getSequence(), chunks.size(), chunkStreamId),
+                    runtime.getParameters().getCodecType());
+
+            try (ILogData.SerializationHandle sh = commitData.getSerializedForm(false)) {
+                // The listeners see the address the transaction commits at, and may update the write set
+                runPreCommitListeners(tokenResponse, commitData, false);
+
+                final long writeStartNanos = System.nanoTime();
+                List<CompletableFuture<Void>> chunkWrites = new ArrayList<>(chunks.size());
+                for (int i = 0; i < chunks.size(); i++) {
+                    final TokenResponse chunkToken = getChunkToken(chunkTokens, i);
+                    final MultiObjectSMRChunkEntry chunk = chunks.get(i);
+                    chunk.setCommitAddress(tokenResponse.getSequence());
+                    chunkWrites.add(CompletableFuture.runAsync(() -> writeChunk(chunkToken, chunk, maxWriteSize),
+                            runtime.getLargeTransactionWriter()));
+                }
+                CFUtils.getUninterruptibly(CFUtils.allOf(chunkWrites));
+
+                // All the chunks are written, commit them
+                runtime.getAddressSpaceView().write(tokenResponse, commitData, cacheOption);
+                RequestTracer.client().record(traceId, "append.write", writeStartNanos);
+                return tokenResponse.getSequence();
+            } catch (OverwriteException oe) {
+                // A chunk or the commit entry was overwritten, the chunks are never applied without the
+                // commit entry, so get new tokens and write all of them again.
+                log.warn("appendLargeTransaction[{}]: Overwritten after {} retries, streams {}",
+                        tokenResponse.getSequence(), retry,
+                        Arrays.stream(streamIDs).map(Utils::toReadableId).collect(Collectors.toSet()));
+                conflictInfo.setSnapshotTimestamp(tokenResponse.getToken());
+            } catch (StaleTokenException se) {
+                log.warn("appendLargeTransaction[{}]: StaleToken, streams {}", tokenResponse.getSequence(),
+                        Arrays.stream(streamIDs).map(Utils::toReadableId).collect(Collectors.toSet()));
+
+                throw new TransactionAbortedException(
+                        conflictInfo,
+                        tokenResponse.getConflictKey(), tokenResponse.getConflictStream(),
+                        tokenResponse.getToken().getSequence(),
+                        AbortCause.NEW_SEQUENCER,
+                        TransactionalContext.getCurrentContext());
+            }
+        }
+
+        log.error("appendLargeTransaction[{}]: failed after {} retries, streams {}, {} chunks",
+                tokenResponse == null ? -1 : tokenResponse.getSequence(),
+                runtime.getParameters().getWriteRetry(),
+                Arrays.stream(streamIDs).map(Utils::toReadableId).collect(Collectors.toSet()),
+                chunks.size());
+        throw new AppendException();
+    }
+
+    /**
+     * Get the token of a chunk in a range of tokens, each chunk points back to the
+     * previous chunk on the streams of the range.
+     */
+    private static TokenResponse getChunkToken(TokenResponse chunkTokens, int index) {
+        final Token token = new Token(chunkTokens.getEpoch(), chunkTokens.getSequence() + index);
+        if (index == 0) {
+            return new TokenResponse(token, chunkTokens.getBackpointerMap());
+        }
+
+        Map<UUID, Long> backpointerMap = new HashMap<>();
+        chunkTokens.getBackpointerMap().keySet().forEach(id -> backpointerMap.put(id, token.getSequence() - 1));
+        return new TokenResponse(token, backpointerMap);
+    }
+
+    /**
+     * Write a chunk of a large transaction, around the cache as it is only read
+     * through its commit entry.
+     */
+    private void writeChunk(TokenResponse token, MultiObjectSMRChunkEntry chunk, int maxWriteSize) {
+        final LogData ld = new LogData(DataType.DATA, chunk, runtime.getParameters().getCodecType());
+        try (ILogData.SerializationHandle sh = ld.getSerializedForm(false)) {
+            ld.checkMaxWriteSize(maxWriteSize);
+            runtime.getAddressSpaceView().write(token, ld, CacheOption.WRITE_AROUND);
+        }
+    }
+
+    /**
+     * Split a write set into chunks whose updates, in their serialized form, do not exceed the
+     * given size (unless a single update does). The updates of each stream keep their order.
+     *
+     * @param writeSet     the write set to split
+     * @param maxChunkSize the max serialized size of a chunk
+     * @return the chunks of the write set
+     */
+    @VisibleForTesting
+    static List<MultiObjectSMRChunkEntry> splitWriteSet(MultiObjectSMREntry writeSet, int maxChunkSize) {
+        List<MultiObjectSMRChunkEntry> chunks = new ArrayList<>();
+        MultiObjectSMRChunkEntry chunk = new MultiObjectSMRChunkEntry();
+        int chunkSize = CHUNK_ENTRY_HEADER_SIZE;
+
+        for (Map.Entry<UUID, MultiSMREntry> stream : writeSet.getEntryMap().entrySet()) {
+            boolean inChunk = false;
+            for (SMREntry update : stream.getValue().getUpdates()) {
+                final int serializedSize = getSerializedSize(update);
+                int updateSize = serializedSize + (inChunk ? 0 : STREAM_HEADER_SIZE);
+                if (chunkSize > CHUNK_ENTRY_HEADER_SIZE && chunkSize + updateSize > maxChunkSize) {
+                    chunks.add(chunk);
+                    chunk = new MultiObjectSMRChunkEntry();
+                    chunkSize = CHUNK_ENTRY_HEADER_SIZE;
+                    updateSize = serializedSize + STREAM_HEADER_SIZE;
+                }
+                chunk.addTo(stream.getKey(), update);
+                chunkSize += updateSize;
+                inChunk = true;
+            }
+        }
+
+        if (chunkSize > CHUNK_ENTRY_HEADER_SIZE) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Get the serialized size of an update, including its magic byte. The size is recorded when the
+     * write set is serialized for the write which exceeds the max write size, so an update is only
+     * serialized here if it was never serialized before.
+     */
+    private static int getSerializedSize(SMREntry update) {
+        if (update.getSerializedSize() == null) {
+            ByteBuf buf = Unpooled.buffer();
+            try {
+                Serializers.CORFU.serialize(update, buf);
+            } finally {
+                buf.release();
+            }
+        }
+        return update.getSerializedSize() + 1;
+    }
+
     /**
      * Append to multiple streams and caches the result.
      *
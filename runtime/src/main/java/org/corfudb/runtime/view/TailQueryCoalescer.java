@@ -0,0 +1,140 @@
+package org.corfudb.runtime.view;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.corfudb.common.metrics.micrometer.CounterHandle;
+import org.corfudb.common.metrics.micrometer.DistributionSummaryHandle;
+import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.util.CFUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Shares the global tail queries of the transactions which start concurrently.
+ * <p>
+ * At most one tail query is in flight. The callers which arrive while a query is in flight join
+ * the next query, which is issued as soon as the query in flight completes, so every caller gets
+ * a tail read after it arrived (i.e. the snapshots stay linearizable) while N concurrent callers
+ * send a single query rather than N.
+ * <p>
+ * Callers which tolerate a bounded staleness (i.e. read-only snapshots) may also reuse the tail
+ * of a previous query, provided the query was issued within the staleness bound.
+ */
+class TailQueryCoalescer {
+
+    private final DistributionSummaryHandle coalescedSummary =
+            MicroMeterUtils.distSummaryHandle("sequencer.snapshot.coalesced");
+    private final CounterHandle staleCounter = MicroMeterUtils.counterHandle("sequencer.snapshot.stale");
+
+    private final Supplier<Token> query;
+
+    // The query in flight, if any
+    private Batch inFlight;
+
+    // The query the callers arriving while a query is in flight join
+    private Batch next;
+
+    // The tail of the latest query, and the time it was issued at
+    private volatile Tail latest;
+
+    private static class Batch {
+        private final CompletableFuture<Token> tail = new CompletableFuture<>();
+        private int callers = 1;
+    }
+
+    @AllArgsConstructor
+    private static class Tail {
+        private final Token token;
+        private final long issuedNanos;
+    }
+
+    /**
+     * @param query the query of the global tail
+     */
+    TailQueryCoalescer(@NonNull Supplier<Token> query) {
+        this.query = query;
+    }
+
+    /**
+     * Get the global tail, from a query issued after this call.
+     *
+     * @return the global tail
+     */
+    Token get() {
+        Batch batch;
+        Batch previous = null;
+        boolean leader = false;
+
+        synchronized (this) {
+            if (next != null) {
+                next.callers++;
+                batch = next;
+            } else {
+                batch = new Batch();
+                leader = true;
+                previous = inFlight;
+                if (previous == null) {
+                    inFlight = batch;
+                } else {
+                    next = batch;
+                }
+            }
+        }
+
+        if (leader) {
+            issue(batch, previous);
+        }
+
+        return CFUtils.getUninterruptibly(batch.tail, Error.class);
+    }
+
+    /**
+     * Get the global tail, possibly from a query issued up to maxStaleness before this call.
+     *
+     * @param maxStaleness how long before this call the tail may have been queried
+     * @return the global tail
+     */
+    Token get(@NonNull Duration maxStaleness) {
+        Tail tail = latest;
+        if (tail != null && System.nanoTime() - tail.issuedNanos <= maxStaleness.toNanos()) {
+            staleCounter.increment();
+            return tail.token;
+        }
+        return get();
+    }
+
+    /**
+     * Issue the query of a batch, once the query in flight (if any) completes.
+     */
+    private void issue(Batch batch, Batch previous) {
+        if (previous != null) {
+            // The outcome of the previous query does not matter, only that it is no longer in flight
+            previous.tail.handle((token, throwable) -> null).join();
+            synchronized (this) {
+                next = null;
+                inFlight = batch;
+            }
+        }
+
+        // No caller can join the batch anymore
+        coalescedSummary.record(batch.callers);
+
+        long issuedNanos = System.nanoTime();
+        try {
+            Token token = query.get();
+            latest = new Tail(token, issuedNanos);
+            batch.tail.complete(token);
+        } catch (Throwable throwable) {
+            batch.tail.completeExceptionally(throwable);
+        } finally {
+            synchronized (this) {
+                if (inFlight == batch) {
+                    inFlight = null;
+                }
+            }
+        }
+    }
+}
@@ -1,28 +1,39 @@
 package org.corfudb.runtime.view.replication;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.common.metrics.micrometer.MicroMeterUtils;
+import org.corfudb.common.metrics.micrometer.TimerHandle;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.InspectAddressesResponse;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
 import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
 import org.corfudb.runtime.clients.LogUnitClient;
 import org.corfudb.runtime.exceptions.OverwriteException;
 import org.corfudb.runtime.exceptions.RecoveryException;
 import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.RuntimeLayout;
 import org.corfudb.util.CFUtils;
+import org.corfudb.util.tracing.RequestTracer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +42,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChainReplicationProtocol extends AbstractReplicationProtocol {
 
+    /**
+     * Sends the hedges of the reads which are slow to be served by the tail of a chain.
+     */
+    private static final ScheduledExecutorService HEDGE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("hedged-read-%d")
+                    .build());
+
+    /**
+     * Write timers, per log unit endpoint.
+     */
+    private final Map<String, TimerHandle> writeTimers = new ConcurrentHashMap<>();
+
     public ChainReplicationProtocol(IHoleFillPolicy holeFillPolicy) {
         super(holeFillPolicy);
     }
@@ -41,7 +66,17 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
 
     private void doWrite(RuntimeLayout runtimeLayout, long address, int index, Runnable writeRunnable) {
         String server = runtimeLayout.getLayout().getStripe(address).getLogServers().get(index);
-        MicroMeterUtils.time(writeRunnable, "chain_replication.write", "node", server);
+        final long traceId = RequestTracer.currentTraceId();
+        final long startNanos = System.nanoTime();
+        try {
+            writeTimers.computeIfAbsent(server, node ->
+                    MicroMeterUtils.timerHandle("chain_replication.write", "node", node))
+                    .record(writeRunnable);
+        } finally {
+            if (traceId != RequestTracer.NO_TRACE) {
+                RequestTracer.client().record(traceId, "chain.write." + index + "@" + server, startNanos);
+            }
+        }
     }
 
     @Override
@@ -80,9 +115,9 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
         log.trace("Read[{}]: chain {}/{}", globalAddress, numUnits, numUnits);
         // In chain replication, we read from the last unit, though we can optimize if we
         // know where the committed tail is.
-        ILogData peekResult = CFUtils.getUninterruptibly(runtimeLayout
-                .getLogUnitClient(globalAddress, numUnits - 1)
-                .read(globalAddress)).getAddresses().get(globalAddress);
+        ILogData peekResult = CFUtils.getUninterruptibly(read(runtimeLayout,
+                runtimeLayout.getLogUnitClient(globalAddress, numUnits - 1),
+                Collections.singletonList(globalAddress), true)).getAddresses().get(globalAddress);
 
         return peekResult.isEmpty() ? null : peekResult;
     }
@@ -119,7 +154,7 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
         List<CompletableFuture<ReadResponse>> futures = serverAddressMap
                 .entrySet()
                 .stream()
-                .map(entry -> entry.getKey().read(entry.getValue(), cacheOnServer))
+                .map(entry -> read(runtimeLayout, entry.getKey(), entry.getValue(), cacheOnServer))
                 .collect(Collectors.toList());
 
         // Merge the read responses from different log unit servers.
@@ -161,6 +196,87 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
         batchHoleFill(runtimeLayout, holes);
     }
 
+    /**
+     * Read addresses from the tail of their chain. If hedged reads are enabled and the tail is
+     * slower to respond than usual (i.e., than the configured percentile of its latency), the
+     * read is hedged by sending it to the previous replica of the chain as well.
+     * <p>
+     * A replica holds every address the following replicas of the chain hold, and an address
+     * is only ever written once, so the value of a written address is the same on every replica
+     * (this is the value the recovery protocol adopts from the chain head). However, an address
+     * that is empty on the previous replica might be written on the tail by now, so the hedge is
+     * only used if it holds every address, otherwise the response of the tail is awaited.
+     *
+     * @param runtimeLayout runtime layout.
+     * @param tail          the log unit client of the tail of the chain of the addresses.
+     * @param addresses     addresses to read.
+     * @param cacheOnServer whether the read results should be cached on log unit server.
+     * @return the read response of the tail, or of the hedge if it is faster.
+     */
+    private CompletableFuture<ReadResponse> read(RuntimeLayout runtimeLayout, LogUnitClient tail,
+                                                 List<Long> addresses, boolean cacheOnServer) {
+        CompletableFuture<ReadResponse> tailRead = tail.read(addresses, cacheOnServer);
+
+        CorfuRuntimeParameters parameters = runtimeLayout.getRuntime().getParameters();
+        if (!parameters.isHedgedReadsEnabled()) {
+            return tailRead;
+        }
+
+        Optional<Duration> hedgeDelay = tail.getRouter().getLatency()
+                .flatMap(latency -> latency.getPercentile(parameters.getHedgedReadPercentile()));
+        if (!hedgeDelay.isPresent()) {
+            return tailRead;
+        }
+
+        // Group the addresses by the previous replica of their chain
+        Map<LogUnitClient, List<Long>> hedgeAddressMap = new HashMap<>();
+        for (long address : addresses) {
+            int numUnits = runtimeLayout.getLayout().getSegmentLength(address);
+            if (numUnits < 2) {
+                return tailRead;
+            }
+            hedgeAddressMap.computeIfAbsent(runtimeLayout.getLogUnitClient(address, numUnits - 2),
+                    client -> new ArrayList<>()).add(address);
+        }
+
+        CompletableFuture<ReadResponse> result = new CompletableFuture<>();
+        tailRead.whenComplete((response, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(response);
+            }
+        });
+
+        HEDGE_SCHEDULER.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            log.debug("read: hedging read of {} addresses from {} to {}", addresses.size(),
+                    tail.getHost(), hedgeAddressMap.keySet());
+            MicroMeterUtils.counterIncrement(1, "chain_replication.hedged_read");
+            List<CompletableFuture<ReadResponse>> hedges = hedgeAddressMap.entrySet()
+                    .stream()
+                    .map(entry -> entry.getKey().read(entry.getValue(), cacheOnServer))
+                    .collect(Collectors.toList());
+
+            CFUtils.sequence(hedges).thenAccept(responses -> {
+                ReadResponse hedgeResponse = new ReadResponse();
+                responses.forEach(response -> hedgeResponse.getAddresses().putAll(response.getAddresses()));
+                boolean allWritten = addresses.stream().allMatch(address -> {
+                    LogData data = hedgeResponse.getAddresses().get(address);
+                    return data != null && !data.isEmpty();
+                });
+                if (allWritten && result.complete(hedgeResponse)) {
+                    MicroMeterUtils.counterIncrement(1, "chain_replication.hedged_read.won");
+                }
+            });
+        }, hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+
+        return result;
+    }
+
     private Map<LogUnitClient, List<Long>> groupAddressByLogUnit(RuntimeLayout runtimeLayout,
                                                                  Collection<Long> addresses) {
         // A map of log unit client to addresses it's responsible for.
@@ -27,10 +27,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -74,6 +72,7 @@ public abstract class AbstractQueuedStreamView extends
         this.readOptions = ReadOptions.builder()
                 .clientCacheable(streamOptions.isCacheEntries())
                 .ignoreTrim(streamOptions.isIgnoreTrimmed())
+                .readClass(streamOptions.getReadClass())
                 .build();
         this.streamOptions = streamOptions;
     }
@@ -112,8 +111,8 @@ public abstract class AbstractQueuedStreamView extends
         }
 
         // If checkpoint data is available, get from readCpQueue first
-        NavigableSet<Long> getFrom;
-        if (context.readCpQueue.size() > 0) {
+        StreamAddressQueue getFrom;
+        if (!context.readCpQueue.isEmpty()) {
             getFrom = context.readCpQueue;
             // Note: this is a checkpoint, we do not need to verify it is before the trim mark, it actually should be
             // cause this is the last address of the trimmed range.
@@ -138,7 +137,7 @@ public abstract class AbstractQueuedStreamView extends
      * @return next available entry. or null if there are no more entries
      *         or remaining entries are not part of this stream.
      */
-    protected abstract ILogData removeFromQueue(NavigableSet<Long> queue);
+    protected abstract ILogData removeFromQueue(StreamAddressQueue queue);
 
     @Override
     public void gc(long trimMark) {
@@ -152,9 +151,9 @@ public abstract class AbstractQueuedStreamView extends
                     getCurrentContext().getGcTrimMark());
             // Remove all the entries that are strictly less than
             // the trim mark
-            getCurrentContext().readCpQueue.headSet(getCurrentContext().getGcTrimMark()).clear();
-            getCurrentContext().readQueue.headSet(getCurrentContext().getGcTrimMark()).clear();
-            getCurrentContext().resolvedQueue.headSet(getCurrentContext().getGcTrimMark()).clear();
+            getCurrentContext().readCpQueue.removeBelow(getCurrentContext().getGcTrimMark());
+            getCurrentContext().readQueue.removeBelow(getCurrentContext().getGcTrimMark());
+            getCurrentContext().resolvedQueue.removeBelow(getCurrentContext().getGcTrimMark());
 
             if (!getCurrentContext().resolvedQueue.isEmpty()) {
                 getCurrentContext().minResolution = getCurrentContext()
@@ -281,21 +280,53 @@ public abstract class AbstractQueuedStreamView extends
     @Nonnull
     protected List<ILogData> readAll(@Nonnull List<Long> addresses) {
         try {
-            Map<Long, ILogData> dataMap =
-                    runtime.getAddressSpaceView().read(addresses, readOptions);
-            // If trimmed exceptions are ignored, the data retrieved by the read API might not correspond
-            // to all requested addresses, for this reason we must filter out data entries not included (null).
-            // Also, we need to preserve ordering for checkpoint logic.
-            return addresses.stream().map(dataMap::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            return readAllUnprocessed(addresses);
         } catch (TrimmedException te) {
             processTrimmedException(te);
             throw te;
         }
     }
 
-    private void processTrimmedException(TrimmedException te) {
+    /**
+     * Read the given addresses, in order, like {@link #readAll(List)}, but leave a
+     * {@link TrimmedException} as is. This is meant for the reads running outside of the
+     * thread of the transaction, whose caller passes the exception to
+     * {@link #processTrimmedException(TrimmedException)} once back on its own thread.
+     *
+     * @param addresses the addresses to read
+     * @return the entries read, ordered as the given addresses
+     */
+    @Nonnull
+    protected List<ILogData> readAllUnprocessed(@Nonnull List<Long> addresses) {
+        Map<Long, ILogData> dataMap =
+                runtime.getAddressSpaceView().read(addresses, readOptions);
+        // If trimmed exceptions are ignored, the data retrieved by the read API might not correspond
+        // to all requested addresses, for this reason we must filter out data entries not included (null).
+        // Also, we need to preserve ordering for checkpoint logic.
+        return addresses.stream().map(dataMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Read the entries of the read set assembled from the context's queues, in order.
+     *
+     * @param context   the stream context the read set was assembled from
+     * @param addresses the addresses to read
+     * @return the entries read, ordered as the given addresses
+     */
+    @Nonnull
+    protected List<ILogData> readQueued(@Nonnull QueuedStreamContext context, @Nonnull List<Long> addresses) {
+        return readAll(addresses);
+    }
+
+    /**
+     * A trim below the checkpoint cannot be retried by a transaction whose snapshot is older than
+     * the checkpoint. This relies on the transactional context of the calling thread.
+     *
+     * @param te the trimmed exception thrown by a read of the stream
+     */
+    protected void processTrimmedException(TrimmedException te) {
         if (TransactionalContext.getCurrentContext() != null
                 && TransactionalContext.getCurrentContext().getSnapshotTimestamp().getSequence()
                 < getCurrentContext().checkpoint.snapshot) {
@@ -311,7 +342,7 @@ public abstract class AbstractQueuedStreamView extends
      * */
     @Override
     protected List<ILogData> getNextEntries(QueuedStreamContext context, long maxGlobal) {
-        NavigableSet<Long> readSet = new TreeSet<>();
+        StreamAddressQueue readSet = new StreamAddressQueue();
 
         // Scan backward in the stream to find interesting
         // log records less than or equal to maxGlobal.
@@ -340,14 +371,13 @@ public abstract class AbstractQueuedStreamView extends
         if (context.readQueue.isEmpty() || context.readQueue.first() <= maxGlobal){
             // Select everything in the read queue between
             // the start and maxGlobal
-            readSet.addAll(context.readQueue.headSet(maxGlobal, true));
+            readSet.addRange(context.readQueue, Address.NON_ADDRESS, maxGlobal);
         }
 
-        List<Long> toRead = readSet.stream()
-                .collect(Collectors.toList());
+        List<Long> toRead = readSet.toList();
 
         // The list to store read results in
-        List<ILogData> readFrom = readAll(toRead).stream()
+        List<ILogData> readFrom = readQueued(context, toRead).stream()
                 // If the last address is a hole, we want to update the
                 // global pointer to include that address as well.
                 // During a checkpoint, a hole is appended at the end of each
@@ -363,8 +393,8 @@ public abstract class AbstractQueuedStreamView extends
                 .collect(Collectors.toList());
         
         // Clear the entries which were read
-        context.readQueue.headSet(maxGlobal, true).clear();
-        context.readCpQueue.headSet(maxGlobal, true).clear();
+        context.readQueue.removeUpTo(maxGlobal);
+        context.readCpQueue.removeUpTo(maxGlobal);
 
         // Transfer the addresses of the read entries to the resolved queue
         readFrom.forEach(entry -> addToResolvedQueue(context, entry.getGlobalAddress()));
@@ -477,7 +507,7 @@ public abstract class AbstractQueuedStreamView extends
             return fillFromResolved(maxGlobal, context);
         }
 
-        Long latestTokenValue = null;
+        long latestTokenValue = Address.NON_ADDRESS;
 
         // If the max has been resolved, use it.
         if (maxGlobal != Address.MAX) {
@@ -486,7 +516,7 @@ public abstract class AbstractQueuedStreamView extends
 
         // If we don't have a larger token in resolved, or the request was for
         // a linearized read, fetch the token from the sequencer.
-        if (latestTokenValue == null || maxGlobal == Address.MAX) {
+        if (Address.nonAddress(latestTokenValue) || maxGlobal == Address.MAX) {
             // The stream tail might be ahead of maxGlobal (our max timestamp to resolve up to)
             // We could limit it to the min between these two (maxGlobal and tail), but that could
             // lead to reading an address (maxGlobal) that does not belong to our stream and attempt
@@ -558,7 +588,7 @@ public abstract class AbstractQueuedStreamView extends
      * @return true if addresses were discovered, false, otherwise.
      */
     protected abstract boolean discoverAddressSpace(final UUID streamId,
-                                                    final NavigableSet<Long> queue,
+                                                    final StreamAddressQueue queue,
                                                     final long startAddress,
                                                     final long stopAddress,
                                                     final Function<ILogData, Boolean> filter,
@@ -573,12 +603,8 @@ public abstract class AbstractQueuedStreamView extends
         }
         // Get the subset of the resolved queue, which starts at
         // globalPointer and ends at maxAddress inclusive.
-        NavigableSet<Long> resolvedSet =
-                context.resolvedQueue.subSet(context.getGlobalPointer(),
-                        false, maxGlobal, true);
-
         // Put those elements in the read queue
-        context.readQueue.addAll(resolvedSet);
+        context.readQueue.addRange(context.resolvedQueue, context.getGlobalPointer(), maxGlobal);
 
         return !context.readQueue.isEmpty();
     }
@@ -607,7 +633,7 @@ public abstract class AbstractQueuedStreamView extends
      *                  nextRead)
      * @return data for current 'address' of interest.
      */
-    protected @Nonnull ILogData read(long nextRead, @Nonnull final NavigableSet<Long> addresses) {
+    protected @Nonnull ILogData read(long nextRead, @Nonnull final StreamAddressQueue addresses) {
         try {
             return runtime.getAddressSpaceView().read(nextRead, addresses, readOptions);
         } catch (TrimmedException te) {
@@ -777,13 +803,13 @@ public abstract class AbstractQueuedStreamView extends
 
         // Otherwise, the previous entry should be resolved, so get
         // one less than the current.
-        Long prevAddress = context
+        long prevAddress = context
                 .resolvedQueue.lower(context.getGlobalPointer());
         // If the pointer is before our min resolution, we need to resolve
         // to get the correct previous entry.
-        if (prevAddress == null && Address.isAddress(context.minResolution)
-                || prevAddress != null && prevAddress <= context.minResolution) {
-            context.setGlobalPointerCheckGCTrimMark(prevAddress == null ? Address.NEVER_READ :
+        if (Address.nonAddress(prevAddress) && Address.isAddress(context.minResolution)
+                || Address.isAddress(prevAddress) && prevAddress <= context.minResolution) {
+            context.setGlobalPointerCheckGCTrimMark(Address.nonAddress(prevAddress) ? Address.NEVER_READ :
                     prevAddress - 1L);
 
             remainingUpTo(context.minResolution);
@@ -797,7 +823,7 @@ public abstract class AbstractQueuedStreamView extends
         // Clear the read queue, it may no longer be valid
         context.readQueue.clear();
 
-        if (prevAddress != null) {
+        if (Address.isAddress(prevAddress)) {
             log.trace("previous[{}]: updated read queue {}", this, context.readQueue);
             context.setGlobalPointerCheckGCTrimMark(prevAddress);
             return read(prevAddress);
@@ -861,8 +887,8 @@ public abstract class AbstractQueuedStreamView extends
     static class QueuedStreamContext extends AbstractStreamContext {
 
         /** A queue of addresses which have already been resolved. */
-        final NavigableSet<Long> resolvedQueue
-                = new TreeSet<>();
+        final StreamAddressQueue resolvedQueue
+                = new StreamAddressQueue();
 
         /** The minimum global address which we have resolved this
          * stream to.
@@ -877,12 +903,12 @@ public abstract class AbstractQueuedStreamView extends
         /**
          * A priority queue of potential addresses to be read from.
          */
-        final NavigableSet<Long> readQueue
-                = new TreeSet<>();
+        final StreamAddressQueue readQueue
+                = new StreamAddressQueue();
 
         /** List of checkpoint records, if a successful checkpoint has been observed.
          */
-        final NavigableSet<Long> readCpQueue = new TreeSet<>();
+        final StreamAddressQueue readCpQueue = new StreamAddressQueue();
 
         /** Info on checkpoint we used for initial stream replay,
          *  other checkpoint-related info & stats.
@@ -932,12 +958,12 @@ public abstract class AbstractQueuedStreamView extends
             }
             // remove anything in the read queue LESS
             // than global address.
-            readQueue.headSet(globalAddress).clear();
-            readCpQueue.headSet(globalAddress).clear();
+            readQueue.removeBelow(globalAddress);
+            readCpQueue.removeBelow(globalAddress);
             // transfer from the resolved queue into
             // the read queue anything equal to or
             // greater than the global address
-            readQueue.addAll(resolvedQueue.tailSet(globalAddress, true));
+            readQueue.addRange(resolvedQueue, globalAddress - 1, Address.MAX);
             super.seek(globalAddress);
         }
     }
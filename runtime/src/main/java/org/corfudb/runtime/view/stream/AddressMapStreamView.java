@@ -1,6 +1,7 @@
 package org.corfudb.runtime.view.stream;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.StreamAddressRange;
@@ -9,18 +10,24 @@ import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.ObjectsView;
 import org.corfudb.runtime.view.StreamOptions;
+import org.corfudb.util.CFUtils;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.NavigableSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /** A view of a stream implemented with address maps.
@@ -45,6 +52,9 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
 
     private long addressCount = 0L;
 
+    // Entries of the current batch filtered by the log units, see read(long, StreamAddressQueue)
+    private final Map<Long, ILogData> filteredEntries = new HashMap<>();
+
     /** Create a new address map stream view.
      *
      * @param runtime   The runtime to use for accessing the log.
@@ -62,15 +72,16 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
     }
 
     @Override
-    protected ILogData removeFromQueue(NavigableSet<Long> queue) {
+    protected ILogData removeFromQueue(StreamAddressQueue queue) {
         boolean readNext;
         ILogData ld = null;
-        Long currentRead;
+        long currentRead;
+        final boolean isReadQueue = queue == getCurrentContext().readQueue;
 
         do {
             currentRead = queue.pollFirst();
 
-            if (currentRead == null) {
+            if (Address.nonAddress(currentRead)) {
                 // no more entries, empty queue.
                 return null;
             }
@@ -81,9 +92,9 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
                 // the stream's full address map, without reading the actual data), entries can be read in
                 // batches whenever we have a cache miss. This allows next reads
                 // to be serviced immediately, rather than reading one entry at a time.
-                ld = read(currentRead, queue);
+                ld = read(currentRead, queue, isReadQueue);
 
-                if (queue == getCurrentContext().readQueue) {
+                if (isReadQueue) {
                     // Validate that the data entry belongs to this stream, otherwise, skip.
                     // This verification protects from sequencer regression (tokens assigned in an older epoch
                     // that were never written to, and reassigned on a newer epoch)
@@ -123,6 +134,86 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
         return ld;
     }
 
+    /**
+     * Read the next address of a queue, batching the reads of the following addresses of the queue.
+     *
+     * <p>If stream read filtering is enabled, entries of the read queue are read in batches through
+     * stream scans, so the log units only return the updates of this stream. Any address that is not
+     * served by the scan (e.g., unwritten or trimmed addresses) is read through a regular read.
+     *
+     * @param nextRead    current address of interest
+     * @param addresses   the queue holding the following addresses to read
+     * @param isReadQueue whether the queue is the read queue of the stream, rather than its
+     *                    checkpoint queue, i.e., whether its entries can be read through scans
+     * @return data for the current address of interest
+     */
+    private @Nonnull ILogData read(long nextRead, @Nonnull final StreamAddressQueue addresses,
+                                   boolean isReadQueue) {
+        if (!runtime.getParameters().isStreamReadFiltering() || !isReadQueue) {
+            return read(nextRead, addresses);
+        }
+
+        ILogData ld = filteredEntries.remove(nextRead);
+        if (ld == null) {
+            filteredEntries.clear();
+            long lastRead = nextRead;
+            Iterator<Long> it = addresses.iterator();
+            for (int i = 1; i < runtime.getParameters().getStreamBatchSize() && it.hasNext(); i++) {
+                lastRead = it.next();
+            }
+
+            filteredEntries.putAll(scanStream(nextRead - 1, lastRead));
+            ld = filteredEntries.remove(nextRead);
+            if (ld == null) {
+                return read(nextRead, addresses);
+            }
+        }
+        return ld;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If stream read filtering is enabled and no checkpoint is being loaded, the read set is
+     * read through a stream scan, and only the addresses not served by it are read regularly.
+     */
+    @Nonnull
+    @Override
+    protected List<ILogData> readQueued(@Nonnull QueuedStreamContext context, @Nonnull List<Long> addresses) {
+        if (!runtime.getParameters().isStreamReadFiltering() || addresses.isEmpty()
+                || !context.readCpQueue.isEmpty()) {
+            return super.readQueued(context, addresses);
+        }
+
+        final Map<Long, ILogData> entries = new HashMap<>(
+                scanStream(addresses.get(0) - 1, addresses.get(addresses.size() - 1)));
+        final List<Long> remaining = addresses.stream()
+                .filter(address -> !entries.containsKey(address))
+                .collect(Collectors.toList());
+        if (!remaining.isEmpty()) {
+            readAll(remaining).forEach(ld -> entries.put(ld.getGlobalAddress(), ld));
+        }
+
+        return addresses.stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scan this stream's entries in (start, end] through the log units. Trimmed addresses are
+     * left to regular reads, which handle them according to the read options.
+     */
+    private Map<Long, ILogData> scanStream(long start, long end) {
+        try {
+            return runtime.getAddressSpaceView().readStream(id, start, end, getReadOptions());
+        } catch (TrimmedException te) {
+            log.debug("scanStream[{}]: scan of ({}, {}] hit trimmed addresses {}",
+                    this, start, end, te.getTrimmedAddresses());
+            return Collections.emptyMap();
+        }
+    }
+
     /**
      * Retrieve this stream's address map, i.e., a map of all addresses corresponding to this stream between
      * (stop address, start address] and return a boolean indicating if addresses were found in this range.
@@ -139,7 +230,7 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
      */
     @Override
     protected boolean discoverAddressSpace(final UUID streamId,
-                                           final NavigableSet<Long> queue,
+                                           final StreamAddressQueue queue,
                                            final long startAddress,
                                            final long stopAddress,
                                            final Function<ILogData, Boolean> filter,
@@ -165,7 +256,7 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
     }
 
     private void moveToReadQueue(final StreamAddressSpace streamAddressSpace,
-                                  final NavigableSet<Long> queue,
+                                  final StreamAddressQueue queue,
                                   final long startAddress,
                                   final long stopAddress,
                                   final long maxGlobal) {
@@ -173,9 +264,7 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
         // Transfer discovered addresses to queue. We must limit to maxGlobal,
         // as startAddress could be ahead of maxGlobal---in case it reflects
         // the tail of the stream.
-        Set<Long> prefix = new HashSet<>();
-        streamAddressSpace.forEachUpTo(maxGlobal, prefix::add);
-        queue.addAll(prefix);
+        queue.addAllUpTo(streamAddressSpace, maxGlobal);
 
         final long trimMark = streamAddressSpace.getTrimMark();
 
@@ -227,7 +316,7 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
     }
 
     private void processCheckpoint(StreamAddressSpace streamAddressSpace, Function<ILogData, Boolean> filter,
-                                   NavigableSet<Long> queue) {
+                                   StreamAddressQueue queue) {
         SortedSet<Long> checkpointAddresses = new TreeSet<>(Collections.reverseOrder());
         Arrays.stream(streamAddressSpace.toArray()).forEach(checkpointAddresses::add);
 
@@ -242,6 +331,19 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
         Iterable<List<Long>> batches = Iterables.partition(checkpointAddresses,
                 runtime.getParameters().getCheckpointReadBatchSize());
 
+        int parallelism = runtime.getParameters().getCheckpointReadParallelism();
+        if (parallelism > 1) {
+            processCheckpointInParallel(Lists.newArrayList(batches), filter, parallelism);
+        } else {
+            processCheckpointSequentially(batches, filter);
+        }
+
+        // Select correct checkpoint - Highest
+        List<Long> checkpointEntries = resolveCheckpoint(getCurrentContext());
+        queue.addAll(checkpointEntries);
+    }
+
+    private void processCheckpointSequentially(Iterable<List<Long>> batches, Function<ILogData, Boolean> filter) {
         for (List<Long> batch : batches) {
             try {
                 List<ILogData> entries = readAll(batch);
@@ -260,10 +362,57 @@ public class AddressMapStreamView extends AbstractQueuedStreamView {
                 break;
             }
         }
+    }
 
-        // Select correct checkpoint - Highest
-        List<Long> checkpointEntries = resolveCheckpoint(getCurrentContext());
-        queue.addAll(checkpointEntries);
+    /**
+     * Process checkpoint batches while up to 'parallelism' of the following batches are read and
+     * deserialized in the background.
+     *
+     * Batches are still handed to the filter one at a time and in (reverse) address order, so the
+     * checkpoint resolution and the trim handling are those of the sequential path. Only the log
+     * unit round trips and the payload deserialization, which dominate the time to load large
+     * checkpoints, overlap.
+     *
+     * @param batches     checkpoint addresses in reverse order, partitioned in batches.
+     * @param filter      filter to apply to checkpoint data.
+     * @param parallelism max number of batches loaded concurrently.
+     */
+    private void processCheckpointInParallel(List<List<Long>> batches, Function<ILogData, Boolean> filter,
+                                             int parallelism) {
+        Deque<CompletableFuture<List<ILogData>>> inFlight = new ArrayDeque<>();
+        int nextBatch = 0;
+        try {
+            for (List<Long> batch : batches) {
+                while (nextBatch < batches.size() && inFlight.size() < parallelism) {
+                    inFlight.add(loadCheckpointBatch(batches.get(nextBatch++)));
+                }
+
+                try {
+                    List<ILogData> entries = CFUtils.getUninterruptibly(inFlight.poll(), TrimmedException.class);
+                    for (ILogData data : entries) {
+                        filter.apply(data);
+                    }
+                } catch (TrimmedException te) {
+                    // The batch was read on a loader thread, handle the trim within the transaction
+                    processTrimmedException(te);
+                    log.warn("processCheckpointInParallel: trimmed addresses {}", te.getTrimmedAddresses());
+                    processCheckpointBatchByEntry(batch, filter);
+                    break;
+                }
+            }
+        } finally {
+            // Loads of older checkpoints behind a trimmed batch are no longer needed
+            inFlight.forEach(load -> load.cancel(true));
+        }
+    }
+
+    private CompletableFuture<List<ILogData>> loadCheckpointBatch(List<Long> batch) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<ILogData> entries = readAllUnprocessed(batch);
+            // Deserialization is cached in the log data, the filter will consume the payloads as is
+            entries.stream().filter(ILogData::isData).forEach(data -> data.getPayload(runtime));
+            return entries;
+        }, runtime.getCheckpointLoader());
     }
 
     /**
@@ -3,6 +3,7 @@ package org.corfudb.runtime.view.stream;
 import org.corfudb.protocols.logprotocol.OpaqueEntry;
 import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.exceptions.TrimmedException;
 
 import java.util.Collections;
@@ -15,8 +16,18 @@ public class OpaqueStream {
      */
     private final IStreamView streamView;
 
+    /**
+     * The runtime used to read the chunks of large transactions, if any.
+     */
+    private final CorfuRuntime runtime;
+
     public OpaqueStream(IStreamView streamView) {
+        this(streamView, null);
+    }
+
+    public OpaqueStream(IStreamView streamView, CorfuRuntime runtime) {
         this.streamView = streamView;
+        this.runtime = runtime;
     }
 
     private OpaqueEntry processLogData(ILogData logData) {
@@ -37,7 +48,7 @@ public class OpaqueStream {
             throw new IllegalStateException("Must have a payload");
         }
 
-        return OpaqueEntry.unpack(logData);
+        return OpaqueEntry.unpack(logData, runtime, streamView.getId());
     }
 
     public long pos() {
@@ -0,0 +1,300 @@
+package org.corfudb.runtime.view.stream;
+
+import org.corfudb.runtime.view.Address;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An ordered set of global addresses, used by the stream views to queue the
+ * addresses to read and to keep track of the addresses already resolved.
+ * <p>
+ * Addresses are kept in a compressed bitmap rather than a set of boxed longs,
+ * so that streams with millions of updates can be queued with a small footprint,
+ * and address spaces discovered from the sequencer can be transferred in bulk.
+ * <p>
+ * Only valid (non-negative) addresses can be queued. Lookups that do not find an
+ * address return {@link Address#NON_ADDRESS}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class StreamAddressQueue implements Iterable<Long> {
+
+    // Low 32 bits of an address, its position in a bucket of the bitmap
+    private static final long BUCKET_MASK = 0xFFFFFFFFL;
+
+    private final Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+
+    /**
+     * Add an address to this queue.
+     *
+     * @param address address to add
+     */
+    public void add(long address) {
+        if (Address.nonAddress(address)) {
+            throw new IllegalArgumentException("Invalid address " + address);
+        }
+        bitmap.addLong(address);
+    }
+
+    /**
+     * Add the given addresses to this queue.
+     *
+     * @param addresses addresses to add
+     */
+    public void addAll(@Nonnull Collection<Long> addresses) {
+        addresses.forEach(this::add);
+    }
+
+    /**
+     * Add all addresses of another queue to this queue.
+     *
+     * @param other queue to add the addresses of
+     */
+    public void addAll(@Nonnull StreamAddressQueue other) {
+        bitmap.or(other.bitmap);
+    }
+
+    /**
+     * Add the addresses of another queue in range (start, end] to this queue.
+     * <p>
+     * The other queue is traversed from its tail, as the requested range is
+     * typically at the end of the stream.
+     *
+     * @param other queue to add the addresses of
+     * @param start start of the range (exclusive)
+     * @param end   end of the range (inclusive)
+     */
+    public void addRange(@Nonnull StreamAddressQueue other, long start, long end) {
+        if (other.isEmpty() || end <= start) {
+            return;
+        }
+
+        if (start < other.first() && other.last() <= end) {
+            addAll(other);
+            return;
+        }
+
+        LongIterator iterator = other.bitmap.getReverseLongIterator();
+        while (iterator.hasNext()) {
+            long current = iterator.next();
+            if (current <= start) {
+                break;
+            }
+            if (current <= end) {
+                bitmap.addLong(current);
+            }
+        }
+    }
+
+    /**
+     * Add the addresses in range [trimMark + 1, max] of a stream's address space to this queue.
+     *
+     * @param addressSpace address space to add the addresses of
+     * @param max          max address to add (inclusive)
+     */
+    public void addAllUpTo(@Nonnull StreamAddressSpace addressSpace, long max) {
+        addressSpace.copyUpTo(max, bitmap);
+    }
+
+    /**
+     * Remove an address from this queue.
+     *
+     * @param address address to remove
+     */
+    public void remove(long address) {
+        if (Address.isAddress(address)) {
+            bitmap.removeLong(address);
+        }
+    }
+
+    /**
+     * Remove all addresses strictly lower than the given address.
+     *
+     * @param address lowest address to keep
+     */
+    public void removeBelow(long address) {
+        if (address <= 0) {
+            return;
+        }
+        removeUpTo(address - 1);
+    }
+
+    /**
+     * Remove all addresses lower than or equal to the given address.
+     *
+     * @param address highest address to remove
+     */
+    public void removeUpTo(long address) {
+        if (Address.nonAddress(address) || bitmap.isEmpty()) {
+            return;
+        }
+
+        final long toRemove = bitmap.rankLong(address);
+        if (toRemove == 0) {
+            return;
+        }
+
+        if (toRemove == bitmap.getLongCardinality()) {
+            bitmap.clear();
+        } else {
+            bitmap.andNot(headRange(bitmap.select(toRemove - 1)));
+        }
+    }
+
+    /**
+     * Build a bitmap of all addresses in range [first, last], the head of this queue.
+     * <p>
+     * The range is built one 32-bit bucket of the bitmap at a time, and only spans the buckets
+     * and the addresses this queue has. Ranges added to a 64-bit bitmap are kept in buffer
+     * bitmaps by this bitmap version, which andNot can't combine with the bitmaps of this queue,
+     * so the range of every bucket is built as a 32-bit bitmap and handed over as the bucket.
+     *
+     * @param last last address of the range (inclusive)
+     * @return bitmap of the range, made of run containers
+     */
+    private Roaring64NavigableMap headRange(long last) {
+        final Deque<RoaringBitmap> buckets = new ArrayDeque<>();
+        final Roaring64NavigableMap range = new Roaring64NavigableMap(buckets::pop);
+
+        for (long from = first(); ; from = ceiling((from | BUCKET_MASK) + 1)) {
+            final long bucketLast = from | BUCKET_MASK;
+            final long to = last <= bucketLast ? last : lower(bucketLast + 1);
+
+            RoaringBitmap bucket = new RoaringBitmap();
+            bucket.add(from & BUCKET_MASK, (to & BUCKET_MASK) + 1);
+            buckets.push(bucket);
+            // Adding the first address of the bucket creates it from the supplier, as the range above
+            range.addLong(from);
+
+            if (to == last) {
+                return range;
+            }
+        }
+    }
+
+    /**
+     * Remove all addresses from this queue.
+     */
+    public void clear() {
+        bitmap.clear();
+    }
+
+    /**
+     * @param address address to look up
+     * @return true if the address is in this queue
+     */
+    public boolean contains(long address) {
+        return Address.isAddress(address) && bitmap.contains(address);
+    }
+
+    public boolean isEmpty() {
+        return bitmap.isEmpty();
+    }
+
+    public long size() {
+        return bitmap.getLongCardinality();
+    }
+
+    /**
+     * @return the lowest address in this queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long first() {
+        if (bitmap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return bitmap.select(0);
+    }
+
+    /**
+     * @return the highest address in this queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long last() {
+        if (bitmap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return bitmap.select(bitmap.getLongCardinality() - 1);
+    }
+
+    /**
+     * Remove the lowest address of this queue.
+     *
+     * @return the lowest address, or {@link Address#NON_ADDRESS} if the queue is empty
+     */
+    public long pollFirst() {
+        if (bitmap.isEmpty()) {
+            return Address.NON_ADDRESS;
+        }
+        final long first = bitmap.select(0);
+        bitmap.removeLong(first);
+        return first;
+    }
+
+    /**
+     * @param address address to look up
+     * @return the lowest address greater than or equal to the given address,
+     * or {@link Address#NON_ADDRESS} if there is none
+     */
+    public long ceiling(long address) {
+        final long lower = address <= 0 ? 0 : bitmap.rankLong(address - 1);
+        if (lower == bitmap.getLongCardinality()) {
+            return Address.NON_ADDRESS;
+        }
+        return bitmap.select(lower);
+    }
+
+    /**
+     * @param address address to look up
+     * @return the highest address strictly lower than the given address,
+     * or {@link Address#NON_ADDRESS} if there is none
+     */
+    public long lower(long address) {
+        if (address <= 0) {
+            return Address.NON_ADDRESS;
+        }
+        final long lower = bitmap.rankLong(address - 1);
+        if (lower == 0) {
+            return Address.NON_ADDRESS;
+        }
+        return bitmap.select(lower - 1);
+    }
+
+    /**
+     * @return all addresses of this queue, in ascending order
+     */
+    public List<Long> toList() {
+        List<Long> addresses = new ArrayList<>((int) Math.min(size(), Integer.MAX_VALUE));
+        bitmap.forEach(addresses::add);
+        return addresses;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Addresses are returned in ascending order.
+     */
+    @Override
+    @Nonnull
+    public Iterator<Long> iterator() {
+        return bitmap.iterator();
+    }
+
+    @Override
+    public String toString() {
+        if (bitmap.isEmpty()) {
+            return "[]";
+        }
+        return String.format("[%s, %s] size %s", first(), last(), size());
+    }
+}
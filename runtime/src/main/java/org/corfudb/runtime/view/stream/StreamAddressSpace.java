@@ -11,6 +11,8 @@ import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.LongConsumer;
 
@@ -108,6 +110,26 @@ final public class StreamAddressSpace {
         }
     }
 
+    /**
+     * Add the addresses in range [trimMark + 1, max] to the given bitmap. The whole
+     * bitmap is merged at once when all its addresses fall in the range.
+     *
+     * @param max    maximum address (inclusive upper bound)
+     * @param target bitmap to add the addresses to
+     */
+    void copyUpTo(final long max, Roaring64NavigableMap target) {
+        if (bitmap.isEmpty()) {
+            return;
+        }
+
+        if (getFirst() > trimMark && getTail() <= max) {
+            target.or(bitmap);
+            return;
+        }
+
+        forEachUpTo(max, target::addLong);
+    }
+
     /**
      * Get tail for this stream.
      *
@@ -255,6 +277,35 @@ final public class StreamAddressSpace {
         return new StreamAddressSpace(this.trimMark, addressesInRange);
     }
 
+    /**
+     * Get the lowest addresses in range (end, start], where start > end, in ascending order.
+     * Only the returned addresses are visited, the bitmap is positioned on the first one
+     * by its rank.
+     *
+     * @param range range of addresses
+     * @param limit max number of addresses to return, unlimited if zero
+     * @return addresses in this range
+     */
+    public List<Long> getAddressesInRange(StreamAddressRange range, int limit) {
+        if (range.getStart() <= range.getEnd()) {
+            throw new IllegalArgumentException("Invalid range (" + range.getEnd() + ", " + range.getStart() + "]");
+        }
+
+        // The number of addresses up to a bound is the index of the first address past it,
+        // the bitmap ranks its values as unsigned so a negative bound has no address below it
+        final long first = range.getEnd() < 0 ? 0 : bitmap.rankLong(range.getEnd());
+        long count = bitmap.rankLong(range.getStart()) - first;
+        if (limit > 0) {
+            count = Math.min(count, limit);
+        }
+
+        List<Long> addresses = new ArrayList<>((int) count);
+        for (long index = first; index < first + count; index++) {
+            addresses.add(bitmap.select(index));
+        }
+        return addresses;
+    }
+
     public void setTrimMark(long trimMark) {
         this.trimMark = trimMark;
         // TODO(Maithem): This method should be removed. When the trimMark is set here, then trim is called
@@ -289,7 +340,8 @@ final public class StreamAddressSpace {
     public StreamAddressSpace copy() {
         StreamAddressSpace copy = new StreamAddressSpace();
         copy.trimMark = this.trimMark;
-        this.bitmap.forEach(copy::addAddress);
+        // Copies the bitmap containers at once, rather than one address at a time
+        copy.bitmap.or(this.bitmap);
         return copy;
     }
 
@@ -63,8 +63,7 @@ public class AddNode extends WorkflowRequest {
         // Verify that the node has been added
         log.info("verifyRequest: {} to {}", this, layout);
         return layout.getAllServers().contains(nodeForWorkflow)
-                && layout.getSegmentsForEndpoint(nodeForWorkflow).size()
-                == layout.getSegments().size();
+                && layout.getFullyRedundantLogServers().contains(nodeForWorkflow);
     }
 
     @Override
@@ -0,0 +1,92 @@
+package org.corfudb.runtime.view.workflows;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.protocols.wireprotocol.orchestrator.CreateWorkflowResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.ManagementClient;
+import org.corfudb.runtime.view.Layout;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
+import org.corfudb.util.CFUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * A workflow request that makes an orchestrator call to add new log unit stripes
+ * to the cluster.
+ */
+@Slf4j
+public class AddStripes extends WorkflowRequest {
+
+    private final List<List<String>> stripes;
+
+    private final long startAddress;
+
+    /**
+     * Create an add stripes workflow request.
+     *
+     * @param stripes      The log servers of every new stripe, in chain order.
+     * @param startAddress The lowest address the new stripes are used from.
+     * @param runtime      Connected instance of Corfu runtime.
+     * @param retry        Number of retries.
+     * @param timeout      Workflow timeout.
+     * @param pollPeriod   Poll interval to check workflow status.
+     */
+    public AddStripes(@NonNull List<List<String>> stripes, long startAddress,
+                      @NonNull CorfuRuntime runtime, int retry,
+                      @NonNull Duration timeout, @NonNull Duration pollPeriod) {
+        if (stripes.isEmpty() || stripes.stream().anyMatch(List::isEmpty)) {
+            throw new IllegalArgumentException("AddStripes: empty stripes " + stripes);
+        }
+        this.stripes = stripes;
+        this.startAddress = startAddress;
+        this.nodeForWorkflow = stripes.get(0).get(0);
+        this.runtime = runtime;
+        this.retry = retry;
+        this.timeout = timeout;
+        this.pollPeriod = pollPeriod;
+    }
+
+    @Override
+    protected UUID sendRequest(@NonNull ManagementClient managementClient) throws TimeoutException {
+        Layout layout = new Layout(runtime.getLayoutView().getLayout());
+        // Bootstrap the management servers of the new log units first.
+        // If there are network or timeout exceptions, throw them.
+        for (List<String> stripe : stripes) {
+            for (String endpoint : stripe) {
+                CFUtils.getUninterruptibly(runtime.getManagementView().bootstrapManagementServer(endpoint, layout));
+            }
+        }
+        CreateWorkflowResponse resp = managementClient.addStripesRequest(stripes, startAddress);
+        log.info("sendRequest: requested to add stripes {} on {}:{}",
+                stripes, managementClient.getRouter().getHost(),
+                managementClient.getRouter().getPort());
+        return resp.getWorkflowId();
+    }
+
+    /**
+     * Verify that the open segment of the layout holds the new stripes.
+     *
+     * @param layout the layout to inspect
+     * @return True if every new stripe is a stripe of the open segment. False otherwise.
+     */
+    @Override
+    protected boolean verifyRequest(@NonNull Layout layout) {
+        log.info("verifyRequest: {} in {}", this, layout);
+        Set<List<String>> openStripes = layout.getLastSegment().getStripes()
+                .stream()
+                .map(LayoutStripe::getLogServers)
+                .collect(Collectors.toSet());
+        return openStripes.containsAll(stripes);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " " + stripes;
+    }
+}
@@ -41,8 +41,7 @@ public class HealNode extends WorkflowRequest {
     protected boolean verifyRequest(@NonNull Layout layout) {
         log.info("verifyRequest: {} in {}", this, layout);
         return layout.getAllServers().contains(nodeForWorkflow)
-                && layout.getSegmentsForEndpoint(nodeForWorkflow).size()
-                == layout.getSegments().size();
+                && layout.getFullyRedundantLogServers().contains(nodeForWorkflow);
     }
 
     @Override
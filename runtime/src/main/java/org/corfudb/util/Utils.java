@@ -16,6 +16,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import jdk.internal.org.objectweb.asm.util.Printer;
 import jdk.internal.org.objectweb.asm.util.Textifier;
@@ -138,7 +139,7 @@ public class Utils {
 
 
     /**
-     * Verify that the stripes are not empty and that each segment has one stripe.
+     * Verify that the segments are contiguous and that their stripes are not empty.
      * @param segments segments to validate
      */
     private static void validateSegments(List<Layout.LayoutSegment> segments) {
@@ -150,10 +151,9 @@ public class Utils {
             previousSegmentEndAddress = segment.getEnd();
             // only supported for chain replication
             checkArgument(segment.getReplicationMode() == Layout.ReplicationMode.CHAIN_REPLICATION);
-            // Since stripping is not supported, we can assume only one stripe exists
-            checkArgument(segment.getStripes().size() == 1);
-            // A stripe cannot be empty
-            checkArgument(!segment.getStripes().get(0).getLogServers().isEmpty());
+            // A segment has at least one stripe, and a stripe cannot be empty
+            checkArgument(!segment.getStripes().isEmpty());
+            segment.getStripes().forEach(stripe -> checkArgument(!stripe.getLogServers().isEmpty()));
         }
         // The last segment (i.e open segment) end address is -1 (denoting infinity)
         checkState(previousSegmentEndAddress == -1);
@@ -245,16 +245,16 @@ public class Utils {
     }
 
   /**
-   * Find the chain's head node of each segment
+   * Find the chain's head node of each stripe of each segment
    *
    * @param layout layout to search in
-   * @return returns a set of nodes the represent the first node in all segments
+   * @return returns a set of nodes the represent the first node in all stripes of all segments
    */
   private static Set<String> getChainHeadFromAllSegments(Layout layout) {
     validateSegments(layout.getSegments());
     List<Layout.LayoutSegment> segments = layout.getSegments();
     return segments.stream()
-        .map(Layout.LayoutSegment::getFirstStripe)
+        .flatMap(segment -> segment.getStripes().stream())
         .map(Layout.LayoutStripe::getLogServers)
         .map(strip -> strip.get(0))
         .collect(Collectors.toSet());
@@ -344,6 +344,33 @@ public class Utils {
    * @return response with all streams addresses and global log tail.
    */
   public static StreamsAddressResponse getLogAddressSpace(RuntimeLayout runtimeLayout) {
+    return getLogAddressSpace(runtimeLayout, LogUnitClient::getLogAddressSpace);
+  }
+
+  /**
+   * Retrieve the space of addresses of the log from the given address onward, i.e., the
+   * addresses written since then for all streams in the log. This is typically used to catch
+   * up a hot-standby sequencer on promotion.
+   *
+   * @param runtimeLayout current RuntimeLayout
+   * @param startAddress  first address to retrieve
+   * @return response with the streams addresses from startAddress onward and global log tail.
+   */
+  public static StreamsAddressResponse getLogAddressSpace(RuntimeLayout runtimeLayout,
+                                                          long startAddress) {
+    return getLogAddressSpace(runtimeLayout, client -> client.getLogAddressSpace(startAddress));
+  }
+
+  /**
+   * Retrieve the space of addresses of the log with the given query of the log units.
+   *
+   * @param runtimeLayout current RuntimeLayout
+   * @param query         query of the address space of a log unit
+   * @return response with the streams addresses and global log tail.
+   */
+  private static StreamsAddressResponse getLogAddressSpace(
+      RuntimeLayout runtimeLayout,
+      Function<LogUnitClient, CompletableFuture<StreamsAddressResponse>> query) {
     // Since a node can exist as a head for multiple segments we need to a set to
     // coalesce the candidates to unique nodes only
     Set<String> segmentsHeadNodes = getChainHeadFromAllSegments(runtimeLayout.getLayout());
@@ -351,7 +378,7 @@ public class Utils {
     final Map<UUID, StreamAddressSpace> streamsAddressSpace = new HashMap<>();
     List<CompletableFuture<StreamsAddressResponse>> cfs =
         segmentsHeadNodes.stream()
-            .map(node -> runtimeLayout.getLogUnitClient(node).getLogAddressSpace())
+            .map(node -> query.apply(runtimeLayout.getLogUnitClient(node)))
             .collect(Collectors.toList());
 
     cfs.stream()
@@ -0,0 +1,279 @@
+package org.corfudb.util.tracing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight, sampled, per-request latency tracing.
+ * <p>
+ * A sampled request gets a non-zero trace id, which is propagated to the servers in the
+ * trace_id field of the request header. Every component on the path of the request records
+ * the steps (spans) it spent time on against that id, in the tracer of its own process and role.
+ * Once a trace is complete (or expires), it is turned into a {@link TraceBreakdown}; breakdowns
+ * exceeding the slow threshold are logged and kept in a bounded in-memory buffer, so that
+ * tail latency can be attributed to queueing, token acquisition, each chain hop, fsync, etc.
+ * <p>
+ * Recording against {@link #NO_TRACE} is a no-op, so call sites do not need to check whether
+ * the request they are processing is sampled.
+ */
+@Slf4j
+public class RequestTracer {
+
+    /**
+     * Trace id of requests that are not sampled.
+     */
+    public static final long NO_TRACE = 0L;
+
+    private static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofMillis(100);
+
+    private static final int DEFAULT_MAX_SLOW_TRACES = 100;
+
+    // Traces that are never completed explicitly (e.g. one-way requests) are finalized after this time
+    private static final Duration ACTIVE_TRACE_EXPIRY = Duration.ofSeconds(30);
+
+    private static final int MAX_ACTIVE_TRACES = 10_000;
+
+    private static final RequestTracer CLIENT_TRACER = new RequestTracer("client");
+
+    private static final RequestTracer SERVER_TRACER = new RequestTracer("server");
+
+    // Trace the current thread is working on behalf of, if any
+    private static final ThreadLocal<long[]> currentTrace = ThreadLocal.withInitial(() -> new long[]{NO_TRACE});
+
+    @Getter
+    private final String role;
+
+    private final Cache<Long, ActiveTrace> activeTraces;
+
+    private final ConcurrentLinkedDeque<TraceBreakdown> slowTraces = new ConcurrentLinkedDeque<>();
+
+    private volatile long slowThresholdNanos = DEFAULT_SLOW_THRESHOLD.toNanos();
+
+    private volatile int maxSlowTraces = DEFAULT_MAX_SLOW_TRACES;
+
+    private RequestTracer(String role) {
+        this.role = role;
+        this.activeTraces = CacheBuilder.newBuilder()
+                .expireAfterWrite(ACTIVE_TRACE_EXPIRY.toMillis(), TimeUnit.MILLISECONDS)
+                .maximumSize(MAX_ACTIVE_TRACES)
+                .removalListener(this::onTraceRemoval)
+                .build();
+    }
+
+    /**
+     * @return the tracer collecting the client side spans of this process
+     */
+    public static RequestTracer client() {
+        return CLIENT_TRACER;
+    }
+
+    /**
+     * @return the tracer collecting the server side spans of this process
+     */
+    public static RequestTracer server() {
+        return SERVER_TRACER;
+    }
+
+    /**
+     * Decide whether a new request should be traced.
+     *
+     * @param samplingRate average number of requests per traced request, 0 disables tracing
+     * @return a new trace id, or {@link #NO_TRACE} if the request is not sampled
+     */
+    public static long sample(int samplingRate) {
+        if (samplingRate <= 0) {
+            return NO_TRACE;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (samplingRate > 1 && random.nextInt(samplingRate) != 0) {
+            return NO_TRACE;
+        }
+
+        long traceId;
+        do {
+            traceId = random.nextLong();
+        } while (traceId == NO_TRACE);
+        return traceId;
+    }
+
+    /**
+     * @return the trace the current thread is working on behalf of, or {@link #NO_TRACE}
+     */
+    public static long currentTraceId() {
+        return currentTrace.get()[0];
+    }
+
+    /**
+     * Configure the slow threshold of this tracer.
+     *
+     * @param slowThreshold traces taking at least this long are retained and logged
+     */
+    public void configure(@NonNull Duration slowThreshold) {
+        configure(slowThreshold, maxSlowTraces);
+    }
+
+    /**
+     * Configure this tracer.
+     *
+     * @param slowThreshold traces taking at least this long are retained and logged
+     * @param maxSlowTraces max number of slow traces retained
+     */
+    public void configure(@NonNull Duration slowThreshold, int maxSlowTraces) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxSlowTraces = maxSlowTraces;
+    }
+
+    /**
+     * Start tracing an operation on the current thread, if it is sampled. Requests sent
+     * by the current thread until {@link #end(long)} is called are part of this trace.
+     * <p>
+     * If the current thread is already traced, the operation is part of that trace
+     * and no new trace is started.
+     *
+     * @param samplingRate average number of operations per traced operation, 0 disables tracing
+     * @return the id of the started trace, or {@link #NO_TRACE} if no trace was started
+     */
+    public long begin(int samplingRate) {
+        long[] current = currentTrace.get();
+        if (current[0] != NO_TRACE) {
+            return NO_TRACE;
+        }
+        current[0] = sample(samplingRate);
+        return current[0];
+    }
+
+    /**
+     * End a trace started with {@link #begin(int)}.
+     *
+     * @param traceId id returned by {@link #begin(int)}
+     */
+    public void end(long traceId) {
+        if (traceId == NO_TRACE) {
+            return;
+        }
+        currentTrace.get()[0] = NO_TRACE;
+        complete(traceId);
+    }
+
+    /**
+     * Record a step of a traced request.
+     *
+     * @param traceId    trace id of the request
+     * @param span       name of the step
+     * @param startNanos start of the step, as given by {@link System#nanoTime()}
+     * @param endNanos   end of the step, as given by {@link System#nanoTime()}
+     */
+    public void record(long traceId, @NonNull String span, long startNanos, long endNanos) {
+        if (traceId == NO_TRACE) {
+            return;
+        }
+        activeTraces.asMap()
+                .computeIfAbsent(traceId, id -> new ActiveTrace())
+                .add(span, startNanos, endNanos);
+    }
+
+    /**
+     * Record a step of a traced request, ending now.
+     *
+     * @param traceId    trace id of the request
+     * @param span       name of the step
+     * @param startNanos start of the step, as given by {@link System#nanoTime()}
+     */
+    public void record(long traceId, @NonNull String span, long startNanos) {
+        if (traceId == NO_TRACE) {
+            return;
+        }
+        record(traceId, span, startNanos, System.nanoTime());
+    }
+
+    /**
+     * Mark a trace as complete, no more spans are expected for it.
+     *
+     * @param traceId trace id of the request
+     */
+    public void complete(long traceId) {
+        if (traceId == NO_TRACE) {
+            return;
+        }
+        activeTraces.invalidate(traceId);
+    }
+
+    /**
+     * @return the breakdowns of the retained slow traces, oldest first
+     */
+    public List<TraceBreakdown> getSlowTraces() {
+        activeTraces.cleanUp();
+        return new ArrayList<>(slowTraces);
+    }
+
+    /**
+     * Drop all active and retained traces.
+     */
+    public void clear() {
+        activeTraces.invalidateAll();
+        slowTraces.clear();
+    }
+
+    private void onTraceRemoval(RemovalNotification<Long, ActiveTrace> notification) {
+        TraceBreakdown breakdown = notification.getValue().toBreakdown(notification.getKey());
+        if (breakdown == null || breakdown.getTotal().toNanos() < slowThresholdNanos) {
+            return;
+        }
+
+        log.info("Slow {} request: {}", role, breakdown);
+        slowTraces.addLast(breakdown);
+        while (slowTraces.size() > maxSlowTraces) {
+            slowTraces.pollFirst();
+        }
+    }
+
+    /**
+     * Spans recorded so far for a trace.
+     */
+    private static class ActiveTrace {
+
+        @AllArgsConstructor
+        private static class RecordedSpan {
+            final String name;
+            final long startNanos;
+            final long endNanos;
+        }
+
+        private final List<RecordedSpan> spans = new ArrayList<>();
+
+        synchronized void add(String span, long startNanos, long endNanos) {
+            spans.add(new RecordedSpan(span, startNanos, endNanos));
+        }
+
+        synchronized TraceBreakdown toBreakdown(long traceId) {
+            if (spans.isEmpty()) {
+                return null;
+            }
+
+            long first = spans.stream().mapToLong(span -> span.startNanos).min().getAsLong();
+            long last = spans.stream().mapToLong(span -> span.endNanos).max().getAsLong();
+
+            return new TraceBreakdown(traceId, Duration.ofNanos(last - first),
+                    spans.stream()
+                            .map(span -> new TraceBreakdown.Span(span.name, span.startNanos - first,
+                                    span.endNanos - span.startNanos))
+                            .sorted(Comparator.comparingLong(TraceBreakdown.Span::getStartOffsetNanos))
+                            .collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.corfudb.util.tracing;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Where the time went for a single traced request, as observed by one process.
+ */
+@Value
+public class TraceBreakdown {
+
+    /**
+     * A timed step of the request.
+     */
+    @Value
+    public static class Span {
+        // Name of the step, e.g. logunit.queue
+        String name;
+
+        // Start of the step, relative to the start of the first step of the trace
+        long startOffsetNanos;
+
+        long durationNanos;
+
+        @Override
+        public String toString() {
+            return String.format("%s[+%.3fms %.3fms]", name, toMillis(startOffsetNanos), toMillis(durationNanos));
+        }
+    }
+
+    long traceId;
+
+    // Time between the start of the first step and the end of the last step
+    Duration total;
+
+    // Steps sorted by start time
+    List<Span> spans;
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("trace %s total %.3fms %s", Long.toHexString(traceId), toMillis(total.toNanos()),
+                spans.stream().map(Span::toString).collect(Collectors.joining(", ", "{", "}")));
+    }
+}
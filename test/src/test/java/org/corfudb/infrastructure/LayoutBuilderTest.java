@@ -319,6 +319,68 @@ public class LayoutBuilderTest extends AbstractCorfuTest {
         assertThat(layoutBuilder.build()).isEqualTo(expectedLayout);
     }
 
+    /**
+     * Tests the addition of stripes, which splits the open segment unless the stripes
+     * are added from its start.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void checkAdditionOfStripes() {
+        Layout originalLayout = new TestLayoutBuilder()
+                .setEpoch(1L)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addSequencer(SERVERS.PORT_0)
+                .buildSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_0)
+                .addToSegment()
+                .addToLayout()
+                .build();
+
+        final long startAddress = 50L;
+        List<Layout.LayoutStripe> newStripes = Collections.singletonList(new Layout.LayoutStripe(
+                Collections.singletonList(SERVERS.ENDPOINT_1)));
+        Layout layout = new LayoutBuilder(originalLayout)
+                .addStripes(startAddress, newStripes)
+                .build();
+
+        Layout expectedLayout = new TestLayoutBuilder()
+                .setEpoch(1L)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addSequencer(SERVERS.PORT_0)
+                .buildSegment()
+                .setEnd(startAddress)
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_0)
+                .addToSegment()
+                .addToLayout()
+                .buildSegment()
+                .setStart(startAddress)
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_0)
+                .addToSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_1)
+                .addToSegment()
+                .addToLayout()
+                .build();
+        assertThat(layout).isEqualTo(expectedLayout);
+
+        // The open segment is not split again if the stripes are added from its start
+        List<Layout.LayoutStripe> moreStripes = Collections.singletonList(new Layout.LayoutStripe(
+                Collections.singletonList(SERVERS.ENDPOINT_2)));
+        layout = new LayoutBuilder(layout)
+                .addStripes(startAddress, moreStripes)
+                .build();
+        assertThat(layout.getSegments()).hasSize(2);
+        assertThat(layout.getLastSegment().getNumberOfStripes()).isEqualTo(3);
+
+        // Stripes cannot be added to the closed segments
+        LayoutBuilder layoutBuilder = new LayoutBuilder(layout);
+        assertThatThrownBy(() -> layoutBuilder.addStripes(startAddress - 1, newStripes))
+                .isInstanceOf(LayoutModificationException.class);
+    }
+
     /**
      * Reassign a failover sequencer server from the set of responsive nodes.
      * It asserts that assigned sequencer server was not picked from
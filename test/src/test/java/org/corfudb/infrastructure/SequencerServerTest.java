@@ -1,25 +1,42 @@
 package org.corfudb.infrastructure;
 
+import org.corfudb.common.compression.Codec;
 import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
 import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TokenType;
+import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.proto.RpcCommon.UuidToStreamAddressSpacePairMsg;
+import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
+import org.corfudb.runtime.proto.service.Sequencer.SequencerStandbySyncRequestMsg;
 import org.corfudb.runtime.view.Address;
+import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.stream.StreamAddressSpace;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getBootstrapSequencerRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getChunkedBootstrapSequencerRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getConflictKeyMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getDefaultSequencerMetricsRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerBootstrapChunkRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbyStatusRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getSequencerStandbySyncRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStandbyBootstrapSequencerRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolSequencer.getStreamsAddressMapMsg;
 import static org.corfudb.protocols.service.CorfuProtocolSequencer.getTokenRequestMsg;
 
 /**
@@ -351,4 +368,166 @@ public class SequencerServerTest extends AbstractServerTest {
                         Collections.emptyMap(), Collections.emptyMap()));
     }
 
+    /**
+     * A hot-standby sequencer applies the syncs of the primary sequencer, and is promoted with
+     * only the addresses written since its last sync, keeping the conflict keys of the primary.
+     */
+    @Test
+    public void standbySequencerPromotion() {
+        UUID streamA = UUID.nameUUIDFromBytes("streamA".getBytes());
+        UUID streamB = UUID.nameUUIDFromBytes("streamB".getBytes());
+        byte[] keyA = "keyA".getBytes();
+        byte[] keyB = "keyB".getBytes();
+
+        final long keyAddress = 5;
+        final long syncTail = 10;
+        final long deltaAddress = 11;
+        final long deltaTail = 12;
+        final long catchUpAddress = 13;
+
+        // This sequencer is a standby of the primary sequencer at epoch 0.
+        server.setSequencerEpoch(Layout.INVALID_EPOCH);
+        SequencerStandbySyncRequestMsg fullSync = SequencerStandbySyncRequestMsg.newBuilder()
+                .setSequencerEpoch(0L)
+                .setEpochRangeLowerBound(0L)
+                .setFullSync(true)
+                .setGlobalTail(syncTail)
+                .setTrimMark(Address.NON_ADDRESS)
+                .setMaxConflictWildcard(Address.NON_ADDRESS)
+                .addAllStreamsAddressMap(getStreamsAddressMapMsg(Collections.singletonMap(streamA,
+                        new StreamAddressSpace(Collections.singleton(keyAddress)))))
+                .addConflictKeys(getConflictKeyMsg(streamA, keyA, keyAddress))
+                .build();
+        CompletableFuture<Boolean> synced = sendRequest(getSequencerStandbySyncRequestMsg(fullSync),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(synced.join()).isTrue();
+
+        // A sync which does not follow the last sync is rejected.
+        SequencerStandbySyncRequestMsg.Builder deltaSync = SequencerStandbySyncRequestMsg.newBuilder()
+                .setSequencerEpoch(0L)
+                .setEpochRangeLowerBound(0L)
+                .setBaseTail(syncTail)
+                .setGlobalTail(deltaTail)
+                .setTrimMark(Address.NON_ADDRESS)
+                .setMaxConflictWildcard(Address.NON_ADDRESS)
+                .addAllStreamsAddressMap(getStreamsAddressMapMsg(Collections.singletonMap(streamB,
+                        new StreamAddressSpace(Collections.singleton(deltaAddress)))));
+        synced = sendRequest(getSequencerStandbySyncRequestMsg(deltaSync.clone()
+                .setBaseTail(syncTail - 1).build()), ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(synced.join()).isFalse();
+        CompletableFuture<Long> standbyTail = sendRequest(getSequencerStandbyStatusRequestMsg(),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(standbyTail.join()).isEqualTo(Address.NON_ADDRESS);
+
+        synced = sendRequest(getSequencerStandbySyncRequestMsg(fullSync),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(synced.join()).isTrue();
+        synced = sendRequest(getSequencerStandbySyncRequestMsg(deltaSync.build()),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(synced.join()).isTrue();
+        standbyTail = sendRequest(getSequencerStandbyStatusRequestMsg(),
+                ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(standbyTail.join()).isEqualTo(deltaTail);
+
+        // Promote the standby, which catches up with an update of stream A after its last sync.
+        final long newEpoch = 1L;
+        server.getServerContext().setServerEpoch(newEpoch, server.getServerContext().getServerRouter());
+        CompletableFuture<Boolean> promoted = sendRequestWithEpoch(
+                getStandbyBootstrapSequencerRequestMsg(
+                        Collections.singletonMap(streamA, new StreamAddressSpace(
+                                Collections.singleton(catchUpAddress))),
+                        catchUpAddress + 1,
+                        newEpoch,
+                        deltaTail),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(promoted.join()).isTrue();
+
+        CompletableFuture<TokenResponse> future = sendRequestWithEpoch(
+                getTokenRequestMsg(0L, Arrays.asList(streamA, streamB)),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        TokenResponse tails = future.join();
+        assertThat(tails.getSequence()).isEqualTo(catchUpAddress);
+        assertThat(tails.getStreamTail(streamA)).isEqualTo(catchUpAddress);
+        assertThat(tails.getStreamTail(streamB)).isEqualTo(deltaAddress);
+
+        // A transaction that started before the failover conflicts on a shipped conflict key.
+        future = sendRequestWithEpoch(getTxTokenRequestMsg(streamA, keyA, keyAddress - 1),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(future.join().getRespType()).isEqualTo(TokenType.TX_ABORT_CONFLICT);
+
+        // The conflict keys of the update of stream A after the last sync are unknown.
+        future = sendRequestWithEpoch(getTxTokenRequestMsg(streamA, keyA, keyAddress),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(future.join().getRespType()).isEqualTo(TokenType.TX_ABORT_NEWSEQ);
+
+        // A transaction that started before the failover on another stream commits.
+        future = sendRequestWithEpoch(getTxTokenRequestMsg(streamB, keyB, keyAddress),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(future.join().getRespType()).isEqualTo(TokenType.NORMAL);
+    }
+
+    /**
+     * A sequencer is bootstrapped with the address maps of the chunks it received in order,
+     * once the chunked bootstrap is committed.
+     */
+    @Test
+    public void chunkedBootstrap() {
+        UUID streamA = UUID.nameUUIDFromBytes("streamA".getBytes());
+        UUID streamB = UUID.nameUUIDFromBytes("streamB".getBytes());
+        final long tailA = 2;
+        final long tailB = 3;
+        final long globalTail = 4;
+        final int numChunks = 2;
+        final List<UuidToStreamAddressSpacePairMsg> chunkA = getStreamsAddressMapMsg(
+                Collections.singletonMap(streamA, new StreamAddressSpace(new HashSet<>(Arrays.asList(1L, tailA)))));
+        final List<UuidToStreamAddressSpacePairMsg> chunkB = getStreamsAddressMapMsg(
+                Collections.singletonMap(streamB, new StreamAddressSpace(Collections.singleton(tailB))));
+
+        final long newEpoch = server.getServerContext().getServerEpoch() + 1;
+        server.getServerContext().setServerEpoch(newEpoch, server.getServerContext().getServerRouter());
+
+        // A bootstrap can not be committed before all its chunks are received.
+        assertThat(sendChunk(newEpoch, 0, chunkA).join()).isTrue();
+        assertThat(sendChunk(newEpoch, 1, chunkB).join()).isTrue();
+        CompletableFuture<Boolean> bootstrapped = sendRequestWithEpoch(
+                getChunkedBootstrapSequencerRequestMsg(globalTail, newEpoch, numChunks + 1),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(bootstrapped.join()).isFalse();
+
+        // Out of order chunks are rejected.
+        assertThat(sendChunk(newEpoch, 0, chunkA).join()).isTrue();
+        assertThat(sendChunk(newEpoch, numChunks, chunkB).join()).isFalse();
+        assertThat(sendChunk(newEpoch, 1, chunkB).join()).isFalse();
+
+        assertThat(sendChunk(newEpoch, 0, chunkA).join()).isTrue();
+        assertThat(sendChunk(newEpoch, 1, chunkB).join()).isTrue();
+        bootstrapped = sendRequestWithEpoch(
+                getChunkedBootstrapSequencerRequestMsg(globalTail, newEpoch, numChunks),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        assertThat(bootstrapped.join()).isTrue();
+
+        CompletableFuture<TokenResponse> future = sendRequestWithEpoch(
+                getTokenRequestMsg(0L, Arrays.asList(streamA, streamB)),
+                newEpoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+        TokenResponse tails = future.join();
+        assertThat(tails.getSequence()).isEqualTo(globalTail - 1);
+        assertThat(tails.getStreamTail(streamA)).isEqualTo(tailA);
+        assertThat(tails.getStreamTail(streamB)).isEqualTo(tailB);
+
+        // Chunks of a stale bootstrap are rejected.
+        assertThat(sendChunk(newEpoch, 0, chunkA).join()).isFalse();
+    }
+
+    private CompletableFuture<Boolean> sendChunk(long epoch, int chunkIndex,
+                                                 List<UuidToStreamAddressSpacePairMsg> chunk) {
+        return sendRequestWithEpoch(
+                getSequencerBootstrapChunkRequestMsg(epoch, chunkIndex, chunk, Codec.Type.ZSTD),
+                epoch, ClusterIdCheck.CHECK, EpochCheck.CHECK);
+    }
+
+    private RequestPayloadMsg getTxTokenRequestMsg(UUID streamId, byte[] key, long snapshot) {
+        Map<UUID, Set<byte[]>> conflictSet = Collections.singletonMap(streamId, Collections.singleton(key));
+        return getTokenRequestMsg(1L, Collections.singletonList(streamId),
+                new TxResolutionInfo(UUID.randomUUID(), new Token(0L, snapshot), conflictSet, conflictSet));
+    }
 }
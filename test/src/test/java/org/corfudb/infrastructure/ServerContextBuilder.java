@@ -36,6 +36,7 @@ public class ServerContextBuilder {
     String address = "test";
     int port = 9000;
     String seqCache = "1000";
+    String seqStandbySyncInterval = "0";
     String logSizeLimitPercentage = "100.0";
     String batchSize = "100";
     String managementBootstrapEndpoint = null;
@@ -44,6 +45,7 @@ public class ServerContextBuilder {
     String handshakeTimeout = "10";
     String prefix = "";
     String retention = "1000";
+    String logMetadataSnapshotInterval = "300";
 
     String clusterId = "00000000-0000-0000-0000-000000000000";
     boolean isTest = true;
@@ -60,9 +62,11 @@ public class ServerContextBuilder {
                 .put("--Threads", numThreads)
                 .put("--HandshakeTimeout", handshakeTimeout)
                 .put("--sequencer-cache-size", seqCache)
+                .put("--sequencer-standby-sync-interval", seqStandbySyncInterval)
                 .put("--log-size-quota-percentage", logSizeLimitPercentage)
                 .put("--batch-size", batchSize)
-                .put("--metadata-retention", retention);
+                .put("--metadata-retention", retention)
+                .put("--log-metadata-snapshot-interval", logMetadataSnapshotInterval);
         if (logPath != null) {
          builder.put("--log-path", logPath);
         }
@@ -4,21 +4,36 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.corfudb.infrastructure.log.StreamLogFiles.METADATA_SIZE;
 import static org.corfudb.infrastructure.log.StreamLogFiles.RECORDS_PER_LOG_FILE;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadLogResponseMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadResponse;
+import static org.corfudb.protocols.service.CorfuProtocolMessage.getResponseMsg;
+import static org.corfudb.protocols.wireprotocol.NettyCorfuMessageEncoder.encodeResponseWithRawEntries;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.Assertions;
@@ -33,8 +48,14 @@ import org.corfudb.infrastructure.log.LogFormat.LogHeader;
 import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.NettyCorfuMessageDecoder;
+import org.corfudb.protocols.wireprotocol.ReadResponse;
+import org.corfudb.protocols.wireprotocol.StreamsAddressResponse;
 import org.corfudb.runtime.exceptions.DataCorruptionException;
 import org.corfudb.runtime.exceptions.OverwriteException;
+import org.corfudb.runtime.proto.service.CorfuMessage.HeaderMsg;
+import org.corfudb.runtime.proto.service.CorfuMessage.ResponseMsg;
+import org.corfudb.runtime.proto.service.LogUnit.RawLogEntryMsg;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.test.LsofSpec;
 import org.corfudb.util.serializer.Serializers;
@@ -328,6 +349,50 @@ public class StreamLogFilesTest extends AbstractCorfuTest {
         assertThat(log.read(address1)).isNull();
     }
 
+    /**
+     * A batched read spanning multiple segments, with unwritten and trimmed addresses,
+     * returns the same entries as single reads.
+     */
+    @Test
+    public void testBatchedRead() {
+        StreamLog log = new StreamLogFiles(getContext(), false);
+        final int numEntries = 20;
+        final long trimMark = 2;
+        final long unwritten = numEntries + 1;
+
+        List<Long> addresses = new ArrayList<>();
+        for (long segment = 0; segment < 2; segment++) {
+            for (long address = segment * RECORDS_PER_LOG_FILE;
+                 address < segment * RECORDS_PER_LOG_FILE + numEntries; address++) {
+                ByteBuf b = Unpooled.buffer();
+                Serializers.CORFU.serialize(("Payload" + address).getBytes(), b);
+                log.append(address, new LogData(DataType.DATA, b));
+                addresses.add(address);
+            }
+        }
+        log.prefixTrim(trimMark);
+
+        // Request addresses out of offset order, across segments
+        Collections.reverse(addresses);
+        addresses.add(unwritten);
+        Map<Long, LogData> entries = log.read(addresses);
+
+        assertThat(entries).doesNotContainKey(unwritten);
+        assertThat(entries).hasSize(addresses.size() - 1);
+        for (long address : addresses) {
+            LogData expected = log.read(address);
+            if (expected == null) {
+                continue;
+            }
+            assertThat(entries.get(address).getType()).isEqualTo(expected.getType());
+            if (address <= trimMark) {
+                assertThat(entries.get(address).isTrimmed()).isTrue();
+            } else {
+                assertThat(entries.get(address).getData()).isEqualTo(expected.getData());
+            }
+        }
+    }
+
     @Test
     public void testStreamLogBadChecksum() {
         // This test generates a stream log file without computing checksums, then
@@ -393,6 +458,73 @@ public class StreamLogFilesTest extends AbstractCorfuTest {
                 .isInstanceOf(DataCorruptionException.class);
     }
 
+    /**
+     * The log metadata is recovered from the snapshot persisted on close, along with the entries of
+     * the segments written after it. A snapshot is ignored once the log has been trimmed past it.
+     */
+    @Test
+    public void testLogMetadataSnapshot() throws Exception {
+        final UUID streamA = UUID.randomUUID();
+        final UUID streamB = UUID.randomUUID();
+        final long numSegments = 3;
+        final long lastAddress = numSegments * RECORDS_PER_LOG_FILE;
+        final int stride = 7;
+
+        StreamLogFiles log = new StreamLogFiles(getContext(), false);
+        for (long address = 0; address < lastAddress; address += stride) {
+            writeToLog(log, address, address % 2 == 0 ? streamA : streamB);
+        }
+        StreamsAddressResponse expected = log.getStreamsAddressSpace();
+        log.close();
+
+        Path snapshotFile = Paths.get(getDirPath(), LogMetadataSnapshot.FILE_NAME);
+        assertThat(snapshotFile.toFile()).exists();
+
+        log = new StreamLogFiles(getContext(), false);
+        assertThat(log.getStreamsAddressSpace().getAddressMap()).isEqualTo(expected.getAddressMap());
+        assertThat(log.getLogTail()).isEqualTo(expected.getLogTail());
+
+        // Write to a covered segment, without persisting a new snapshot
+        writeToLog(log, 1L, streamB);
+        log.sync(true);
+        expected = log.getStreamsAddressSpace();
+        assertThat(expected.getAddressMap().get(streamB).contains(1L)).isTrue();
+
+        log = new StreamLogFiles(getContext(), false);
+        assertThat(log.getStreamsAddressSpace().getAddressMap()).isEqualTo(expected.getAddressMap());
+
+        // Moving on to a new segment persists a snapshot covering the segment left behind
+        writeToLog(log, lastAddress, streamA);
+        log.sync(false);
+        long deadline = System.currentTimeMillis() + PARAMETERS.TIMEOUT_NORMAL.toMillis();
+        while (!isCoveredBySnapshot(snapshotFile, lastAddress)
+                && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(isCoveredBySnapshot(snapshotFile, lastAddress)).isTrue();
+        expected = log.getStreamsAddressSpace();
+
+        log = new StreamLogFiles(getContext(), false);
+        assertThat(log.getStreamsAddressSpace().getAddressMap()).isEqualTo(expected.getAddressMap());
+        assertThat(log.getLogTail()).isEqualTo(lastAddress);
+        assertThat(log.getTails(Collections.singletonList(streamA)).getStreamTails())
+                .containsEntry(streamA, lastAddress);
+
+        // Trimming invalidates the snapshot taken before the trim
+        log.prefixTrim(RECORDS_PER_LOG_FILE);
+        log.compact();
+        log = new StreamLogFiles(getContext(), false);
+        assertThat(log.getTrimMark()).isEqualTo(RECORDS_PER_LOG_FILE + 1);
+        assertThat(log.getStreamsAddressSpace().getAddressMap().get(streamB).contains(1L)).isFalse();
+        log.close();
+    }
+
+    private boolean isCoveredBySnapshot(Path snapshotFile, long address) {
+        return LogMetadataSnapshot.load(snapshotFile)
+                .map(snapshot -> snapshot.getLogMetadata().getGlobalTail() >= address)
+                .orElse(false);
+    }
+
     @Test
     @SuppressWarnings("checkstyle:magicnumber")
     public void testSync() throws Exception {
@@ -415,6 +547,16 @@ public class StreamLogFilesTest extends AbstractCorfuTest {
         assertThat(log.getChannelsToSync().size()).isEqualTo(0);
     }
 
+    private void writeToLog(StreamLog log, long address, UUID streamId) {
+        ByteBuf b = Unpooled.buffer();
+        byte[] streamEntry = "Payload".getBytes();
+        Serializers.CORFU.serialize(streamEntry, b);
+        LogData logData = new LogData(DataType.DATA, b);
+        logData.setBackpointerMap(Collections.singletonMap(streamId, Address.NON_ADDRESS));
+        logData.setGlobalAddress(address);
+        log.append(address, logData);
+    }
+
     private void writeToLog(StreamLog log, long address) {
         ByteBuf b = Unpooled.buffer();
         byte[] streamEntry = "Payload".getBytes();
@@ -759,4 +901,118 @@ public class StreamLogFilesTest extends AbstractCorfuTest {
         assertThat(parentSize).isEqualTo(parentDirFilePayloadSize + childDirFilePayloadSize);
         assertThat(childDirSize).isEqualTo(childDirFilePayloadSize);
     }
+
+    /**
+     * Checks that the file regions of a stream log hold the entries of its sealed segments as
+     * they are read from it, and that a client decodes a read response followed by the regions
+     * into those entries.
+     */
+    @Test
+    public void testReadFileRegions() throws Exception {
+        StreamLogFiles log = new StreamLogFiles(getContext(), false);
+        final long skippedAddress = 5;
+        final long unwrittenAddress = RECORDS_PER_LOG_FILE / 2;
+        final long tailSegmentAddress = RECORDS_PER_LOG_FILE + 1;
+        // The entries around the skipped one
+        final int numRegions = 2;
+
+        List<Long> addresses = writeRawEntries(log, skippedAddress, tailSegmentAddress);
+        addresses.add(unwrittenAddress);
+
+        RawLogEntries rawEntries = log.readFileRegions(addresses);
+        // The entries of the tail segment are not covered
+        List<Long> rawAddresses = addresses.subList(0, addresses.size() - 2);
+        assertThat(rawEntries.getEntries()).extracting(RawLogEntryMsg::getAddress)
+                .containsExactlyInAnyOrderElementsOf(rawAddresses);
+        // Adjacent entries are covered by a single region
+        assertThat(rawEntries.getRegions()).hasSize(numRegions);
+
+        byte[] rawBytes = transferRawEntries(rawEntries);
+        assertThat((long) rawBytes.length).isEqualTo(rawEntries.getLength());
+
+        ResponseMsg decoded = decodeResponseWithRawEntries(rawEntries, rawBytes);
+        ReadResponse readResponse = getReadResponse(decoded.getPayload().getReadLogResponse());
+
+        assertThat(decoded.getPayload().getReadLogResponse().getRawEntriesList()).isEmpty();
+        assertThat(readResponse.getAddresses()).hasSize(rawAddresses.size());
+        readResponse.getAddresses().forEach((address, logData) ->
+                assertThat(logData.getPayload(null)).isEqualTo(log.read(address).getPayload(null)));
+        log.close();
+    }
+
+    /**
+     * Checks that a client decodes a read response followed by a corrupted raw entry into a
+     * data corruption error for the address of the entry.
+     */
+    @Test
+    public void testReadFileRegionsChecksumMismatch() throws Exception {
+        StreamLogFiles log = new StreamLogFiles(getContext(), false);
+        final long skippedAddress = 5;
+        final long tailSegmentAddress = RECORDS_PER_LOG_FILE + 1;
+        final long corruptedAddress = 2;
+
+        List<Long> addresses = writeRawEntries(log, skippedAddress, tailSegmentAddress);
+        RawLogEntries rawEntries = log.readFileRegions(addresses);
+        byte[] rawBytes = transferRawEntries(rawEntries);
+        log.close();
+
+        RawLogEntryMsg corruptedEntry = rawEntries.getEntries().stream()
+                .filter(entry -> entry.getAddress() == corruptedAddress)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        int position = Math.toIntExact(corruptedEntry.getOffset() + corruptedEntry.getLength() - 1);
+        rawBytes[position] = (byte) ~rawBytes[position];
+
+        ResponseMsg decoded = decodeResponseWithRawEntries(rawEntries, rawBytes);
+        assertThat(decoded.getPayload().getServerError().getDataCorruptionError().getAddress())
+                .isEqualTo(corruptedAddress);
+    }
+
+    /**
+     * Write the entries of the first ten addresses except a skipped one, and of an address of
+     * the next segment.
+     *
+     * @return the written addresses
+     */
+    private List<Long> writeRawEntries(StreamLogFiles log, long skippedAddress, long nextSegmentAddress) {
+        final int numEntries = 10;
+
+        List<Long> addresses = new ArrayList<>();
+        for (long address = 0; address < numEntries; address++) {
+            addresses.add(address);
+        }
+        addresses.add(nextSegmentAddress);
+        for (long address : addresses) {
+            ByteBuf b = Unpooled.buffer();
+            Serializers.CORFU.serialize(("Payload" + address).getBytes(), b);
+            log.append(address, new LogData(DataType.DATA, b));
+        }
+        addresses.remove(skippedAddress);
+        return addresses;
+    }
+
+    private byte[] transferRawEntries(RawLogEntries rawEntries) throws IOException {
+        ByteArrayOutputStream rawBytes = new ByteArrayOutputStream();
+        WritableByteChannel rawChannel = Channels.newChannel(rawBytes);
+        for (FileRegion region : rawEntries.getRegions()) {
+            while (region.transferred() < region.count()) {
+                region.transferTo(rawChannel, region.transferred());
+            }
+        }
+        rawEntries.release();
+        return rawBytes.toByteArray();
+    }
+
+    private ResponseMsg decodeResponseWithRawEntries(RawLogEntries rawEntries, byte[] rawBytes) throws IOException {
+        ResponseMsg response = getResponseMsg(HeaderMsg.getDefaultInstance(),
+                getReadLogResponseMsg(Collections.emptyMap(), rawEntries.getEntries()));
+        ByteBuf frame = Unpooled.wrappedBuffer(
+                encodeResponseWithRawEntries(UnpooledByteBufAllocator.DEFAULT, response, rawBytes.length),
+                Unpooled.wrappedBuffer(rawBytes));
+
+        EmbeddedChannel channel = new EmbeddedChannel(new LengthFieldBasedFrameDecoder(
+                Integer.MAX_VALUE, 0, Integer.BYTES, 0, Integer.BYTES), new NettyCorfuMessageDecoder());
+        assertThat(channel.writeInbound(frame)).isTrue();
+        return channel.readInbound();
+    }
 }
@@ -0,0 +1,149 @@
+package org.corfudb.infrastructure.logreplication;
+
+import org.corfudb.infrastructure.logreplication.replication.send.logreader.LogEntryPrefetcher;
+import org.corfudb.runtime.exceptions.TrimmedException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test the background prefetch stage of the log entry reader.
+ */
+public class LogEntryPrefetcherTest {
+
+    private static final int NUM_ENTRIES = 100;
+    private static final int DEPTH = 10;
+    private static final long TIMEOUT_MS = 10_000;
+    private static final long SETTLE_MS = 100;
+
+    private List<Integer> drain(LogEntryPrefetcher<Integer> prefetcher, int expected) throws Exception {
+        List<Integer> entries = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (entries.size() < expected && System.currentTimeMillis() < deadline) {
+            Integer next = prefetcher.poll();
+            if (next == null) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } else {
+                entries.add(next);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Entries are delivered in order, and the queue never grows beyond its depth.
+     */
+    @Test
+    public void testPrefetchInOrder() throws Exception {
+        AtomicInteger source = new AtomicInteger();
+        LogEntryPrefetcher<Integer> prefetcher = new LogEntryPrefetcher<>(() -> {
+            int next = source.getAndIncrement();
+            return next < NUM_ENTRIES ? next : null;
+        }, DEPTH);
+
+        prefetcher.start();
+        TimeUnit.MILLISECONDS.sleep(SETTLE_MS);
+        assertThat(prefetcher.size()).isLessThanOrEqualTo(DEPTH);
+
+        List<Integer> entries = drain(prefetcher, NUM_ENTRIES);
+        assertThat(entries).hasSize(NUM_ENTRIES);
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            assertThat(entries.get(i)).isEqualTo(i);
+        }
+        assertThat(prefetcher.poll()).isNull();
+        prefetcher.shutdown();
+    }
+
+    /**
+     * Once at the tail of the stream, the fetcher is only asked again when the consumer finds
+     * the queue empty, rather than on a timer.
+     */
+    @Test
+    public void testTailWaitsForConsumer() throws Exception {
+        AtomicInteger source = new AtomicInteger();
+        AtomicInteger fetches = new AtomicInteger();
+        LogEntryPrefetcher<Integer> prefetcher = new LogEntryPrefetcher<>(() -> {
+            fetches.incrementAndGet();
+            int next = source.get() < DEPTH ? source.getAndIncrement() : -1;
+            return next < 0 ? null : next;
+        }, DEPTH);
+
+        prefetcher.start();
+        assertThat(drain(prefetcher, DEPTH)).hasSize(DEPTH);
+        TimeUnit.MILLISECONDS.sleep(SETTLE_MS);
+        int idleFetches = fetches.get();
+        TimeUnit.MILLISECONDS.sleep(SETTLE_MS);
+        assertThat(fetches.get()).isEqualTo(idleFetches);
+
+        // The consumer finding the queue empty triggers a new fetch
+        assertThat(prefetcher.poll()).isNull();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (fetches.get() == idleFetches && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(fetches.get()).isGreaterThan(idleFetches);
+        prefetcher.shutdown();
+    }
+
+    /**
+     * The consumer finding the queue empty while the prefetch thread is still reading entries
+     * does not make it read again once it reaches the tail of the stream.
+     */
+    @Test
+    public void testNoEmptyReadAtTail() throws Exception {
+        AtomicInteger source = new AtomicInteger();
+        AtomicInteger emptyFetches = new AtomicInteger();
+        LogEntryPrefetcher<Integer> prefetcher = new LogEntryPrefetcher<>(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            if (source.get() < DEPTH) {
+                return source.getAndIncrement();
+            }
+            emptyFetches.incrementAndGet();
+            return null;
+        }, DEPTH);
+
+        // The consumer polls faster than the entries are read, so it finds the queue empty
+        assertThat(drain(prefetcher, DEPTH)).hasSize(DEPTH);
+        TimeUnit.MILLISECONDS.sleep(SETTLE_MS);
+        assertThat(emptyFetches.get()).isEqualTo(1);
+        prefetcher.shutdown();
+    }
+
+    /**
+     * A failure of the fetcher is surfaced only after the entries buffered before it are consumed,
+     * and is cleared once the prefetcher is stopped.
+     */
+    @Test
+    public void testFailureIsPropagated() throws Exception {
+        AtomicInteger source = new AtomicInteger();
+        LogEntryPrefetcher<Integer> prefetcher = new LogEntryPrefetcher<>(() -> {
+            int next = source.getAndIncrement();
+            if (next == DEPTH / 2) {
+                throw new TrimmedException();
+            }
+            return next;
+        }, DEPTH);
+
+        assertThat(drain(prefetcher, DEPTH / 2)).hasSize(DEPTH / 2);
+        assertThatThrownBy(() -> {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (System.currentTimeMillis() < deadline) {
+                prefetcher.poll();
+            }
+        }).isInstanceOf(TrimmedException.class);
+
+        prefetcher.stop();
+        assertThat(drain(prefetcher, 1)).hasSize(1);
+        prefetcher.shutdown();
+    }
+}
@@ -10,6 +10,7 @@ import org.corfudb.integration.cluster.Harness.Node;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.MultiCheckpointWriter;
+import org.corfudb.runtime.clients.LogUnitClient;
 import org.corfudb.runtime.collections.CorfuTable;
 import org.corfudb.runtime.object.transactions.TransactionType;
 import org.corfudb.runtime.view.Layout;
@@ -17,6 +18,7 @@ import org.corfudb.util.Sleep;
 
 import org.junit.Test;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -210,6 +212,152 @@ public class WorkflowIT extends AbstractIT {
         shutdownCorfuServer(p2);
     }
 
+    /**
+     * This test adds a stripe to a single node cluster at a chosen address. The data written
+     * before the address must stay on the first stripe, while the data written after it must
+     * be spread over both stripes, and all of it must be readable by a new client.
+     */
+    @Test
+    public void addStripesIT() throws Exception {
+        final int n0Port = 9000;
+        final int n1Port = 9001;
+        final int iter = 1000;
+        final long stripesOffset = 100L;
+        final int numStripes = 2;
+        final int numSegments = 2;
+
+        Process p0 = runServer(n0Port, true);
+        Process p1 = runServer(n1Port, false);
+
+        runtime = new CorfuRuntime(getConnectionString(n0Port)).setCacheDisabled(true).connect();
+        CorfuTable<String, String> table = runtime.getObjectsView().build()
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .setStreamName("table1").open();
+
+        for (int x = 0; x < iter; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        final long startAddress = runtime.getSequencerView().query().getSequence() + stripesOffset;
+        runtime.getManagementView().addStripes(
+                Collections.singletonList(Collections.singletonList(getConnectionString(n1Port))),
+                startAddress, workflowNumRetry, timeout, pollPeriod);
+
+        runtime.invalidateLayout();
+        Layout layout = runtime.getLayoutView().getLayout();
+        assertThat(layout.getSegments()).hasSize(numSegments);
+        assertThat(layout.getFirstSegment().getNumberOfStripes()).isEqualTo(1);
+        assertThat(layout.getLastSegment().getNumberOfStripes()).isEqualTo(numStripes);
+        assertThat(layout.getLastSegment().getStart()).isEqualTo(startAddress);
+
+        for (int x = iter; x < iter * 2; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        // The new log unit only holds the addresses of its stripe
+        LogUnitClient newLogUnit = runtime.getLayoutView().getRuntimeLayout()
+                .getLogUnitClient(getConnectionString(n1Port));
+        assertThat(newLogUnit.getLogTail().get().getLogTail()).isGreaterThan(startAddress);
+        assertThat(newLogUnit.read(startAddress - 1).get().getAddresses().get(startAddress - 1).isEmpty())
+                .isTrue();
+
+        CorfuRuntime newRuntime = new CorfuRuntime(getConnectionString(n0Port))
+                .setCacheDisabled(true).connect();
+        CorfuTable<String, String> newTable = newRuntime.getObjectsView().build()
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .setStreamName("table1").open();
+        for (int x = 0; x < iter * 2; x++) {
+            assertThat(newTable.get(String.valueOf(x))).isEqualTo(String.valueOf(x));
+        }
+        newRuntime.shutdown();
+
+        // Adding the same stripes again leaves the layout unchanged
+        runtime.getManagementView().addStripes(
+                Collections.singletonList(Collections.singletonList(getConnectionString(n1Port))),
+                startAddress, workflowNumRetry, timeout, pollPeriod);
+        runtime.invalidateLayout();
+        assertThat(runtime.getLayoutView().getLayout()).isEqualTo(layout);
+
+        shutdownCorfuServer(p0);
+        shutdownCorfuServer(p1);
+    }
+
+    /**
+     * This test adds a node to a cluster after adding a stripe to it. The node joins the first
+     * stripe, so it must only be restored to the previous segment with two stripes, with the
+     * addresses of the first stripe, after which the segments with two stripes must be merged.
+     */
+    @Test
+    public void addNodeAfterAddStripesIT() throws Exception {
+        final int n0Port = 9000;
+        final int n1Port = 9001;
+        final int n2Port = 9002;
+        final int iter = 1000;
+        final int numStripes = 2;
+        final int numSegments = 2;
+
+        Process p0 = runServer(n0Port, true);
+        Process p1 = runServer(n1Port, false);
+        Process p2 = runServer(n2Port, false);
+
+        runtime = new CorfuRuntime(getConnectionString(n0Port)).setCacheDisabled(true).connect();
+        CorfuTable<String, String> table = runtime.getObjectsView().build()
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .setStreamName("table1").open();
+
+        for (int x = 0; x < iter; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        final long startAddress = runtime.getSequencerView().query().getSequence() + 1;
+        runtime.getManagementView().addStripes(
+                Collections.singletonList(Collections.singletonList(getConnectionString(n1Port))),
+                startAddress, workflowNumRetry, timeout, pollPeriod);
+
+        for (int x = iter; x < iter * 2; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        runtime.getManagementView().addNode(getConnectionString(n2Port), workflowNumRetry,
+                timeout, pollPeriod);
+
+        waitForLayoutChange(layout -> layout.getAllLogServers().contains(getConnectionString(n2Port))
+                && layout.getSegments().size() == numSegments, runtime);
+
+        Layout layout = runtime.getLayoutView().getLayout();
+        assertThat(layout.getFirstSegment().getAllLogServers()).containsExactly(getConnectionString(n0Port));
+        assertThat(layout.getLastSegment().getStart()).isEqualTo(startAddress);
+        assertThat(layout.getLastSegment().getStripes().get(0).getLogServers())
+                .containsExactly(getConnectionString(n0Port), getConnectionString(n2Port));
+        assertThat(layout.getLastSegment().getStripes().get(1).getLogServers())
+                .containsExactly(getConnectionString(n1Port));
+
+        // The new log unit only holds the addresses of its stripe
+        LogUnitClient newLogUnit = runtime.getLayoutView().getRuntimeLayout()
+                .getLogUnitClient(getConnectionString(n2Port));
+        final long firstStripeAddress = startAddress + startAddress % numStripes;
+        assertThat(newLogUnit.read(firstStripeAddress).get().getAddresses().get(firstStripeAddress).isEmpty())
+                .isFalse();
+        assertThat(newLogUnit.read(firstStripeAddress + 1).get().getAddresses().get(firstStripeAddress + 1)
+                .isEmpty()).isTrue();
+        assertThat(newLogUnit.read(startAddress - 1).get().getAddresses().get(startAddress - 1).isEmpty())
+                .isTrue();
+
+        CorfuRuntime newRuntime = new CorfuRuntime(getConnectionString(n0Port))
+                .setCacheDisabled(true).connect();
+        CorfuTable<String, String> newTable = newRuntime.getObjectsView().build()
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .setStreamName("table1").open();
+        for (int x = 0; x < iter * 2; x++) {
+            assertThat(newTable.get(String.valueOf(x))).isEqualTo(String.valueOf(x));
+        }
+        newRuntime.shutdown();
+
+        shutdownCorfuServer(p0);
+        shutdownCorfuServer(p1);
+        shutdownCorfuServer(p2);
+    }
+
     @Test
     public void clusterResizingTest2() throws Exception {
         // This test will create a 3 node cluster, then simulate loss of quorum by terminating
@@ -11,9 +11,11 @@ import org.junit.After;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,6 +49,84 @@ public class LogEntryTest extends AbstractViewTest {
         assertThat(buf.readerIndex()).isEqualTo(buf.writerIndex());
     }
 
+    @Test
+    public void compactSMREntry() {
+        // Entries in the compact encoding, with a method in the dictionary and an inlined one,
+        // and arguments whose lengths take one and several bytes
+        final int largeArgumentLength = 1000;
+        String largeArgument = String.join("", Collections.nCopies(largeArgumentLength, "a"));
+        SMREntry smr1 = new SMREntry("put", new Object[]{"key", largeArgument}, Serializers.PRIMITIVE);
+        SMREntry smr2 = new SMREntry("method", new Object[]{"arg1"}, Serializers.PRIMITIVE);
+        smr1.setCompact(true);
+        smr2.setCompact(true);
+
+        ByteBuf buf = Unpooled.buffer();
+        Serializers.CORFU.serialize(smr1, buf);
+        Serializers.CORFU.serialize(smr2, buf);
+
+        SMREntry recoveredEntry = (SMREntry) Serializers.CORFU.deserialize(buf, getDefaultRuntime());
+        assertThat(recoveredEntry).isEqualTo(smr1);
+        assertThat(recoveredEntry.isCompact()).isTrue();
+        assertThat(recoveredEntry.getType()).isEqualTo(LogEntry.LogEntryType.SMR);
+        assertThat(recoveredEntry.getSerializedSize()).isEqualTo(smr1.getSerializedSize());
+        recoveredEntry = (SMREntry) Serializers.CORFU.deserialize(buf, getDefaultRuntime());
+        assertThat(recoveredEntry).isEqualTo(smr2);
+
+        // Verify that both entries can be skipped
+        buf.resetReaderIndex();
+        SMREntry.seekToEnd(buf);
+        SMREntry.seekToEnd(buf);
+        assertThat(buf.readerIndex()).isEqualTo(buf.writerIndex());
+
+        // The compact encoding is smaller than the original one
+        SMREntry smr3 = new SMREntry("put", new Object[]{"key", largeArgument}, Serializers.PRIMITIVE);
+        smr3.serialize(Unpooled.buffer());
+        assertThat(smr1.getSerializedSize()).isLessThan(smr3.getSerializedSize());
+    }
+
+    @Test
+    public void compactSMREntryArgumentLengths() {
+        // Arguments whose lengths take from one to three bytes, around every boundary, written
+        // to heap and direct buffers
+        final int boundary = 128;
+        final int margin = 16;
+        int[] lengths = IntStream.concat(IntStream.range(0, 2 * boundary),
+                IntStream.range(boundary * boundary - margin, boundary * boundary + margin)).toArray();
+        for (ByteBuf buf : new ByteBuf[]{Unpooled.buffer(), Unpooled.directBuffer()}) {
+            for (int length : lengths) {
+                String argument = String.join("", Collections.nCopies(length, "a"));
+                SMREntry smr = new SMREntry("put", new Object[]{"key", argument}, Serializers.PRIMITIVE);
+                smr.setCompact(true);
+
+                buf.clear();
+                Serializers.CORFU.serialize(smr, buf);
+                SMREntry recoveredEntry = (SMREntry) Serializers.CORFU.deserialize(buf, getDefaultRuntime());
+                assertThat(recoveredEntry.getSMRMethod()).isEqualTo("put");
+                assertThat(recoveredEntry.getSMRArguments()[0]).isEqualTo("key");
+                assertThat(recoveredEntry.getSMRArguments()[1]).isEqualTo(argument);
+                assertThat(buf.isReadable()).isFalse();
+            }
+            buf.release();
+        }
+    }
+
+    @Test
+    public void compactOpaqueSMREntry() {
+        // Opaque entries keep their encoding, and their arguments, when serialized again
+        SMREntry smr = new SMREntry("put", new Object[]{"key", "value"}, Serializers.PRIMITIVE);
+        smr.setCompact(true);
+
+        ByteBuf buf = Unpooled.buffer();
+        Serializers.CORFU.serialize(smr, buf);
+        SMREntry opaqueEntry = (SMREntry) LogEntry.deserialize(buf.skipBytes(1), null, true);
+        assertThat(opaqueEntry.isCompact()).isTrue();
+
+        ByteBuf copy = Unpooled.buffer();
+        Serializers.CORFU.serialize(opaqueEntry, copy);
+        assertThat(copy).isEqualTo(buf.resetReaderIndex());
+        assertThat(Serializers.CORFU.deserialize(copy, getDefaultRuntime())).isEqualTo(smr);
+    }
+
     @Test
     public void seekToEndMultiSMREntry() {
         // Create a buffer with two serialized MultiSMR entries
@@ -64,6 +64,10 @@ public class BackupRestoreIT extends AbstractIT {
     // Location where the backup tar file is stored
      static final private String BACKUP_TAR_FILE_PATH = new File(LOG_PATH1).getParent() + File.separator + "backup.tar";
 
+    // Location where the incremental backup tar file is stored
+    static final private String INCREMENTAL_BACKUP_TAR_FILE_PATH =
+            new File(LOG_PATH1).getParent() + File.separator + "backup_incremental.tar";
+
     // Connect to sourceServer to generate data
     private CorfuRuntime srcDataRuntime = null;
 
@@ -286,6 +290,9 @@ public class BackupRestoreIT extends AbstractIT {
         TarArchiveInputStream tarInput = new TarArchiveInputStream(fileInput);
         TarArchiveEntry entry;
         while ((entry = tarInput.getNextTarEntry()) != null) {
+            if (entry.getName().equals(BackupManifest.FILE_NAME)) {
+                continue;
+            }
             String streamId = entry.getName().substring(0, entry.getName().indexOf("."));
             streamIDs.add(UUID.fromString(streamId));
         }
@@ -830,4 +837,58 @@ public class BackupRestoreIT extends AbstractIT {
         // Close servers and runtime before exiting
         cleanEnv();
     }
+
+    /**
+     * An incremental backup holds the updates made since a previous backup, and
+     * is restored on top of the restore of that backup.
+     */
+    @Test
+    public void incrementalBackupRestoreTest() throws IOException, NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        // Set up the test environment
+        setupEnv();
+
+        CorfuStore srcDataCorfuStore = new CorfuStore(srcDataRuntime);
+        CorfuStore destDataCorfuStore = new CorfuStore(destDataRuntime);
+
+        List<String> tableNames = getTableNames(numTables);
+        for (String tableName : tableNames) {
+            generateData(srcDataCorfuStore, tableName, false);
+        }
+
+        List<UUID> streamIDs = new ArrayList<>();
+        for (String tableName : tableNames) {
+            streamIDs.add(CorfuRuntime.getStreamID(TableRegistry.getFullyQualifiedTableName(NAMESPACE, tableName)));
+        }
+
+        // Full backup and restore
+        Backup backup = new Backup(BACKUP_TAR_FILE_PATH, streamIDs, backupRuntime);
+        backup.start();
+        assertThat(Backup.getBackupTimestamp(BACKUP_TAR_FILE_PATH)).isEqualTo(backup.getTimestamp());
+        new Restore(BACKUP_TAR_FILE_PATH, restoreRuntime, Restore.RestoreMode.PARTIAL).start();
+
+        // Overwrite the entries of the tables, and back up only these updates
+        for (String tableName : tableNames) {
+            generateData(srcDataCorfuStore, tableName, false);
+        }
+        Backup incrementalBackup = new Backup(INCREMENTAL_BACKUP_TAR_FILE_PATH, streamIDs, backupRuntime,
+                Backup.getBackupTimestamp(BACKUP_TAR_FILE_PATH));
+        incrementalBackup.start();
+        assertThat(new File(INCREMENTAL_BACKUP_TAR_FILE_PATH)).exists();
+
+        long preRestoreEntryCnt = destDataCorfuStore.getRuntime().getStreamsView().get(streamIDs.get(0)).stream().count();
+        new Restore(INCREMENTAL_BACKUP_TAR_FILE_PATH, restoreRuntime, Restore.RestoreMode.PARTIAL).start();
+
+        for (String tableName : tableNames) {
+            openTableWithoutBackupTag(destDataCorfuStore, tableName);
+            compareCorfuStoreTables(srcDataCorfuStore, tableName, destDataCorfuStore, tableName);
+        }
+
+        // The tables are not cleared, and only the updates since the full backup are restored
+        long postRestoreEntryCnt = destDataCorfuStore.getRuntime().getStreamsView().get(streamIDs.get(0)).stream().count();
+        assertThat(postRestoreEntryCnt - preRestoreEntryCnt).isEqualTo(
+                (long)Math.ceil((1.0 * numEntries) / destDataCorfuStore.getRuntime().getParameters().getRestoreBatchSize()));
+
+        // Close servers and runtime before exiting
+        cleanEnv();
+    }
 }
@@ -9,6 +9,7 @@ import org.corfudb.runtime.MultiCheckpointWriter;
 import org.corfudb.runtime.clients.TestRule;
 import org.corfudb.runtime.collections.CorfuTable;
 import org.corfudb.runtime.collections.PersistedStreamingMap;
+import org.corfudb.runtime.collections.StringIndexer;
 import org.corfudb.runtime.collections.StreamingMap;
 import org.corfudb.runtime.exceptions.AbortCause;
 import org.corfudb.runtime.exceptions.TransactionAbortedException;
@@ -23,6 +24,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
@@ -622,6 +625,146 @@ public class CheckpointTest extends AbstractObjectTest {
         getRuntime().getObjectsView().TXEnd();
     }
 
+    /**
+     * A map is rebuilt from the latest of several checkpoints when checkpoint batches are loaded in parallel,
+     * including when older checkpoints have been trimmed.
+     */
+    @Test
+    public void parallelCheckpointLoad() throws Exception {
+        final int numKeys = 200;
+        final int numCheckpoints = 3;
+        final int checkpointReadBatchSize = 2;
+        final int checkpointReadParallelism = 4;
+
+        CorfuRuntime rt = getNewRuntime();
+        Map<String, Long> map = openMap(rt, streamNameA);
+        Token trimMark = Token.UNINITIALIZED;
+        for (int i = 0; i < numCheckpoints; i++) {
+            for (int j = 0; j < numKeys; j++) {
+                map.put(String.valueOf(j), (long) i);
+            }
+            MultiCheckpointWriter mcw = new MultiCheckpointWriter();
+            mcw.addMap((CorfuTable) map);
+            Token checkpointAddress = mcw.appendCheckpoints(rt, author);
+            if (i == numCheckpoints - 2) {
+                trimMark = checkpointAddress;
+            }
+        }
+
+        // Trim the log in between checkpoints, so the oldest checkpoint hits a trimmed position
+        rt.getAddressSpaceView().prefixTrim(trimMark);
+        rt.getAddressSpaceView().gc();
+        rt.getAddressSpaceView().invalidateServerCaches();
+
+        CorfuRuntime newRt = getNewRuntime(CorfuRuntime.CorfuRuntimeParameters.builder()
+                .cacheDisabled(true)
+                .checkpointReadBatchSize(checkpointReadBatchSize)
+                .checkpointReadParallelism(checkpointReadParallelism)
+                .build());
+        newRt.parseConfigurationString(getDefaultConfigurationString()).connect();
+        Map<String, Long> newMap = openMap(newRt, streamNameA);
+
+        assertThat(newMap).hasSize(numKeys);
+        assertThat(newMap.values()).containsOnly((long) numCheckpoints - 1);
+
+        newRt.shutdown();
+        rt.shutdown();
+    }
+
+    /**
+     * A table with secondary indexes is loaded from a checkpoint at once, its indexes are built from the
+     * checkpoint and then maintained by the updates that follow the checkpoint.
+     */
+    @Test
+    public void checkpointBulkLoad() throws Exception {
+        final int numKeys = 100;
+        final TypeToken<CorfuTable<String, String>> tableType = new TypeToken<CorfuTable<String, String>>() {};
+
+        CorfuRuntime rt = getNewRuntime();
+        CorfuTable<String, String> table = rt.getObjectsView().build()
+                .setTypeToken(tableType)
+                .setArguments(new StringIndexer())
+                .setStreamName(streamNameA)
+                .open();
+        for (int i = 0; i < numKeys; i++) {
+            table.put("k" + i, (i % 2 == 0 ? "a" : "b") + i);
+        }
+
+        MultiCheckpointWriter<CorfuTable<String, String>> mcw = new MultiCheckpointWriter<>();
+        mcw.addMap(table);
+        Token checkpointAddress = mcw.appendCheckpoints(rt, author);
+        rt.getAddressSpaceView().prefixTrim(checkpointAddress);
+
+        // Move a key to another index slot after the checkpoint
+        table.put("k0", "b0");
+
+        CorfuRuntime newRt = getNewRuntime();
+        CorfuTable<String, String> newTable = newRt.getObjectsView().build()
+                .setTypeToken(tableType)
+                .setArguments(new StringIndexer())
+                .setStreamName(streamNameA)
+                .open();
+
+        assertThat(newTable).hasSize(numKeys);
+        assertThat(newTable.getByIndex(StringIndexer.BY_FIRST_LETTER, "a")).hasSize(numKeys / 2 - 1);
+        assertThat(newTable.getByIndex(StringIndexer.BY_FIRST_LETTER, "b")).hasSize(numKeys / 2 + 1);
+        assertThat(newTable.getByIndex(StringIndexer.BY_VALUE, "a2"))
+                .extracting(Map.Entry::getKey).containsExactly("k2");
+        assertThat(newTable.getByIndex(StringIndexer.BY_VALUE, "a0")).isEmpty();
+
+        newRt.shutdown();
+        rt.shutdown();
+    }
+
+    /**
+     * Updates and checkpoints written in the compact SMR encoding are read back, from the log and from the
+     * checkpoint, by a runtime that writes the original encoding.
+     */
+    @Test
+    public void compactEntriesRoundTrip() throws Exception {
+        final int numKeys = 50;
+        final int largeKeyLength = 300;
+        final String largeKey = String.join("", Collections.nCopies(largeKeyLength, "k"));
+
+        CorfuRuntime rt = getNewRuntime(CorfuRuntime.CorfuRuntimeParameters.builder()
+                .compactSmrEntries(true)
+                .build());
+        rt.parseConfigurationString(getDefaultConfigurationString()).connect();
+        Map<String, Long> map = openMap(rt, streamNameA);
+        for (int i = 0; i < numKeys; i++) {
+            map.put(i % 2 == 0 ? largeKey + i : String.valueOf(i), (long) i);
+        }
+
+        MultiCheckpointWriter mcw = new MultiCheckpointWriter();
+        mcw.addMap((CorfuTable) map);
+        Token checkpointAddress = mcw.appendCheckpoints(rt, author);
+
+        // Updates after the checkpoint, in a transaction and not
+        rt.getObjectsView().TXBegin();
+        map.put(largeKey, (long) numKeys);
+        map.remove("1");
+        rt.getObjectsView().TXEnd();
+        map.put("last", (long) numKeys);
+
+        Map<String, Long> expected = new HashMap<>(map);
+        assertThat(expected).hasSize(numKeys + 1);
+
+        // Read the updates from the log
+        CorfuRuntime logRt = getNewRuntime();
+        assertThat(new HashMap<>(openMap(logRt, streamNameA))).isEqualTo(expected);
+
+        // Read the checkpoint and the updates that follow it
+        rt.getAddressSpaceView().prefixTrim(checkpointAddress);
+        rt.getAddressSpaceView().gc();
+        rt.getAddressSpaceView().invalidateServerCaches();
+        CorfuRuntime checkpointRt = getNewRuntime();
+        assertThat(new HashMap<>(openMap(checkpointRt, streamNameA))).isEqualTo(expected);
+
+        checkpointRt.shutdown();
+        logRt.shutdown();
+        rt.shutdown();
+    }
+
     /**
      * This test validates that trimming the address space on a non-existing address (-1)
      * after data is already present in the log, does not lead to sequencer trims.
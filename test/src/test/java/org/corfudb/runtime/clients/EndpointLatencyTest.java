@@ -0,0 +1,55 @@
+package org.corfudb.runtime.clients;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the tracking of the latency of an endpoint.
+ */
+public class EndpointLatencyTest {
+
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+
+    @Test
+    public void percentilesRequireEnoughSamples() {
+        EndpointLatency latency = new EndpointLatency();
+        assertThat(latency.getAverage()).isEmpty();
+        assertThat(latency.getPercentile(MEDIAN)).isEmpty();
+
+        for (int i = 1; i < EndpointLatency.MIN_SAMPLES; i++) {
+            latency.record(i);
+        }
+        assertThat(latency.getAverage()).isPresent();
+        assertThat(latency.getPercentile(MEDIAN)).isEmpty();
+
+        latency.record(EndpointLatency.MIN_SAMPLES);
+        assertThat(latency.getPercentile(MEDIAN)).isPresent();
+        assertThatThrownBy(() -> latency.getPercentile(2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void percentilesTrackRecentSamples() {
+        EndpointLatency latency = new EndpointLatency();
+        for (int i = 1; i <= EndpointLatency.WINDOW_SIZE; i++) {
+            latency.record(i);
+        }
+        assertThat(latency.getPercentile(MEDIAN)).contains(Duration.ofNanos(EndpointLatency.WINDOW_SIZE / 2));
+        assertThat(latency.getPercentile(1)).contains(Duration.ofNanos(EndpointLatency.WINDOW_SIZE));
+
+        // Once the window is overwritten with slower samples, every percentile is slower
+        final long slow = Duration.ofSeconds(1).toNanos();
+        for (int i = 0; i < EndpointLatency.WINDOW_SIZE; i++) {
+            latency.record(slow);
+        }
+        assertThat(latency.getPercentile(0)).contains(Duration.ofNanos(slow));
+        assertThat(latency.getPercentile(P99)).contains(Duration.ofNanos(slow));
+        assertThat(latency.getAverage().get().toNanos()).isGreaterThan(EndpointLatency.WINDOW_SIZE);
+        assertThat(latency.getSamples()).isEqualTo(EndpointLatency.WINDOW_SIZE * 2);
+    }
+}
@@ -3,6 +3,8 @@ package org.corfudb.runtime.clients;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslHandler;
@@ -10,13 +12,23 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.AbstractCorfuTest;
 import org.corfudb.common.config.ConfigParamsHelper;
+import org.corfudb.infrastructure.AbstractServer;
 import org.corfudb.infrastructure.BaseServer;
 import org.corfudb.infrastructure.CorfuServerNode;
+import org.corfudb.infrastructure.LogUnitServer;
 import org.corfudb.infrastructure.NettyServerRouter;
 import org.corfudb.infrastructure.ServerContext;
 import org.corfudb.infrastructure.ServerContextBuilder;
+import org.corfudb.protocols.service.CorfuProtocolMessage.ClusterIdCheck;
+import org.corfudb.protocols.service.CorfuProtocolMessage.EpochCheck;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.ReadResponse;
 import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.runtime.proto.service.CorfuMessage.PriorityLevel;
+import org.corfudb.runtime.proto.service.CorfuMessage.RequestPayloadMsg;
 import org.corfudb.util.NodeLocator;
+import org.corfudb.util.serializer.Serializers;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -28,13 +40,22 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.corfudb.common.config.ConfigParamsHelper.TlsCiphers.TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384;
 import static org.corfudb.common.config.ConfigParamsHelper.TlsCiphers.TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256;
+import static org.corfudb.protocols.CorfuProtocolCommon.getUuidMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getRangeWriteLogRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getReadLogRequestMsg;
+import static org.corfudb.protocols.service.CorfuProtocolLogUnit.getWriteLogRequestMsg;
 
 /** Created by mwei on 3/28/16. */
 @Slf4j
@@ -68,6 +89,80 @@ public class NettyCommTest extends AbstractCorfuTest {
         (r, d) -> assertThat(getBaseClient(r).pingSync()).isTrue());
   }
 
+  @Test
+  public void nettyServerClientCoalescedRequests() throws Exception {
+    final int numPings = 1000;
+    final int maxBatchSize = 16;
+    runWithBaseServer(
+        (port) -> new NettyServerData(ServerContextBuilder.defaultContext(port)),
+        (port) -> new NettyClientRouter(NodeLocator.builder().host("localhost").port(port).build(),
+            CorfuRuntimeParameters.builder()
+                .requestCoalescingEnabled(true)
+                .maxRequestBatchSize(maxBatchSize)
+                .build()),
+        (r, d) -> {
+          // Every request is answered, whether it is sent on its own or in a batch
+          BaseClient client = getBaseClient(r);
+          List<CompletableFuture<Boolean>> pings = IntStream.range(0, numPings).parallel()
+              .mapToObj(i -> client.ping())
+              .collect(Collectors.toList());
+          assertThat(pings.stream().map(CompletableFuture::join)).containsOnly(true);
+        });
+  }
+
+  @Test
+  public void nettyServerClientRawReadResponses() throws Exception {
+    final int numEntries = 10;
+    final long cachedAddress = numEntries;
+    final long unwrittenAddress = numEntries + 1;
+    runWithBaseServer(
+        (port) -> new NettyServerData(new ServerContextBuilder()
+            .setPort(port)
+            .setImplementation("auto")
+            .setMemory(false)
+            .setLogPath(reloadFolder.newFolder().getAbsolutePath())
+            .build(), true),
+        (port) -> {
+          NettyClientRouter router = new NettyClientRouter("localhost", port);
+          router.addClient(new LogUnitHandler());
+          return router;
+        },
+        (r, d) -> {
+          List<LogData> range = LongStream.range(0, numEntries)
+              .mapToObj(address -> getLogData(address))
+              .collect(Collectors.toList());
+          final long epoch = d.getServerContext().getServerEpoch();
+          sendRequest(r, epoch, getRangeWriteLogRequestMsg(range)).join();
+          sendRequest(r, epoch, getWriteLogRequestMsg(getLogData(cachedAddress))).join();
+
+          // Uncached entries are sent from the log files, the others inline
+          List<Long> addresses = LongStream.rangeClosed(0, unwrittenAddress).boxed()
+              .collect(Collectors.toList());
+          ReadResponse response = this.<ReadResponse>sendRequest(r, epoch, getReadLogRequestMsg(addresses, false)).join();
+
+          assertThat(response.getAddresses()).hasSize(addresses.size());
+          assertThat(response.getAddresses().get(unwrittenAddress).isEmpty()).isTrue();
+          for (long address = 0; address <= cachedAddress; address++) {
+            assertThat(response.getAddresses().get(address).getPayload(null))
+                .isEqualTo(("Payload" + address).getBytes());
+          }
+        });
+  }
+
+  private LogData getLogData(long address) {
+    ByteBuf payload = Unpooled.buffer();
+    Serializers.CORFU.serialize(("Payload" + address).getBytes(), payload);
+    LogData logData = new LogData(DataType.DATA, payload);
+    logData.setGlobalAddress(address);
+    return logData;
+  }
+
+  private <T> CompletableFuture<T> sendRequest(NettyClientRouter router, long epoch,
+                                               RequestPayloadMsg payload) {
+    return router.sendRequestAndGetCompletable(payload, epoch, getUuidMsg(UUID.randomUUID()),
+        PriorityLevel.NORMAL, ClusterIdCheck.IGNORE, EpochCheck.IGNORE);
+  }
+
   @Test
   public void nettyServerClientPingableAfterFailure() throws Exception {
     runWithBaseServer(
@@ -676,15 +771,31 @@ public class NettyCommTest extends AbstractCorfuTest {
 
     private final String address = "localhost";
 
+    // Whether a log unit server is run along with the base server
+    private final boolean withLogUnit;
+
+    private LogUnitServer logUnitServer;
+
     NettyServerData(@Nonnull ServerContext context) {
+      this(context, false);
+    }
+
+    NettyServerData(@Nonnull ServerContext context, boolean withLogUnit) {
       this.serverContext = context;
+      this.withLogUnit = withLogUnit;
     }
 
     void bootstrapServer() {
       BaseServer baseServer = new BaseServer(serverContext);
-      NettyServerRouter nsr = new NettyServerRouter(ImmutableList.of(baseServer), serverContext);
-      CorfuServerNode corfuServerNode =
-          new CorfuServerNode(serverContext, ImmutableMap.of(BaseServer.class, baseServer));
+      ImmutableMap.Builder<Class, AbstractServer> serverMap = ImmutableMap.builder();
+      serverMap.put(BaseServer.class, baseServer);
+      if (withLogUnit) {
+        logUnitServer = new LogUnitServer(serverContext);
+        serverMap.put(LogUnitServer.class, logUnitServer);
+      }
+      NettyServerRouter nsr = new NettyServerRouter(ImmutableList.copyOf(serverMap.build().values()),
+          serverContext);
+      CorfuServerNode corfuServerNode = new CorfuServerNode(serverContext, serverMap.build());
       f =
           corfuServerNode.bindServer(
               serverContext.getWorkerGroup(),
@@ -697,6 +808,9 @@ public class NettyCommTest extends AbstractCorfuTest {
 
     void shutdownServer() {
       f.channel().close().awaitUninterruptibly();
+      if (logUnitServer != null) {
+        logUnitServer.shutdown();
+      }
     }
   }
 }
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -74,6 +75,11 @@ public class TestClientRouter implements IClientRouter {
 
     public volatile AtomicLong requestID;
 
+    /**
+     * The round trip latency of the requests sent by this router.
+     */
+    private final EndpointLatency latency = new EndpointLatency();
+
     @Getter
     @Setter
     public long serverEpoch;
@@ -230,6 +236,8 @@ public class TestClientRouter implements IClientRouter {
         final CompletableFuture<T> cf = new CompletableFuture<>();
         outstandingRequests.put(thisRequestId, cf);
 
+        final long sentNanos = System.nanoTime();
+
         // Evaluate rules.
         if (rules.stream().allMatch(x -> x.evaluate(request, this))) {
             log.trace(Thread.currentThread().getId() + ":Sent request: {}", TextFormat.shortDebugString(request));
@@ -244,6 +252,7 @@ public class TestClientRouter implements IClientRouter {
 
         // Generate a timeout future, which will complete exceptionally if the main future is not completed.
         final CompletableFuture<T> cfTimeout = CFUtils.within(cf, Duration.ofMillis(timeoutResponse));
+        cfTimeout.whenComplete((r, e) -> latency.record(System.nanoTime() - sentNanos));
         cfTimeout.exceptionally(e -> {
             outstandingRequests.remove(thisRequestId);
             log.debug("Remove request {} due to timeout!", thisRequestId);
@@ -259,6 +268,11 @@ public class TestClientRouter implements IClientRouter {
         throw new UnsupportedOperationException("Unsupported API.");
     }
 
+    @Override
+    public Optional<EndpointLatency> getLatency() {
+        return Optional.of(latency);
+    }
+
     /**
      * Send a one way message, without adding a completable future.
      *
@@ -929,6 +929,81 @@ public class CorfuStoreShimTest extends AbstractViewTest {
         }
     }
 
+    /**
+     * This test validates that a queue can be consumed a batch at a time in enqueue order, resuming
+     * after the last consumed entry, and that batches of entries can be enqueued, dequeued and
+     * acknowledged.
+     *
+     * @throws Exception could be a corfu runtime exception if bad things happen.
+     */
+    @Test
+    public void queueBatchConsumption() throws Exception {
+        final int numTxns = 10;
+        final int entriesPerTxn = 7;
+        final int batchSize = 4;
+        CorfuRuntime corfuRuntime = getTestRuntime();
+        CorfuStoreShim shimStore = new CorfuStoreShim(corfuRuntime);
+        final String someNamespace = "some-namespace";
+
+        Table<Queue.CorfuGuidMsg, ExampleSchemas.ExampleValue, Queue.CorfuQueueMetadataMsg> corfuQueue =
+                shimStore.openQueue(someNamespace, "testBatchQueue",
+                        ExampleSchemas.ExampleValue.class,
+                        TableOptions.builder().build());
+
+        List<Queue.CorfuGuidMsg> enqueued = new ArrayList<>();
+        for (long txn = 0; txn < numTxns; txn++) {
+            List<ExampleSchemas.ExampleValue> batch = new ArrayList<>();
+            for (long i = 0; i < entriesPerTxn; i++) {
+                batch.add(ExampleSchemas.ExampleValue.newBuilder()
+                        .setPayload("" + txn)
+                        .setAnotherKey(txn * entriesPerTxn + i).build());
+            }
+            try (ManagedTxnContext tx = shimStore.txn(someNamespace)) {
+                enqueued.addAll(tx.enqueueAll(corfuQueue, batch));
+                tx.commit();
+            }
+        }
+
+        // Consume the queue a batch at a time, resuming after the last consumed entry.
+        List<Long> consumed = new ArrayList<>();
+        Table.CorfuQueueRecord last = null;
+        while (true) {
+            List<Table.CorfuQueueRecord> records;
+            try (ManagedTxnContext query = shimStore.txn(someNamespace)) {
+                records = query.entryList(corfuQueue, last, batchSize);
+            }
+            if (records.isEmpty()) {
+                break;
+            }
+            assertThat(records.size()).isLessThanOrEqualTo(batchSize);
+            records.forEach(record ->
+                    consumed.add(((ExampleSchemas.ExampleValue) record.getEntry()).getAnotherKey()));
+            last = records.get(records.size() - 1);
+        }
+        assertThat(consumed).isSorted().hasSize(numTxns * entriesPerTxn);
+        assertThat(corfuQueue.entryList()).extracting(Table.CorfuQueueRecord::getRecordId)
+                .containsExactlyElementsOf(enqueued);
+
+        // Dequeue the head of the queue, and acknowledge the entries of the next transaction.
+        List<Table.CorfuQueueRecord> dequeued;
+        try (ManagedTxnContext tx = shimStore.txn(someNamespace)) {
+            dequeued = tx.dequeue(corfuQueue, batchSize);
+            tx.ack(corfuQueue, enqueued.subList(entriesPerTxn, entriesPerTxn * 2));
+            tx.commit();
+        }
+        assertThat(dequeued).extracting(Table.CorfuQueueRecord::getRecordId)
+                .containsExactlyElementsOf(enqueued.subList(0, batchSize));
+
+        List<Table.CorfuQueueRecord> remaining;
+        try (ManagedTxnContext query = shimStore.txn(someNamespace)) {
+            remaining = query.entryList(corfuQueue);
+        }
+        List<Queue.CorfuGuidMsg> expected = new ArrayList<>(enqueued.subList(batchSize, entriesPerTxn));
+        expected.addAll(enqueued.subList(entriesPerTxn * 2, enqueued.size()));
+        assertThat(remaining).extracting(Table.CorfuQueueRecord::getRecordId)
+                .containsExactlyElementsOf(expected);
+    }
+
     /**
      * This is a research work done to demonstrate how Google DynamicMessage can be used to print/dump
      * the contents of the protobuf store which was written by a fully qualified type.
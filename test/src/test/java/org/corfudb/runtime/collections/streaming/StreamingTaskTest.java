@@ -4,10 +4,13 @@ import com.google.common.collect.ImmutableMap;
 import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
 import org.corfudb.protocols.logprotocol.SMREntry;
 import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.BatchedStreamListener;
 import org.corfudb.runtime.collections.CorfuRecord;
 import org.corfudb.runtime.collections.CorfuStreamEntries;
+import org.corfudb.runtime.collections.CorfuStreamEntry;
 import org.corfudb.runtime.collections.StreamListener;
 import org.corfudb.runtime.collections.Table;
 import org.corfudb.runtime.exceptions.StreamingException;
@@ -25,6 +28,9 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 
@@ -191,4 +197,90 @@ public class StreamingTaskTest {
         // Verify that the task doesnt submit any more work to the worker thread pool
         verify(workers, times(1)).execute(task);
     }
+
+    /**
+     * Verify that a batched listener is given the pending deltas in one callback, read with a single read,
+     * that a coalescing listener only gets the last update of every key, and that the listener is told
+     * once the batch is processed.
+     */
+    @Test
+    public void testStreamingTaskProduceBatch() {
+        ExecutorService workers = mock(ExecutorService.class);
+        CorfuRuntime runtime = mock(CorfuRuntime.class);
+        AddressSpaceView addressSpaceView = mock(AddressSpaceView.class);
+        when(runtime.getAddressSpaceView()).thenReturn(addressSpaceView);
+
+        final String namespace = "test_namespace";
+        final String tableName = "table";
+        final String streamTag = "tag_1";
+        final int batchSize = 10;
+
+        BatchedStreamListener listener = mock(BatchedStreamListener.class);
+        when(listener.getBatchSize()).thenReturn(batchSize);
+        when(listener.isCoalescing()).thenReturn(true);
+
+        Table table = mock(Table.class);
+        TableRegistry registry = mock(TableRegistry.class);
+        when(runtime.getTableRegistry()).thenReturn(registry);
+        when(registry.getTable(namespace, tableName)).thenReturn(table);
+        UUID streamTagId = TableRegistry.getStreamIdForStreamTag(namespace, streamTag);
+        when(table.getStreamTags()).thenReturn(Collections.singleton(streamTagId));
+
+        StreamingTask task = new StreamingTask(runtime, workers, namespace, streamTag, listener,
+                Collections.singletonList(tableName), Address.NON_ADDRESS, batchSize);
+
+        UUID tableStream = CorfuRuntime.getStreamID(TableRegistry.getFullyQualifiedTableName(namespace, tableName));
+        TestSchema.Uuid key1 = TestSchema.Uuid.newBuilder().setMsb(1L).build();
+        TestSchema.Uuid key2 = TestSchema.Uuid.newBuilder().setMsb(2L).build();
+        TestSchema.EventInfo first = TestSchema.EventInfo.newBuilder().setName("first").build();
+        TestSchema.EventInfo last = TestSchema.EventInfo.newBuilder().setName("last").build();
+        SampleSchema.ManagedMetadata metadata = SampleSchema.ManagedMetadata.getDefaultInstance();
+
+        // Key 1 is updated twice, key 2 once, and address 3 is a hole
+        Object[][] updates = {{key1, first}, {key2, first}, null, {key1, last}};
+        Map<Long, ILogData> batch = new HashMap<>();
+        StreamAddressSpace sas = new StreamAddressSpace();
+        for (int i = 0; i < updates.length; i++) {
+            long address = i + 1;
+            sas.addAddress(address);
+
+            LogData logData;
+            if (updates[i] == null) {
+                logData = new LogData(DataType.HOLE);
+            } else {
+                MultiObjectSMREntry multiObject = new MultiObjectSMREntry();
+                multiObject.addTo(tableStream, new SMREntry("put", new Object[]{updates[i][0],
+                        new CorfuRecord<>((TestSchema.EventInfo) updates[i][1], metadata)}, mock(ISerializer.class)));
+                logData = new LogData(DataType.DATA, multiObject);
+                logData.setBackpointerMap(ImmutableMap.of(streamTagId, Address.NON_ADDRESS,
+                        tableStream, Address.NON_ADDRESS));
+            }
+            logData.setGlobalAddress(address);
+            batch.put(address, logData);
+        }
+        task.getStream().refresh(sas);
+        when(addressSpaceView.read(any(Iterable.class), any(ReadOptions.class))).thenReturn(batch);
+
+        task.move(StreamStatus.RUNNABLE, StreamStatus.SYNCING);
+        task.run();
+
+        verify(listener, times(0)).onError(any());
+        verify(addressSpaceView, times(1)).read(any(Iterable.class), any(ReadOptions.class));
+        ArgumentCaptor<List> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(listener, times(1)).onNextBatch(batchCaptor.capture());
+
+        List<CorfuStreamEntries> delivered = batchCaptor.getValue();
+        assertThat(delivered).hasSize(1);
+        assertThat(delivered.get(0).getTimestamp().getSequence()).isEqualTo(updates.length);
+        // The listener is told the position from which a subscription can be resumed
+        verify(listener, times(1)).onBatchProcessed(delivered.get(0).getTimestamp());
+
+        List<CorfuStreamEntry> entries = delivered.get(0).getEntries().values().iterator().next();
+        assertThat(entries).extracting(CorfuStreamEntry::getKey).containsExactly(key2, key1);
+        assertThat(entries).extracting(CorfuStreamEntry::getPayload).containsExactly(first, last);
+
+        // All the deltas have been delivered, so the task does not re-submit itself
+        assertThat(task.getStatus()).isEqualTo(StreamStatus.RUNNABLE);
+        verify(workers, times(0)).execute(task);
+    }
 }
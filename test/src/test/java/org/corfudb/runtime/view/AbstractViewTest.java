@@ -344,7 +344,7 @@ public abstract class AbstractViewTest extends AbstractCorfuTest {
                     .initialPollInterval(PARAMETERS.TIMEOUT_VERY_SHORT)
                     .build();
 
-            FailureDetector failureDetector = getManagementServer(port)
+            FailureDetector failureDetector = (FailureDetector) getManagementServer(port)
                     .getManagementAgent()
                     .getRemoteMonitoringService()
                     .getFailureDetector();
@@ -4,7 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
-import com.google.common.cache.Cache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
@@ -19,11 +19,14 @@ import org.corfudb.common.compression.Codec;
 import org.corfudb.infrastructure.LogUnitServerAssertions;
 import org.corfudb.infrastructure.TestLayoutBuilder;
 import org.corfudb.protocols.logprotocol.CheckpointEntry;
+import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
+import org.corfudb.protocols.logprotocol.SMREntry;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.view.stream.IStreamView;
+import org.corfudb.util.serializer.Serializers;
 import org.junit.Test;
 
 /**
@@ -186,6 +189,39 @@ public class AddressSpaceViewTest extends AbstractViewTest {
         assertThat(clientCache.getIfPresent(2L)).isNotNull();
     }
 
+    /**
+     * Verify that scan reads are served from the client cache, but do not admit the entries they load.
+     */
+    @Test
+    public void testScanReadsAreNotCached() {
+        setupNodes();
+        CorfuRuntime rt = getRuntime().connect();
+
+        final long epoch = rt.getLayoutView().getLayout().getEpoch();
+        final long numWrites = 4;
+        for (long address = 0; address < numWrites; address++) {
+            rt.getAddressSpaceView().write(new TokenResponse(new Token(epoch, address),
+                            Collections.singletonMap(CorfuRuntime.getStreamID("stream1"), Address.NO_BACKPOINTER)),
+                    "payload".getBytes(), address == 0 ? CacheOption.WRITE_THROUGH : CacheOption.WRITE_AROUND);
+        }
+
+        ReadOptions scan = ReadOptions.builder()
+                .readClass(ReadOptions.ReadClass.SCAN)
+                .build();
+        Cache<Long, ILogData> clientCache = rt.getAddressSpaceView().getReadCache();
+        ILogData cached = clientCache.getIfPresent(0L);
+
+        assertThat(rt.getAddressSpaceView().read(0L, scan)).isSameAs(cached);
+        assertThat(rt.getAddressSpaceView().read(1L, scan)).isNotNull();
+        assertThat(rt.getAddressSpaceView().read(ContiguousSet.create(Range.closed(0L, numWrites - 1),
+                DiscreteDomain.longs()), scan)).hasSize((int) numWrites);
+        assertThat(clientCache.asMap()).containsOnlyKeys(0L);
+
+        // Object reads admit the entries they load
+        rt.getAddressSpaceView().read(1L);
+        assertThat(clientCache.getIfPresent(1L)).isNotNull();
+    }
+
     @Test
     public void testGetTrimMark() {
         setupNodes();
@@ -324,4 +360,64 @@ public class AddressSpaceViewTest extends AbstractViewTest {
         readResult.forEach((addr, data) ->
                 assertThat(data.getPayload(rt)).isEqualTo((testString + addr).getBytes()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Stream scans only return the entries of the requested stream, filtered down to its updates,
+     * across stripes and in multiple chunks. Stream views read through them when enabled.
+     */
+    @Test
+    public void readStreamFiltersUpdates() {
+        setupNodes();
+        final int numEntries = 10;
+        final int bulkReadSize = 2;
+
+        CorfuRuntime rt = getRuntime().connect();
+        rt.getParameters().setBulkReadSize(bulkReadSize);
+
+        UUID streamA = CorfuRuntime.getStreamID("stream A");
+        UUID streamB = CorfuRuntime.getStreamID("stream B");
+        for (int i = 0; i < numEntries; i++) {
+            MultiObjectSMREntry entry = new MultiObjectSMREntry();
+            entry.addTo(streamA, new SMREntry("put", new Object[]{"a" + i}, Serializers.PRIMITIVE));
+            TokenResponse token;
+            if (i % 2 == 0) {
+                entry.addTo(streamB, new SMREntry("put", new Object[]{"b" + i}, Serializers.PRIMITIVE));
+                token = rt.getSequencerView().next(streamA, streamB);
+            } else {
+                token = rt.getSequencerView().next(streamA);
+            }
+            rt.getAddressSpaceView().write(token, entry);
+        }
+
+        Map<Long, ILogData> streamEntries = rt.getAddressSpaceView()
+                .readStream(streamA, Address.NON_ADDRESS, numEntries - 1, ReadOptions.builder().build());
+        assertThat(streamEntries).hasSize(numEntries);
+        streamEntries.forEach((address, ld) -> {
+            MultiObjectSMREntry entry = (MultiObjectSMREntry) ld.getPayload(rt);
+            assertThat(entry.getEntryMap()).containsOnlyKeys(streamA);
+            assertThat(entry.getSMRUpdates(streamA).get(0).getSMRArguments()).containsExactly("a" + address);
+            assertThat(ld.getBackpointerMap()).containsOnlyKeys(streamA);
+            assertThat(ld.containsStream(streamB)).isFalse();
+        });
+
+        streamEntries = rt.getAddressSpaceView()
+                .readStream(streamB, Address.NON_ADDRESS, numEntries - 1, ReadOptions.builder().build());
+        assertThat(streamEntries).hasSize(numEntries / 2);
+        streamEntries.forEach((address, ld) -> {
+            MultiObjectSMREntry entry = (MultiObjectSMREntry) ld.getPayload(rt);
+            assertThat(entry.getEntryMap()).containsOnlyKeys(streamB);
+            assertThat(entry.getSMRUpdates(streamB).get(0).getSMRArguments()).containsExactly("b" + address);
+            assertThat(ld.getBackpointerMap()).containsOnlyKeys(streamB);
+        });
+
+        CorfuRuntime filteringRt = getNewRuntime(CorfuRuntime.CorfuRuntimeParameters.builder()
+                .streamReadFiltering(true)
+                .build());
+        filteringRt.parseConfigurationString(getDefaultConfigurationString()).connect();
+        List<ILogData> filteredEntries = filteringRt.getStreamsView().get(streamB).remaining();
+        assertThat(filteredEntries).hasSize(numEntries / 2);
+        filteredEntries.forEach(ld -> assertThat(((MultiObjectSMREntry) ld.getPayload(filteringRt)).getEntryMap())
+                .containsOnlyKeys(streamB));
+        filteringRt.shutdown();
+    }
+}
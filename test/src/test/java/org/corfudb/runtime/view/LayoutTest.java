@@ -2,13 +2,19 @@ package org.corfudb.runtime.view;
 
 import com.google.common.collect.Sets;
 import groovy.util.logging.Slf4j;
+import org.corfudb.runtime.view.Layout.LayoutSegment;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
+import org.corfudb.runtime.view.Layout.ReplicationMode;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 import static java.lang.reflect.Modifier.TRANSIENT;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -98,4 +104,30 @@ public class LayoutTest {
         assertThat(Layout.fromJSONString(JSONEmptySequencerListLayout).getFullyRedundantLogServers())
                 .isEqualTo(Collections.singleton("localhost:9000"));
     }
+
+    /**
+     * The log servers of stripes added to the layout hold the complete state of the addresses
+     * mapped to them, unlike a log server missing from a stripe of a previous segment.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testLayoutGetFullyRedundantLogServersWithStripes() {
+        LayoutStripe stripe0 = new LayoutStripe(Collections.singletonList("A"));
+        LayoutStripe stripe1 = new LayoutStripe(Collections.singletonList("C"));
+        LayoutStripe restoredStripe0 = new LayoutStripe(Arrays.asList("A", "B"));
+        LayoutSegment segment1 = new LayoutSegment(ReplicationMode.CHAIN_REPLICATION, 0L, 6L,
+                Collections.singletonList(stripe0));
+        LayoutSegment segment2 = new LayoutSegment(ReplicationMode.CHAIN_REPLICATION, 6L, 10L,
+                Arrays.asList(stripe0, stripe1));
+        LayoutSegment segment3 = new LayoutSegment(ReplicationMode.CHAIN_REPLICATION, 10L, -1L,
+                Arrays.asList(restoredStripe0, stripe1));
+        List<String> servers = Arrays.asList("A", "B", "C");
+
+        Layout layout = new Layout(servers, servers, Arrays.asList(segment1, segment2, segment3),
+                Collections.emptyList(), 1L, UUID.randomUUID());
+        assertThat(layout.getFullyRedundantLogServers()).containsExactlyInAnyOrder("A", "C");
+        assertThat(layout.getMissingStripeIndex(0, "C")).isEmpty();
+        assertThat(layout.getMissingStripeIndex(1, "B")).hasValue(0);
+        assertThat(layout.getMergeableSegmentIndex()).isEmpty();
+    }
 }
@@ -155,4 +155,37 @@ public class SequencerViewTest extends AbstractViewTest {
                 new StreamAddressRange(streamA,  tokenCount, Address.NON_ADDRESS)))
                 .isEqualTo(expectedMap);
     }
+
+    /**
+     * A sequencer bootstrapped with address maps larger than the bootstrap chunk size
+     * receives them in chunks.
+     */
+    @Test
+    public void checkChunkedSequencerBootstrap() throws Exception {
+        CorfuRuntime controlRuntime = getDefaultRuntime();
+        CorfuRuntime r = getNewRuntime(getDefaultNode()).connect();
+        Layout originalLayout = controlRuntime.getLayoutView().getLayout();
+
+        // Write an entry to each stream.
+        final int numStreams = 5;
+        UUID[] streams = new UUID[numStreams];
+        for (int i = 0; i < numStreams; i++) {
+            streams[i] = UUID.randomUUID();
+            r.getStreamsView().get(streams[i]).append(("entry" + i).getBytes());
+        }
+
+        // Send each stream in its own chunk.
+        controlRuntime.getParameters().setSequencerBootstrapChunkSize(1);
+        incrementClusterEpoch(controlRuntime);
+        controlRuntime.invalidateLayout();
+        Layout newLayout = controlRuntime.getLayoutView().getLayout();
+        controlRuntime.getLayoutManagementView().reconfigureSequencerServers(originalLayout, newLayout, true);
+
+        assertThat(r.getSequencerView().query().getSequence()).isEqualTo(numStreams - 1);
+        for (int i = 0; i < numStreams; i++) {
+            assertThat(r.getSequencerView().getStreamAddressSpace(
+                    new StreamAddressRange(streams[i], Address.MAX, Address.NON_ADDRESS)).toArray())
+                    .containsExactly((long) i);
+        }
+    }
 }
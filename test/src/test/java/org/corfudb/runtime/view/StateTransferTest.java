@@ -265,7 +265,6 @@ public class StateTransferTest extends AbstractViewTest {
         addServer(SERVERS.PORT_1);
 
         final long writtenAddressesBatch1 = 3L;
-        final long writtenAddressesBatch2 = 6L;
         Layout l1 = new TestLayoutBuilder()
                 .setEpoch(1L)
                 .addLayoutServer(SERVERS.PORT_0)
@@ -329,15 +328,6 @@ public class StateTransferTest extends AbstractViewTest {
                 .addToLayout()
                 .buildSegment()
                 .setStart(writtenAddressesBatch1)
-                .setEnd(writtenAddressesBatch2)
-                .buildStripe()
-                .addLogUnit(SERVERS.PORT_0)
-                .addLogUnit(SERVERS.PORT_1)
-                .addLogUnit(SERVERS.PORT_2)
-                .addToSegment()
-                .addToLayout()
-                .buildSegment()
-                .setStart(writtenAddressesBatch2)
                 .setEnd(-1L)
                 .buildStripe()
                 .addLogUnit(SERVERS.PORT_0)
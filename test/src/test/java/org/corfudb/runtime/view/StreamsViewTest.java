@@ -1,12 +1,35 @@
 package org.corfudb.runtime.view;
 
+import com.google.common.reflect.TypeToken;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.corfudb.common.compression.Codec;
+import org.corfudb.protocols.logprotocol.MultiObjectSMRChunkEntry;
+import org.corfudb.protocols.logprotocol.MultiObjectSMRCommitEntry;
+import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
+import org.corfudb.protocols.logprotocol.OpaqueEntry;
+import org.corfudb.protocols.logprotocol.SMREntry;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.StreamAddressRange;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.runtime.exceptions.AbortCause;
+import org.corfudb.runtime.exceptions.TransactionAbortedException;
 import org.corfudb.runtime.view.stream.IStreamView;
+import org.corfudb.runtime.view.stream.OpaqueStream;
+import org.corfudb.util.serializer.Serializers;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Created by Maithem on 12/18/19.
@@ -42,4 +65,265 @@ public class StreamsViewTest extends AbstractViewTest {
         scheduleConcurrently(numIter, t -> streamsView.gc(trimMark));
         executeScheduled(parallelNum, PARAMETERS.TIMEOUT_NORMAL);
     }
+
+    private CorfuTable<String, String> openTable(CorfuRuntime runtime, String name) {
+        return runtime.getObjectsView()
+                .build()
+                .setStreamName(name)
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .option(ObjectOpenOption.NO_CACHE)
+                .open();
+    }
+
+    private void configureMaxWriteSize(CorfuRuntime runtime, boolean largeTransactionsEnabled) {
+        final int maxWriteSize = 4096;
+        runtime.getParameters().setMaxWriteSize(maxWriteSize);
+        runtime.getParameters().setCodecType(Codec.Type.NONE);
+        runtime.getParameters().setLargeTransactionsEnabled(largeTransactionsEnabled);
+    }
+
+    /**
+     * A write set which exceeds the max write size is written as several chunks, after the address of
+     * their commit entry, which is the only entry of the transaction on its streams, and which provides
+     * the updates of all the chunks to the readers.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testLargeTransactionCommit() {
+        final String tableA = "tableA";
+        final String tableB = "tableB";
+        final int numKeys = 100;
+        final String value = new String(new char[100]).replace('\0', 'v');
+
+        CorfuRuntime writer = getRuntime();
+        configureMaxWriteSize(writer, true);
+        CorfuTable<String, String> writerA = openTable(writer, tableA);
+        CorfuTable<String, String> writerB = openTable(writer, tableB);
+
+        writer.getObjectsView().TXBegin();
+        for (int i = 0; i < numKeys; i++) {
+            writerA.put("a" + i, value);
+            writerB.put("b" + i, value);
+        }
+        long commitAddress = writer.getObjectsView().TXEnd();
+
+        ILogData commitData = writer.getAddressSpaceView().read(commitAddress);
+        assertThat(commitData.getStreams()).containsExactlyInAnyOrder(
+                CorfuRuntime.getStreamID(tableA), CorfuRuntime.getStreamID(tableB));
+        assertThat(commitData.getPayload(writer)).isInstanceOf(MultiObjectSMRCommitEntry.class);
+        MultiObjectSMRCommitEntry commitEntry = (MultiObjectSMRCommitEntry) commitData.getPayload(writer);
+        assertThat(commitEntry.getNumChunks()).isGreaterThan(1);
+        for (long address : commitEntry.getChunkAddresses()) {
+            assertThat(address).isGreaterThan(commitAddress);
+            assertThat(writer.getAddressSpaceView().read(address).getStreams()).isEmpty();
+        }
+
+        // The chunks are not in the address map of the stream, the stream readers only see the commit entry
+        assertThat(writer.getSequencerView().getStreamAddressSpace(new StreamAddressRange(
+                CorfuRuntime.getStreamID(tableA), Address.MAX, Address.NON_ADDRESS)).toArray())
+                .containsExactly(commitAddress);
+        List<ILogData> entries = writer.getStreamsView().get(CorfuRuntime.getStreamID(tableA))
+                .remainingUpTo(Long.MAX_VALUE);
+        assertThat(entries.stream().map(ILogData::getGlobalAddress).collect(Collectors.toList()))
+                .containsExactly(commitAddress);
+
+        // A new runtime applies the updates of all the chunks
+        CorfuRuntime reader = getNewRuntime(getDefaultNode()).connect();
+        CorfuTable<String, String> readerA = openTable(reader, tableA);
+        CorfuTable<String, String> readerB = openTable(reader, tableB);
+        assertThat(readerA).hasSize(numKeys);
+        assertThat(readerB).hasSize(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            assertThat(readerA.get("a" + i)).isEqualTo(value);
+            assertThat(readerB.get("b" + i)).isEqualTo(value);
+        }
+    }
+
+    /**
+     * An opaque stream resolves the chunks of a commit entry with its runtime, and refuses
+     * to read a commit entry without one.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testLargeTransactionOpaqueRead() {
+        final String tableName = "table";
+        final UUID streamId = CorfuRuntime.getStreamID(tableName);
+        final int numKeys = 100;
+        final String value = new String(new char[100]).replace('\0', 'v');
+
+        CorfuRuntime writer = getRuntime();
+        configureMaxWriteSize(writer, true);
+        CorfuTable<String, String> table = openTable(writer, tableName);
+
+        writer.getObjectsView().TXBegin();
+        for (int i = 0; i < numKeys; i++) {
+            table.put("k" + i, value);
+        }
+        long commitAddress = writer.getObjectsView().TXEnd();
+
+        StreamOptions options = StreamOptions.builder().cacheEntries(false).build();
+        List<OpaqueEntry> entries = new OpaqueStream(writer.getStreamsView().get(streamId, options), writer)
+                .streamUpTo(commitAddress)
+                .collect(Collectors.toList());
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getVersion()).isEqualTo(commitAddress);
+        assertThat(entries.get(0).getEntries().get(streamId)).hasSize(numKeys);
+
+        OpaqueStream opaqueStream = new OpaqueStream(writer.getStreamsView().get(streamId, options));
+        assertThatThrownBy(() -> opaqueStream.streamUpTo(commitAddress).collect(Collectors.toList()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * The chunks of a replicated transaction belong to the log replication stream, whose opaque readers
+     * unpack each chunk at its own address, while the readers of the other streams unpack the whole
+     * transaction from its commit entry. The chunks of a transaction which was never committed are
+     * not unpacked.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testLargeTransactionReplicatedChunks() {
+        final UUID streamId = CorfuRuntime.getStreamID("table");
+        final UUID replicationStreamId = ObjectsView.getLogReplicatorStreamId();
+        final int numKeys = 100;
+        final String value = new String(new char[100]).replace('\0', 'v');
+
+        CorfuRuntime writer = getRuntime();
+        configureMaxWriteSize(writer, true);
+
+        MultiObjectSMREntry writeSet = new MultiObjectSMREntry();
+        for (int i = 0; i < numKeys; i++) {
+            writeSet.addTo(streamId, new SMREntry("put", new Object[]{"k" + i, value},
+                    Serializers.getDefaultSerializer()));
+        }
+        long commitAddress = writer.getStreamsView().append(writeSet,
+                new TxResolutionInfo(UUID.randomUUID(), writer.getSequencerView().query().getToken()),
+                streamId, replicationStreamId);
+
+        MultiObjectSMRCommitEntry commitEntry = (MultiObjectSMRCommitEntry) writer.getAddressSpaceView()
+                .read(commitAddress).getPayload(writer);
+        assertThat(commitEntry.getChunkStreamId()).isEqualTo(replicationStreamId);
+        for (long address : commitEntry.getChunkAddresses()) {
+            assertThat(writer.getAddressSpaceView().read(address).getStreams())
+                    .containsExactly(replicationStreamId);
+        }
+
+        // The chunks are replicated one by one, in the order of the log
+        StreamOptions options = StreamOptions.builder().cacheEntries(false).build();
+        List<OpaqueEntry> chunkEntries = new OpaqueStream(writer.getStreamsView()
+                .get(replicationStreamId, options), writer)
+                .streamUpTo(Long.MAX_VALUE)
+                .collect(Collectors.toList());
+        assertThat(chunkEntries.stream().map(OpaqueEntry::getVersion).collect(Collectors.toList()))
+                .containsExactlyElementsOf(commitEntry.getChunkAddresses());
+        assertThat(chunkEntries).allMatch(entry -> entry.getCommitVersion() == commitAddress);
+        assertThat(chunkEntries.stream().mapToInt(entry -> entry.getEntries().get(streamId).size()).sum())
+                .isEqualTo(numKeys);
+
+        List<OpaqueEntry> entries = new OpaqueStream(writer.getStreamsView().get(streamId, options), writer)
+                .streamUpTo(Long.MAX_VALUE)
+                .collect(Collectors.toList());
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getVersion()).isEqualTo(commitAddress);
+        assertThat(entries.get(0).getEntries().get(streamId)).hasSize(numKeys);
+
+        // A chunk whose commit entry is hole filled is not replicated
+        TokenResponse commitToken = writer.getSequencerView().next(streamId, replicationStreamId);
+        TokenResponse chunkToken = writer.getSequencerView().nextRange(1, replicationStreamId);
+        MultiObjectSMRChunkEntry chunk = new MultiObjectSMRChunkEntry();
+        chunk.setCommitAddress(commitToken.getSequence());
+        chunk.addTo(streamId, new SMREntry("put", new Object[]{"uncommitted", value},
+                Serializers.getDefaultSerializer()));
+        writer.getAddressSpaceView().write(chunkToken, chunk);
+        writer.getAddressSpaceView().write(commitToken, LogData.getHole(commitToken.getSequence()));
+
+        OpaqueStream replicationStream = new OpaqueStream(writer.getStreamsView()
+                .get(replicationStreamId, options), writer);
+        replicationStream.seek(commitEntry.getFirstChunkAddress() + commitEntry.getNumChunks());
+        assertThat(replicationStream.streamUpTo(Long.MAX_VALUE).collect(Collectors.toList())).isEmpty();
+    }
+
+    /**
+     * Without large transactions, a write set which exceeds the max write size aborts the transaction.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testLargeTransactionAbortedWhenDisabled() {
+        final int numKeys = 100;
+        final String value = new String(new char[100]).replace('\0', 'v');
+
+        CorfuRuntime writer = getRuntime();
+        configureMaxWriteSize(writer, false);
+        CorfuTable<String, String> table = openTable(writer, "table");
+
+        writer.getObjectsView().TXBegin();
+        for (int i = 0; i < numKeys; i++) {
+            table.put("k" + i, value);
+        }
+        assertThatThrownBy(() -> writer.getObjectsView().TXEnd())
+                .isInstanceOfSatisfying(TransactionAbortedException.class,
+                        tae -> assertThat(tae.getAbortCause()).isEqualTo(AbortCause.SIZE_EXCEEDED));
+    }
+
+    /**
+     * The chunks of a transaction whose commit entry is never written are not applied.
+     */
+    @Test
+    public void testLargeTransactionChunksWithoutCommit() {
+        final String tableName = "table";
+        final UUID streamId = CorfuRuntime.getStreamID(tableName);
+
+        CorfuRuntime writer = getRuntime();
+        CorfuTable<String, String> table = openTable(writer, tableName);
+        table.put("committed", "value");
+
+        // Acquire the tokens of a commit entry and of its chunk, but only write the chunk
+        TokenResponse commitToken = writer.getSequencerView().next(streamId);
+        TokenResponse chunkToken = writer.getSequencerView().nextRange(1);
+        MultiObjectSMRChunkEntry chunk = new MultiObjectSMRChunkEntry();
+        chunk.setCommitAddress(commitToken.getSequence());
+        chunk.addTo(streamId, new SMREntry("put", new Object[]{"uncommitted", "value"},
+                Serializers.getDefaultSerializer()));
+        writer.getAddressSpaceView().write(chunkToken, chunk);
+
+        CorfuRuntime reader = getNewRuntime(getDefaultNode()).connect();
+        CorfuTable<String, String> readerTable = openTable(reader, tableName);
+        assertThat(readerTable).containsOnlyKeys("committed");
+    }
+
+    /**
+     * The chunks of a write set do not exceed the max chunk size, and keep the order of the updates.
+     */
+    @Test
+    public void testSplitWriteSet() {
+        final int numUpdates = 50;
+        final int maxChunkSize = 512;
+        final UUID streamA = UUID.randomUUID();
+        final UUID streamB = UUID.randomUUID();
+
+        MultiObjectSMREntry writeSet = new MultiObjectSMREntry();
+        for (int i = 0; i < numUpdates; i++) {
+            writeSet.addTo(streamA, new SMREntry("put", new Object[]{"a" + i, "value"},
+                    Serializers.getDefaultSerializer()));
+            writeSet.addTo(streamB, new SMREntry("put", new Object[]{"b" + i, "value"},
+                    Serializers.getDefaultSerializer()));
+        }
+
+        List<MultiObjectSMRChunkEntry> chunks = StreamsView.splitWriteSet(writeSet, maxChunkSize);
+        assertThat(chunks.size()).isGreaterThan(1);
+
+        for (UUID streamId : new UUID[]{streamA, streamB}) {
+            List<SMREntry> updates = chunks.stream()
+                    .flatMap(chunk -> chunk.getSMRUpdates(streamId).stream())
+                    .collect(Collectors.toList());
+            assertThat(updates).containsExactlyElementsOf(writeSet.getSMRUpdates(streamId));
+        }
+
+        for (MultiObjectSMRChunkEntry chunk : chunks) {
+            ByteBuf buf = Unpooled.buffer();
+            Serializers.CORFU.serialize(chunk, buf);
+            assertThat(buf.readableBytes()).isLessThanOrEqualTo(maxChunkSize);
+            buf.release();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package org.corfudb.runtime.view;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.exceptions.WrongEpochException;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("checkstyle:magicnumber")
+public class TailQueryCoalescerTest {
+
+    private static final long EPOCH = 1L;
+
+    /**
+     * Callers which arrive while a query is in flight share the next query, and are only given
+     * a tail queried after they arrived.
+     */
+    @Test
+    public void concurrentCallersShareTheNextQuery() throws Exception {
+        final int callers = 16;
+
+        AtomicLong tail = new AtomicLong();
+        CountDownLatch firstQueryIssued = new CountDownLatch(1);
+        CompletableFuture<Void> releaseFirstQuery = new CompletableFuture<>();
+        TailQueryCoalescer coalescer = new TailQueryCoalescer(() -> {
+            long query = tail.incrementAndGet();
+            if (query == 1) {
+                firstQueryIssued.countDown();
+                releaseFirstQuery.join();
+            }
+            return new Token(EPOCH, query);
+        });
+
+        CompletableFuture<Token> first = CompletableFuture.supplyAsync(coalescer::get);
+        assertThat(firstQueryIssued.await(1, TimeUnit.MINUTES)).isTrue();
+
+        List<CompletableFuture<Token>> joiners = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            CompletableFuture<Token> joiner = new CompletableFuture<>();
+            Thread thread = new Thread(() -> joiner.complete(coalescer.get()));
+            joiners.add(joiner);
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Wait for the joiners to queue behind the query in flight
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+        }
+        releaseFirstQuery.complete(null);
+
+        assertThat(first.get(1, TimeUnit.MINUTES).getSequence()).isEqualTo(1L);
+        for (CompletableFuture<Token> joiner : joiners) {
+            assertThat(joiner.get(1, TimeUnit.MINUTES).getSequence()).isEqualTo(2L);
+        }
+        assertThat(tail.get()).isEqualTo(2L);
+    }
+
+    /**
+     * A stale tail is only reused within the staleness bound.
+     */
+    @Test
+    public void staleTailIsReusedWithinBound() {
+        AtomicLong tail = new AtomicLong();
+        TailQueryCoalescer coalescer = new TailQueryCoalescer(() -> new Token(EPOCH, tail.incrementAndGet()));
+
+        assertThat(coalescer.get(Duration.ofMinutes(1)).getSequence()).isEqualTo(1L);
+        assertThat(coalescer.get(Duration.ofMinutes(1)).getSequence()).isEqualTo(1L);
+        assertThat(coalescer.get(Duration.ZERO).getSequence()).isEqualTo(2L);
+        assertThat(coalescer.get().getSequence()).isEqualTo(3L);
+    }
+
+    /**
+     * The failure of a query is thrown to all its callers, and does not prevent the next queries.
+     */
+    @Test
+    public void queryFailureIsPropagated() {
+        AtomicLong tail = new AtomicLong();
+        TailQueryCoalescer coalescer = new TailQueryCoalescer(() -> {
+            if (tail.incrementAndGet() == 1) {
+                throw new WrongEpochException(EPOCH);
+            }
+            return new Token(EPOCH, tail.get());
+        });
+
+        assertThatThrownBy(coalescer::get).isInstanceOf(WrongEpochException.class);
+        assertThat(coalescer.get().getSequence()).isEqualTo(2L);
+    }
+}
@@ -8,6 +8,7 @@ import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.TestRule;
 import org.corfudb.runtime.exceptions.OverwriteException;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
@@ -118,6 +119,40 @@ public class ChainReplicationProtocolTest extends AbstractReplicationProtocolTes
                 .isEqualTo("incomplete".getBytes());
     }
 
+    /**
+     * Check that a read which is not served by the tail of the chain is hedged,
+     * and served by the previous replica.
+     */
+    @Test
+    public void slowReadIsHedged() {
+        setupNodes();
+        final CorfuRuntime r = getDefaultRuntime();
+        r.getParameters().setHedgedReadsEnabled(true);
+        final IReplicationProtocol rp = getProtocol();
+        final RuntimeLayout runtimeLayout = r.getLayoutView().getRuntimeLayout();
+
+        // Write and read enough entries for the latency of the tail to be known
+        final long numEntries = 50L;
+        for (long address = 0L; address < numEntries; address++) {
+            rp.write(runtimeLayout, getLogData(address, "hedged".getBytes()));
+            assertThat(rp.peek(runtimeLayout, address)).isNotNull();
+        }
+        assertThat(runtimeLayout.getLogUnitClient(SERVERS.ENDPOINT_2).getRouter().getLatency()
+                .flatMap(latency -> latency.getPercentile(r.getParameters().getHedgedReadPercentile())))
+                .isPresent();
+
+        // The tail no longer serves reads, which should be served by the middle of the chain
+        addClientRule(r, SERVERS.ENDPOINT_2, new TestRule()
+                .requestMatches(msg -> msg.getPayload().hasReadLogRequest())
+                .drop());
+
+        ILogData readResult = rp.peek(runtimeLayout, 0L);
+        assertThat(readResult.getPayload(r)).isEqualTo("hedged".getBytes());
+        assertThat(rp.readAll(runtimeLayout, ContiguousSet.create(
+                Range.closedOpen(0L, numEntries), DiscreteDomain.longs()), true, false))
+                .hasSize((int) numEntries);
+    }
+
     private void removeLogUnit(Layout currentLayout, String endpoint) throws Exception {
         CorfuRuntime corfuRuntime = getRuntime(currentLayout).connect();
         Layout layout = new Layout(corfuRuntime.getLayoutView().getLayout());
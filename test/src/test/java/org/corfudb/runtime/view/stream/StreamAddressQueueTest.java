@@ -0,0 +1,121 @@
+package org.corfudb.runtime.view.stream;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import org.corfudb.runtime.view.Address;
+import org.junit.Test;
+
+@SuppressWarnings("checkstyle:magicnumber")
+public class StreamAddressQueueTest {
+
+    private StreamAddressQueue queueOf(long... addresses) {
+        StreamAddressQueue queue = new StreamAddressQueue();
+        Arrays.stream(addresses).forEach(queue::add);
+        return queue;
+    }
+
+    @Test
+    public void testNavigation() {
+        StreamAddressQueue queue = queueOf(10, 20, 30, 40);
+
+        assertThat(queue.first()).isEqualTo(10);
+        assertThat(queue.last()).isEqualTo(40);
+        assertThat(queue.ceiling(0)).isEqualTo(10);
+        assertThat(queue.ceiling(20)).isEqualTo(20);
+        assertThat(queue.ceiling(21)).isEqualTo(30);
+        assertThat(queue.ceiling(41)).isEqualTo(Address.NON_ADDRESS);
+        assertThat(queue.lower(10)).isEqualTo(Address.NON_ADDRESS);
+        assertThat(queue.lower(Address.NEVER_READ)).isEqualTo(Address.NON_ADDRESS);
+        assertThat(queue.lower(30)).isEqualTo(20);
+        assertThat(queue.lower(Address.MAX)).isEqualTo(40);
+
+        assertThat(queue.pollFirst()).isEqualTo(10);
+        assertThat(queue.contains(10)).isFalse();
+        assertThat(queue.toList()).containsExactly(20L, 30L, 40L);
+        queue.clear();
+        assertThat(queue.pollFirst()).isEqualTo(Address.NON_ADDRESS);
+    }
+
+    /**
+     * Range removals and transfers behave as their {@link NavigableSet} counterparts.
+     */
+    @Test
+    public void testRangeOperations() {
+        final long numAddresses = 1000;
+        NavigableSet<Long> expected = new TreeSet<>();
+        StreamAddressQueue queue = new StreamAddressQueue();
+        LongStream.range(0, numAddresses).filter(address -> address % 3 == 0).forEach(address -> {
+            expected.add(address);
+            queue.add(address);
+        });
+
+        // Small head removal
+        expected.headSet(100L).clear();
+        queue.removeBelow(100);
+        assertThat(queue.toList()).containsExactlyElementsOf(expected);
+
+        // Large head removal
+        expected.headSet(900L, true).clear();
+        queue.removeUpTo(900);
+        assertThat(queue.toList()).containsExactlyElementsOf(expected);
+
+        StreamAddressQueue target = queueOf(1);
+        target.addRange(queue, 950, 990);
+        assertThat(target.toList()).containsExactly(1L, 951L, 954L, 957L, 960L, 963L, 966L, 969L,
+                972L, 975L, 978L, 981L, 984L, 987L, 990L);
+
+        target.clear();
+        target.addRange(queue, Address.NON_ADDRESS, Address.MAX);
+        assertThat(target.toList()).containsExactlyElementsOf(expected);
+
+        queue.removeUpTo(numAddresses);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    /**
+     * Head removals span the 32-bit buckets of the bitmap.
+     */
+    @Test
+    public void testRemoveAcrossBuckets() {
+        final long bucket = 1L << 32;
+        StreamAddressQueue queue = queueOf(1, 2, bucket - 1, bucket, bucket + 1,
+                2 * bucket + 5, 3 * bucket);
+
+        queue.removeUpTo(bucket);
+        assertThat(queue.first()).isEqualTo(bucket + 1);
+        assertThat(queue.toList()).containsExactly(bucket + 1, 2 * bucket + 5, 3 * bucket);
+
+        queue.removeBelow(3 * bucket);
+        assertThat(queue.first()).isEqualTo(3 * bucket);
+        assertThat(queue.last()).isEqualTo(3 * bucket);
+        assertThat(queue.pollFirst()).isEqualTo(3 * bucket);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testAddFromAddressSpace() {
+        final long numAddresses = 100;
+        final long trimMark = 9;
+        StreamAddressSpace addressSpace = new StreamAddressSpace();
+        LongStream.range(0, numAddresses).forEach(addressSpace::addAddress);
+        addressSpace.trim(trimMark);
+
+        // Whole address space
+        StreamAddressQueue queue = new StreamAddressQueue();
+        queue.addAllUpTo(addressSpace, Address.MAX);
+        assertThat(queue.size()).isEqualTo(numAddresses - trimMark - 1);
+        assertThat(queue.first()).isEqualTo(trimMark + 1);
+
+        // Prefix of the address space
+        final long max = 50;
+        queue.clear();
+        queue.addAllUpTo(addressSpace, max);
+        assertThat(queue.first()).isEqualTo(trimMark + 1);
+        assertThat(queue.last()).isEqualTo(max);
+    }
+}
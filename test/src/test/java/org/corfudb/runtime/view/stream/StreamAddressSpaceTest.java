@@ -244,6 +244,34 @@ public class StreamAddressSpaceTest {
         assertThat(obj1.toArray()).isEqualTo(deserialized.toArray());
     }
 
+    @Test
+    public void testGetLimitedAddressesInRange() {
+        StreamAddressSpace obj1 = new StreamAddressSpace();
+        final long highAddress = 1L << 33;
+        LongStream.range(0, 100).forEach(address -> obj1.addAddress(address * 2));
+        obj1.addAddress(highAddress);
+        obj1.addAddress(highAddress + 1);
+
+        // getAddressesInRange queries (end, start], and returns the lowest addresses first
+        StreamAddressRange range = new StreamAddressRange(UUID.randomUUID(), 20, 9);
+        assertThat(obj1.getAddressesInRange(range, 0)).containsExactly(10L, 12L, 14L, 16L, 18L, 20L);
+        assertThat(obj1.getAddressesInRange(range, 2)).containsExactly(10L, 12L);
+        assertThat(obj1.getAddressesInRange(range, 10)).hasSize(6);
+
+        StreamAddressRange highRange = new StreamAddressRange(UUID.randomUUID(), highAddress + 1, 197);
+        assertThat(obj1.getAddressesInRange(highRange, 2)).containsExactly(198L, highAddress);
+        assertThat(obj1.getAddressesInRange(highRange, 0)).containsExactly(198L, highAddress, highAddress + 1);
+
+        StreamAddressRange fromStart = new StreamAddressRange(UUID.randomUUID(), 4, Address.NON_ADDRESS);
+        assertThat(obj1.getAddressesInRange(fromStart, 0)).containsExactly(0L, 2L, 4L);
+
+        StreamAddressRange emptyRange = new StreamAddressRange(UUID.randomUUID(), 21, 20);
+        assertThat(obj1.getAddressesInRange(emptyRange, 1)).isEmpty();
+
+        StreamAddressRange invalidRange = new StreamAddressRange(UUID.randomUUID(), 1, 2);
+        assertThrows(IllegalArgumentException.class, () -> obj1.getAddressesInRange(invalidRange, 1));
+    }
+
     @Test
     public void testGetAddressesInRange() {
         StreamAddressSpace obj1 = new StreamAddressSpace();
@@ -0,0 +1,86 @@
+package org.corfudb.util.tracing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test the sampled request tracer.
+ */
+public class RequestTracerTest {
+
+    private static final Duration SLOW_THRESHOLD = Duration.ofMillis(50);
+    private static final int MAX_SLOW_TRACES = 2;
+    private static final int NUM_TRACES = 5;
+    private static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofMillis(100);
+    private static final int DEFAULT_MAX_SLOW_TRACES = 100;
+
+    private final RequestTracer tracer = RequestTracer.client();
+
+    @After
+    public void cleanUp() {
+        tracer.configure(DEFAULT_SLOW_THRESHOLD, DEFAULT_MAX_SLOW_TRACES);
+        tracer.clear();
+    }
+
+    /**
+     * Requests are only traced if sampled, and a thread is traced by a single trace at a time.
+     */
+    @Test
+    public void testSampling() {
+        assertThat(RequestTracer.sample(0)).isEqualTo(RequestTracer.NO_TRACE);
+        assertThat(RequestTracer.sample(1)).isNotEqualTo(RequestTracer.NO_TRACE);
+
+        long traceId = tracer.begin(1);
+        assertThat(traceId).isNotEqualTo(RequestTracer.NO_TRACE);
+        assertThat(RequestTracer.currentTraceId()).isEqualTo(traceId);
+
+        // Nested operations are part of the outer trace
+        assertThat(tracer.begin(1)).isEqualTo(RequestTracer.NO_TRACE);
+        tracer.end(RequestTracer.NO_TRACE);
+        assertThat(RequestTracer.currentTraceId()).isEqualTo(traceId);
+
+        tracer.end(traceId);
+        assertThat(RequestTracer.currentTraceId()).isEqualTo(RequestTracer.NO_TRACE);
+    }
+
+    /**
+     * Slow traces are retained, in a bounded buffer, with their spans ordered by start time.
+     */
+    @Test
+    public void testSlowTraceBreakdown() {
+        tracer.configure(SLOW_THRESHOLD, MAX_SLOW_TRACES);
+        final long slowNanos = SLOW_THRESHOLD.toNanos();
+
+        // Fast trace, not retained
+        long fastTrace = RequestTracer.sample(1);
+        long now = System.nanoTime();
+        tracer.record(fastTrace, "fast", now, now + 1);
+        tracer.complete(fastTrace);
+        assertThat(tracer.getSlowTraces()).isEmpty();
+
+        for (int i = 0; i < NUM_TRACES; i++) {
+            long traceId = RequestTracer.sample(1);
+            long start = System.nanoTime();
+            tracer.record(traceId, "write", start + slowNanos / 2, start + slowNanos);
+            tracer.record(traceId, "token", start, start + slowNanos / 2);
+            tracer.complete(traceId);
+        }
+
+        List<TraceBreakdown> slowTraces = tracer.getSlowTraces();
+        assertThat(slowTraces).hasSize(MAX_SLOW_TRACES);
+        TraceBreakdown breakdown = slowTraces.get(0);
+        assertThat(breakdown.getTotal()).isEqualTo(SLOW_THRESHOLD);
+        assertThat(breakdown.getSpans().stream().map(TraceBreakdown.Span::getName).collect(Collectors.toList()))
+                .containsExactly("token", "write");
+        assertThat(breakdown.getSpans().get(0).getStartOffsetNanos()).isZero();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(breakdown.getSpans().get(1).getDurationNanos()))
+                .isEqualTo(SLOW_THRESHOLD.toMillis() / 2);
+    }
+}